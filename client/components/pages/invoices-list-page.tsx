@@ -33,6 +33,7 @@ import {
   TableRow,
 } from '@/components/ui/table';
 import { services } from '@/lib/api-shim';
+import { useLiveUpdates } from '@/hooks/use-live-updates';
 import type { InvoiceSummaryResponse } from '@/lib/api-shim';
 import { formatCurrency, formatDate } from '@/lib/utils';
 import type { InvoiceStatus } from '@/lib/types';
@@ -128,6 +129,11 @@ export function InvoicesListPage() {
 
   useEffect(() => loadInvoices(), []);
 
+  // Reload when another session changes an invoice.
+  useLiveUpdates((event) => {
+    if (event !== 'quote') loadInvoices();
+  });
+
   const monthOptions = useMemo(() => {
     const months = new Map<string, string>();
     invoices.forEach((invoice) => {
@@ -32,6 +32,7 @@ import {
   TableRow,
 } from '@/components/ui/table';
 import { services } from '@/lib/api-shim';
+import { useLiveUpdates } from '@/hooks/use-live-updates';
 import type { QuoteSummaryResponse } from '@/lib/api-shim';
 import { formatCurrency, formatDate } from '@/lib/utils';
 import type { QuoteStatus } from '@/lib/types';
@@ -104,6 +105,12 @@ export function QuotesListPage() {
   const [quotes, setQuotes] = useState<QuoteRow[]>([]);
   const [isLoading, setIsLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
+  const [reloadKey, setReloadKey] = useState(0);
+
+  // Reload when another session changes a quote.
+  useLiveUpdates((event) => {
+    if (event !== 'invoice') setReloadKey((key) => key + 1);
+  });
 
   useEffect(() => {
     let active = true;
@@ -126,7 +133,7 @@ export function QuotesListPage() {
     return () => {
       active = false;
     };
-  }, []);
+  }, [reloadKey]);
 
   const filteredQuotes = useMemo(() => {
     return quotes
@@ -0,0 +1,13 @@
+import * as React from 'react'
+import { liveUpdates, type DocumentChange, type DocumentChangeEvent } from '@/lib/api-shim'
+
+/**
+ * Calls `onChange` for every live invoice, quote or refresh event while the component is mounted.
+ * The latest callback is used, so it does not need to be memoized.
+ */
+export function useLiveUpdates(onChange: (event: DocumentChangeEvent, change: DocumentChange) => void) {
+  const handlerRef = React.useRef(onChange)
+  handlerRef.current = onChange
+
+  React.useEffect(() => liveUpdates((event, change) => handlerRef.current(event, change)), [])
+}
@@ -5,9 +5,10 @@
  * In this project we rely on the real services under `src/core`.
  */
 
-export { services } from "@/src/core/api/runtime";
+export { services, liveUpdates } from "@/src/core/api/runtime";
 export { onApiError } from "@/src/core/api/api-events";
 export type { ApiErrorEventDetail } from "@/src/core/api/api-events";
+export type { DocumentChange, DocumentChangeEvent } from "@/src/core/api/live-updates";
 
 export type {
   QuoteSummaryResponse,
@@ -79,6 +79,7 @@ const MOCK_USERS: Record<UserRole, User> = {
 };
 
 const TOKEN_KEY = 'ei_token';
+const REFRESH_TOKEN_KEY = 'ei_refresh_token';
 const AUTH_ME_TIMEOUT_MS = Number(import.meta.env.VITE_AUTH_ME_TIMEOUT_MS ?? 10000);
 
 
@@ -155,6 +156,7 @@ export function AuthProvider({ children }: { children: ReactNode }) {
       const mod = await import('@/lib/api-shim');
       const resp = await mod.services.auth.login({ email, password, companyId });
       window.localStorage.setItem(TOKEN_KEY, resp.token);
+      window.localStorage.setItem(REFRESH_TOKEN_KEY, resp.refreshToken);
       const me = await withTimeout(mod.services.auth.me(), AUTH_ME_TIMEOUT_MS);
       setUser(profileToUser(me));
       return true;
@@ -165,8 +167,15 @@ export function AuthProvider({ children }: { children: ReactNode }) {
 
   
   const logout = useCallback(() => {
+    const refreshToken = window.localStorage.getItem(REFRESH_TOKEN_KEY);
     window.localStorage.removeItem(TOKEN_KEY);
+    window.localStorage.removeItem(REFRESH_TOKEN_KEY);
     setUser(null);
+    if (refreshToken && !AUTH_BYPASS) {
+      import('@/lib/api-shim')
+        .then((mod) => mod.services.auth.logout(refreshToken))
+        .catch(() => {  });
+    }
   }, []);
 
   
@@ -183,6 +192,7 @@ export function AuthProvider({ children }: { children: ReactNode }) {
         if (alive) setUser(profileToUser(me));
       } catch {
         window.localStorage.removeItem(TOKEN_KEY);
+        window.localStorage.removeItem(REFRESH_TOKEN_KEY);
         if (alive) setUser(null);
       } finally {
         if (alive) setIsLoading(false);
@@ -24,10 +24,15 @@ export interface RequestOptions<TBody = unknown> {
   responseType?: ResponseType;
 }
 
+/** Auth endpoints whose 401 must not trigger a token refresh. */
+const NO_REFRESH_PATHS = ["/auth/login", "/auth/refresh", "/auth/logout"];
+
 /** High-level API client that builds requests and handles auth/headers. */
 export class ApiClient {
   private readonly config: ApiConfig;
   private readonly http: HttpClient;
+  /** Refresh in progress, shared by concurrent requests that received a 401. */
+  private refreshing: Promise<boolean> | null = null;
 
   /**
    * @param config API configuration (base URL, token provider)
@@ -75,7 +80,16 @@ export class ApiClient {
       responseType: options.responseType,
     };
 
-    const response: HttpResponse<TResponse> = await this.http.send<TResponse, TBody>(request);
+    const sentToken = this.config.tokenProvider?.getToken() ?? null;
+    let response: HttpResponse<TResponse> = await this.http.send<TResponse, TBody>(request);
+
+    // Expired access token: refresh once, then retry once.
+    if (response.status === 401 && this.canRefresh(path) && (await this.refreshOnce(sentToken))) {
+      response = await this.http.send<TResponse, TBody>({
+        ...request,
+        headers: this.buildHeaders(options.headers, options.body),
+      });
+    }
 
     if (!response.ok) {
       const error = new HttpError(`Request failed with status ${response.status}`, response.status, response.data);
@@ -91,6 +105,55 @@ export class ApiClient {
     return response.data;
   }
 
+  /**
+   * Builds the URL of a server-sent event stream.
+   * `EventSource` cannot send headers, so the access token travels as `access_token`.
+   * @param path path relative to base URL
+   */
+  eventStreamUrl(path: string): string {
+    const token = this.config.tokenProvider?.getToken() ?? undefined;
+    return this.buildUrl(path, { access_token: token });
+  }
+
+  /**
+   * Refreshes the access token after a stream opened with `sentToken` was rejected or closed.
+   * Resolves true if a newer token is available.
+   * @param sentToken token the stream was opened with
+   */
+  refreshToken(sentToken: string | null): Promise<boolean> {
+    return this.refreshOnce(sentToken);
+  }
+
+  /**
+   * Returns whether a 401 on this path may be recovered by refreshing the token.
+   * @param path path relative to base URL
+   */
+  private canRefresh(path: string): boolean {
+    if (!this.config.tokenProvider?.refresh) return false;
+    const trimmedPath = path.startsWith("/") ? path : `/${path}`;
+    return !NO_REFRESH_PATHS.includes(trimmedPath);
+  }
+
+  /**
+   * Refreshes the access token once for all requests that failed with the same token.
+   * @param sentToken token the failed request was sent with
+   */
+  private refreshOnce(sentToken: string | null): Promise<boolean> {
+    const provider = this.config.tokenProvider;
+    if (!provider?.refresh) return Promise.resolve(false);
+    // Another request (or tab) already replaced the token: just retry with it.
+    if (provider.getToken() !== sentToken) return Promise.resolve(true);
+    if (!this.refreshing) {
+      this.refreshing = provider
+        .refresh()
+        .catch(() => false)
+        .finally(() => {
+          this.refreshing = null;
+        });
+    }
+    return this.refreshing;
+  }
+
   /**
    * Builds headers including JSON and Authorization if available.
    * @param headers custom headers
@@ -2,6 +2,11 @@
 export interface AuthTokenProvider {
   /** Returns the token string or null if not available. */
   getToken(): string | null;
+  /**
+   * Obtains a new access token after a 401 (optional).
+   * Resolves true if the failed request can be retried with the new token.
+   */
+  refresh?(): Promise<boolean>;
 }
 
 /** Configuration options for ApiConfig. */
@@ -1,5 +1,6 @@
 export * from "./api-config";
 export * from "./api-client";
 export * from "./api-events";
+export * from "./live-updates";
 export * from "./http-types";
 export * from "./fetch-http-client";
@@ -0,0 +1,116 @@
+import { ApiClient } from "./api-client";
+
+/** Kind of document carried by a live change. */
+export type DocumentChangeType = "INVOICE" | "QUOTE";
+
+/** Payload of a live change event (`DocumentChangeResponse` on the server). */
+export interface DocumentChange {
+  /** Kind of document, null for a company-wide `refresh`. */
+  type: DocumentChangeType | null;
+  /** Document id, null for a company-wide `refresh`. */
+  id: number | null;
+  /** Status after the change. */
+  status: string | null;
+  /** Total after the change. */
+  totalAmount: number | null;
+}
+
+/** Event names sent on the `/events` stream. */
+export type DocumentChangeEvent = "invoice" | "quote" | "refresh";
+
+export type DocumentChangeHandler = (event: DocumentChangeEvent, change: DocumentChange) => void;
+
+const EVENTS_PATH = "/events";
+const EVENT_NAMES: DocumentChangeEvent[] = ["invoice", "quote", "refresh"];
+const MIN_RETRY_MS = 1_000;
+const MAX_RETRY_MS = 30_000;
+/** Refresh slightly before the token's `exp`, so the stream is not reopened with a dying token. */
+const EXPIRY_MARGIN_MS = 5_000;
+
+/**
+ * Opens the company's live change stream and keeps it open until the returned function is called.
+ *
+ * The server closes the stream when its access token expires or is revoked, and rejects a
+ * stale token with 401; `EventSource` cannot tell these apart from a network error, so every
+ * error closes the stream and reopens it with backoff, refreshing the token first when the
+ * stream never opened or the token has expired. Reconnection stops if that refresh fails
+ * (user logged out or tokens revoked).
+ * @param client API client providing the stream URL and the token refresh
+ * @param handler called for every `invoice`, `quote` and `refresh` event
+ */
+export function subscribeLiveUpdates(client: ApiClient, handler: DocumentChangeHandler): () => void {
+  if (typeof window === "undefined" || typeof EventSource === "undefined") return () => {};
+
+  let source: EventSource | null = null;
+  let retryTimer: ReturnType<typeof setTimeout> | null = null;
+  let retryMs = MIN_RETRY_MS;
+  let stopped = false;
+
+  const open = () => {
+    if (stopped) return;
+    const url = client.eventStreamUrl(EVENTS_PATH);
+    const sentToken = new URL(url).searchParams.get("access_token");
+    if (!sentToken) return;
+    let opened = false;
+    const current = new EventSource(url);
+    source = current;
+
+    current.onopen = () => {
+      opened = true;
+      retryMs = MIN_RETRY_MS;
+    };
+    for (const name of EVENT_NAMES) {
+      current.addEventListener(name, (event) => {
+        try {
+          handler(name, JSON.parse((event as MessageEvent<string>).data) as DocumentChange);
+        } catch {
+          // Ignore malformed payloads.
+        }
+      });
+    }
+    current.onerror = () => {
+      current.close();
+      if (stopped || source !== current) return;
+      source = null;
+      const delay = opened ? MIN_RETRY_MS : retryMs;
+      retryMs = opened ? MIN_RETRY_MS : Math.min(retryMs * 2, MAX_RETRY_MS);
+      retryTimer = setTimeout(() => {
+        retryTimer = null;
+        void reconnect(sentToken, !opened);
+      }, delay);
+    };
+  };
+
+  const reconnect = async (sentToken: string, rejected: boolean) => {
+    if (stopped) return;
+    const expired = isExpired(sentToken);
+    if (rejected || expired) {
+      const refreshed = await client.refreshToken(sentToken);
+      if (!refreshed) return;
+    }
+    open();
+  };
+
+  open();
+
+  return () => {
+    stopped = true;
+    if (retryTimer) clearTimeout(retryTimer);
+    source?.close();
+    source = null;
+  };
+}
+
+/**
+ * Returns whether a JWT is expired or about to expire; tokens that cannot be decoded count as valid.
+ * @param token raw JWT
+ */
+function isExpired(token: string): boolean {
+  try {
+    const payload = token.split(".")[1].replace(/-/g, "+").replace(/_/g, "/");
+    const { exp } = JSON.parse(window.atob(payload)) as { exp?: number };
+    return typeof exp === "number" && exp * 1000 - EXPIRY_MARGIN_MS <= Date.now();
+  } catch {
+    return false;
+  }
+}
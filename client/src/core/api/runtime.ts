@@ -10,15 +10,40 @@
  */
 
 import { ApiClient } from "./api-client";
-import { ApiConfig } from "./api-config";
+import { ApiConfig, AuthTokenProvider } from "./api-config";
+import { DocumentChangeHandler, subscribeLiveUpdates } from "./live-updates";
 import { ServiceRegistry } from "@/src/core/services";
 
-const tokenProvider = {
+const TOKEN_KEY = "ei_token";
+const REFRESH_TOKEN_KEY = "ei_refresh_token";
+
+const tokenProvider: AuthTokenProvider = {
   getToken: () => {
     if (typeof window === "undefined") return null;
-    return window.localStorage.getItem("ei_token");
+    return window.localStorage.getItem(TOKEN_KEY);
+  },
+  /** Rotates the stored refresh token; a rejected refresh token is dropped. */
+  refresh: async () => {
+    if (typeof window === "undefined") return false;
+    const refreshToken = window.localStorage.getItem(REFRESH_TOKEN_KEY);
+    if (!refreshToken) return false;
+    try {
+      const resp = await services.auth.refresh(refreshToken);
+      window.localStorage.setItem(TOKEN_KEY, resp.token);
+      window.localStorage.setItem(REFRESH_TOKEN_KEY, resp.refreshToken);
+      return true;
+    } catch {
+      // Another tab may have rotated it meanwhile: keep the token it stored.
+      if (window.localStorage.getItem(REFRESH_TOKEN_KEY) === refreshToken) {
+        window.localStorage.removeItem(REFRESH_TOKEN_KEY);
+      }
+      return false;
+    }
   },
 };
 
 export const apiClient = new ApiClient(ApiConfig.fromEnv({ tokenProvider }));
 export const services = new ServiceRegistry(apiClient);
+
+/** Opens the company's live change stream; call the returned function to close it. */
+export const liveUpdates = (handler: DocumentChangeHandler) => subscribeLiveUpdates(apiClient, handler);
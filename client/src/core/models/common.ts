@@ -1,15 +1,15 @@
-/** Generic pagination response matching Spring Data Page. */
+/** Compact page envelope returned by list endpoints. */
 export interface Page<T> {
   /** List of items for the current page. */
   content: T[];
-  /** Total items available. */
-  totalElements: number;
-  /** Total number of pages. */
-  totalPages: number;
   /** Current page index (0-based). */
   number: number;
   /** Page size. */
   size: number;
+  /** Index of the next page, or null on the last page. */
+  next: number | null;
+  /** Total items available; only present when requested with `total=true`. */
+  totalElements?: number;
 }
 
 /** Common pagination query parameters. */
@@ -22,6 +22,10 @@ export interface PageQuery {
   sort?: string;
   /** Optional search query. */
   q?: string;
+  /** Whether to count and return the total number of items. */
+  total?: boolean;
+  /** Comma-separated fields to return; `id` is always included. */
+  fields?: string;
   [key: string]: string | number | boolean | null | undefined;
 }
 
@@ -20,6 +20,16 @@ export interface LoginResponse {
   companyId: number;
   /** Role enum string from backend. */
   role: "PLATFORM_ADMIN" | "COMPANY_MANAGER" | "BACK_OFFICE" | string;
+  /** Opaque refresh token, rotated on every refresh. */
+  refreshToken: string;
+  /** Access token lifetime in seconds. */
+  expiresInSeconds: number;
+}
+
+/** Payload for refresh and logout endpoints. */
+export interface RefreshTokenRequest {
+  /** Refresh token returned by login or refresh. */
+  refreshToken: string;
 }
 
 /** Response payload for current user profile. */
@@ -53,6 +63,22 @@ export class AuthService extends BaseService {
     return this.post<LoginResponse, LoginRequest>(this.endpoint("/login"), { body: request });
   }
 
+  /**
+   * Exchanges a refresh token for a new access/refresh token pair.
+   * @param refreshToken current refresh token
+   */
+  refresh(refreshToken: string): Promise<LoginResponse> {
+    return this.post<LoginResponse, RefreshTokenRequest>(this.endpoint("/refresh"), { body: { refreshToken } });
+  }
+
+  /**
+   * Revokes a refresh token.
+   * @param refreshToken refresh token to revoke
+   */
+  logout(refreshToken: string): Promise<void> {
+    return this.post<void, RefreshTokenRequest>(this.endpoint("/logout"), { body: { refreshToken } });
+  }
+
   /**
    * Returns the current authenticated user profile.
    */
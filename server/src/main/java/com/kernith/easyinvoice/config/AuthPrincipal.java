@@ -1,22 +1,63 @@
 package com.kernith.easyinvoice.config;
 
+import com.kernith.easyinvoice.data.model.UserRole;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 /**
  * Authenticated principal stored in Spring Security context.
  *
  * <p>It mirrors the JWT claims and exposes the user and company identifiers,
- * the raw role string, and the granted authorities used by the framework.</p>
+ * the role both as raw string and as resolved {@link UserRole}, and the granted
+ * authorities used by the framework. The role is resolved once when the principal
+ * is built, so authorization checks compare enums instead of parsing strings.</p>
  *
  * @param userId authenticated user id
  * @param companyId authenticated company id
  * @param role role name from the token (without {@code ROLE_} prefix)
  * @param authorities granted authorities derived from the role
+ * @param userRole resolved role, or {@code null} if {@code role} is not a known role
  */
 public record AuthPrincipal(
         long userId,
         long companyId,
         String role,
-        Collection<? extends GrantedAuthority> authorities
-) {}
+        Collection<? extends GrantedAuthority> authorities,
+        UserRole userRole
+) {
+    private static final Map<UserRole, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(UserRole.class);
+
+    static {
+        for (UserRole r : UserRole.values()) {
+            AUTHORITIES.put(r, List.of(new SimpleGrantedAuthority("ROLE_" + r.name())));
+        }
+    }
+
+    /**
+     * Creates a principal resolving the role from its name.
+     *
+     * @param userId authenticated user id
+     * @param companyId authenticated company id
+     * @param role role name (without {@code ROLE_} prefix)
+     * @param authorities granted authorities
+     */
+    public AuthPrincipal(long userId, long companyId, String role, Collection<? extends GrantedAuthority> authorities) {
+        this(userId, companyId, role, authorities, UserRole.fromName(role));
+    }
+
+    /**
+     * Creates a principal for a known role, reusing the shared authority list of that role.
+     *
+     * @param userId authenticated user id
+     * @param companyId authenticated company id
+     * @param role resolved role
+     * @return principal
+     */
+    public static AuthPrincipal of(long userId, long companyId, UserRole role) {
+        return new AuthPrincipal(userId, companyId, role.name(), AUTHORITIES.get(role), role);
+    }
+}
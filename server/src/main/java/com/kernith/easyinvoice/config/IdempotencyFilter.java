@@ -0,0 +1,254 @@
+package com.kernith.easyinvoice.config;
+
+import com.kernith.easyinvoice.service.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Replays the original response when a create or issue request is retried with the same
+ * {@code Idempotency-Key} header.
+ *
+ * <p>Applies to authenticated {@code POST} requests on {@link #IDEMPOTENT_PATHS}; requests
+ * without the header are not affected. Keys are scoped by {@link AuthPrincipal#companyId()}.
+ * The first request runs normally and, if it succeeds, its status, content type and body are
+ * stored in {@link IdempotencyStore}; a retry with the same key and the same request gets
+ * that response back with {@code Idempotent-Replayed: true} without reaching the controller,
+ * so no invoice is duplicated, no number is consumed and no PDF is rendered again.</p>
+ *
+ * <p>Reusing a key for a different request (other path or body) is rejected with
+ * {@code 422 Unprocessable Entity}; a retry while the first request is still running gets
+ * {@code 409 Conflict}. Failed requests are not stored and can be retried with the same key.</p>
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    /** Paths, relative to the context path, that honour {@code Idempotency-Key}. */
+    static final List<String> IDEMPOTENT_PATHS = List.of(
+            "/invoices",
+            "/quotes",
+            "/invoices/*/issue"
+    );
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final IdempotencyStore store;
+
+    /**
+     * Creates the filter.
+     *
+     * @param store stored responses by company and key
+     */
+    public IdempotencyFilter(IdempotencyStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Skips requests that are not an idempotent {@code POST} or carry no key.
+     *
+     * @param request incoming HTTP request
+     * @return {@code true} if the filter should be skipped
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String path = path(request);
+        for (String pattern : IDEMPOTENT_PATHS) {
+            if (pathMatcher.match(pattern, path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replays a stored response or runs the request and stores its response.
+     *
+     * <p>Lifecycle: validate the key, read and fingerprint the body, replay if a response is
+     * stored, otherwise mark the key in progress, run the chain on a buffered response,
+     * store it if successful, write it out and release the key.</p>
+     *
+     * @param request current HTTP request
+     * @param response current HTTP response
+     * @param filterChain filter chain to continue processing
+     * @throws ServletException if the filter chain fails
+     * @throws IOException if request/response IO fails
+     */
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthPrincipal principal)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, "Invalid Idempotency-Key");
+            return;
+        }
+
+        long companyId = principal.companyId();
+        byte[] body = request.getInputStream().readAllBytes();
+        String requestHash = fingerprint(path(request), body);
+
+        Optional<IdempotencyStore.StoredResponse> stored = store.find(companyId, key);
+        if (stored.isPresent()) {
+            replay(response, stored.get(), requestHash);
+            return;
+        }
+        if (!store.begin(companyId, key)) {
+            reject(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is in progress");
+            return;
+        }
+        try {
+            // Il primo tentativo potrebbe essersi concluso tra find e begin
+            stored = store.find(companyId, key);
+            if (stored.isPresent()) {
+                replay(response, stored.get(), requestHash);
+                return;
+            }
+
+            ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(new CachedBodyRequest(request, body), buffered);
+            int status = buffered.getStatus();
+            if (status >= 200 && status < 300) {
+                try {
+                    store.save(companyId, key, requestHash, status, buffered.getContentType(), buffered.getContentAsByteArray());
+                } catch (RuntimeException e) {
+                    // La risposta è già prodotta: la restituisco comunque, il retry verrà rieseguito
+                    log.warn("Could not store response for Idempotency-Key of company {}", companyId, e);
+                }
+            }
+            buffered.copyBodyToResponse();
+        } finally {
+            store.end(companyId, key);
+        }
+    }
+
+    private static void replay(
+            HttpServletResponse response,
+            IdempotencyStore.StoredResponse stored,
+            String requestHash
+    ) throws IOException {
+        if (!stored.requestHash().equals(requestHash)) {
+            reject(response, HttpStatus.UNPROCESSABLE_CONTENT, "Idempotency-Key was used for a different request");
+            return;
+        }
+        response.setStatus(stored.statusCode());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String fingerprint(String path, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(path.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Request whose body was already read to compute the fingerprint.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(
+                    getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)
+            ));
+        }
+    }
+}
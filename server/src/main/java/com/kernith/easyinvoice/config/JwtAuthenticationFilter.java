@@ -1,37 +1,59 @@
 package com.kernith.easyinvoice.config;
 
+import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.service.JwtService;
+import com.kernith.easyinvoice.service.TokenRevocationRegistry;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.List;
-
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 /**
  * Reads a JWT from the Authorization header and populates the SecurityContext.
  *
+ * <p>The event stream ({@code GET /events}) also accepts the token in the
+ * {@code access_token} query parameter, because the browser {@code EventSource} cannot send
+ * headers; no other endpoint reads it.</p>
+ *
  * <p>If the token is missing, invalid, or expired, the request continues without
  * authentication and downstream rules decide access.</p>
  */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /** Query parameter carrying the access token on the event stream. */
+    public static final String ACCESS_TOKEN_PARAMETER = "access_token";
+
+    /** Request attribute holding the {@link VerifiedTokenCache.VerifiedToken} of an authenticated request. */
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = "com.kernith.easyinvoice.config.JwtAuthenticationFilter.verifiedToken";
+
+    private static final String EVENTS_PATH = "/events";
+
     private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationRegistry revocationRegistry;
 
     /**
-     * Creates the filter with the JWT service used for parsing claims.
+     * Creates the filter with the JWT service, the cache of verified tokens and the revocation registry.
      *
      * @param jwtService service for validating and parsing JWTs
+     * @param tokenCache cache of verified tokens, consulted before parsing
+     * @param revocationRegistry in-memory per-user revocation epochs
      */
-    public JwtAuthenticationFilter(JwtService jwtService) {
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            VerifiedTokenCache tokenCache,
+            TokenRevocationRegistry revocationRegistry
+    ) {
         this.jwtService = jwtService;
+        this.tokenCache = tokenCache;
+        this.revocationRegistry = revocationRegistry;
     }
 
     /**
@@ -48,7 +70,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Parses the JWT, builds an {@link AuthPrincipal}, and stores it in the security context.
+     * Resolves the JWT to an {@link AuthPrincipal}, from the cache or by parsing it, rejects
+     * it if the user's tokens were revoked after it was issued, and stores it in the
+     * security context.
      *
      * @param request current HTTP request
      * @param response current HTTP response
@@ -63,31 +87,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
 
-        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String token = resolveToken(request);
 
-        if (header == null || !header.startsWith("Bearer ")) {  // Faccio passare al Security
+        if (token == null) {  // Faccio passare al Security
             filterChain.doFilter(request, response);
             return;
         }
 
-        String token = header.substring("Bearer ".length()).trim();
-
         try {
-            Claims claims = jwtService.parseClaims(token);
-
-            long userId = Long.parseLong(claims.getSubject());
-            long companyId = ((Number) claims.get("cid")).longValue();
-            String role = String.valueOf(claims.get("role"));
-            var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-            var principal = new AuthPrincipal(userId, companyId, role, authorities);
-
-            var authentication = new UsernamePasswordAuthenticationToken(
-                    principal,
-                    null,
-                    authorities
-            );
+            VerifiedTokenCache.VerifiedToken verified = tokenCache.get(token);
+            if (verified == null) {
+                Claims claims = jwtService.parseClaims(token);
+                AuthPrincipal parsed = toPrincipal(claims);
+                tokenCache.put(token, parsed, claims.getIssuedAt(), claims.getExpiration());
+                verified = new VerifiedTokenCache.VerifiedToken(parsed, claims.getIssuedAt(), claims.getExpiration());
+            }
+            AuthPrincipal principal = verified.principal();
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (revocationRegistry.isRevoked(principal.userId(), verified.issuedAt())) {
+                // Token revocato (utente disabilitato o logout globale): nessuna autenticazione
+                SecurityContextHolder.clearContext();
+            } else {
+                var authentication = new UsernamePasswordAuthenticationToken(
+                        principal,
+                        null,
+                        principal.authorities()
+                );
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, verified);
+            }
         } catch (Exception ex) {
             // Con token invalido/scaduto pulisco contesto e continuo
             SecurityContextHolder.clearContext();
@@ -95,4 +123,41 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Returns the bearer token of the request, or the {@code access_token} query parameter
+     * on {@code GET /events}.
+     *
+     * @param request current HTTP request
+     * @return raw token, or {@code null} if none was sent
+     */
+    private static String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith("Bearer ")) {
+            return header.substring("Bearer ".length()).trim();
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (HttpMethod.GET.matches(request.getMethod()) && EVENTS_PATH.equals(path)) {
+            String token = request.getParameter(ACCESS_TOKEN_PARAMETER);
+            return token == null || token.isBlank() ? null : token.trim();
+        }
+        return null;
+    }
+
+    /**
+     * Builds the principal from verified token claims, resolving the role once.
+     *
+     * @param claims verified claims
+     * @return authenticated principal
+     * @throws IllegalArgumentException if the role claim is not a known role
+     */
+    private AuthPrincipal toPrincipal(Claims claims) {
+        long userId = Long.parseLong(claims.getSubject());
+        long companyId = ((Number) claims.get("cid")).longValue();
+        UserRole role = UserRole.fromName(String.valueOf(claims.get("role")));
+        if (role == null) {
+            throw new IllegalArgumentException("Unknown role claim");
+        }
+        return AuthPrincipal.of(userId, companyId, role);
+    }
 }
@@ -0,0 +1,88 @@
+package com.kernith.easyinvoice.config;
+
+import com.kernith.easyinvoice.data.model.UserRole;
+import com.kernith.easyinvoice.helper.RequireRoles;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Enforces {@link RequireRoles} on controller methods before they run.
+ *
+ * <p>The annotation of each handler method (or of its controller) is resolved once into an
+ * {@link EnumSet} and cached per {@link Method}; each request is then a map lookup and an
+ * enum set membership test on the role already resolved in {@link AuthPrincipal}.</p>
+ */
+public class RoleAuthorizationInterceptor implements HandlerInterceptor {
+
+    /** Marker for handlers without {@link RequireRoles}; compared by identity. */
+    private static final Set<UserRole> UNRESTRICTED = Collections.unmodifiableSet(EnumSet.allOf(UserRole.class));
+
+    private final Map<Method, Set<UserRole>> rules = new ConcurrentHashMap<>();
+
+    /**
+     * Rejects the request if the handler requires roles the principal does not have.
+     *
+     * @param request current HTTP request
+     * @param response current HTTP response
+     * @param handler selected handler
+     * @return {@code true} to continue processing
+     * @throws ResponseStatusException with {@code 401} if unauthenticated or {@code 403} if the role is not allowed
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Set<UserRole> allowed = rules.computeIfAbsent(handlerMethod.getMethod(), method -> resolve(handlerMethod));
+        if (allowed == UNRESTRICTED) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthPrincipal principal)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing principal");
+        }
+        if (principal.userRole() == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid role");
+        }
+        if (!allowed.contains(principal.userRole())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Insufficient role");
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of handler methods whose rule has been resolved.
+     *
+     * @return cached rule count
+     */
+    int cachedRules() {
+        return rules.size();
+    }
+
+    private static Set<UserRole> resolve(HandlerMethod handlerMethod) {
+        RequireRoles annotation = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), RequireRoles.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RequireRoles.class);
+        }
+        if (annotation == null) {
+            return UNRESTRICTED;
+        }
+        EnumSet<UserRole> roles = EnumSet.noneOf(UserRole.class);
+        Collections.addAll(roles, annotation.value());
+        return Collections.unmodifiableSet(roles);
+    }
+}
@@ -1,6 +1,10 @@
 package com.kernith.easyinvoice.config;
 
+import com.kernith.easyinvoice.service.IdempotencyStore;
 import com.kernith.easyinvoice.service.JwtService;
+import com.kernith.easyinvoice.service.TokenRevocationRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -17,21 +21,52 @@ public class SecurityConfig {
      * Builds the security filter chain with JWT authentication and role-based access rules.
      *
      * <p>CSRF is disabled because the API is stateless and uses JWTs. The session is
-     * configured as stateless, and only specific paths are public.</p>
+     * configured as stateless, and only specific paths are public. Authenticated requests
+     * then pass through per-tenant rate and concurrency limits and, for create/issue
+     * requests carrying an {@code Idempotency-Key}, the idempotent replay filter.</p>
      *
      * @param http Spring Security HTTP builder
      * @param jwtService service used by the JWT filter to parse tokens
+     * @param revocationRegistry per-user token revocation epochs checked by the JWT filter
+     * @param idempotencyStore stored responses replayed for retried create/issue requests
+     * @param tokenCacheSize maximum number of verified tokens cached by the JWT filter
+     * @param tenantRequestsPerMinute per-company request rate ({@code 0} = unlimited)
+     * @param tenantMaxConcurrent per-company in-flight requests ({@code 0} = unlimited)
+     * @param tenantExpensivePerMinute per-company rate of PDF/download/export requests
+     * @param tenantExpensiveMaxConcurrent per-company in-flight PDF/download/export requests
      * @return configured security filter chain
      * @throws Exception if the security configuration cannot be built
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtService jwtService) throws Exception {
-        var jwtFilter = new JwtAuthenticationFilter(jwtService);
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            JwtService jwtService,
+            TokenRevocationRegistry revocationRegistry,
+            IdempotencyStore idempotencyStore,
+            @Value("${security.jwt.cache-size:10000}") int tokenCacheSize,
+            @Value("${security.tenant-limits.requests-per-minute:1200}") long tenantRequestsPerMinute,
+            @Value("${security.tenant-limits.max-concurrent:20}") int tenantMaxConcurrent,
+            @Value("${security.tenant-limits.expensive-per-minute:60}") long tenantExpensivePerMinute,
+            @Value("${security.tenant-limits.expensive-max-concurrent:4}") int tenantExpensiveMaxConcurrent
+    ) throws Exception {
+        var jwtFilter = new JwtAuthenticationFilter(
+                jwtService,
+                new VerifiedTokenCache(tokenCacheSize),
+                revocationRegistry
+        );
+        var tenantFilter = new TenantRateLimitFilter(
+                tenantRequestsPerMinute,
+                tenantMaxConcurrent,
+                tenantExpensivePerMinute,
+                tenantExpensiveMaxConcurrent
+        );
 
         return http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Il dispatch asincrono (stream, SSE) completa una richiesta già autorizzata
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                         .requestMatchers("/auth/**", "/error").permitAll()
                         .requestMatchers("/invoices/**", "/quotes/**").authenticated()
@@ -41,6 +76,8 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtFilter, org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(tenantFilter, JwtAuthenticationFilter.class)
+                .addFilterAfter(new IdempotencyFilter(idempotencyStore), TenantRateLimitFilter.class)
                 .httpBasic(hb -> hb.disable())
                 .formLogin(fl -> fl.disable())
                 .build();
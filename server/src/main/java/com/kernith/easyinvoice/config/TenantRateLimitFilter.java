@@ -0,0 +1,161 @@
+package com.kernith.easyinvoice.config;
+
+import com.kernith.easyinvoice.helper.KeyedTokenBucket;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Per-tenant request rate and concurrency limits.
+ *
+ * <p>Runs after {@link JwtAuthenticationFilter} and keys every budget by
+ * {@link AuthPrincipal#companyId()}, so one company's integration cannot saturate the server
+ * for the others. Each tenant has a token bucket for its request rate and a lock-free
+ * counter of in-flight requests. Expensive endpoints (PDF rendering, downloads, exports) use
+ * a separate, smaller budget so they cannot starve ordinary API calls. Rejected requests get
+ * {@code 429 Too Many Requests} with {@code Retry-After}. Anonymous requests are not limited
+ * here. A limit of {@code 0} disables it.</p>
+ */
+public class TenantRateLimitFilter extends OncePerRequestFilter {
+
+    /** Paths, relative to the context path, served from the expensive budget. */
+    static final List<String> EXPENSIVE_PATHS = List.of(
+            "/invoices/*/pdf",
+            "/invoices/*/pdf-download",
+            "/invoices/*/pdfs/*",
+            "/quotes/*/pdf",
+            "/quotes/*/pdf-download",
+            "/platform/backups/companies/*/files/*",
+            "/**/export",
+            "/**/export/**",
+            "/**/*.csv"
+    );
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Budget standard;
+    private final Budget expensive;
+
+    /**
+     * Creates the filter.
+     *
+     * @param requestsPerMinute requests per minute per tenant ({@code 0} = unlimited)
+     * @param maxConcurrent in-flight requests per tenant ({@code 0} = unlimited)
+     * @param expensivePerMinute expensive requests per minute per tenant ({@code 0} = unlimited)
+     * @param expensiveMaxConcurrent in-flight expensive requests per tenant ({@code 0} = unlimited)
+     */
+    public TenantRateLimitFilter(
+            long requestsPerMinute,
+            int maxConcurrent,
+            long expensivePerMinute,
+            int expensiveMaxConcurrent
+    ) {
+        this.standard = new Budget(requestsPerMinute, maxConcurrent);
+        this.expensive = new Budget(expensivePerMinute, expensiveMaxConcurrent);
+    }
+
+    /**
+     * Applies the tenant's budget around the rest of the chain.
+     *
+     * <p>Lifecycle: resolve the tenant, pick the budget for the path, reserve a concurrency
+     * slot, take a rate token (releasing the slot if none is left), run the chain, release
+     * the slot. A request rejected for either reason consumes neither budget.</p>
+     *
+     * @param request current HTTP request
+     * @param response current HTTP response
+     * @param filterChain filter chain to continue processing
+     * @throws ServletException if the filter chain fails
+     * @throws IOException if request/response IO fails
+     */
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthPrincipal principal)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Budget budget = isExpensive(request) ? expensive : standard;
+        String tenant = Long.toString(principal.companyId());
+
+        // Prima lo slot di concorrenza: una richiesta rifiutata non consuma budget di rate
+        AtomicInteger inFlight = budget.inFlight(principal.companyId());
+        if (inFlight != null && inFlight.incrementAndGet() > budget.maxConcurrent) {
+            inFlight.decrementAndGet();
+            reject(response, 1, "Too many concurrent requests");
+            return;
+        }
+
+        long waitNanos = budget.rate.tryAcquire(tenant);
+        if (waitNanos > 0) {
+            if (inFlight != null) {
+                inFlight.decrementAndGet();
+            }
+            reject(response, KeyedTokenBucket.toRetryAfterSeconds(waitNanos), "Rate limit exceeded");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (inFlight != null) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private boolean isExpensive(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : EXPENSIVE_PATHS) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+
+    private static final class Budget {
+        private final KeyedTokenBucket rate;
+        private final int maxConcurrent;
+        private final Map<Long, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+        private Budget(long perMinute, int maxConcurrent) {
+            this.rate = new KeyedTokenBucket(perMinute, 1, TimeUnit.MINUTES);
+            this.maxConcurrent = Math.max(0, maxConcurrent);
+        }
+
+        /**
+         * Returns the in-flight counter of a tenant, or {@code null} when concurrency is unlimited.
+         */
+        private AtomicInteger inFlight(long companyId) {
+            if (maxConcurrent == 0) {
+                return null;
+            }
+            // Una entry per azienda (come i bucket): il numero di tenant è limitato, non serve rimuoverle
+            return inFlight.computeIfAbsent(companyId, id -> new AtomicInteger());
+        }
+    }
+}
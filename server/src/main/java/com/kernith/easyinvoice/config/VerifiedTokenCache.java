@@ -0,0 +1,129 @@
+package com.kernith.easyinvoice.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of already verified bearer tokens.
+ *
+ * <p>Entries map the SHA-256 of a token (the raw token is never stored) to the principal
+ * built from its claims and its issue time, and expire together with the token, so a
+ * repeated bearer skips signature verification and claim parsing. Revocation is still
+ * checked by the caller on every request. Lookups are lock-free; when the cache is full
+ * expired entries are purged first, then arbitrary entries until there is room again.</p>
+ */
+public class VerifiedTokenCache {
+    private static final double EVICT_TO_RATIO = 0.9;
+
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the cache.
+     *
+     * @param maxEntries maximum number of cached tokens ({@code 0} disables caching)
+     */
+    public VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+    }
+
+    /**
+     * Returns a verified, not yet expired token.
+     *
+     * @param token raw bearer token
+     * @return cached token, or {@code null} on a miss
+     */
+    public VerifiedToken get(String token) {
+        if (maxEntries == 0) {
+            return null;
+        }
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.token();
+    }
+
+    /**
+     * Caches the principal of a token whose signature has just been verified.
+     *
+     * @param token raw bearer token
+     * @param principal principal built from the token claims
+     * @param issuedAt token issue time, may be {@code null}
+     * @param expiresAt token expiration; tokens without one are not cached
+     */
+    public void put(String token, AuthPrincipal principal, Date issuedAt, Date expiresAt) {
+        if (maxEntries == 0 || expiresAt == null) {
+            return;
+        }
+        long expiresAtMillis = expiresAt.getTime();
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(hash(token), new Entry(new VerifiedToken(principal, issuedAt, expiresAt), expiresAtMillis));
+    }
+
+    /**
+     * Drops every cached token.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of cached tokens.
+     *
+     * @return cache size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes expired entries and, if still too full, arbitrary entries down to 90% of capacity.
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        int target = (int) (maxEntries * EVICT_TO_RATIO);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A token whose signature has been verified.
+     *
+     * @param principal principal built from the token claims
+     * @param issuedAt token issue time, may be {@code null}
+     * @param expiresAt token expiration, may be {@code null}
+     */
+    public record VerifiedToken(AuthPrincipal principal, Date issuedAt, Date expiresAt) {}
+
+    private record Entry(VerifiedToken token, long expiresAtMillis) {}
+}
@@ -3,12 +3,14 @@ package com.kernith.easyinvoice.config;
 import com.kernith.easyinvoice.helper.CurrentUserArgumentResolver;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.List;
 
 /**
- * MVC configuration that registers custom method argument resolvers.
+ * MVC configuration that registers custom method argument resolvers and the
+ * annotation-based role checks.
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -33,4 +35,15 @@ public class WebConfig implements WebMvcConfigurer {
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         resolvers.add(resolver);
     }
+
+    /**
+     * Adds the {@link RoleAuthorizationInterceptor} enforcing
+     * {@link com.kernith.easyinvoice.helper.RequireRoles} on controllers.
+     *
+     * @param registry interceptor registry
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RoleAuthorizationInterceptor());
+    }
 }
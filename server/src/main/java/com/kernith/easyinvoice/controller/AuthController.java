@@ -3,11 +3,14 @@ package com.kernith.easyinvoice.controller;
 import com.kernith.easyinvoice.config.AuthPrincipal;
 import com.kernith.easyinvoice.data.dto.auth.LoginRequest;
 import com.kernith.easyinvoice.data.dto.auth.LoginResponse;
+import com.kernith.easyinvoice.data.dto.auth.RefreshTokenRequest;
 import com.kernith.easyinvoice.data.dto.user.ProfileResponse;
 import com.kernith.easyinvoice.data.model.User;
 import com.kernith.easyinvoice.helper.CurrentUser;
 import com.kernith.easyinvoice.service.AuthService;
 import com.kernith.easyinvoice.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,7 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.Optional;
 
 /**
- * Authentication endpoints for login and current user profile.
+ * Authentication endpoints for login, token refresh and current user profile.
  */
 @RestController
 @RequestMapping("auth")
@@ -33,12 +36,38 @@ public class AuthController {
      * Authenticates a user and returns a JWT token response.
      *
      * @param req login credentials
+     * @param request current HTTP request, used for the client address
      * @return login response with token and user info
+     * @throws com.kernith.easyinvoice.helper.TooManyRequestsException if too many attempts were made
      * @throws RuntimeException if credentials are invalid or user is disabled
      */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest req) {
-        return ResponseEntity.ok(authService.login(req));
+    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest req, HttpServletRequest request) {
+        return ResponseEntity.ok(authService.login(req, request.getRemoteAddr()));
+    }
+
+    /**
+     * Exchanges a refresh token for a new access/refresh token pair.
+     *
+     * @param req refresh token payload
+     * @return login response with the new tokens
+     * @throws org.springframework.web.server.ResponseStatusException if the refresh token is invalid
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest req) {
+        return ResponseEntity.ok(authService.refresh(req));
+    }
+
+    /**
+     * Revokes a refresh token.
+     *
+     * @param req refresh token payload
+     * @return {@code 204 No Content}
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest req) {
+        authService.logout(req);
+        return ResponseEntity.noContent().build();
     }
 
     /**
@@ -0,0 +1,180 @@
+package com.kernith.easyinvoice.controller;
+
+import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.dto.backup.BackupFileResponse;
+import com.kernith.easyinvoice.data.dto.backup.BackupProgressResponse;
+import com.kernith.easyinvoice.data.dto.backup.BackupRestoreResponse;
+import com.kernith.easyinvoice.data.dto.backup.BackupThrottleResponse;
+import com.kernith.easyinvoice.data.dto.backup.UpdateBackupThrottleRequest;
+import com.kernith.easyinvoice.data.model.UserRole;
+import com.kernith.easyinvoice.helper.CurrentUser;
+import com.kernith.easyinvoice.helper.RequireRoles;
+import com.kernith.easyinvoice.service.backup.BackupAdminService;
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Platform admin endpoints for controlling backups.
+ */
+@RestController
+@RequireRoles(UserRole.PLATFORM_ADMIN)
+public class BackupController {
+
+    private static final String PROGRESS_PATH = "/platform/backups/progress";
+
+    private final BackupAdminService backupAdminService;
+
+    public BackupController(BackupAdminService backupAdminService) {
+        this.backupAdminService = backupAdminService;
+    }
+
+    /**
+     * Returns the backup I/O throttle rate and metrics.
+     *
+     * @param principal authenticated principal
+     * @return throttle snapshot
+     * @throws org.springframework.web.server.ResponseStatusException if authorization fails
+     */
+    @GetMapping("/platform/backups/throttle")
+    public ResponseEntity<BackupThrottleResponse> getThrottle(@CurrentUser AuthPrincipal principal) {
+        return ResponseEntity.ok(backupAdminService.getThrottle(principal));
+    }
+
+    /**
+     * Updates the backup I/O throttle rate at runtime.
+     *
+     * @param request new rate payload
+     * @param principal authenticated principal
+     * @return throttle snapshot after the change
+     * @throws org.springframework.web.server.ResponseStatusException if validation or authorization fails
+     */
+    @PatchMapping("/platform/backups/throttle")
+    public ResponseEntity<BackupThrottleResponse> updateThrottle(
+            @Valid @RequestBody UpdateBackupThrottleRequest request,
+            @CurrentUser AuthPrincipal principal
+    ) {
+        return ResponseEntity.ok(backupAdminService.updateThrottle(request, principal));
+    }
+
+    /**
+     * Restores a company's PDFs from the deduplicated store as of a point in time.
+     *
+     * @param companyId company identifier
+     * @param at ISO date-time to restore; latest run when omitted
+     * @param principal authenticated principal
+     * @return restore outcome or {@code 404 Not Found} if no backup qualifies
+     * @throws org.springframework.web.server.ResponseStatusException if authorization fails
+     */
+    @PostMapping("/platform/backups/companies/{companyId}/restore")
+    public ResponseEntity<BackupRestoreResponse> restoreCompany(
+            @PathVariable("companyId") Long companyId,
+            @RequestParam(name = "at", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @CurrentUser AuthPrincipal principal
+    ) {
+        return backupAdminService.restoreCompany(companyId, at, principal)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Starts an on-demand backup of all companies.
+     *
+     * @param principal authenticated principal
+     * @return {@code 202 Accepted} pointing at the progress endpoint
+     * @throws org.springframework.web.server.ResponseStatusException if authorization fails or a run is in progress
+     */
+    @PostMapping("/platform/backups/run")
+    public ResponseEntity<Void> runBackup(@CurrentUser AuthPrincipal principal) {
+        backupAdminService.startBackup(null, principal);
+        return ResponseEntity.accepted().location(URI.create(PROGRESS_PATH)).build();
+    }
+
+    /**
+     * Starts an on-demand backup of one company.
+     *
+     * @param companyId company identifier
+     * @param principal authenticated principal
+     * @return {@code 202 Accepted} pointing at the progress endpoint, or {@code 404 Not Found}
+     * @throws org.springframework.web.server.ResponseStatusException if authorization fails or a run is in progress
+     */
+    @PostMapping("/platform/backups/companies/{companyId}/run")
+    public ResponseEntity<Void> runCompanyBackup(
+            @PathVariable("companyId") Long companyId,
+            @CurrentUser AuthPrincipal principal
+    ) {
+        if (!backupAdminService.startBackup(companyId, principal)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.accepted().location(URI.create(PROGRESS_PATH)).build();
+    }
+
+    /**
+     * Returns the live progress of the current or last backup run.
+     *
+     * @param principal authenticated principal
+     * @return progress or {@code 404 Not Found} if no run has started since boot
+     * @throws org.springframework.web.server.ResponseStatusException if authorization fails
+     */
+    @GetMapping(PROGRESS_PATH)
+    public ResponseEntity<BackupProgressResponse> getProgress(@CurrentUser AuthPrincipal principal) {
+        return backupAdminService.getProgress(principal)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Lists the backup files kept for a company, newest first.
+     *
+     * @param companyId company identifier
+     * @param principal authenticated principal
+     * @return backup files or {@code 404 Not Found} if the company does not exist
+     * @throws org.springframework.web.server.ResponseStatusException if authorization fails
+     */
+    @GetMapping("/platform/backups/companies/{companyId}/files")
+    public ResponseEntity<List<BackupFileResponse>> listBackups(
+            @PathVariable("companyId") Long companyId,
+            @CurrentUser AuthPrincipal principal
+    ) {
+        return backupAdminService.listBackups(companyId, principal)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Downloads one backup file of a company.
+     *
+     * @param companyId company identifier
+     * @param fileName file name as listed
+     * @param principal authenticated principal
+     * @return file as attachment or {@code 404 Not Found}
+     * @throws org.springframework.web.server.ResponseStatusException if authorization fails
+     */
+    @GetMapping("/platform/backups/companies/{companyId}/files/{fileName:.+}")
+    public ResponseEntity<Resource> downloadBackup(
+            @PathVariable("companyId") Long companyId,
+            @PathVariable("fileName") String fileName,
+            @CurrentUser AuthPrincipal principal
+    ) {
+        return backupAdminService.downloadBackup(companyId, fileName, principal)
+                .map(file -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.fileName() + "\"")
+                        .body(file.resource()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -7,7 +7,9 @@ import com.kernith.easyinvoice.data.dto.company.CreateCompanyManagerRequest;
 import com.kernith.easyinvoice.data.dto.company.CreatePlatformCompanyManagerRequest;
 import com.kernith.easyinvoice.data.dto.company.CreateCompanyRequest;
 import com.kernith.easyinvoice.data.dto.user.UserSummary;
+import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.helper.CurrentUser;
+import com.kernith.easyinvoice.helper.RequireRoles;
 import com.kernith.easyinvoice.service.CompanyService;
 import jakarta.validation.Valid;
 import java.util.List;
@@ -23,6 +25,7 @@ import org.springframework.web.bind.annotation.RestController;
  * Platform admin endpoints for company management.
  */
 @RestController
+@RequireRoles(UserRole.PLATFORM_ADMIN)
 public class CompanyController {
 
     private final CompanyService companyService;
@@ -1,6 +1,7 @@
 package com.kernith.easyinvoice.controller;
 
 import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.dto.PageResponse;
 import com.kernith.easyinvoice.data.dto.customer.CreateCustomerRequest;
 import com.kernith.easyinvoice.data.dto.customer.CustomerDetailResponse;
 import com.kernith.easyinvoice.data.dto.customer.CustomerSummaryResponse;
@@ -8,13 +9,19 @@ import com.kernith.easyinvoice.data.dto.customer.UpdateCustomerRequest;
 import com.kernith.easyinvoice.data.dto.quote.QuoteSummaryResponse;
 import com.kernith.easyinvoice.data.model.Customer;
 import com.kernith.easyinvoice.data.model.Quote;
+import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.helper.CurrentUser;
+import com.kernith.easyinvoice.helper.ETags;
+import com.kernith.easyinvoice.helper.RequireRoles;
+import com.kernith.easyinvoice.helper.SparseFields;
 import com.kernith.easyinvoice.service.CustomerService;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,6 +29,7 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -29,6 +37,7 @@ import org.springframework.web.bind.annotation.RestController;
  * Customer endpoints for CRUD operations and related quotes.
  */
 @RestController
+@RequireRoles({UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE})
 public class CustomerController {
 
     private final CustomerService customerService;
@@ -45,6 +54,7 @@ public class CustomerController {
      * @return created customer summary
      * @throws org.springframework.web.server.ResponseStatusException if validation or authorization fails
      */
+    @RequireRoles(UserRole.COMPANY_MANAGER)
     @PostMapping("/manager/customers")
     public ResponseEntity<CustomerSummaryResponse> createCustomer(
             @Valid @RequestBody CreateCustomerRequest request,
@@ -57,18 +67,24 @@ public class CustomerController {
      * Returns a customer by id.
      *
      * @param customerId customer identifier
+     * @param ifNoneMatch entity tag of the client's copy, if any
      * @param principal authenticated principal
-     * @return customer details or {@code 404 Not Found} if missing
+     * @return customer details, {@code 304 Not Modified} if unchanged or {@code 404 Not Found} if missing
      * @throws org.springframework.web.server.ResponseStatusException if authorization fails
      */
     @GetMapping("/manager/customers/{customerId}")
     public ResponseEntity<CustomerDetailResponse> getCustomer(
             @PathVariable("customerId") Long customerId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @CurrentUser AuthPrincipal principal
     ) {
         Optional<Customer> optionalCustomer = customerService.getCustomer(customerId, principal);
         if (optionalCustomer.isPresent()) {
-            return ResponseEntity.ok(CustomerDetailResponse.from(optionalCustomer.get()));
+            String etag = ETags.of(optionalCustomer.get());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ETags.notModified(etag);
+            }
+            return ResponseEntity.ok().eTag(etag).body(CustomerDetailResponse.from(optionalCustomer.get()));
         } else  {
             return ResponseEntity.notFound().build();
         }
@@ -83,6 +99,7 @@ public class CustomerController {
      * @return updated customer details
      * @throws org.springframework.web.server.ResponseStatusException if validation or authorization fails
      */
+    @RequireRoles(UserRole.COMPANY_MANAGER)
     @PatchMapping("/manager/customers/{customerId}")
     public ResponseEntity<CustomerDetailResponse> updateCustomer(
             @PathVariable("customerId") Long customerId,
@@ -100,6 +117,7 @@ public class CustomerController {
      * @return {@code 204 No Content} on success or {@code 404 Not Found} if missing
      * @throws org.springframework.web.server.ResponseStatusException if authorization fails
      */
+    @RequireRoles(UserRole.COMPANY_MANAGER)
     @DeleteMapping("/manager/customers/{customerId}")
     public ResponseEntity<Void> deleteCustomer(
             @PathVariable("customerId") Long customerId,
@@ -118,23 +136,43 @@ public class CustomerController {
      * @param size page size
      * @param sort sort spec (field,dir)
      * @param q optional search query
+     * @param total whether to count and return the total number of items
+     * @param fields comma-separated fields to return (sparse fieldset, see {@link CustomerSummaryResponse#FIELDS}); all if absent
+     * @param ifNoneMatch entity tag of the client's copy, if any
      * @param principal authenticated principal
-     * @return paged customer summaries or {@code 204 No Content} if empty
+     * @return page of customer summaries, {@code 204 No Content} if empty or {@code 304 Not Modified} if unchanged
      * @throws org.springframework.web.server.ResponseStatusException if authorization fails
      */
     @GetMapping(value = "/manager/customers", params = "type=summary")
-    public ResponseEntity<Page<CustomerSummaryResponse>> listCustomersSummary(
+    public ResponseEntity<PageResponse<?>> listCustomersSummary(
             @RequestParam(name = "page", defaultValue = "0") int page,
             @RequestParam(name = "size", defaultValue = "20") int size,
             @RequestParam(name = "sort", defaultValue = "displayName,asc") String sort,
             @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "total", defaultValue = "false") boolean total,
+            @RequestParam(name = "fields", required = false) String fields,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @CurrentUser AuthPrincipal principal
     ) {
-        Page<Customer> customers = customerService.listCustomers(principal, page, size, sort, q);
+        Map<String, String> columns = SparseFields.select(fields, CustomerSummaryResponse.FIELDS);
+        String etag = customerService.collectionETag(principal);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        if (columns != null) {
+            Slice<Map<String, Object>> rows = customerService.listCustomerFields(principal, page, size, sort, q, columns, total);
+            if (rows.isEmpty()) {
+                return ResponseEntity.noContent().eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(PageResponse.from(rows, row -> row));
+        }
+        Slice<Customer> customers = total
+                ? customerService.listCustomers(principal, page, size, sort, q)
+                : customerService.sliceCustomers(principal, page, size, sort, q);
         if (customers.isEmpty()) {
-            return ResponseEntity.noContent().build();
+            return ResponseEntity.noContent().eTag(etag).build();
         }
-        return ResponseEntity.ok(customers.map(CustomerSummaryResponse::from));
+        return ResponseEntity.ok().eTag(etag).body(PageResponse.from(customers, CustomerSummaryResponse::from));
     }
 
     /**
@@ -144,23 +182,43 @@ public class CustomerController {
      * @param size page size
      * @param sort sort spec (field,dir)
      * @param q optional search query
+     * @param total whether to count and return the total number of items
+     * @param fields comma-separated fields to return (sparse fieldset, see {@link CustomerDetailResponse#FIELDS}); all if absent
+     * @param ifNoneMatch entity tag of the client's copy, if any
      * @param principal authenticated principal
-     * @return paged customer details or {@code 204 No Content} if empty
+     * @return page of customer details, {@code 204 No Content} if empty or {@code 304 Not Modified} if unchanged
      * @throws org.springframework.web.server.ResponseStatusException if authorization fails
      */
     @GetMapping("/manager/customers")
-    public ResponseEntity<Page<CustomerDetailResponse>> listCustomers(
+    public ResponseEntity<PageResponse<?>> listCustomers(
             @RequestParam(name = "page", defaultValue = "0") int page,
             @RequestParam(name = "size", defaultValue = "20") int size,
             @RequestParam(name = "sort", defaultValue = "displayName,asc") String sort,
             @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "total", defaultValue = "false") boolean total,
+            @RequestParam(name = "fields", required = false) String fields,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @CurrentUser AuthPrincipal principal
     ) {
-        Page<Customer> customers = customerService.listCustomers(principal, page, size, sort, q);
+        Map<String, String> columns = SparseFields.select(fields, CustomerDetailResponse.FIELDS);
+        String etag = customerService.collectionETag(principal);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        if (columns != null) {
+            Slice<Map<String, Object>> rows = customerService.listCustomerFields(principal, page, size, sort, q, columns, total);
+            if (rows.isEmpty()) {
+                return ResponseEntity.noContent().eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(PageResponse.from(rows, row -> row));
+        }
+        Slice<Customer> customers = total
+                ? customerService.listCustomers(principal, page, size, sort, q)
+                : customerService.sliceCustomers(principal, page, size, sort, q);
         if (customers.isEmpty()) {
-            return ResponseEntity.noContent().build();
+            return ResponseEntity.noContent().eTag(etag).build();
         }
-        return ResponseEntity.ok(customers.map(CustomerDetailResponse::from));
+        return ResponseEntity.ok().eTag(etag).body(PageResponse.from(customers, CustomerDetailResponse::from));
     }
 
     /**
@@ -171,6 +229,7 @@ public class CustomerController {
      * @return {@code 204 No Content} on success or {@code 404 Not Found} if missing
      * @throws org.springframework.web.server.ResponseStatusException if authorization fails
      */
+    @RequireRoles(UserRole.COMPANY_MANAGER)
     @PostMapping("/manager/customers/{customerId}/archive")
     public ResponseEntity<Void> archiveCustomer(
             @PathVariable("customerId") Long customerId,
@@ -190,6 +249,7 @@ public class CustomerController {
      * @return {@code 204 No Content} on success or {@code 404 Not Found} if missing
      * @throws org.springframework.web.server.ResponseStatusException if authorization fails
      */
+    @RequireRoles(UserRole.COMPANY_MANAGER)
     @PostMapping("/manager/customers/{customerId}/restore")
     public ResponseEntity<Void> restoreCustomer(
             @PathVariable("customerId") Long customerId,
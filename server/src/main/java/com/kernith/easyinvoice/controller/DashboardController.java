@@ -1,17 +1,43 @@
 package com.kernith.easyinvoice.controller;
 
 import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.dto.PageResponse;
 import com.kernith.easyinvoice.data.dto.dashboard.AdminDashboardSummaryResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.CompanyActivityResponse;
 import com.kernith.easyinvoice.data.dto.dashboard.CustomerInvoiceSummaryResponse;
 import com.kernith.easyinvoice.data.dto.dashboard.ManagerDashboardSummaryResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.ReceivablesAgingResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.RevenueSeriesResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.TopCustomersResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.VatSummaryResponse;
+import com.kernith.easyinvoice.data.model.RevenueGranularity;
+import com.kernith.easyinvoice.data.model.TopCustomerMetric;
+import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.helper.CurrentUser;
+import com.kernith.easyinvoice.helper.RequireRoles;
 import com.kernith.easyinvoice.service.DashboardService;
+import com.kernith.easyinvoice.service.PlatformAnalyticsService;
+import com.kernith.easyinvoice.service.PlatformAnalyticsService.ActivityQuery;
+import com.kernith.easyinvoice.service.ReceivablesService;
+import com.kernith.easyinvoice.service.RevenueRollupService;
+import com.kernith.easyinvoice.service.VatSummaryService;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Dashboard endpoints for managers and platform admins.
@@ -20,9 +46,23 @@ import org.springframework.web.bind.annotation.RestController;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final RevenueRollupService revenueRollupService;
+    private final ReceivablesService receivablesService;
+    private final PlatformAnalyticsService platformAnalyticsService;
+    private final VatSummaryService vatSummaryService;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(
+            DashboardService dashboardService,
+            RevenueRollupService revenueRollupService,
+            ReceivablesService receivablesService,
+            PlatformAnalyticsService platformAnalyticsService,
+            VatSummaryService vatSummaryService
+    ) {
         this.dashboardService = dashboardService;
+        this.revenueRollupService = revenueRollupService;
+        this.receivablesService = receivablesService;
+        this.platformAnalyticsService = platformAnalyticsService;
+        this.vatSummaryService = vatSummaryService;
     }
 
     /**
@@ -31,6 +71,7 @@ public class DashboardController {
      * @param principal authenticated principal
      * @return summary response
      */
+    @RequireRoles(UserRole.COMPANY_MANAGER)
     @GetMapping("/manager/dashboard/summary")
     public ResponseEntity<ManagerDashboardSummaryResponse> managerSummary(
             @CurrentUser AuthPrincipal principal
@@ -45,6 +86,7 @@ public class DashboardController {
      * @param principal authenticated principal
      * @return summary response or {@code 404 Not Found} if customer missing
      */
+    @RequireRoles({UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE})
     @GetMapping("/manager/customers/{customerId}/invoice-summary")
     public ResponseEntity<CustomerInvoiceSummaryResponse> customerInvoiceSummary(
             @PathVariable("customerId") Long customerId,
@@ -58,16 +100,179 @@ public class DashboardController {
         return ResponseEntity.ok(response.get());
     }
 
+    /**
+     * Returns issued and paid revenue per day or month for the current company.
+     *
+     * @param from first day of the range (ISO date)
+     * @param to last day of the range (ISO date)
+     * @param granularity bucket size, {@code MONTH} by default
+     * @param customerId optional customer filter
+     * @param principal authenticated principal
+     * @return series or {@code 404 Not Found} if the customer is missing
+     */
+    @RequireRoles(UserRole.COMPANY_MANAGER)
+    @GetMapping("/manager/dashboard/revenue")
+    public ResponseEntity<RevenueSeriesResponse> revenueSeries(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "granularity", defaultValue = "MONTH") RevenueGranularity granularity,
+            @RequestParam(name = "customerId", required = false) Long customerId,
+            @CurrentUser AuthPrincipal principal
+    ) {
+        Optional<RevenueSeriesResponse> response =
+                revenueRollupService.getSeries(principal, from, to, granularity, customerId);
+        if (response.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(response.get());
+    }
+
+    /**
+     * Returns the current company's top customers by paid amount, issued invoices or open balance.
+     *
+     * @param metric ranking criterion, {@code PAID} by default
+     * @param from first month of the period ({@code yyyy-MM}), 11 months before {@code to} if omitted
+     * @param to last month of the period ({@code yyyy-MM}), the current month if omitted
+     * @param limit number of customers (max 100)
+     * @param principal authenticated principal
+     * @return ranked customers
+     */
+    @RequireRoles(UserRole.COMPANY_MANAGER)
+    @GetMapping("/manager/dashboard/top-customers")
+    public ResponseEntity<TopCustomersResponse> topCustomers(
+            @RequestParam(name = "metric", defaultValue = "PAID") TopCustomerMetric metric,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(name = "limit", defaultValue = "10") int limit,
+            @CurrentUser AuthPrincipal principal
+    ) {
+        return ResponseEntity.ok(revenueRollupService.getTopCustomers(principal, metric, from, to, limit));
+    }
+
+    /**
+     * Returns the VAT breakdown per rate of the current company's invoices issued in a period.
+     *
+     * @param from first month of the period ({@code yyyy-MM}), same as {@code to} if omitted
+     * @param to last month of the period ({@code yyyy-MM}), the current month if omitted
+     * @param principal authenticated principal
+     * @return VAT summary
+     */
+    @RequireRoles(UserRole.COMPANY_MANAGER)
+    @GetMapping("/manager/dashboard/vat")
+    public ResponseEntity<VatSummaryResponse> vatSummary(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @CurrentUser AuthPrincipal principal
+    ) {
+        return ResponseEntity.ok(vatSummaryService.getSummary(principal, from, to));
+    }
+
+    /**
+     * Returns the receivables aging report of the current company.
+     *
+     * @param asOf date the days past due are counted from (ISO date), today if omitted
+     * @param principal authenticated principal
+     * @return aging report
+     */
+    @RequireRoles({UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE})
+    @GetMapping("/manager/receivables/aging")
+    public ResponseEntity<ReceivablesAgingResponse> receivablesAging(
+            @RequestParam(name = "asOf", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @CurrentUser AuthPrincipal principal
+    ) {
+        return ResponseEntity.ok(receivablesService.getAging(principal, asOf));
+    }
+
+    /**
+     * Streams the receivables aging report of the current company as CSV.
+     *
+     * @param asOf date the days past due are counted from (ISO date), today if omitted
+     * @param principal authenticated principal
+     * @return CSV download
+     */
+    @RequireRoles({UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE})
+    @GetMapping("/manager/receivables/aging.csv")
+    public ResponseEntity<StreamingResponseBody> receivablesAgingCsv(
+            @RequestParam(name = "asOf", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @CurrentUser AuthPrincipal principal
+    ) {
+        ReceivablesAgingResponse report = receivablesService.getAging(principal, asOf);
+        StreamingResponseBody body = out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            receivablesService.writeAgingCsv(report, writer);
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=receivables-aging-" + report.asOf() + ".csv")
+                .body(body);
+    }
+
     /**
      * Returns the admin dashboard summary for platform admins.
      *
      * @param principal authenticated principal
      * @return admin summary
      */
+    @RequireRoles(UserRole.PLATFORM_ADMIN)
     @GetMapping("/platform/dashboard/summary")
     public ResponseEntity<AdminDashboardSummaryResponse> adminSummary(
             @CurrentUser AuthPrincipal principal
     ) {
         return ResponseEntity.ok(dashboardService.getAdminSummary(principal));
     }
+
+    /**
+     * Returns per-company activity for platform admins.
+     *
+     * @param from first month of the period ({@code yyyy-MM}), same as {@code to} if omitted
+     * @param to last month of the period ({@code yyyy-MM}), the current month if omitted
+     * @param page page index (0-based)
+     * @param size page size
+     * @param sort sort spec (field,dir)
+     * @param principal authenticated principal
+     * @return page of company rows with the total
+     */
+    @RequireRoles(UserRole.PLATFORM_ADMIN)
+    @GetMapping("/platform/analytics/companies")
+    public ResponseEntity<PageResponse<CompanyActivityResponse>> companyActivity(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "sort", defaultValue = "companyName,asc") String sort,
+            @CurrentUser AuthPrincipal principal
+    ) {
+        ActivityQuery query = platformAnalyticsService.query(principal, from, to, sort);
+        Page<CompanyActivityResponse> rows = platformAnalyticsService.listCompanyActivity(query, page, size);
+        return ResponseEntity.ok(PageResponse.from(rows, row -> row));
+    }
+
+    /**
+     * Streams the per-company activity of every company as CSV.
+     *
+     * @param from first month of the period ({@code yyyy-MM}), same as {@code to} if omitted
+     * @param to last month of the period ({@code yyyy-MM}), the current month if omitted
+     * @param sort sort spec (field,dir)
+     * @param principal authenticated principal
+     * @return CSV download
+     */
+    @RequireRoles(UserRole.PLATFORM_ADMIN)
+    @GetMapping("/platform/analytics/companies.csv")
+    public ResponseEntity<StreamingResponseBody> companyActivityCsv(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(name = "sort", defaultValue = "companyName,asc") String sort,
+            @CurrentUser AuthPrincipal principal
+    ) {
+        ActivityQuery query = platformAnalyticsService.query(principal, from, to, sort);
+        StreamingResponseBody body = out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            platformAnalyticsService.writeCompanyActivityCsv(query, writer);
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=company-activity-" + query.from() + "_" + query.to() + ".csv")
+                .body(body);
+    }
 }
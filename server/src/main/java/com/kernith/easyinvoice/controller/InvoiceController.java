@@ -1,19 +1,25 @@
 package com.kernith.easyinvoice.controller;
 
 import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.dto.PageResponse;
 import com.kernith.easyinvoice.data.dto.invoice.*;
 import com.kernith.easyinvoice.data.model.Invoice;
 import com.kernith.easyinvoice.data.model.InvoicePdfArchive;
+import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.helper.CurrentUser;
+import com.kernith.easyinvoice.helper.ETags;
+import com.kernith.easyinvoice.helper.RequireRoles;
+import com.kernith.easyinvoice.helper.SparseFields;
 import com.kernith.easyinvoice.service.InvoicePdfService;
 import com.kernith.easyinvoice.service.InvoiceService;
 import com.kernith.easyinvoice.service.PdfService;
 import jakarta.validation.Valid;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.springframework.core.io.Resource;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -23,6 +29,7 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -30,6 +37,7 @@ import org.springframework.web.bind.annotation.RestController;
  * Invoice endpoints for CRUD operations, status transitions, and PDF retrieval.
  */
 @RestController
+@RequireRoles({UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE})
 public class InvoiceController {
 
     private final InvoiceService invoiceService;
@@ -65,43 +73,69 @@ public class InvoiceController {
      * @param size page size
      * @param sort sort spec (field,dir)
      * @param q optional search query
+     * @param total whether to count and return the total number of items
+     * @param fields comma-separated fields to return (sparse fieldset, see {@link InvoiceSummaryResponse#FIELDS}); all if absent
+     * @param ifNoneMatch entity tag of the client's copy, if any
      * @param principal authenticated principal
-     * @return paged invoice summaries or {@code 204 No Content} if empty
+     * @return page of invoice summaries, {@code 204 No Content} if empty or {@code 304 Not Modified} if unchanged
      * @throws org.springframework.web.server.ResponseStatusException if authorization fails
      */
     @GetMapping("/invoices")
-    public ResponseEntity<Page<InvoiceSummaryResponse>> listInvoices(
+    public ResponseEntity<PageResponse<?>> listInvoices(
             @RequestParam(name = "page", defaultValue = "0") int page,
             @RequestParam(name = "size", defaultValue = "20") int size,
             @RequestParam(name = "sort", defaultValue = "issueDate,desc") String sort,
             @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "total", defaultValue = "false") boolean total,
+            @RequestParam(name = "fields", required = false) String fields,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @CurrentUser AuthPrincipal principal
     ) {
-        Page<Invoice> invoices = invoiceService.listInvoices(principal, page, size, sort, q);
+        Map<String, String> columns = SparseFields.select(fields, InvoiceSummaryResponse.FIELDS);
+        String etag = invoiceService.collectionETag(principal);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        if (columns != null) {
+            Slice<Map<String, Object>> rows = invoiceService.listInvoiceFields(principal, page, size, sort, q, columns, total);
+            if (rows.isEmpty()) {
+                return ResponseEntity.noContent().eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(PageResponse.from(rows, row -> row));
+        }
+        Slice<Invoice> invoices = total
+                ? invoiceService.listInvoices(principal, page, size, sort, q)
+                : invoiceService.sliceInvoices(principal, page, size, sort, q);
         if (invoices.isEmpty()) {
-            return ResponseEntity.noContent().build();
+            return ResponseEntity.noContent().eTag(etag).build();
         }
-        return ResponseEntity.ok(invoices.map(InvoiceSummaryResponse::from));
+        return ResponseEntity.ok().eTag(etag).body(PageResponse.from(invoices, InvoiceSummaryResponse::from));
     }
 
     /**
      * Returns a single invoice by id.
      *
      * @param invoiceId invoice identifier
+     * @param ifNoneMatch entity tag of the client's copy, if any
      * @param principal authenticated principal
-     * @return invoice details or {@code 400 Bad Request} if not found
+     * @return invoice details, {@code 304 Not Modified} if unchanged or {@code 400 Bad Request} if not found
      * @throws org.springframework.web.server.ResponseStatusException if authorization fails
      */
     @GetMapping("/invoices/{invoiceId}")
     public ResponseEntity<InvoiceDetailResponse> getInvoice(
             @PathVariable("invoiceId") Long invoiceId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @CurrentUser AuthPrincipal principal
     ) {
         Optional<Invoice> optionalInvoice = invoiceService.getInvoice(invoiceId, principal);
         if (optionalInvoice.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
-        return ResponseEntity.ok(InvoiceDetailResponse.from(optionalInvoice.get()));
+        String etag = ETags.of(optionalInvoice.get());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(InvoiceDetailResponse.from(optionalInvoice.get()));
     }
 
     /**
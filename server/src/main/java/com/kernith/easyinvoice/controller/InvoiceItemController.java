@@ -5,7 +5,9 @@ import com.kernith.easyinvoice.data.dto.invoiceitem.CreateInvoiceItemRequest;
 import com.kernith.easyinvoice.data.dto.invoiceitem.InvoiceItemResponse;
 import com.kernith.easyinvoice.data.dto.invoiceitem.UpdateInvoiceItemRequest;
 import com.kernith.easyinvoice.data.model.InvoiceItem;
+import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.helper.CurrentUser;
+import com.kernith.easyinvoice.helper.RequireRoles;
 import com.kernith.easyinvoice.service.InvoiceItemService;
 import jakarta.validation.Valid;
 import java.util.List;
@@ -24,6 +26,7 @@ import org.springframework.web.bind.annotation.RestController;
  * Invoice item endpoints for managing items within an invoice.
  */
 @RestController
+@RequireRoles({UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE})
 public class InvoiceItemController {
 
     private final InvoiceItemService invoiceItemService;
@@ -0,0 +1,51 @@
+package com.kernith.easyinvoice.controller;
+
+import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.config.JwtAuthenticationFilter;
+import com.kernith.easyinvoice.config.VerifiedTokenCache;
+import com.kernith.easyinvoice.data.model.UserRole;
+import com.kernith.easyinvoice.helper.CurrentUser;
+import com.kernith.easyinvoice.helper.RequireRoles;
+import com.kernith.easyinvoice.service.LiveUpdateService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent event stream of invoice and quote changes for the current company.
+ */
+@RestController
+public class LiveUpdateController {
+
+    private final LiveUpdateService liveUpdateService;
+
+    public LiveUpdateController(LiveUpdateService liveUpdateService) {
+        this.liveUpdateService = liveUpdateService;
+    }
+
+    /**
+     * Opens the company's event stream.
+     *
+     * <p>Emits {@code invoice} and {@code quote} events after every committed create, status
+     * transition or total change, and {@code refresh} when the client should reload its data.
+     * Browsers pass the access token as {@code ?access_token=}, since {@code EventSource} cannot
+     * set headers; the stream is closed when that token expires or is revoked.</p>
+     *
+     * @param principal authenticated principal
+     * @param token access token that authenticated the request
+     * @return event stream or {@code 429 Too Many Requests} if the company has too many open streams
+     */
+    @RequireRoles({UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE})
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(
+            @CurrentUser AuthPrincipal principal,
+            @RequestAttribute(name = JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE, required = false)
+            VerifiedTokenCache.VerifiedToken token
+    ) {
+        return token == null
+                ? liveUpdateService.subscribe(principal, null, null)
+                : liveUpdateService.subscribe(principal, token.issuedAt(), token.expiresAt());
+    }
+}
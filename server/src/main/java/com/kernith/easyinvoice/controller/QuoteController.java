@@ -1,19 +1,26 @@
 package com.kernith.easyinvoice.controller;
 
 import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.dto.PageResponse;
 import com.kernith.easyinvoice.data.dto.quote.CreateQuoteRequest;
 import com.kernith.easyinvoice.data.dto.quote.QuoteDetailResponse;
 import com.kernith.easyinvoice.data.dto.quote.QuoteSummaryResponse;
 import com.kernith.easyinvoice.data.dto.quote.UpdateQuoteRequest;
 import com.kernith.easyinvoice.data.dto.invoice.InvoiceDetailResponse;
 import com.kernith.easyinvoice.data.model.Quote;
+import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.helper.CurrentUser;
+import com.kernith.easyinvoice.helper.ETags;
+import com.kernith.easyinvoice.helper.RequireRoles;
+import com.kernith.easyinvoice.helper.SparseFields;
 import com.kernith.easyinvoice.service.InvoiceService;
 import com.kernith.easyinvoice.service.PdfService;
 import com.kernith.easyinvoice.service.QuoteService;
 import jakarta.validation.Valid;
+import java.util.Map;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,6 +28,7 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -28,6 +36,7 @@ import org.springframework.web.bind.annotation.RestController;
  * Quote endpoints for CRUD operations, status transitions, and PDF rendering.
  */
 @RestController
+@RequireRoles({UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE})
 public class QuoteController {
 
     private final QuoteService quoteService;
@@ -63,43 +72,69 @@ public class QuoteController {
      * @param size page size
      * @param sort sort spec (field,dir)
      * @param q optional search query
+     * @param total whether to count and return the total number of items
+     * @param fields comma-separated fields to return (sparse fieldset, see {@link QuoteSummaryResponse#FIELDS}); all if absent
+     * @param ifNoneMatch entity tag of the client's copy, if any
      * @param principal authenticated principal
-     * @return paged quote summaries or {@code 204 No Content} if empty
+     * @return page of quote summaries, {@code 204 No Content} if empty or {@code 304 Not Modified} if unchanged
      * @throws org.springframework.web.server.ResponseStatusException if authorization fails
      */
     @GetMapping("/quotes")
-    public ResponseEntity<Page<QuoteSummaryResponse>> listQuotes(
+    public ResponseEntity<PageResponse<?>> listQuotes(
             @RequestParam(name = "page", defaultValue = "0") int page,
             @RequestParam(name = "size", defaultValue = "20") int size,
             @RequestParam(name = "sort", defaultValue = "issueDate,desc") String sort,
             @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "total", defaultValue = "false") boolean total,
+            @RequestParam(name = "fields", required = false) String fields,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @CurrentUser AuthPrincipal principal
     ) {
-        Page<Quote> quotes = quoteService.listQuotes(principal, page, size, sort, q);
+        Map<String, String> columns = SparseFields.select(fields, QuoteSummaryResponse.FIELDS);
+        String etag = quoteService.collectionETag(principal);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        if (columns != null) {
+            Slice<Map<String, Object>> rows = quoteService.listQuoteFields(principal, page, size, sort, q, columns, total);
+            if (rows.isEmpty()) {
+                return ResponseEntity.noContent().eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(PageResponse.from(rows, row -> row));
+        }
+        Slice<Quote> quotes = total
+                ? quoteService.listQuotes(principal, page, size, sort, q)
+                : quoteService.sliceQuotes(principal, page, size, sort, q);
         if (quotes.isEmpty()) {
-            return ResponseEntity.noContent().build();
+            return ResponseEntity.noContent().eTag(etag).build();
         }
-        return ResponseEntity.ok(quotes.map(QuoteSummaryResponse::from));
+        return ResponseEntity.ok().eTag(etag).body(PageResponse.from(quotes, QuoteSummaryResponse::from));
     }
 
     /**
      * Returns a single quote by id.
      *
      * @param quoteId quote identifier
+     * @param ifNoneMatch entity tag of the client's copy, if any
      * @param principal authenticated principal
-     * @return quote details or {@code 400 Bad Request} if not found
+     * @return quote details, {@code 304 Not Modified} if unchanged or {@code 400 Bad Request} if not found
      * @throws org.springframework.web.server.ResponseStatusException if authorization fails
      */
     @GetMapping("/quotes/{quoteId}")
     public ResponseEntity<QuoteDetailResponse> getQuote(
             @PathVariable("quoteId") Long quoteId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @CurrentUser AuthPrincipal principal
     ) {
         Optional<Quote> optionalQuote = quoteService.getQuote(quoteId, principal);
         if (optionalQuote.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
-        return ResponseEntity.ok(QuoteDetailResponse.from(optionalQuote.get()));
+        String etag = ETags.of(optionalQuote.get());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(QuoteDetailResponse.from(optionalQuote.get()));
     }
 
     /**
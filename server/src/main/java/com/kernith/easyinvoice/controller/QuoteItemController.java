@@ -5,7 +5,9 @@ import com.kernith.easyinvoice.data.dto.quoteitem.CreateQuoteItemRequest;
 import com.kernith.easyinvoice.data.dto.quoteitem.QuoteItemResponse;
 import com.kernith.easyinvoice.data.dto.quoteitem.UpdateQuoteItemRequest;
 import com.kernith.easyinvoice.data.model.QuoteItem;
+import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.helper.CurrentUser;
+import com.kernith.easyinvoice.helper.RequireRoles;
 import com.kernith.easyinvoice.service.QuoteItemService;
 import jakarta.validation.Valid;
 import java.util.List;
@@ -22,6 +24,7 @@ import org.springframework.web.bind.annotation.RestController;
  * Quote item endpoints for managing items within a quote.
  */
 @RestController
+@RequireRoles({UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE})
 public class QuoteItemController {
 
     private final QuoteItemService quoteItemService;
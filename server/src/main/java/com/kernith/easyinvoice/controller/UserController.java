@@ -5,7 +5,9 @@ import com.kernith.easyinvoice.data.dto.user.CreateBackofficeUserRequest;
 import com.kernith.easyinvoice.data.dto.user.ProfileResponse;
 import com.kernith.easyinvoice.data.dto.user.UserSummary;
 import com.kernith.easyinvoice.data.model.User;
+import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.helper.CurrentUser;
+import com.kernith.easyinvoice.helper.RequireRoles;
 import com.kernith.easyinvoice.service.UserService;
 import jakarta.validation.Valid;
 import java.util.List;
@@ -40,6 +42,7 @@ public class UserController {
 	 * @return created user summary or {@code 404 Not Found} if current user missing
 	 * @throws org.springframework.web.server.ResponseStatusException if validation or authorization fails
 	 */
+	@RequireRoles(UserRole.COMPANY_MANAGER)
 	@PostMapping("/manager/backoffice-users")
 	public ResponseEntity<UserSummary> createBackofficeUser(
 			@Valid @RequestBody CreateBackofficeUserRequest request,
@@ -76,6 +79,7 @@ public class UserController {
 	 * @return list of user summaries or {@code 204 No Content} if empty
 	 * @throws org.springframework.web.server.ResponseStatusException if authorization fails
 	 */
+	@RequireRoles(UserRole.PLATFORM_ADMIN)
 	@GetMapping("/platform/users")
 	public ResponseEntity<List<UserSummary>> listPlatformUsers(@CurrentUser AuthPrincipal principal) {
 		List<User> users = userService.listPlatformUsers(principal);
@@ -93,6 +97,7 @@ public class UserController {
 	 * @return {@code 204 No Content} on success or {@code 404 Not Found} if missing
 	 * @throws org.springframework.web.server.ResponseStatusException if authorization fails
 	 */
+	@RequireRoles({UserRole.COMPANY_MANAGER, UserRole.PLATFORM_ADMIN})
 	@PatchMapping("/manager/users/{userId}/disable")
 	public ResponseEntity<Void> disableUser(@PathVariable("userId") Long userId, @CurrentUser AuthPrincipal principal) {
 		if (userService.disableUser(userId, principal).isEmpty()) {
@@ -0,0 +1,44 @@
+package com.kernith.easyinvoice.data.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Compact page envelope returned by list endpoints instead of Spring Data's {@link Page}.
+ *
+ * @param content items of the requested page
+ * @param number page index (0-based)
+ * @param size requested page size
+ * @param next index of the next page, or {@code null} on the last page
+ * @param totalElements total number of items; only present when the total was requested
+ * @param <T> item type
+ */
+public record PageResponse<T>(
+        List<T> content,
+        int number,
+        int size,
+        Integer next,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long totalElements
+) {
+    /**
+     * Maps a slice (or a page, which also carries the total) into the envelope.
+     *
+     * @param slice loaded rows
+     * @param mapper row to DTO mapper
+     * @param <E> row type
+     * @param <T> item type
+     * @return envelope
+     */
+    public static <E, T> PageResponse<T> from(Slice<E> slice, Function<? super E, T> mapper) {
+        return new PageResponse<>(
+                slice.getContent().stream().<T>map(mapper).toList(),
+                slice.getNumber(),
+                slice.getSize(),
+                slice.hasNext() ? slice.getNumber() + 1 : null,
+                slice instanceof Page<?> page ? page.getTotalElements() : null
+        );
+    }
+}
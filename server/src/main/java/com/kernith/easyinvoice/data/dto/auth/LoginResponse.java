@@ -4,5 +4,7 @@ public record LoginResponse(
         String token,
         long userId,
         long companyId,
-        String role
+        String role,
+        String refreshToken,
+        long expiresInSeconds
 ) {}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.kernith.easyinvoice.data.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(
+        @NotBlank String refreshToken
+) {}
@@ -0,0 +1,8 @@
+package com.kernith.easyinvoice.data.dto.backup;
+
+import org.springframework.core.io.Resource;
+
+public record BackupDownload(
+        String fileName,
+        Resource resource
+) {}
@@ -0,0 +1,23 @@
+package com.kernith.easyinvoice.data.dto.backup;
+
+import com.kernith.easyinvoice.service.backup.BackupService;
+import java.time.LocalDateTime;
+
+/**
+ * A backup file kept for a company.
+ *
+ * @param name file name, used to download it
+ * @param kind {@code ZIP}, {@code MANIFEST} or {@code DATABASE}
+ * @param sizeBytes file size in bytes
+ * @param createdAt time of the backup run that wrote the file
+ */
+public record BackupFileResponse(
+        String name,
+        String kind,
+        long sizeBytes,
+        LocalDateTime createdAt
+) {
+    public static BackupFileResponse from(BackupService.BackupFile file) {
+        return new BackupFileResponse(file.name(), file.kind(), file.sizeBytes(), file.createdAt());
+    }
+}
@@ -0,0 +1,55 @@
+package com.kernith.easyinvoice.data.dto.backup;
+
+import com.kernith.easyinvoice.service.backup.BackupProgress;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the current or last backup run.
+ *
+ * @param trigger {@code scheduled} or {@code manual}
+ * @param running whether the run is still in progress
+ * @param startedAt run start time
+ * @param finishedAt run end time, or {@code null} while running
+ * @param companiesTotal companies included in the run
+ * @param companiesDone companies finished, successfully or not
+ * @param companiesFailed companies whose backup failed
+ * @param filesTotal files found in the companies scanned so far
+ * @param filesDone files processed
+ * @param bytesTotal bytes found in the companies scanned so far
+ * @param bytesDone bytes processed
+ * @param bytesPerSecond average throughput since the run started
+ * @param etaSeconds estimated seconds left, or {@code null} while unknown
+ */
+public record BackupProgressResponse(
+        String trigger,
+        boolean running,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        int companiesTotal,
+        int companiesDone,
+        int companiesFailed,
+        long filesTotal,
+        long filesDone,
+        long bytesTotal,
+        long bytesDone,
+        long bytesPerSecond,
+        Long etaSeconds
+) {
+    public static BackupProgressResponse from(BackupProgress.Snapshot snapshot) {
+        return new BackupProgressResponse(
+                snapshot.trigger(),
+                snapshot.running(),
+                snapshot.startedAt(),
+                snapshot.finishedAt(),
+                snapshot.companiesTotal(),
+                snapshot.companiesDone(),
+                snapshot.companiesFailed(),
+                snapshot.filesTotal(),
+                snapshot.filesDone(),
+                snapshot.bytesTotal(),
+                snapshot.bytesDone(),
+                snapshot.bytesPerSecond(),
+                snapshot.etaSeconds()
+        );
+    }
+}
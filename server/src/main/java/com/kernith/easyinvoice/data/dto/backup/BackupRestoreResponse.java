@@ -0,0 +1,28 @@
+package com.kernith.easyinvoice.data.dto.backup;
+
+import com.kernith.easyinvoice.service.backup.BackupService;
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a point-in-time restore of a company's PDFs.
+ *
+ * @param companyId company identifier
+ * @param snapshotAt timestamp of the backup run that was restored
+ * @param files number of restored files
+ * @param outputDir server directory containing the restored tree
+ */
+public record BackupRestoreResponse(
+        Long companyId,
+        LocalDateTime snapshotAt,
+        int files,
+        String outputDir
+) {
+    public static BackupRestoreResponse from(Long companyId, BackupService.RestoredBackup restored) {
+        return new BackupRestoreResponse(
+                companyId,
+                restored.snapshotAt(),
+                restored.files(),
+                restored.outputDir().toString()
+        );
+    }
+}
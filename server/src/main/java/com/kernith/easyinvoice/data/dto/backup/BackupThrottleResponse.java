@@ -0,0 +1,27 @@
+package com.kernith.easyinvoice.data.dto.backup;
+
+import com.kernith.easyinvoice.service.backup.BackupThrottle;
+
+/**
+ * Current backup I/O throttle configuration and counters.
+ *
+ * @param bytesPerSecond configured rate in bytes per second ({@code 0} = unlimited)
+ * @param bytesAcquired total bytes copied through the throttle
+ * @param throttledAcquires number of chunk copies that had to wait
+ * @param throttledMillis total wait time across all workers in milliseconds
+ */
+public record BackupThrottleResponse(
+        long bytesPerSecond,
+        long bytesAcquired,
+        long throttledAcquires,
+        long throttledMillis
+) {
+    public static BackupThrottleResponse from(BackupThrottle.Stats stats) {
+        return new BackupThrottleResponse(
+                stats.bytesPerSecond(),
+                stats.bytesAcquired(),
+                stats.throttledAcquires(),
+                stats.throttledMillis()
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package com.kernith.easyinvoice.data.dto.backup;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record UpdateBackupThrottleRequest(
+        @NotNull @PositiveOrZero Long bytesPerSecond
+) {}
@@ -8,14 +8,16 @@ public record CompanyDetailResponse(
         Long id,
         String name,
         String vatNumber,
-        LocalDateTime createdAt
+        LocalDateTime createdAt,
+        CompanyStorageResponse storage
 ) {
-    public static CompanyDetailResponse from (Company company) {
+    public static CompanyDetailResponse from (Company company, CompanyStorageResponse storage) {
         return new CompanyDetailResponse(
                 company.getId(),
                 company.getName(),
                 company.getVatNumber(),
-                company.getCreatedAt()
+                company.getCreatedAt(),
+                storage
         );
     }
 }
\ No newline at end of file
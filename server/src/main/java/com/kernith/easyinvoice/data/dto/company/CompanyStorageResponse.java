@@ -0,0 +1,38 @@
+package com.kernith.easyinvoice.data.dto.company;
+
+import com.kernith.easyinvoice.data.model.CompanyStorage;
+import java.time.LocalDateTime;
+
+/**
+ * Disk space used by one company.
+ *
+ * @param companyId company identifier
+ * @param pdfCount archived invoice PDFs
+ * @param pdfBytes size of the archived invoice PDFs
+ * @param backupBytes size of the company's backup archives, manifests and database exports
+ * @param totalBytes PDFs plus backups
+ * @param reconciledAt last resync from disk, {@code null} if never reconciled
+ */
+public record CompanyStorageResponse(
+        Long companyId,
+        long pdfCount,
+        long pdfBytes,
+        long backupBytes,
+        long totalBytes,
+        LocalDateTime reconciledAt
+) {
+    public static CompanyStorageResponse from(CompanyStorage storage) {
+        return new CompanyStorageResponse(
+                storage.getCompanyId(),
+                storage.getPdfCount(),
+                storage.getPdfBytes(),
+                storage.getBackupBytes(),
+                storage.getPdfBytes() + storage.getBackupBytes(),
+                storage.getReconciledAt()
+        );
+    }
+
+    public static CompanyStorageResponse empty(Long companyId) {
+        return new CompanyStorageResponse(companyId, 0L, 0L, 0L, 0L, null);
+    }
+}
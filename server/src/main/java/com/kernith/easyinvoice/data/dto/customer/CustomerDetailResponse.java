@@ -3,6 +3,7 @@ package com.kernith.easyinvoice.data.dto.customer;
 import com.kernith.easyinvoice.data.model.Customer;
 import com.kernith.easyinvoice.data.model.CustomerStatus;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public record CustomerDetailResponse(
         Long id,
@@ -20,6 +21,24 @@ public record CustomerDetailResponse(
         LocalDateTime createdAt,
         LocalDateTime updatedAt
 ) {
+    /** Fields selectable with {@code fields=}, mapped to the customer attribute they are read from. */
+    public static final Map<String, String> FIELDS = Map.ofEntries(
+            Map.entry("id", "id"),
+            Map.entry("displayName", "displayName"),
+            Map.entry("legalName", "legalName"),
+            Map.entry("status", "status"),
+            Map.entry("email", "email"),
+            Map.entry("phone", "phone"),
+            Map.entry("vatNumber", "vatNumber"),
+            Map.entry("pec", "pec"),
+            Map.entry("address", "address"),
+            Map.entry("city", "city"),
+            Map.entry("postalCode", "postalCode"),
+            Map.entry("country", "country"),
+            Map.entry("createdAt", "createdAt"),
+            Map.entry("updatedAt", "updatedAt")
+    );
+
     public static CustomerDetailResponse from(Customer customer) {
         return new CustomerDetailResponse(
                 customer.getId(),
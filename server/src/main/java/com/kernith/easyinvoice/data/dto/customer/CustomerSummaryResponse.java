@@ -1,6 +1,7 @@
 package com.kernith.easyinvoice.data.dto.customer;
 
 import com.kernith.easyinvoice.data.model.Customer;
+import java.util.Map;
 
 public record CustomerSummaryResponse(
         Long id,
@@ -10,6 +11,16 @@ public record CustomerSummaryResponse(
         String pec,
         String country
 ) {
+    /** Fields selectable with {@code fields=}, mapped to the customer attribute they are read from. */
+    public static final Map<String, String> FIELDS = Map.ofEntries(
+            Map.entry("id", "id"),
+            Map.entry("displayName", "displayName"),
+            Map.entry("legalName", "legalName"),
+            Map.entry("vatNumber", "vatNumber"),
+            Map.entry("pec", "pec"),
+            Map.entry("country", "country")
+    );
+
     public static CustomerSummaryResponse from(Customer customer) {
         return new CustomerSummaryResponse(
                 customer.getId(),
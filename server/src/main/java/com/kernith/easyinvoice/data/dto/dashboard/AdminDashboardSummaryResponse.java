@@ -1,5 +1,8 @@
 package com.kernith.easyinvoice.data.dto.dashboard;
 
+import java.time.Instant;
+import java.util.List;
+
 /**
  * Summary payload for platform admin dashboard totals and system stats.
  *
@@ -14,6 +17,10 @@ package com.kernith.easyinvoice.data.dto.dashboard;
  * @param diskPath path used to resolve the filesystem stats
  * @param dbFileBytes database file size in bytes (null when in-memory or unavailable)
  * @param dbPath database file path or descriptor (e.g. "in-memory")
+ * @param sampledAt when the system and database figures were sampled
+ * @param history recent samples, oldest first
+ * @param dashboardCache counters of the manager and customer summary cache
+ * @param storage disk space used by the tenants
  */
 public record AdminDashboardSummaryResponse(
         long companies,
@@ -26,7 +33,11 @@ public record AdminDashboardSummaryResponse(
         Long ramFreeBytes,
         String diskPath,
         Long dbFileBytes,
-        String dbPath
+        String dbPath,
+        Instant sampledAt,
+        List<SystemSampleResponse> history,
+        DashboardCacheStatsResponse dashboardCache,
+        StorageUsageResponse storage
 ) {
     public static AdminDashboardSummaryResponse from(
             long companies,
@@ -39,7 +50,11 @@ public record AdminDashboardSummaryResponse(
             Long ramFreeBytes,
             String diskPath,
             Long dbFileBytes,
-            String dbPath
+            String dbPath,
+            Instant sampledAt,
+            List<SystemSampleResponse> history,
+            DashboardCacheStatsResponse dashboardCache,
+            StorageUsageResponse storage
     ) {
         return new AdminDashboardSummaryResponse(
                 companies,
@@ -52,7 +67,11 @@ public record AdminDashboardSummaryResponse(
                 ramFreeBytes,
                 diskPath,
                 dbFileBytes,
-                dbPath
+                dbPath,
+                sampledAt,
+                history,
+                dashboardCache,
+                storage
         );
     }
 }
@@ -0,0 +1,73 @@
+package com.kernith.easyinvoice.data.dto.dashboard;
+
+import com.kernith.easyinvoice.data.repository.ReceivablesAgingRow;
+import java.math.BigDecimal;
+
+/**
+ * Open receivables of a customer (or of all customers) bucketed by days past due date.
+ *
+ * @param customerId customer identifier, {@code null} for the total row
+ * @param customerName customer display name, {@code null} for the total row
+ * @param invoiceCount number of open invoices
+ * @param current amount not yet due, or without a due date
+ * @param days1To30 amount 1 to 30 days past due
+ * @param days31To60 amount 31 to 60 days past due
+ * @param days61To90 amount 61 to 90 days past due
+ * @param days90Plus amount more than 90 days past due
+ * @param total sum of all buckets
+ */
+public record AgingBucketsResponse(
+        Long customerId,
+        String customerName,
+        long invoiceCount,
+        BigDecimal current,
+        BigDecimal days1To30,
+        BigDecimal days31To60,
+        BigDecimal days61To90,
+        BigDecimal days90Plus,
+        BigDecimal total
+) {
+    public static AgingBucketsResponse from(ReceivablesAgingRow row) {
+        return new AgingBucketsResponse(
+                row.getCustomerId(),
+                row.getCustomerName(),
+                row.getInvoiceCount() == null ? 0L : row.getInvoiceCount(),
+                amount(row.getCurrentAmount()),
+                amount(row.getDays1To30()),
+                amount(row.getDays31To60()),
+                amount(row.getDays61To90()),
+                amount(row.getDays90Plus()),
+                amount(row.getTotalAmount())
+        );
+    }
+
+    public static AgingBucketsResponse empty() {
+        return new AgingBucketsResponse(
+                null, null, 0L, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO
+        );
+    }
+
+    /**
+     * Returns the bucket-wise sum of this row and another, without customer.
+     *
+     * @param other row to add
+     * @return total row
+     */
+    public AgingBucketsResponse plus(AgingBucketsResponse other) {
+        return new AgingBucketsResponse(
+                null,
+                null,
+                invoiceCount + other.invoiceCount,
+                current.add(other.current),
+                days1To30.add(other.days1To30),
+                days31To60.add(other.days31To60),
+                days61To90.add(other.days61To90),
+                days90Plus.add(other.days90Plus),
+                total.add(other.total)
+        );
+    }
+
+    private static BigDecimal amount(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+}
@@ -0,0 +1,47 @@
+package com.kernith.easyinvoice.data.dto.dashboard;
+
+import com.kernith.easyinvoice.data.repository.CompanyActivity;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One company of the platform analytics.
+ *
+ * @param companyId company identifier
+ * @param companyName company name
+ * @param createdAt when the company was created
+ * @param users number of users
+ * @param customers number of customers (active and archived)
+ * @param invoicesIssued invoices issued in the period
+ * @param issuedAmount total of the invoices issued in the period
+ * @param paidAmount total of the invoices paid in the period
+ * @param openAmount current total of issued and overdue invoices
+ * @param storageBytes disk space used by the company's PDFs and backups
+ */
+public record CompanyActivityResponse(
+        Long companyId,
+        String companyName,
+        LocalDateTime createdAt,
+        long users,
+        long customers,
+        long invoicesIssued,
+        BigDecimal issuedAmount,
+        BigDecimal paidAmount,
+        BigDecimal openAmount,
+        long storageBytes
+) {
+    public static CompanyActivityResponse from(CompanyActivity row) {
+        return new CompanyActivityResponse(
+                row.getCompanyId(),
+                row.getCompanyName(),
+                row.getCreatedAt(),
+                row.getUsers() == null ? 0L : row.getUsers(),
+                row.getCustomers() == null ? 0L : row.getCustomers(),
+                row.getInvoicesIssued() == null ? 0L : row.getInvoicesIssued(),
+                row.getIssuedAmount() == null ? BigDecimal.ZERO : row.getIssuedAmount(),
+                row.getPaidAmount() == null ? BigDecimal.ZERO : row.getPaidAmount(),
+                row.getOpenAmount() == null ? BigDecimal.ZERO : row.getOpenAmount(),
+                row.getStorageBytes() == null ? 0L : row.getStorageBytes()
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.kernith.easyinvoice.data.dto.dashboard;
+
+import com.kernith.easyinvoice.service.DashboardCache;
+
+/**
+ * Counters of the dashboard summary cache since startup.
+ *
+ * @param hits lookups served from memory
+ * @param misses lookups computed from the database
+ * @param invalidations company invalidations triggered by document changes
+ * @param entries entries currently cached
+ */
+public record DashboardCacheStatsResponse(
+        long hits,
+        long misses,
+        long invalidations,
+        int entries
+) {
+    public static DashboardCacheStatsResponse from(DashboardCache cache) {
+        return new DashboardCacheStatsResponse(
+                cache.getHitCount(),
+                cache.getMissCount(),
+                cache.getInvalidationCount(),
+                cache.size()
+        );
+    }
+}
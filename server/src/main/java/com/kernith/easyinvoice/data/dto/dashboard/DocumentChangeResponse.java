@@ -0,0 +1,29 @@
+package com.kernith.easyinvoice.data.dto.dashboard;
+
+import com.kernith.easyinvoice.data.model.DocumentType;
+import com.kernith.easyinvoice.service.DocumentsChangedEvent;
+import java.math.BigDecimal;
+
+/**
+ * Payload of a live document change event.
+ *
+ * @param type kind of document
+ * @param id document identifier
+ * @param status status after the change
+ * @param totalAmount total after the change
+ */
+public record DocumentChangeResponse(
+        DocumentType type,
+        Long id,
+        String status,
+        BigDecimal totalAmount
+) {
+    public static DocumentChangeResponse from(DocumentsChangedEvent event) {
+        return new DocumentChangeResponse(
+                event.documentType(),
+                event.documentId(),
+                event.status(),
+                event.totalAmount()
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package com.kernith.easyinvoice.data.dto.dashboard;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Receivables aging report of a company.
+ *
+ * @param asOf date the days past due are counted from
+ * @param customers one row per customer with open invoices, by name
+ * @param total sum over all customers
+ */
+public record ReceivablesAgingResponse(
+        LocalDate asOf,
+        List<AgingBucketsResponse> customers,
+        AgingBucketsResponse total
+) {
+    public static ReceivablesAgingResponse from(
+            LocalDate asOf,
+            List<AgingBucketsResponse> customers,
+            AgingBucketsResponse total
+    ) {
+        return new ReceivablesAgingResponse(asOf, customers, total);
+    }
+}
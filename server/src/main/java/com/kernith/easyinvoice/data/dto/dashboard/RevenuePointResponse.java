@@ -0,0 +1,36 @@
+package com.kernith.easyinvoice.data.dto.dashboard;
+
+import com.kernith.easyinvoice.data.repository.RevenueBucket;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Invoices issued and paid in one bucket of a revenue series.
+ *
+ * @param periodStart first day of the bucket
+ * @param issuedCount number of invoices issued in the bucket
+ * @param issuedAmount sum of the totals of invoices issued in the bucket
+ * @param paidCount number of invoices paid in the bucket
+ * @param paidAmount sum of the totals of invoices paid in the bucket
+ */
+public record RevenuePointResponse(
+        LocalDate periodStart,
+        long issuedCount,
+        BigDecimal issuedAmount,
+        long paidCount,
+        BigDecimal paidAmount
+) {
+    public static RevenuePointResponse from(RevenueBucket bucket) {
+        return new RevenuePointResponse(
+                bucket.getPeriodStart(),
+                bucket.getIssuedCount() == null ? 0L : bucket.getIssuedCount(),
+                bucket.getIssuedAmount() == null ? BigDecimal.ZERO : bucket.getIssuedAmount(),
+                bucket.getPaidCount() == null ? 0L : bucket.getPaidCount(),
+                bucket.getPaidAmount() == null ? BigDecimal.ZERO : bucket.getPaidAmount()
+        );
+    }
+
+    public static RevenuePointResponse empty(LocalDate periodStart) {
+        return new RevenuePointResponse(periodStart, 0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,32 @@
+package com.kernith.easyinvoice.data.dto.dashboard;
+
+import com.kernith.easyinvoice.data.model.RevenueGranularity;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Revenue time series of a company, or of one of its customers.
+ *
+ * @param granularity bucket size
+ * @param from first day of the first bucket
+ * @param to last requested day
+ * @param customerId customer the series is restricted to, or {@code null} for the whole company
+ * @param points one point per bucket, oldest first, including empty buckets
+ */
+public record RevenueSeriesResponse(
+        RevenueGranularity granularity,
+        LocalDate from,
+        LocalDate to,
+        Long customerId,
+        List<RevenuePointResponse> points
+) {
+    public static RevenueSeriesResponse from(
+            RevenueGranularity granularity,
+            LocalDate from,
+            LocalDate to,
+            Long customerId,
+            List<RevenuePointResponse> points
+    ) {
+        return new RevenueSeriesResponse(granularity, from, to, customerId, points);
+    }
+}
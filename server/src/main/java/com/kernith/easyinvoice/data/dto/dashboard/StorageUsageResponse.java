@@ -0,0 +1,32 @@
+package com.kernith.easyinvoice.data.dto.dashboard;
+
+import com.kernith.easyinvoice.data.dto.company.CompanyStorageResponse;
+import java.util.List;
+
+/**
+ * Platform-wide disk usage of the tenants, from the per-company storage counters.
+ *
+ * <p>Deduplicated backup blobs are shared between companies and not included.</p>
+ *
+ * @param pdfCount archived invoice PDFs
+ * @param pdfBytes size of the archived invoice PDFs
+ * @param backupBytes size of the per-company backups
+ * @param totalBytes PDFs plus backups
+ * @param topCompanies companies using the most space, largest first
+ */
+public record StorageUsageResponse(
+        long pdfCount,
+        long pdfBytes,
+        long backupBytes,
+        long totalBytes,
+        List<CompanyStorageResponse> topCompanies
+) {
+    public static StorageUsageResponse from(
+            long pdfCount,
+            long pdfBytes,
+            long backupBytes,
+            List<CompanyStorageResponse> topCompanies
+    ) {
+        return new StorageUsageResponse(pdfCount, pdfBytes, backupBytes, pdfBytes + backupBytes, topCompanies);
+    }
+}
@@ -0,0 +1,28 @@
+package com.kernith.easyinvoice.data.dto.dashboard;
+
+import com.kernith.easyinvoice.service.SystemStatsSampler.SystemSample;
+import java.time.Instant;
+
+/**
+ * One point of the admin dashboard system trend.
+ *
+ * @param sampledAt when the sample was taken
+ * @param diskFreeBytes available bytes for the selected filesystem
+ * @param ramFreeBytes free physical memory in bytes
+ * @param dbFileBytes database file size in bytes (null when in-memory or unavailable)
+ */
+public record SystemSampleResponse(
+        Instant sampledAt,
+        Long diskFreeBytes,
+        Long ramFreeBytes,
+        Long dbFileBytes
+) {
+    public static SystemSampleResponse from(SystemSample sample) {
+        return new SystemSampleResponse(
+                sample.sampledAt(),
+                sample.diskFreeBytes(),
+                sample.ramFreeBytes(),
+                sample.dbFileBytes()
+        );
+    }
+}
@@ -0,0 +1,30 @@
+package com.kernith.easyinvoice.data.dto.dashboard;
+
+import java.math.BigDecimal;
+
+/**
+ * One customer of the top customers report.
+ *
+ * @param customerId customer identifier
+ * @param customerName customer display name
+ * @param paidAmount amount of invoices paid in the period
+ * @param invoiceCount number of invoices issued in the period
+ * @param outstandingAmount current amount of open invoices
+ */
+public record TopCustomerResponse(
+        Long customerId,
+        String customerName,
+        BigDecimal paidAmount,
+        long invoiceCount,
+        BigDecimal outstandingAmount
+) {
+    public static TopCustomerResponse from(
+            Long customerId,
+            String customerName,
+            BigDecimal paidAmount,
+            long invoiceCount,
+            BigDecimal outstandingAmount
+    ) {
+        return new TopCustomerResponse(customerId, customerName, paidAmount, invoiceCount, outstandingAmount);
+    }
+}
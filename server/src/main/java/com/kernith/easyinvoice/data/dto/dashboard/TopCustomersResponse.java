@@ -0,0 +1,29 @@
+package com.kernith.easyinvoice.data.dto.dashboard;
+
+import com.kernith.easyinvoice.data.model.TopCustomerMetric;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Customers of a company ranked by one metric.
+ *
+ * @param metric ranking criterion
+ * @param from first month of the period
+ * @param to last month of the period
+ * @param customers ranked customers, best first
+ */
+public record TopCustomersResponse(
+        TopCustomerMetric metric,
+        YearMonth from,
+        YearMonth to,
+        List<TopCustomerResponse> customers
+) {
+    public static TopCustomersResponse from(
+            TopCustomerMetric metric,
+            YearMonth from,
+            YearMonth to,
+            List<TopCustomerResponse> customers
+    ) {
+        return new TopCustomersResponse(metric, from, to, customers);
+    }
+}
@@ -0,0 +1,28 @@
+package com.kernith.easyinvoice.data.dto.dashboard;
+
+import com.kernith.easyinvoice.data.repository.VatRateTotal;
+import java.math.BigDecimal;
+
+/**
+ * Taxable base and tax of one VAT rate over a period.
+ *
+ * @param taxRate VAT rate (percent)
+ * @param invoices invoices with at least one line at this rate
+ * @param taxable taxable base
+ * @param tax tax amount
+ */
+public record VatRateSummaryResponse(
+        BigDecimal taxRate,
+        long invoices,
+        BigDecimal taxable,
+        BigDecimal tax
+) {
+    public static VatRateSummaryResponse from(VatRateTotal row) {
+        return new VatRateSummaryResponse(
+                row.getTaxRate(),
+                row.getInvoices() == null ? 0L : row.getInvoices(),
+                row.getTaxable() == null ? BigDecimal.ZERO : row.getTaxable(),
+                row.getTax() == null ? BigDecimal.ZERO : row.getTax()
+        );
+    }
+}
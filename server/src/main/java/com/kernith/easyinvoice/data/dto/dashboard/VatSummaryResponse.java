@@ -0,0 +1,32 @@
+package com.kernith.easyinvoice.data.dto.dashboard;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * VAT breakdown (riepilogo IVA) of the invoices issued in a period.
+ *
+ * @param from first month of the period
+ * @param to last month of the period
+ * @param rates one entry per VAT rate, lowest rate first
+ * @param taxable total taxable base
+ * @param tax total tax
+ */
+public record VatSummaryResponse(
+        YearMonth from,
+        YearMonth to,
+        List<VatRateSummaryResponse> rates,
+        BigDecimal taxable,
+        BigDecimal tax
+) {
+    public static VatSummaryResponse from(YearMonth from, YearMonth to, List<VatRateSummaryResponse> rates) {
+        BigDecimal taxable = BigDecimal.ZERO;
+        BigDecimal tax = BigDecimal.ZERO;
+        for (VatRateSummaryResponse rate : rates) {
+            taxable = taxable.add(rate.taxable());
+            tax = tax.add(rate.tax());
+        }
+        return new VatSummaryResponse(from, to, rates, taxable, tax);
+    }
+}
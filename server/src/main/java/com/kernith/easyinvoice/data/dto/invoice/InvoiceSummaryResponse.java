@@ -4,6 +4,7 @@ import com.kernith.easyinvoice.data.model.Invoice;
 import com.kernith.easyinvoice.data.model.InvoiceStatus;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Map;
 
 public record InvoiceSummaryResponse(
         Long id,
@@ -18,6 +19,21 @@ public record InvoiceSummaryResponse(
         Long customerId,
         String customerDisplayName
 ) {
+    /** Fields selectable with {@code fields=}, mapped to the invoice attribute they are read from. */
+    public static final Map<String, String> FIELDS = Map.ofEntries(
+            Map.entry("id", "id"),
+            Map.entry("invoiceYear", "invoiceYear"),
+            Map.entry("invoiceNumber", "invoiceNumber"),
+            Map.entry("status", "status"),
+            Map.entry("title", "title"),
+            Map.entry("issueDate", "issueDate"),
+            Map.entry("dueDate", "dueDate"),
+            Map.entry("currency", "currency"),
+            Map.entry("totalAmount", "totalAmount"),
+            Map.entry("customerId", "customer.id"),
+            Map.entry("customerDisplayName", "customer.displayName")
+    );
+
     public static InvoiceSummaryResponse from(Invoice invoice) {
         return new InvoiceSummaryResponse(
                 invoice.getId(),
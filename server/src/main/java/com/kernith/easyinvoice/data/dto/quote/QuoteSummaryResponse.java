@@ -4,6 +4,7 @@ import com.kernith.easyinvoice.data.model.Quote;
 import com.kernith.easyinvoice.data.model.QuoteStatus;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Map;
 
 public record QuoteSummaryResponse(
         Long id,
@@ -18,6 +19,21 @@ public record QuoteSummaryResponse(
         Long customerId,
         String customerDisplayName
 ) {
+    /** Fields selectable with {@code fields=}, mapped to the quote attribute they are read from. */
+    public static final Map<String, String> FIELDS = Map.ofEntries(
+            Map.entry("id", "id"),
+            Map.entry("quoteYear", "quoteYear"),
+            Map.entry("quoteNumber", "quoteNumber"),
+            Map.entry("status", "status"),
+            Map.entry("title", "title"),
+            Map.entry("issueDate", "issueDate"),
+            Map.entry("validUntil", "validUntil"),
+            Map.entry("currency", "currency"),
+            Map.entry("totalAmount", "totalAmount"),
+            Map.entry("customerId", "customer.id"),
+            Map.entry("customerDisplayName", "customer.displayName")
+    );
+
     public static QuoteSummaryResponse from(Quote quote) {
         return new QuoteSummaryResponse(
                 quote.getId(),
@@ -0,0 +1,74 @@
+package com.kernith.easyinvoice.data.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+
+/**
+ * Disk space used by one company: archived invoice PDFs and backups.
+ *
+ * <p>PDF counters are deltas applied in the transaction that archives a PDF, backup bytes are
+ * measured after each backup run, and the reconciliation job resets every figure from disk.
+ * Rows are only written through
+ * {@link com.kernith.easyinvoice.data.repository.CompanyStorageRepository}; this entity is
+ * read-only.</p>
+ */
+@Entity
+@Table(
+        name = "company_storage",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uq_company_storage_company", columnNames = {"company_id"})
+        }
+)
+public class CompanyStorage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "company_id", nullable = false, updatable = false)
+    private Long companyId;
+
+    @Column(name = "pdf_count", nullable = false, updatable = false)
+    private long pdfCount;
+
+    @Column(name = "pdf_bytes", nullable = false, updatable = false)
+    private long pdfBytes;
+
+    @Column(name = "backup_bytes", nullable = false, updatable = false)
+    private long backupBytes;
+
+    @Column(name = "reconciled_at", updatable = false)
+    private LocalDateTime reconciledAt;
+
+    protected CompanyStorage() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public long getPdfCount() {
+        return pdfCount;
+    }
+
+    public long getPdfBytes() {
+        return pdfBytes;
+    }
+
+    public long getBackupBytes() {
+        return backupBytes;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+}
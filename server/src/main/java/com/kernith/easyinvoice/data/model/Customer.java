@@ -13,6 +13,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import java.time.LocalDateTime;
 
 /**
@@ -26,7 +27,8 @@ import java.time.LocalDateTime;
         },
         indexes = {
                 @Index(name = "idx_customers_company_id", columnList = "company_id"),
-                @Index(name = "idx_customers_display_name", columnList = "display_name")
+                @Index(name = "idx_customers_display_name", columnList = "display_name"),
+                @Index(name = "idx_customers_company_version", columnList = "company_id, id, version")
         }
 )
 public class Customer {
@@ -79,6 +81,10 @@ public class Customer {
     @Column(name = "updated_at", nullable = false, updatable = false, insertable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public Customer() {}
 
     public Customer(Company company) {
@@ -188,4 +194,8 @@ public class Customer {
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
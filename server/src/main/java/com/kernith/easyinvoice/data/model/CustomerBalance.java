@@ -0,0 +1,72 @@
+package com.kernith.easyinvoice.data.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.math.BigDecimal;
+
+/**
+ * Number and total amount of a customer's open (ISSUED or OVERDUE) invoices.
+ *
+ * <p>Rows are only written through
+ * {@link com.kernith.easyinvoice.data.repository.CustomerBalanceRepository}, as deltas applied in
+ * the transaction that changes the invoice; this entity is read-only.</p>
+ */
+@Entity
+@Table(
+        name = "customer_balances",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uq_customer_balances_company_customer",
+                        columnNames = {"company_id", "customer_id"}
+                )
+        },
+        indexes = {
+                @Index(name = "idx_customer_balances_company_open_amount", columnList = "company_id, open_amount DESC, customer_id")
+        }
+)
+public class CustomerBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "company_id", nullable = false, updatable = false)
+    private Long companyId;
+
+    @Column(name = "customer_id", nullable = false, updatable = false)
+    private Long customerId;
+
+    @Column(name = "open_count", nullable = false, updatable = false)
+    private long openCount;
+
+    @Column(name = "open_amount", nullable = false, updatable = false, precision = 19, scale = 2)
+    private BigDecimal openAmount;
+
+    protected CustomerBalance() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public long getOpenCount() {
+        return openCount;
+    }
+
+    public BigDecimal getOpenAmount() {
+        return openAmount;
+    }
+}
@@ -0,0 +1,78 @@
+package com.kernith.easyinvoice.data.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.math.BigDecimal;
+
+/**
+ * Number and total amount of a company's invoices or quotes in one status.
+ *
+ * <p>Rows are only written through
+ * {@link com.kernith.easyinvoice.data.repository.DashboardRollupRepository}, as deltas applied in
+ * the transaction that changes the documents; this entity is read-only.</p>
+ */
+@Entity
+@Table(
+        name = "dashboard_rollups",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uq_dashboard_rollups_company_type_status",
+                        columnNames = {"company_id", "document_type", "status"}
+                )
+        }
+)
+public class DashboardRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "company_id", nullable = false, updatable = false)
+    private Long companyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "document_type", nullable = false, updatable = false, length = 16)
+    private DocumentType documentType;
+
+    @Column(name = "status", nullable = false, updatable = false, length = 20)
+    private String status;
+
+    @Column(name = "document_count", nullable = false, updatable = false)
+    private long documentCount;
+
+    @Column(name = "total_amount", nullable = false, updatable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    protected DashboardRollup() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public DocumentType getDocumentType() {
+        return documentType;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public long getDocumentCount() {
+        return documentCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+}
@@ -0,0 +1,9 @@
+package com.kernith.easyinvoice.data.model;
+
+/**
+ * Kind of document counted in {@link DashboardRollup}.
+ */
+public enum DocumentType {
+    INVOICE,
+    QUOTE
+}
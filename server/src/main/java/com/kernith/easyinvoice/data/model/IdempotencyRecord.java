@@ -0,0 +1,115 @@
+package com.kernith.easyinvoice.data.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+
+/**
+ * Stored response of a request sent with an {@code Idempotency-Key}, replayed on retries.
+ */
+@Entity
+@Table(
+        name = "idempotency_keys",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uq_idempotency_keys_company_key", columnNames = {"company_id", "idempotency_key"})
+        },
+        indexes = {
+                @Index(name = "idx_idempotency_keys_expires", columnList = "expires_at")
+        }
+)
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "company_id", nullable = false, updatable = false)
+    private Long companyId;
+
+    @Column(name = "idempotency_key", nullable = false, updatable = false, length = 255)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, updatable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "status_code", nullable = false, updatable = false)
+    private int statusCode;
+
+    @Column(name = "content_type", updatable = false)
+    private String contentType;
+
+    @Lob
+    @Column(name = "response_body", updatable = false)
+    private byte[] responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+
+    protected IdempotencyRecord() {}
+
+    public IdempotencyRecord(
+            Long companyId,
+            String idempotencyKey,
+            String requestHash,
+            int statusCode,
+            String contentType,
+            byte[] responseBody,
+            LocalDateTime createdAt,
+            LocalDateTime expiresAt
+    ) {
+        this.companyId = companyId;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.statusCode = statusCode;
+        this.contentType = contentType;
+        this.responseBody = responseBody;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getResponseBody() {
+        return responseBody;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
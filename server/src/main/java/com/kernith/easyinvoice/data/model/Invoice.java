@@ -27,7 +27,9 @@ import java.util.List;
                 @Index(name = "idx_invoices_customer_id", columnList = "customer_id"),
                 @Index(name = "idx_invoices_source_quote_id", columnList = "source_quote_id"),
                 @Index(name = "idx_invoices_company_status", columnList = "company_id, status"),
-                @Index(name = "idx_invoices_company_issue_date", columnList = "company_id, issue_date")
+                @Index(name = "idx_invoices_company_issue_date", columnList = "company_id, issue_date"),
+                @Index(name = "idx_invoices_company_status_due_date", columnList = "company_id, status, due_date"),
+                @Index(name = "idx_invoices_company_version", columnList = "company_id, id, version")
         }
 )
 public class Invoice {
@@ -74,6 +76,9 @@ public class Invoice {
     @Column(name = "due_date")
     private LocalDate dueDate;
 
+    @Column(name = "paid_date")
+    private LocalDate paidDate;
+
     @Column(name = "currency", nullable = false, length = 3)
     private String currency = "EUR";
 
@@ -92,6 +97,10 @@ public class Invoice {
     @Column(name = "updated_at", nullable = false, updatable = false, insertable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Transient
     private InvoiceState state;
 
@@ -224,6 +233,14 @@ public class Invoice {
         this.dueDate = dueDate;
     }
 
+    public LocalDate getPaidDate() {
+        return paidDate;
+    }
+
+    public void setPaidDate(LocalDate paidDate) {
+        this.paidDate = paidDate;
+    }
+
     public String getCurrency() {
         return currency;
     }
@@ -270,6 +287,10 @@ public class Invoice {
         return updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     /**
      * Recalculates subtotal, tax, and total amounts from the given items list.
      *
@@ -325,12 +346,16 @@ public class Invoice {
     }
 
     /**
-     * Transitions the invoice to PAID if allowed by the current state.
+     * Transitions the invoice to PAID if allowed by the current state and records the
+     * payment date.
      */
     public void pay() {
         ensureState();
         state.pay(this);
         this.state = InvoiceStateFactory.from(status);
+        if (paidDate == null) {
+            paidDate = LocalDate.now();
+        }
     }
 
     /**
@@ -46,15 +46,23 @@ public class InvoicePdfArchive {
     @Column(name = "file_name", nullable = false, length = 255)
     private String fileName;
 
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
     @Column(name = "created_at", nullable = false, updatable = false, insertable = false)
     private LocalDateTime createdAt;
 
     protected InvoicePdfArchive() {}
 
     public InvoicePdfArchive(Invoice invoice, String path, String fileName) {
+        this(invoice, path, fileName, null);
+    }
+
+    public InvoicePdfArchive(Invoice invoice, String path, String fileName, Long sizeBytes) {
         this.invoice = invoice;
         this.path = path;
         this.fileName = fileName;
+        this.sizeBytes = sizeBytes;
     }
 
     public Long getId() {
@@ -73,6 +81,20 @@ public class InvoicePdfArchive {
         return fileName;
     }
 
+    /**
+     * Returns the size of the stored file.
+     *
+     * @return size in bytes, or {@code null} for files archived before sizes were recorded
+     *         and not yet reconciled
+     */
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
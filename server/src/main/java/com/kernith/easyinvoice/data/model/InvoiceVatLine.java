@@ -0,0 +1,74 @@
+package com.kernith.easyinvoice.data.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.math.BigDecimal;
+
+/**
+ * Taxable base and tax of one invoice for one VAT rate (riepilogo IVA).
+ *
+ * <p>Rows are replaced whenever the invoice items change, in the same transaction, so the
+ * breakdown always adds up to the invoice subtotal and tax.</p>
+ */
+@Entity
+@Table(
+        name = "invoice_vat_lines",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uq_invoice_vat_lines_invoice_rate",
+                        columnNames = {"invoice_id", "tax_rate"}
+                )
+        }
+)
+public class InvoiceVatLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "invoice_id", nullable = false, updatable = false)
+    private Long invoiceId;
+
+    @Column(name = "tax_rate", nullable = false, updatable = false, precision = 5, scale = 2)
+    private BigDecimal taxRate;
+
+    @Column(name = "taxable", nullable = false, updatable = false, precision = 19, scale = 2)
+    private BigDecimal taxable;
+
+    @Column(name = "tax", nullable = false, updatable = false, precision = 19, scale = 2)
+    private BigDecimal tax;
+
+    protected InvoiceVatLine() {}
+
+    public InvoiceVatLine(Long invoiceId, BigDecimal taxRate, BigDecimal taxable, BigDecimal tax) {
+        this.invoiceId = invoiceId;
+        this.taxRate = taxRate;
+        this.taxable = taxable;
+        this.tax = tax;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getInvoiceId() {
+        return invoiceId;
+    }
+
+    public BigDecimal getTaxRate() {
+        return taxRate;
+    }
+
+    public BigDecimal getTaxable() {
+        return taxable;
+    }
+
+    public BigDecimal getTax() {
+        return tax;
+    }
+}
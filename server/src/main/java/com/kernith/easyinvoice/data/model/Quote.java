@@ -26,7 +26,8 @@ import java.util.List;
                 @Index(name = "idx_quotes_company_id", columnList = "company_id"),
                 @Index(name = "idx_quotes_customer_id", columnList = "customer_id"),
                 @Index(name = "idx_quotes_company_status", columnList = "company_id, status"),
-                @Index(name = "idx_quotes_company_issue_date", columnList = "company_id, issue_date")
+                @Index(name = "idx_quotes_company_issue_date", columnList = "company_id, issue_date"),
+                @Index(name = "idx_quotes_company_version", columnList = "company_id, id, version")
         }
 )
 public class Quote {
@@ -89,6 +90,10 @@ public class Quote {
     @Column(name = "updated_at", nullable = false, updatable = false, insertable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public Quote() {}
 
     public Quote(Company company, Customer customer) {
@@ -232,6 +237,10 @@ public class Quote {
         return updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     /**
      * Recalculates subtotal, tax, and total amounts from the given items list.
      *
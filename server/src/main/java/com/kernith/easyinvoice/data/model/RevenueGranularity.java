@@ -0,0 +1,49 @@
+package com.kernith.easyinvoice.data.model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket size of {@link RevenueRollup} rows and revenue time series.
+ */
+public enum RevenueGranularity {
+    DAY(ChronoUnit.DAYS),
+    MONTH(ChronoUnit.MONTHS);
+
+    private final ChronoUnit unit;
+
+    RevenueGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Returns the first day of the bucket containing a date.
+     *
+     * @param date any date
+     * @return bucket start
+     */
+    public LocalDate periodStart(LocalDate date) {
+        return this == MONTH ? date.withDayOfMonth(1) : date;
+    }
+
+    /**
+     * Returns the start of the bucket following the one starting at {@code periodStart}.
+     *
+     * @param periodStart bucket start
+     * @return next bucket start
+     */
+    public LocalDate next(LocalDate periodStart) {
+        return periodStart.plus(1, unit);
+    }
+
+    /**
+     * Returns the number of buckets between two dates, both included.
+     *
+     * @param from first date
+     * @param to last date
+     * @return bucket count
+     */
+    public long buckets(LocalDate from, LocalDate to) {
+        return unit.between(periodStart(from), periodStart(to)) + 1;
+    }
+}
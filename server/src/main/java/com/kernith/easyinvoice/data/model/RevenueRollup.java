@@ -0,0 +1,100 @@
+package com.kernith.easyinvoice.data.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Invoices issued and paid by one customer of a company in one day or month.
+ *
+ * <p>Issued invoices are bucketed by issue date and paid invoices by payment date. Rows are
+ * only written through {@link com.kernith.easyinvoice.data.repository.RevenueRollupRepository},
+ * as deltas applied in the transaction that changes the invoice; this entity is read-only.</p>
+ */
+@Entity
+@Table(
+        name = "revenue_rollups",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uq_revenue_rollups_bucket",
+                        columnNames = {"company_id", "granularity", "period_start", "customer_id"}
+                )
+        }
+)
+public class RevenueRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "company_id", nullable = false, updatable = false)
+    private Long companyId;
+
+    @Column(name = "customer_id", nullable = false, updatable = false)
+    private Long customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, updatable = false, length = 8)
+    private RevenueGranularity granularity;
+
+    @Column(name = "period_start", nullable = false, updatable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "issued_count", nullable = false, updatable = false)
+    private long issuedCount;
+
+    @Column(name = "issued_amount", nullable = false, updatable = false, precision = 19, scale = 2)
+    private BigDecimal issuedAmount;
+
+    @Column(name = "paid_count", nullable = false, updatable = false)
+    private long paidCount;
+
+    @Column(name = "paid_amount", nullable = false, updatable = false, precision = 19, scale = 2)
+    private BigDecimal paidAmount;
+
+    protected RevenueRollup() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public RevenueGranularity getGranularity() {
+        return granularity;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public long getIssuedCount() {
+        return issuedCount;
+    }
+
+    public BigDecimal getIssuedAmount() {
+        return issuedAmount;
+    }
+
+    public long getPaidCount() {
+        return paidCount;
+    }
+
+    public BigDecimal getPaidAmount() {
+        return paidAmount;
+    }
+}
@@ -0,0 +1,13 @@
+package com.kernith.easyinvoice.data.model;
+
+/**
+ * Ranking criterion of the top customers report.
+ */
+public enum TopCustomerMetric {
+    /** Amount of invoices paid in the period. */
+    PAID,
+    /** Current amount of open (ISSUED or OVERDUE) invoices; not limited to the period. */
+    OUTSTANDING,
+    /** Number of invoices issued in the period. */
+    INVOICES
+}
@@ -1,10 +1,31 @@
 package com.kernith.easyinvoice.data.model;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Application roles used for authorization.
  */
 public enum UserRole {
     PLATFORM_ADMIN,
     COMPANY_MANAGER,
-    BACK_OFFICE
+    BACK_OFFICE;
+
+    private static final Map<String, UserRole> BY_NAME = new HashMap<>();
+
+    static {
+        for (UserRole role : values()) {
+            BY_NAME.put(role.name(), role);
+        }
+    }
+
+    /**
+     * Resolves a role by its exact name without throwing.
+     *
+     * @param name role name, may be {@code null}
+     * @return matching role, or {@code null} if unknown
+     */
+    public static UserRole fromName(String name) {
+        return name == null ? null : BY_NAME.get(name);
+    }
 }
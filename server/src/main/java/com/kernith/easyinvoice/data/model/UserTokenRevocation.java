@@ -0,0 +1,60 @@
+package com.kernith.easyinvoice.data.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Per-user revocation epoch: every token issued before {@code revokedBefore} is rejected.
+ */
+@Entity
+@Table(
+        name = "user_token_revocations",
+        indexes = {
+                @Index(name = "idx_user_token_revocations_updated", columnList = "updated_at")
+        }
+)
+public class UserTokenRevocation {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_before", nullable = false)
+    private LocalDateTime revokedBefore;
+
+    /**
+     * Last change of the row, used to refresh in-memory copies incrementally.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    protected UserTokenRevocation() {}
+
+    public UserTokenRevocation(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getRevokedBefore() {
+        return revokedBefore;
+    }
+
+    public void setRevokedBefore(LocalDateTime revokedBefore) {
+        this.revokedBefore = revokedBefore;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
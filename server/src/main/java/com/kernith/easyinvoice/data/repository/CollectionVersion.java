@@ -0,0 +1,11 @@
+package com.kernith.easyinvoice.data.repository;
+
+/**
+ * Projection summarizing the rows of a tenant collection; changes whenever a row is
+ * created, updated or deleted.
+ */
+public interface CollectionVersion {
+    Long getCount();
+    Long getVersionSum();
+    Long getMaxId();
+}
@@ -0,0 +1,20 @@
+package com.kernith.easyinvoice.data.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection for the platform analytics query, one row per company.
+ */
+public interface CompanyActivity {
+    Long getCompanyId();
+    String getCompanyName();
+    LocalDateTime getCreatedAt();
+    Long getUsers();
+    Long getCustomers();
+    Long getInvoicesIssued();
+    BigDecimal getIssuedAmount();
+    BigDecimal getPaidAmount();
+    BigDecimal getOpenAmount();
+    Long getStorageBytes();
+}
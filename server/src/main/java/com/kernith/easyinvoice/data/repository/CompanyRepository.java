@@ -1,10 +1,71 @@
 package com.kernith.easyinvoice.data.repository;
 
 import com.kernith.easyinvoice.data.model.Company;
+import java.time.LocalDate;
 import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CompanyRepository extends JpaRepository<Company, Long> {
 
     List<Company> findAllByOrderByNameAsc();
-}
\ No newline at end of file
+
+    /** Select of the per-company activity, shared by the paged and the sliced variants. */
+    String ACTIVITY_QUERY = """
+            select c.id as companyId,
+                   c.name as companyName,
+                   c.createdAt as createdAt,
+                   (select count(u) from User u where u.company.id = c.id) as users,
+                   (select count(cu) from Customer cu
+                     where cu.company.id = c.id
+                       and cu.status <> com.kernith.easyinvoice.data.model.CustomerStatus.DELETED) as customers,
+                   (select coalesce(sum(r.issuedCount), 0) from RevenueRollup r
+                     where r.companyId = c.id
+                       and r.granularity = com.kernith.easyinvoice.data.model.RevenueGranularity.MONTH
+                       and r.periodStart between :from and :to) as invoicesIssued,
+                   (select coalesce(sum(r.issuedAmount), 0) from RevenueRollup r
+                     where r.companyId = c.id
+                       and r.granularity = com.kernith.easyinvoice.data.model.RevenueGranularity.MONTH
+                       and r.periodStart between :from and :to) as issuedAmount,
+                   (select coalesce(sum(r.paidAmount), 0) from RevenueRollup r
+                     where r.companyId = c.id
+                       and r.granularity = com.kernith.easyinvoice.data.model.RevenueGranularity.MONTH
+                       and r.periodStart between :from and :to) as paidAmount,
+                   (select coalesce(sum(b.openAmount), 0) from CustomerBalance b
+                     where b.companyId = c.id) as openAmount,
+                   (select coalesce(sum(s.pdfBytes + s.backupBytes), 0) from CompanyStorage s
+                     where s.companyId = c.id) as storageBytes
+            from Company c
+            """;
+
+    /**
+     * Per-company activity for the platform analytics, in one statement.
+     *
+     * <p>Revenue comes from the monthly {@code revenue_rollups} rows between {@code from} and
+     * {@code to} (first days of month), open amounts from {@code customer_balances} and disk
+     * usage from {@code company_storage}; every
+     * subquery reads one company's rows through an index leading with {@code company_id}.
+     * Sortable by any alias of the select clause.</p>
+     */
+    @Query(value = ACTIVITY_QUERY, countQuery = "select count(c) from Company c")
+    Page<CompanyActivity> findActivity(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            Pageable pageable
+    );
+
+    /**
+     * Same rows as {@link #findActivity}, without the count query: for exports that only need
+     * to know whether another chunk follows.
+     */
+    @Query(ACTIVITY_QUERY)
+    Slice<CompanyActivity> findActivitySlice(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            Pageable pageable
+    );
+}
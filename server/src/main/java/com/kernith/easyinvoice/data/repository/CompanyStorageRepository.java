@@ -0,0 +1,113 @@
+package com.kernith.easyinvoice.data.repository;
+
+import com.kernith.easyinvoice.data.model.CompanyStorage;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface CompanyStorageRepository extends JpaRepository<CompanyStorage, Long> {
+
+    Optional<CompanyStorage> findByCompanyId(Long companyId);
+
+    @Query("""
+            select s from CompanyStorage s
+            order by s.pdfBytes + s.backupBytes desc, s.companyId
+            """)
+    List<CompanyStorage> findTopByTotalBytes(Pageable pageable);
+
+    @Query("""
+            select coalesce(sum(s.pdfCount), 0) as pdfCount,
+                   coalesce(sum(s.pdfBytes), 0) as pdfBytes,
+                   coalesce(sum(s.backupBytes), 0) as backupBytes
+            from CompanyStorage s
+            """)
+    StorageTotals sumAll();
+
+    @Modifying
+    @Query(value = """
+            merge into company_storage s
+            using (values (
+                cast(:companyId as bigint),
+                cast(:count as bigint),
+                cast(:bytes as bigint)
+            )) as d(company_id, pdf_count, pdf_bytes)
+            on s.company_id = d.company_id
+            when matched then update set
+                pdf_count = s.pdf_count + d.pdf_count,
+                pdf_bytes = s.pdf_bytes + d.pdf_bytes
+            when not matched then insert (company_id, pdf_count, pdf_bytes)
+                values (d.company_id, d.pdf_count, d.pdf_bytes)
+            """, nativeQuery = true)
+    int applyPdfDelta(
+            @Param("companyId") Long companyId,
+            @Param("count") long count,
+            @Param("bytes") long bytes
+    );
+
+    @Modifying
+    @Query(value = """
+            merge into company_storage s
+            using (values (
+                cast(:companyId as bigint),
+                cast(:bytes as bigint)
+            )) as d(company_id, backup_bytes)
+            on s.company_id = d.company_id
+            when matched then update set
+                backup_bytes = d.backup_bytes
+            when not matched then insert (company_id, backup_bytes)
+                values (d.company_id, d.backup_bytes)
+            """, nativeQuery = true)
+    int updateBackupBytes(@Param("companyId") Long companyId, @Param("bytes") long bytes);
+
+    /**
+     * Overwrites the counters of a company with values measured on disk, unless they changed
+     * since {@code expected*} were read: a PDF archived or a backup measured during the walk
+     * is then kept, and the next reconciliation resyncs the company.
+     *
+     * @return {@code 1} if the counters were written, {@code 0} if they moved meanwhile
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            merge into company_storage s
+            using (values (
+                cast(:companyId as bigint),
+                cast(:expectedPdfCount as bigint),
+                cast(:expectedPdfBytes as bigint),
+                cast(:expectedBackupBytes as bigint),
+                cast(:pdfCount as bigint),
+                cast(:pdfBytes as bigint),
+                cast(:backupBytes as bigint),
+                cast(:reconciledAt as timestamp)
+            )) as d(company_id, expected_pdf_count, expected_pdf_bytes, expected_backup_bytes,
+                    pdf_count, pdf_bytes, backup_bytes, reconciled_at)
+            on s.company_id = d.company_id
+            when matched
+                and s.pdf_count = d.expected_pdf_count
+                and s.pdf_bytes = d.expected_pdf_bytes
+                and s.backup_bytes = d.expected_backup_bytes
+            then update set
+                pdf_count = d.pdf_count,
+                pdf_bytes = d.pdf_bytes,
+                backup_bytes = d.backup_bytes,
+                reconciled_at = d.reconciled_at
+            when not matched then insert (company_id, pdf_count, pdf_bytes, backup_bytes, reconciled_at)
+                values (d.company_id, d.pdf_count, d.pdf_bytes, d.backup_bytes, d.reconciled_at)
+            """, nativeQuery = true)
+    int reconcile(
+            @Param("companyId") Long companyId,
+            @Param("expectedPdfCount") long expectedPdfCount,
+            @Param("expectedPdfBytes") long expectedPdfBytes,
+            @Param("expectedBackupBytes") long expectedBackupBytes,
+            @Param("pdfCount") long pdfCount,
+            @Param("pdfBytes") long pdfBytes,
+            @Param("backupBytes") long backupBytes,
+            @Param("reconciledAt") LocalDateTime reconciledAt
+    );
+}
@@ -0,0 +1,80 @@
+package com.kernith.easyinvoice.data.repository;
+
+import com.kernith.easyinvoice.data.model.CustomerBalance;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CustomerBalanceRepository extends JpaRepository<CustomerBalance, Long> {
+
+    /** Current open balances, computed from the invoices: ISSUED and OVERDUE invoices are open. */
+    String ACTUAL_BALANCES = """
+            select company_id, customer_id, count(*) as open_count,
+                   cast(coalesce(sum(total_amount), 0) as numeric(19,2)) as open_amount
+            from invoices
+            where status in ('ISSUED', 'OVERDUE')
+            group by company_id, customer_id
+            """;
+
+    /** Stored balances; balances that dropped to zero are equivalent to missing balances. */
+    String STORED_BALANCES = """
+            select company_id, customer_id, open_count, open_amount
+            from customer_balances
+            where open_count <> 0 or open_amount <> 0
+            """;
+
+    @Query("""
+            select b from CustomerBalance b
+            where b.companyId = :companyId
+              and b.openAmount > 0
+            order by b.openAmount desc, b.customerId
+            """)
+    List<CustomerBalance> findTopByOpenAmount(@Param("companyId") Long companyId, Pageable pageable);
+
+    List<CustomerBalance> findByCompanyIdAndCustomerIdIn(Long companyId, Collection<Long> customerIds);
+
+    @Modifying
+    @Query(value = """
+            merge into customer_balances b
+            using (values (
+                cast(:companyId as bigint),
+                cast(:customerId as bigint),
+                cast(:count as bigint),
+                cast(:amount as numeric(19,2))
+            )) as d(company_id, customer_id, open_count, open_amount)
+            on b.company_id = d.company_id and b.customer_id = d.customer_id
+            when matched then update set
+                open_count = b.open_count + d.open_count,
+                open_amount = b.open_amount + d.open_amount
+            when not matched then insert (company_id, customer_id, open_count, open_amount)
+                values (d.company_id, d.customer_id, d.open_count, d.open_amount)
+            """, nativeQuery = true)
+    int applyDelta(
+            @Param("companyId") Long companyId,
+            @Param("customerId") Long customerId,
+            @Param("count") long count,
+            @Param("amount") BigDecimal amount
+    );
+
+    @Query(value = "select distinct company_id from ("
+            + "((" + ACTUAL_BALANCES + ") except (" + STORED_BALANCES + "))"
+            + " union "
+            + "((" + STORED_BALANCES + ") except (" + ACTUAL_BALANCES + "))"
+            + ") drift", nativeQuery = true)
+    List<Long> findDriftedCompanyIds();
+
+    @Modifying
+    @Query("delete from CustomerBalance b where b.companyId = :companyId")
+    int deleteByCompanyId(@Param("companyId") Long companyId);
+
+    @Modifying
+    @Query(value = "insert into customer_balances (company_id, customer_id, open_count, open_amount)"
+            + " select * from (" + ACTUAL_BALANCES + ") actual where company_id = :companyId",
+            nativeQuery = true)
+    int rebuild(@Param("companyId") Long companyId);
+}
@@ -7,11 +7,28 @@ import java.util.Optional;
 import com.kernith.easyinvoice.data.model.CustomerStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, FieldRowRepository {
+
+    /** Company-scoped search of one status on the listed text columns, shared by the page and slice variants. */
+    String SEARCH_BY_COMPANY = """
+            select c
+            from Customer c
+            where c.company.id = :companyId
+              and c.status = :status
+              and (
+                :q is null or :q = ''
+                or lower(c.displayName) like lower(concat('%', :q, '%'))
+                or lower(c.legalName) like lower(concat('%', :q, '%'))
+                or lower(c.email) like lower(concat('%', :q, '%'))
+                or c.vatNumber like concat('%', :q, '%')
+                or c.country like concat('%', :q, '%')
+              )
+            """;
 
     List<Customer> findByCompanyIdAndStatusOrderByDisplayNameAsc(Long companyId, CustomerStatus status);
 
@@ -23,18 +40,20 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     Optional<Customer> findByCompanyIdAndVatNumberAndStatus(Long companyId, String vatNumber, CustomerStatus status);
 
+    @Query(SEARCH_BY_COMPANY)
+    Page<Customer> searchByCompanyIdAndStatus(@Param("companyId") Long companyId, @Param("status") CustomerStatus status, @Param("q") String q, Pageable pageable);
+
+    Slice<Customer> findSliceByCompanyIdAndStatus(Long companyId, CustomerStatus status, Pageable pageable);
+
+    @Query(SEARCH_BY_COMPANY)
+    Slice<Customer> searchSliceByCompanyIdAndStatus(@Param("companyId") Long companyId, @Param("status") CustomerStatus status, @Param("q") String q, Pageable pageable);
+
     @Query("""
-            select c
+            select count(c) as count,
+                   coalesce(sum(c.version), 0) as versionSum,
+                   coalesce(max(c.id), 0) as maxId
             from Customer c
             where c.company.id = :companyId
-              and (
-                :q is null or :q = ''
-                or lower(c.displayName) like lower(concat('%', :q, '%'))
-                or lower(c.legalName) like lower(concat('%', :q, '%'))
-                or lower(c.email) like lower(concat('%', :q, '%'))
-                or c.vatNumber like concat('%', :q, '%')
-                or c.country like concat('%', :q, '%')
-              )
             """)
-    Page<Customer> searchByCompanyIdAndStatus(@Param("companyId") Long companyId, CustomerStatus status, @Param("q") String q, Pageable pageable);
+    CollectionVersion collectionVersion(@Param("companyId") Long companyId);
 }
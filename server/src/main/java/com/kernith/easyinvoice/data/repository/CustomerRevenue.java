@@ -0,0 +1,12 @@
+package com.kernith.easyinvoice.data.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection for per-customer revenue totals over a period.
+ */
+public interface CustomerRevenue {
+    Long getCustomerId();
+    Long getIssuedCount();
+    BigDecimal getPaidAmount();
+}
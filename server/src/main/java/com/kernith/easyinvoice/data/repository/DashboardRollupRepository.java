@@ -0,0 +1,114 @@
+package com.kernith.easyinvoice.data.repository;
+
+import com.kernith.easyinvoice.data.model.DashboardRollup;
+import com.kernith.easyinvoice.data.model.DocumentType;
+import java.math.BigDecimal;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DashboardRollupRepository extends JpaRepository<DashboardRollup, Long> {
+
+    /** Current per-status counts and totals, computed from the document tables. */
+    String ACTUAL_ROLLUPS = """
+            select company_id, 'INVOICE' as document_type, status,
+                   count(*) as document_count, cast(coalesce(sum(total_amount), 0) as numeric(19,2)) as total_amount
+            from invoices
+            group by company_id, status
+            union all
+            select company_id, 'QUOTE', status,
+                   count(*), cast(coalesce(sum(total_amount), 0) as numeric(19,2))
+            from quotes
+            group by company_id, status
+            """;
+
+    /** Stored rollups; rows that dropped to zero are equivalent to missing rows. */
+    String STORED_ROLLUPS = """
+            select company_id, document_type, status, document_count, total_amount
+            from dashboard_rollups
+            where document_count <> 0 or total_amount <> 0
+            """;
+
+    List<DashboardRollup> findByCompanyId(Long companyId);
+
+    @Query("""
+            select r.status as status,
+                   r.documentCount as count,
+                   r.totalAmount as totalAmount
+            from DashboardRollup r
+            where r.companyId = :companyId
+              and r.documentType = com.kernith.easyinvoice.data.model.DocumentType.INVOICE
+            """)
+    List<InvoiceStatusAggregate> findInvoiceRollups(@Param("companyId") Long companyId);
+
+    @Query("""
+            select r.status as status,
+                   r.documentCount as count,
+                   r.totalAmount as totalAmount
+            from DashboardRollup r
+            where r.companyId = :companyId
+              and r.documentType = com.kernith.easyinvoice.data.model.DocumentType.QUOTE
+            """)
+    List<QuoteStatusAggregate> findQuoteRollups(@Param("companyId") Long companyId);
+
+    @Modifying
+    @Query(value = """
+            merge into dashboard_rollups r
+            using (values (
+                cast(:companyId as bigint),
+                cast(:documentType as varchar(16)),
+                cast(:status as varchar(20)),
+                cast(:count as bigint),
+                cast(:amount as numeric(19,2))
+            )) as d(company_id, document_type, status, document_count, total_amount)
+            on r.company_id = d.company_id and r.document_type = d.document_type and r.status = d.status
+            when matched then update set
+                document_count = r.document_count + d.document_count,
+                total_amount = r.total_amount + d.total_amount
+            when not matched then insert (company_id, document_type, status, document_count, total_amount)
+                values (d.company_id, d.document_type, d.status, d.document_count, d.total_amount)
+            """, nativeQuery = true)
+    int applyDelta(
+            @Param("companyId") Long companyId,
+            @Param("documentType") String documentType,
+            @Param("status") String status,
+            @Param("count") long count,
+            @Param("amount") BigDecimal amount
+    );
+
+    @Query(value = "select distinct company_id from ("
+            + "((" + ACTUAL_ROLLUPS + ") except (" + STORED_ROLLUPS + "))"
+            + " union "
+            + "((" + STORED_ROLLUPS + ") except (" + ACTUAL_ROLLUPS + "))"
+            + ") drift", nativeQuery = true)
+    List<Long> findDriftedCompanyIds();
+
+    @Modifying
+    @Query("delete from DashboardRollup r where r.companyId = :companyId and r.documentType = :documentType")
+    int deleteByCompanyIdAndDocumentType(
+            @Param("companyId") Long companyId,
+            @Param("documentType") DocumentType documentType
+    );
+
+    @Modifying
+    @Query(value = """
+            insert into dashboard_rollups (company_id, document_type, status, document_count, total_amount)
+            select company_id, 'INVOICE', status, count(*), coalesce(sum(total_amount), 0)
+            from invoices
+            where company_id = :companyId
+            group by company_id, status
+            """, nativeQuery = true)
+    int rebuildInvoices(@Param("companyId") Long companyId);
+
+    @Modifying
+    @Query(value = """
+            insert into dashboard_rollups (company_id, document_type, status, document_count, total_amount)
+            select company_id, 'QUOTE', status, count(*), coalesce(sum(total_amount), 0)
+            from quotes
+            where company_id = :companyId
+            group by company_id, status
+            """, nativeQuery = true)
+    int rebuildQuotes(@Param("companyId") Long companyId);
+}
@@ -0,0 +1,96 @@
+package com.kernith.easyinvoice.data.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Repository fragment that loads only some columns of an entity, as rows keyed by field name.
+ *
+ * <p>Used by list endpoints that accept a {@code fields} parameter: the SQL select list
+ * contains just the requested columns, and no entity is instantiated or put in the
+ * persistence context.</p>
+ */
+public interface FieldRowRepository {
+
+    /**
+     * Loads a page of rows with the selected columns.
+     *
+     * <p>Paths are entity attributes, optionally through one association
+     * ({@code customer.displayName}); associations are left-joined once and {@code x.id}
+     * reads the foreign key without a join. Sort properties are resolved the same way.</p>
+     *
+     * @param entity entity to query
+     * @param columns output field name to entity path, in output order
+     * @param filter where clause
+     * @param pageable page and sort
+     * @param count whether to count the total ({@link org.springframework.data.domain.Page})
+     *              or only look one row ahead ({@link Slice})
+     * @param <T> entity type
+     * @return rows keyed by output field name
+     */
+    <T> Slice<Map<String, Object>> findRows(
+            Class<T> entity,
+            Map<String, String> columns,
+            RowFilter filter,
+            Pageable pageable,
+            boolean count
+    );
+
+    /**
+     * Where clause of a {@link #findRows} query.
+     */
+    @FunctionalInterface
+    interface RowFilter {
+        /**
+         * Builds the predicate.
+         *
+         * @param cb criteria builder
+         * @param path resolves an entity path as in {@link #findRows}
+         * @return predicate
+         */
+        Predicate toPredicate(CriteriaBuilder cb, Function<String, Path<?>> path);
+
+        /**
+         * Adds an equality condition.
+         *
+         * @param attribute entity path
+         * @param value required value
+         * @return combined filter
+         */
+        default RowFilter and(String attribute, Object value) {
+            return (cb, path) -> cb.and(toPredicate(cb, path), cb.equal(path.apply(attribute), value));
+        }
+
+        /**
+         * Rows of a company, optionally matching a case-insensitive search on some text columns,
+         * like the {@code SEARCH_BY_COMPANY} queries of the repositories.
+         *
+         * @param companyId tenant identifier
+         * @param q search text, may be {@code null} or blank
+         * @param searchPaths text columns to search
+         * @return filter
+         */
+        static RowFilter byCompany(Long companyId, String q, String... searchPaths) {
+            String pattern = q == null || q.isBlank() ? null : "%" + q.trim().toLowerCase(Locale.ROOT) + "%";
+            return (cb, path) -> {
+                Predicate company = cb.equal(path.apply("company.id"), companyId);
+                if (pattern == null) {
+                    return company;
+                }
+                List<Predicate> matches = new ArrayList<>(searchPaths.length);
+                for (String searchPath : searchPaths) {
+                    matches.add(cb.like(cb.lower(path.apply(searchPath).as(String.class)), pattern));
+                }
+                return cb.and(company, cb.or(matches.toArray(Predicate[]::new)));
+            };
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.kernith.easyinvoice.data.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Criteria API implementation of {@link FieldRowRepository}, shared by the repositories that
+ * extend it.
+ */
+class FieldRowRepositoryImpl implements FieldRowRepository {
+
+    private final EntityManager entityManager;
+
+    FieldRowRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public <T> Slice<Map<String, Object>> findRows(
+            Class<T> entity,
+            Map<String, String> columns,
+            RowFilter filter,
+            Pageable pageable,
+            boolean count
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entity);
+        Function<String, Path<?>> path = resolver(root);
+
+        List<Selection<?>> selections = new ArrayList<>(columns.size());
+        columns.forEach((field, attribute) -> selections.add(path.apply(attribute).alias(field)));
+        query.select(cb.tuple(selections)).where(filter.toPredicate(cb, path));
+        if (pageable.getSort().isSorted()) {
+            List<Order> orders = new ArrayList<>();
+            for (Sort.Order order : pageable.getSort()) {
+                Path<?> sortPath = path.apply(order.getProperty());
+                orders.add(order.isAscending() ? cb.asc(sortPath) : cb.desc(sortPath));
+            }
+            query.orderBy(orders);
+        }
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(count ? pageable.getPageSize() : pageable.getPageSize() + 1);
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typed.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : columns.keySet()) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+
+        if (count) {
+            return new PageImpl<>(rows, pageable, count(entity, filter));
+        }
+        boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows.remove(rows.size() - 1);
+        }
+        return new SliceImpl<>(rows, pageable, hasNext);
+    }
+
+    private long count(Class<?> entity, RowFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<?> root = query.from(entity);
+        query.select(cb.count(root)).where(filter.toPredicate(cb, resolver(root)));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Resolves {@code attribute} and {@code association.attribute} paths, joining each
+     * association at most once.
+     */
+    private static Function<String, Path<?>> resolver(Root<?> root) {
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        return attribute -> {
+            int dot = attribute.indexOf('.');
+            if (dot < 0) {
+                return root.get(attribute);
+            }
+            String association = attribute.substring(0, dot);
+            String property = attribute.substring(dot + 1);
+            if ("id".equals(property) && !joins.containsKey(association)) {
+                // La FK è già nella tabella: nessuna join necessaria
+                return root.get(association).get(property);
+            }
+            return joins.computeIfAbsent(association, a -> root.join(a, JoinType.LEFT)).get(property);
+        };
+    }
+}
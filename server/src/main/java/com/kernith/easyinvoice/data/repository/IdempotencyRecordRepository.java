@@ -0,0 +1,24 @@
+package com.kernith.easyinvoice.data.repository;
+
+import com.kernith.easyinvoice.data.model.IdempotencyRecord;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+	Optional<IdempotencyRecord> findByCompanyIdAndIdempotencyKey(Long companyId, String idempotencyKey);
+
+	@Modifying
+	@Query("delete from IdempotencyRecord r where r.expiresAt <= :now")
+	int deleteExpired(@Param("now") LocalDateTime now);
+
+	@Transactional
+	@Modifying
+	@Query("delete from IdempotencyRecord r where r.companyId = :companyId and r.idempotencyKey = :key and r.expiresAt <= :now")
+	int deleteExpiredKey(@Param("companyId") Long companyId, @Param("key") String key, @Param("now") LocalDateTime now);
+}
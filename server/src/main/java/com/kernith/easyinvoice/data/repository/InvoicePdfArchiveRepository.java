@@ -2,6 +2,10 @@ package com.kernith.easyinvoice.data.repository;
 
 import com.kernith.easyinvoice.data.model.InvoicePdfArchive;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,4 +14,16 @@ public interface InvoicePdfArchiveRepository extends JpaRepository<InvoicePdfArc
     List<InvoicePdfArchive> findByInvoiceIdOrderByCreatedAtDesc(Long invoiceId);
     Optional<InvoicePdfArchive> findFirstByInvoiceIdOrderByCreatedAtDesc(Long invoiceId);
     Optional<InvoicePdfArchive> findByIdAndInvoiceId(Long id, Long invoiceId);
+
+    @Query("""
+            select a from InvoicePdfArchive a
+            where a.invoice.company.id = :companyId
+              and a.sizeBytes is null
+            """)
+    List<InvoicePdfArchive> findUnsizedByCompanyId(@Param("companyId") Long companyId);
+
+    @Transactional
+    @Modifying
+    @Query("update InvoicePdfArchive a set a.sizeBytes = :sizeBytes where a.id = :id and a.sizeBytes is null")
+    int updateMissingSize(@Param("id") Long id, @Param("sizeBytes") long sizeBytes);
 }
\ No newline at end of file
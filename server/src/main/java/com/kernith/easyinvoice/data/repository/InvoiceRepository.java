@@ -2,15 +2,31 @@ package com.kernith.easyinvoice.data.repository;
 
 import com.kernith.easyinvoice.data.model.Invoice;
 import com.kernith.easyinvoice.data.model.InvoiceStatus;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+public interface InvoiceRepository extends JpaRepository<Invoice, Long>, FieldRowRepository {
+
+    /** Company-scoped search on the listed text columns, shared by the page and slice variants. */
+    String SEARCH_BY_COMPANY = """
+            select i
+            from Invoice i
+            left join i.customer c
+            where i.company.id = :companyId
+              and (
+                :q is null or :q = ''
+                or lower(i.title) like lower(concat('%', :q, '%'))
+                or lower(i.notes) like lower(concat('%', :q, '%'))
+                or lower(c.displayName) like lower(concat('%', :q, '%'))
+              )
+            """;
 
     Optional<Invoice> findByIdAndCompanyId(Long id, Long companyId);
 
@@ -44,6 +60,45 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
             @Param("customerId") Long customerId
     );
 
+    /**
+     * Open receivables per customer, bucketed by days past due date, in one grouped query.
+     *
+     * <p>Reads ISSUED and OVERDUE invoices through {@code idx_invoices_company_status_due_date}.
+     * Invoices without a due date, or not yet due on {@code asOf}, are current.</p>
+     */
+    @Query("""
+            select c.id as customerId,
+                   c.displayName as customerName,
+                   count(i) as invoiceCount,
+                   coalesce(sum(case when i.dueDate is null or i.dueDate >= :asOf
+                            then i.totalAmount else 0 end), 0) as currentAmount,
+                   coalesce(sum(case when i.dueDate < :asOf and i.dueDate >= :overdue30
+                            then i.totalAmount else 0 end), 0) as days1To30,
+                   coalesce(sum(case when i.dueDate < :overdue30 and i.dueDate >= :overdue60
+                            then i.totalAmount else 0 end), 0) as days31To60,
+                   coalesce(sum(case when i.dueDate < :overdue60 and i.dueDate >= :overdue90
+                            then i.totalAmount else 0 end), 0) as days61To90,
+                   coalesce(sum(case when i.dueDate < :overdue90
+                            then i.totalAmount else 0 end), 0) as days90Plus,
+                   coalesce(sum(i.totalAmount), 0) as totalAmount
+            from Invoice i
+            join i.customer c
+            where i.company.id = :companyId
+              and i.status in (
+                  com.kernith.easyinvoice.data.model.InvoiceStatus.ISSUED,
+                  com.kernith.easyinvoice.data.model.InvoiceStatus.OVERDUE
+              )
+            group by c.id, c.displayName
+            order by c.displayName, c.id
+            """)
+    List<ReceivablesAgingRow> agingByCustomer(
+            @Param("companyId") Long companyId,
+            @Param("asOf") LocalDate asOf,
+            @Param("overdue30") LocalDate overdue30,
+            @Param("overdue60") LocalDate overdue60,
+            @Param("overdue90") LocalDate overdue90
+    );
+
     @Query("""
             select coalesce(max(i.invoiceNumber), 0)
             from Invoice i
@@ -52,17 +107,20 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
             """)
     Integer findMaxInvoiceNumber(@Param("companyId") Long companyId, @Param("invoiceYear") Integer invoiceYear);
 
+    @Query(SEARCH_BY_COMPANY)
+    Page<Invoice> searchByCompanyId(@Param("companyId") Long companyId, @Param("q") String q, Pageable pageable);
+
+    Slice<Invoice> findSliceByCompanyId(Long companyId, Pageable pageable);
+
+    @Query(SEARCH_BY_COMPANY)
+    Slice<Invoice> searchSliceByCompanyId(@Param("companyId") Long companyId, @Param("q") String q, Pageable pageable);
+
     @Query("""
-            select i
+            select count(i) as count,
+                   coalesce(sum(i.version), 0) as versionSum,
+                   coalesce(max(i.id), 0) as maxId
             from Invoice i
-            left join i.customer c
             where i.company.id = :companyId
-              and (
-                :q is null or :q = ''
-                or lower(i.title) like lower(concat('%', :q, '%'))
-                or lower(i.notes) like lower(concat('%', :q, '%'))
-                or lower(c.displayName) like lower(concat('%', :q, '%'))
-              )
             """)
-    Page<Invoice> searchByCompanyId(@Param("companyId") Long companyId, @Param("q") String q, Pageable pageable);
+    CollectionVersion collectionVersion(@Param("companyId") Long companyId);
 }
@@ -0,0 +1,45 @@
+package com.kernith.easyinvoice.data.repository;
+
+import com.kernith.easyinvoice.data.model.InvoiceVatLine;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface InvoiceVatLineRepository extends JpaRepository<InvoiceVatLine, Long> {
+
+    List<InvoiceVatLine> findByInvoiceIdOrderByTaxRateAsc(Long invoiceId);
+
+    @Modifying
+    @Query("delete from InvoiceVatLine v where v.invoiceId = :invoiceId")
+    int deleteByInvoiceId(@Param("invoiceId") Long invoiceId);
+
+    /**
+     * Sums the breakdown rows of the company's issued invoices (ISSUED, OVERDUE or PAID, as in
+     * the revenue rollups) dated between {@code from} and {@code to} (inclusive), per tax rate.
+     * Archived invoices are left out, including drafts archived without being issued.
+     */
+    @Query("""
+            select v.taxRate as taxRate,
+                   count(distinct v.invoiceId) as invoices,
+                   coalesce(sum(v.taxable), 0) as taxable,
+                   coalesce(sum(v.tax), 0) as tax
+            from InvoiceVatLine v, Invoice i
+            where i.id = v.invoiceId
+              and i.company.id = :companyId
+              and i.status in (
+                  com.kernith.easyinvoice.data.model.InvoiceStatus.ISSUED,
+                  com.kernith.easyinvoice.data.model.InvoiceStatus.OVERDUE,
+                  com.kernith.easyinvoice.data.model.InvoiceStatus.PAID)
+              and i.issueDate between :from and :to
+            group by v.taxRate
+            order by v.taxRate
+            """)
+    List<VatRateTotal> sumByTaxRate(
+            @Param("companyId") Long companyId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+}
@@ -0,0 +1,10 @@
+package com.kernith.easyinvoice.data.repository;
+
+/**
+ * Projection for the platform-wide counts of the admin dashboard.
+ */
+public interface PlatformCounts {
+    Long getCompanies();
+    Long getUsers();
+    Long getEnabledUsers();
+}
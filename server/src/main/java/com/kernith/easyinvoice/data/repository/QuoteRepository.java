@@ -6,11 +6,26 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface QuoteRepository extends JpaRepository<Quote, Long> {
+public interface QuoteRepository extends JpaRepository<Quote, Long>, FieldRowRepository {
+
+    /** Company-scoped search on the listed text columns, shared by the page and slice variants. */
+    String SEARCH_BY_COMPANY = """
+            select q
+            from Quote q
+            left join q.customer c
+            where q.company.id = :companyId
+              and (
+                :q is null or :q = ''
+                or lower(q.title) like lower(concat('%', :q, '%'))
+                or lower(q.notes) like lower(concat('%', :q, '%'))
+                or lower(c.displayName) like lower(concat('%', :q, '%'))
+              )
+            """;
 
     Optional<Quote> findByIdAndCompanyId(Long id, Long companyId);
 
@@ -38,17 +53,20 @@ public interface QuoteRepository extends JpaRepository<Quote, Long> {
             """)
     Integer findMaxQuoteNumber(@Param("companyId") Long companyId, @Param("quoteYear") Integer quoteYear);
 
+    @Query(SEARCH_BY_COMPANY)
+    Page<Quote> searchByCompanyId(@Param("companyId") Long companyId, @Param("q") String q, Pageable pageable);
+
+    Slice<Quote> findSliceByCompanyId(Long companyId, Pageable pageable);
+
+    @Query(SEARCH_BY_COMPANY)
+    Slice<Quote> searchSliceByCompanyId(@Param("companyId") Long companyId, @Param("q") String q, Pageable pageable);
+
     @Query("""
-            select q
+            select count(q) as count,
+                   coalesce(sum(q.version), 0) as versionSum,
+                   coalesce(max(q.id), 0) as maxId
             from Quote q
-            left join q.customer c
             where q.company.id = :companyId
-              and (
-                :q is null or :q = ''
-                or lower(q.title) like lower(concat('%', :q, '%'))
-                or lower(q.notes) like lower(concat('%', :q, '%'))
-                or lower(c.displayName) like lower(concat('%', :q, '%'))
-              )
             """)
-    Page<Quote> searchByCompanyId(@Param("companyId") Long companyId, @Param("q") String q, Pageable pageable);
+    CollectionVersion collectionVersion(@Param("companyId") Long companyId);
 }
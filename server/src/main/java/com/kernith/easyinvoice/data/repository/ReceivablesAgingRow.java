@@ -0,0 +1,18 @@
+package com.kernith.easyinvoice.data.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection for the receivables aging query, one row per customer.
+ */
+public interface ReceivablesAgingRow {
+    Long getCustomerId();
+    String getCustomerName();
+    Long getInvoiceCount();
+    BigDecimal getCurrentAmount();
+    BigDecimal getDays1To30();
+    BigDecimal getDays31To60();
+    BigDecimal getDays61To90();
+    BigDecimal getDays90Plus();
+    BigDecimal getTotalAmount();
+}
@@ -0,0 +1,22 @@
+package com.kernith.easyinvoice.data.repository;
+
+import com.kernith.easyinvoice.data.model.RefreshToken;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+	Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+	@Modifying
+	@Query("update RefreshToken t set t.revokedAt = :now where t.id = :id and t.revokedAt is null")
+	int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+	@Modifying
+	@Query("delete from RefreshToken t where t.expiresAt <= :now or t.revokedAt <= :revokedBefore")
+	int deleteExpired(@Param("now") LocalDateTime now, @Param("revokedBefore") LocalDateTime revokedBefore);
+}
@@ -0,0 +1,15 @@
+package com.kernith.easyinvoice.data.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projection for revenue time series queries.
+ */
+public interface RevenueBucket {
+    LocalDate getPeriodStart();
+    Long getIssuedCount();
+    BigDecimal getIssuedAmount();
+    Long getPaidCount();
+    BigDecimal getPaidAmount();
+}
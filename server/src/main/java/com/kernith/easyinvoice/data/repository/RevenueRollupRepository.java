@@ -0,0 +1,205 @@
+package com.kernith.easyinvoice.data.repository;
+
+import com.kernith.easyinvoice.data.model.RevenueGranularity;
+import com.kernith.easyinvoice.data.model.RevenueRollup;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, Long> {
+
+    /**
+     * Current day and month buckets, computed from the invoices: an invoice counts as issued
+     * at its issue date while ISSUED, OVERDUE or PAID, and as paid at its payment date while PAID.
+     */
+    String ACTUAL_ROLLUPS = """
+            select company_id, customer_id, granularity, period_start,
+                   sum(issued_count) as issued_count,
+                   cast(sum(issued_amount) as numeric(19,2)) as issued_amount,
+                   sum(paid_count) as paid_count,
+                   cast(sum(paid_amount) as numeric(19,2)) as paid_amount
+            from (
+                select company_id, customer_id, 'DAY' as granularity, issue_date as period_start,
+                       1 as issued_count, total_amount as issued_amount, 0 as paid_count, 0 as paid_amount
+                from invoices where status in ('ISSUED', 'OVERDUE', 'PAID') and issue_date is not null
+                union all
+                select company_id, customer_id, 'MONTH', cast(date_trunc('MONTH', issue_date) as date),
+                       1, total_amount, 0, 0
+                from invoices where status in ('ISSUED', 'OVERDUE', 'PAID') and issue_date is not null
+                union all
+                select company_id, customer_id, 'DAY', paid_date, 0, 0, 1, total_amount
+                from invoices where status = 'PAID' and paid_date is not null
+                union all
+                select company_id, customer_id, 'MONTH', cast(date_trunc('MONTH', paid_date) as date),
+                       0, 0, 1, total_amount
+                from invoices where status = 'PAID' and paid_date is not null
+            ) events
+            group by company_id, customer_id, granularity, period_start
+            """;
+
+    /** Stored buckets; buckets that dropped to zero are equivalent to missing buckets. */
+    String STORED_ROLLUPS = """
+            select company_id, customer_id, granularity, period_start,
+                   issued_count, issued_amount, paid_count, paid_amount
+            from revenue_rollups
+            where issued_count <> 0 or issued_amount <> 0 or paid_count <> 0 or paid_amount <> 0
+            """;
+
+    @Query("""
+            select r.periodStart as periodStart,
+                   sum(r.issuedCount) as issuedCount,
+                   sum(r.issuedAmount) as issuedAmount,
+                   sum(r.paidCount) as paidCount,
+                   sum(r.paidAmount) as paidAmount
+            from RevenueRollup r
+            where r.companyId = :companyId
+              and r.granularity = :granularity
+              and r.periodStart between :from and :to
+            group by r.periodStart
+            order by r.periodStart
+            """)
+    List<RevenueBucket> findSeries(
+            @Param("companyId") Long companyId,
+            @Param("granularity") RevenueGranularity granularity,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query("""
+            select r.periodStart as periodStart,
+                   r.issuedCount as issuedCount,
+                   r.issuedAmount as issuedAmount,
+                   r.paidCount as paidCount,
+                   r.paidAmount as paidAmount
+            from RevenueRollup r
+            where r.companyId = :companyId
+              and r.customerId = :customerId
+              and r.granularity = :granularity
+              and r.periodStart between :from and :to
+            order by r.periodStart
+            """)
+    List<RevenueBucket> findCustomerSeries(
+            @Param("companyId") Long companyId,
+            @Param("customerId") Long customerId,
+            @Param("granularity") RevenueGranularity granularity,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query("""
+            select r.customerId as customerId,
+                   sum(r.issuedCount) as issuedCount,
+                   sum(r.paidAmount) as paidAmount
+            from RevenueRollup r
+            where r.companyId = :companyId
+              and r.granularity = com.kernith.easyinvoice.data.model.RevenueGranularity.MONTH
+              and r.periodStart between :from and :to
+            group by r.customerId
+            having sum(r.paidAmount) > 0
+            order by sum(r.paidAmount) desc, r.customerId
+            """)
+    List<CustomerRevenue> findTopCustomersByPaidAmount(
+            @Param("companyId") Long companyId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            Pageable pageable
+    );
+
+    @Query("""
+            select r.customerId as customerId,
+                   sum(r.issuedCount) as issuedCount,
+                   sum(r.paidAmount) as paidAmount
+            from RevenueRollup r
+            where r.companyId = :companyId
+              and r.granularity = com.kernith.easyinvoice.data.model.RevenueGranularity.MONTH
+              and r.periodStart between :from and :to
+            group by r.customerId
+            having sum(r.issuedCount) > 0
+            order by sum(r.issuedCount) desc, r.customerId
+            """)
+    List<CustomerRevenue> findTopCustomersByIssuedCount(
+            @Param("companyId") Long companyId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            Pageable pageable
+    );
+
+    @Query("""
+            select r.customerId as customerId,
+                   sum(r.issuedCount) as issuedCount,
+                   sum(r.paidAmount) as paidAmount
+            from RevenueRollup r
+            where r.companyId = :companyId
+              and r.customerId in :customerIds
+              and r.granularity = com.kernith.easyinvoice.data.model.RevenueGranularity.MONTH
+              and r.periodStart between :from and :to
+            group by r.customerId
+            """)
+    List<CustomerRevenue> findCustomerRevenue(
+            @Param("companyId") Long companyId,
+            @Param("customerIds") Collection<Long> customerIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Modifying
+    @Query(value = """
+            merge into revenue_rollups r
+            using (values (
+                cast(:companyId as bigint),
+                cast(:customerId as bigint),
+                cast(:granularity as varchar(8)),
+                cast(:periodStart as date),
+                cast(:issuedCount as bigint),
+                cast(:issuedAmount as numeric(19,2)),
+                cast(:paidCount as bigint),
+                cast(:paidAmount as numeric(19,2))
+            )) as d(company_id, customer_id, granularity, period_start,
+                    issued_count, issued_amount, paid_count, paid_amount)
+            on r.company_id = d.company_id and r.granularity = d.granularity
+               and r.period_start = d.period_start and r.customer_id = d.customer_id
+            when matched then update set
+                issued_count = r.issued_count + d.issued_count,
+                issued_amount = r.issued_amount + d.issued_amount,
+                paid_count = r.paid_count + d.paid_count,
+                paid_amount = r.paid_amount + d.paid_amount
+            when not matched then insert (company_id, customer_id, granularity, period_start,
+                    issued_count, issued_amount, paid_count, paid_amount)
+                values (d.company_id, d.customer_id, d.granularity, d.period_start,
+                    d.issued_count, d.issued_amount, d.paid_count, d.paid_amount)
+            """, nativeQuery = true)
+    int applyDelta(
+            @Param("companyId") Long companyId,
+            @Param("customerId") Long customerId,
+            @Param("granularity") String granularity,
+            @Param("periodStart") LocalDate periodStart,
+            @Param("issuedCount") long issuedCount,
+            @Param("issuedAmount") BigDecimal issuedAmount,
+            @Param("paidCount") long paidCount,
+            @Param("paidAmount") BigDecimal paidAmount
+    );
+
+    @Query(value = "select distinct company_id from ("
+            + "((" + ACTUAL_ROLLUPS + ") except (" + STORED_ROLLUPS + "))"
+            + " union "
+            + "((" + STORED_ROLLUPS + ") except (" + ACTUAL_ROLLUPS + "))"
+            + ") drift", nativeQuery = true)
+    List<Long> findDriftedCompanyIds();
+
+    @Modifying
+    @Query("delete from RevenueRollup r where r.companyId = :companyId")
+    int deleteByCompanyId(@Param("companyId") Long companyId);
+
+    @Modifying
+    @Query(value = "insert into revenue_rollups (company_id, customer_id, granularity, period_start,"
+            + " issued_count, issued_amount, paid_count, paid_amount)"
+            + " select * from (" + ACTUAL_ROLLUPS + ") actual where company_id = :companyId",
+            nativeQuery = true)
+    int rebuild(@Param("companyId") Long companyId);
+}
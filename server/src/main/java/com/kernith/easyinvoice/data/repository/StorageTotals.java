@@ -0,0 +1,10 @@
+package com.kernith.easyinvoice.data.repository;
+
+/**
+ * Projection for the platform-wide storage totals of the admin dashboard.
+ */
+public interface StorageTotals {
+    Long getPdfCount();
+    Long getPdfBytes();
+    Long getBackupBytes();
+}
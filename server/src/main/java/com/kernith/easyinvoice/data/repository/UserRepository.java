@@ -5,6 +5,7 @@ import com.kernith.easyinvoice.data.model.UserRole;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -20,7 +21,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
 	Optional<User> findByIdAndCompanyId(Long id, Long companyId);
 
-	long countByEnabledTrue();
-
-	long countByEnabledFalse();
+	@Query("""
+			select (select count(c) from Company c) as companies,
+			       count(u) as users,
+			       coalesce(sum(case when u.enabled = true then 1 else 0 end), 0) as enabledUsers
+			from User u
+			""")
+	PlatformCounts countPlatform();
 }
@@ -0,0 +1,11 @@
+package com.kernith.easyinvoice.data.repository;
+
+import com.kernith.easyinvoice.data.model.UserTokenRevocation;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, Long> {
+
+	List<UserTokenRevocation> findByUpdatedAtAfter(LocalDateTime since);
+}
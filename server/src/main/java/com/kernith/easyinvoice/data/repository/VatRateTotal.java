@@ -0,0 +1,13 @@
+package com.kernith.easyinvoice.data.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection for the VAT summary of a period, one row per tax rate.
+ */
+public interface VatRateTotal {
+    BigDecimal getTaxRate();
+    Long getInvoices();
+    BigDecimal getTaxable();
+    BigDecimal getTax();
+}
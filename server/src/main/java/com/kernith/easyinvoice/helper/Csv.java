@@ -0,0 +1,62 @@
+package com.kernith.easyinvoice.helper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal CSV writing (RFC 4180 quoting) for exports and report downloads.
+ */
+public final class Csv {
+
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+    private Csv() {}
+
+    /**
+     * Quotes a value if it contains a separator, a quote or a line break.
+     *
+     * <p>A value a spreadsheet would read as a formula (starting with {@code =}, {@code +},
+     * {@code -}, {@code @}, tab or carriage return) is prefixed with {@code '} and quoted, so
+     * free text such as customer names cannot inject formulas; plain numbers are left as they
+     * are.</p>
+     *
+     * @param value raw value
+     * @return CSV field
+     */
+    public static String field(String value) {
+        if (isFormula(value)) {
+            return "\"'" + value.replace("\"", "\"\"") + "\"";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static boolean isFormula(String value) {
+        if (value.isEmpty() || "=+-@\t\r".indexOf(value.charAt(0)) < 0) {
+            return false;
+        }
+        return !NUMBER.matcher(value).matches();
+    }
+
+    /**
+     * Writes one record followed by a line break; {@code null} values are written as empty fields.
+     *
+     * @param writer destination
+     * @param values field values, formatted with {@link String#valueOf(Object)}
+     * @throws IOException if writing fails
+     */
+    public static void row(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(field(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+}
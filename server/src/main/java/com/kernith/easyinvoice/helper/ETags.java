@@ -0,0 +1,124 @@
+package com.kernith.easyinvoice.helper;
+
+import com.kernith.easyinvoice.data.model.Customer;
+import com.kernith.easyinvoice.data.model.Invoice;
+import com.kernith.easyinvoice.data.model.Quote;
+import com.kernith.easyinvoice.data.repository.CollectionVersion;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Weak entity tags for conditional GETs.
+ *
+ * <p>Single resources are tagged with their {@code @Version} and, when the payload embeds
+ * data of the related customer (its display name), with the customer's version too. Lists
+ * are tagged with a per-tenant {@link CollectionVersion}, which changes on every insert,
+ * update or delete in the company's rows; since a client only sends back the tag it got for
+ * the same URL, paging and search parameters do not need to be part of it.</p>
+ */
+public final class ETags {
+
+    private ETags() {}
+
+    /**
+     * Returns the tag of an invoice payload.
+     *
+     * @param invoice invoice
+     * @return weak entity tag
+     */
+    public static String of(Invoice invoice) {
+        return weak("inv", invoice.getId(), version(invoice.getVersion()), customerVersion(invoice.getCustomer()));
+    }
+
+    /**
+     * Returns the tag of a quote payload.
+     *
+     * @param quote quote
+     * @return weak entity tag
+     */
+    public static String of(Quote quote) {
+        return weak("quo", quote.getId(), version(quote.getVersion()), customerVersion(quote.getCustomer()));
+    }
+
+    /**
+     * Returns the tag of a customer payload.
+     *
+     * @param customer customer
+     * @return weak entity tag
+     */
+    public static String of(Customer customer) {
+        return weak("cus", customer.getId(), version(customer.getVersion()));
+    }
+
+    /**
+     * Returns the tag of a tenant collection.
+     *
+     * @param name collection name
+     * @param versions versions of every table the list payload reads from
+     * @return weak entity tag, or {@code null} if a version is missing
+     */
+    public static String ofCollection(String name, CollectionVersion... versions) {
+        StringBuilder tag = new StringBuilder(name);
+        for (CollectionVersion v : versions) {
+            if (v == null) {
+                return null;
+            }
+            tag.append('.').append(v.getCount()).append('-').append(v.getVersionSum()).append('-').append(v.getMaxId());
+        }
+        return "W/\"" + tag + "\"";
+    }
+
+    /**
+     * Returns whether an {@code If-None-Match} header matches a tag (weak comparison).
+     *
+     * @param ifNoneMatch request header value, may be {@code null}
+     * @param etag current tag, may be {@code null}
+     * @return {@code true} if the client's copy is current
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String current = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || opaque(value).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds a {@code 304 Not Modified} response carrying the tag.
+     *
+     * @param etag current tag
+     * @param <T> body type
+     * @return empty 304 response
+     */
+    public static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    private static String weak(String prefix, Long id, long version, Long... related) {
+        StringBuilder tag = new StringBuilder(prefix).append('-').append(id).append('-').append(version);
+        for (Long r : related) {
+            if (r != null) {
+                tag.append('.').append(r);
+            }
+        }
+        return "W/\"" + tag + "\"";
+    }
+
+    private static Long customerVersion(Customer customer) {
+        return customer == null ? null : version(customer.getVersion());
+    }
+
+    private static long version(Long version) {
+        return version == null ? 0L : version;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,107 @@
+package com.kernith.easyinvoice.helper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory token buckets, one per key.
+ *
+ * <p>Each key gets {@code capacity} tokens refilled at {@code capacity} per period. Buckets
+ * are created lazily and only lock themselves, so unrelated keys never contend. A full
+ * bucket is indistinguishable from a missing one, so {@link #purgeIdle()} can drop them to
+ * keep memory bounded. A capacity of {@code 0} disables limiting.</p>
+ */
+public class KeyedTokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the limiter.
+     *
+     * @param capacity burst size and tokens refilled per period ({@code 0} = unlimited)
+     * @param period refill period
+     * @param unit unit of {@code period}
+     * @throws IllegalArgumentException if capacity is negative or period is not positive
+     */
+    public KeyedTokenBucket(long capacity, long period, TimeUnit unit) {
+        if (capacity < 0 || period <= 0) {
+            throw new IllegalArgumentException("Token bucket capacity must be >= 0 and period > 0");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = (double) capacity / unit.toNanos(period);
+    }
+
+    /**
+     * Takes one token for the key if available.
+     *
+     * @param key bucket key
+     * @return {@code 0} if the token was taken, otherwise nanoseconds until one is available
+     */
+    public long tryAcquire(String key) {
+        if (capacity == 0) {
+            return 0;
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(capacity)).tryTake(capacity, tokensPerNano);
+    }
+
+    /**
+     * Returns seconds until the key can take a token again, rounded up.
+     *
+     * @param waitNanos value returned by {@link #tryAcquire(String)}
+     * @return wait in whole seconds, at least {@code 1}
+     */
+    public static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Drops buckets that have refilled completely.
+     */
+    public void purgeIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now, capacity, tokensPerNano));
+    }
+
+    /**
+     * Returns the number of tracked keys.
+     *
+     * @return bucket count
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        private Bucket(long capacity) {
+            this.tokens = capacity;
+        }
+
+        private synchronized long tryTake(long capacity, double tokensPerNano) {
+            long now = System.nanoTime();
+            refill(now, capacity, tokensPerNano);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+        }
+
+        private synchronized boolean isFull(long now, long capacity, double tokensPerNano) {
+            refill(now, capacity, tokensPerNano);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now, long capacity, double tokensPerNano) {
+            if (now > lastRefill) {
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+                lastRefill = now;
+            }
+        }
+    }
+}
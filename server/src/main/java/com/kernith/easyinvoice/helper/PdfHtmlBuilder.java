@@ -2,6 +2,7 @@ package com.kernith.easyinvoice.helper;
 
 import com.kernith.easyinvoice.helper.adapter.PdfDocumentView;
 import com.kernith.easyinvoice.helper.adapter.PdfLineView;
+import com.kernith.easyinvoice.helper.adapter.PdfVatLineView;
 
 import java.util.Comparator;
 import java.util.List;
@@ -281,7 +282,7 @@ public final class PdfHtmlBuilder {
     }
 
     private String totalsSection() {
-        return """
+        return vatSection(doc.vatLines()) + """
             <table class="totals">
               <tr>
                 <td class="label">Subtotale</td>
@@ -303,6 +304,42 @@ public final class PdfHtmlBuilder {
         );
     }
 
+    private String vatSection(List<? extends PdfVatLineView> vatLines) {
+        if (vatLines == null || vatLines.isEmpty()) return "";
+
+        String rows = vatLines.stream()
+                .map(it -> """
+                    <tr>
+                      <td class="num">%s</td>
+                      <td class="num">%s</td>
+                      <td class="num">%s</td>
+                    </tr>
+                    """.formatted(
+                        esc(it.rateLabel()),
+                        esc(it.taxableLabel()),
+                        esc(it.taxLabel())
+                ))
+                .reduce("", String::concat);
+
+        return """
+            <table class="vat">
+              <thead>
+                <tr>
+                  <th colspan="3">Riepilogo IVA</th>
+                </tr>
+                <tr>
+                  <th class="num">Aliquota</th>
+                  <th class="num">Imponibile</th>
+                  <th class="num">Imposta</th>
+                </tr>
+              </thead>
+              <tbody>
+                %s
+              </tbody>
+            </table>
+            """.formatted(rows);
+    }
+
     private String notesSection() {
         String notes = nvl(doc.notes());
         if (notes.isBlank()) return "";
@@ -389,6 +426,21 @@ public final class PdfHtmlBuilder {
           table.totals .label { color: #555; }
           table.totals .grand { font-weight: 800; font-size: 13px; }
 
+          table.vat {
+            width: 45%;
+            margin-left: auto;
+            border-collapse: collapse;
+            margin-top: 12px;
+          }
+          table.vat th {
+            font-size: 10.5px;
+            color: #555;
+            padding: 6px 8px;
+            background: #f6f6f6;
+            border-bottom: 1px solid #e5e5e5;
+          }
+          table.vat td { padding: 4px 8px; border-bottom: 1px solid #efefef; }
+
           .notes {
             margin-top: 14px;
             padding: 10px 12px;
@@ -0,0 +1,23 @@
+package com.kernith.easyinvoice.helper;
+
+import com.kernith.easyinvoice.data.model.UserRole;
+import java.lang.annotation.*;
+
+/**
+ * Restricts a controller method, or every method of a controller, to the given roles.
+ *
+ * <p>A method-level annotation replaces the class-level one. Evaluated by
+ * {@link com.kernith.easyinvoice.config.RoleAuthorizationInterceptor} before the handler runs.</p>
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequireRoles {
+
+    /**
+     * Roles allowed to call the handler.
+     *
+     * @return allowed roles
+     */
+    UserRole[] value();
+}
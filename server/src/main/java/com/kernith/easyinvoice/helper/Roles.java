@@ -0,0 +1,34 @@
+package com.kernith.easyinvoice.helper;
+
+import com.kernith.easyinvoice.data.model.UserRole;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Shared, immutable role sets for authorization checks.
+ */
+public final class Roles {
+
+    /** Company managers only. */
+    public static final Set<UserRole> MANAGER = of(UserRole.COMPANY_MANAGER);
+    /** Company managers and back office users. */
+    public static final Set<UserRole> COMPANY_STAFF = of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE);
+    /** Platform administrators only. */
+    public static final Set<UserRole> PLATFORM_ADMIN = of(UserRole.PLATFORM_ADMIN);
+    /** Company managers and platform administrators. */
+    public static final Set<UserRole> MANAGER_OR_PLATFORM_ADMIN = of(UserRole.COMPANY_MANAGER, UserRole.PLATFORM_ADMIN);
+
+    private Roles() {}
+
+    /**
+     * Builds an immutable {@link EnumSet}-backed role set.
+     *
+     * @param first first role
+     * @param rest other roles
+     * @return role set
+     */
+    public static Set<UserRole> of(UserRole first, UserRole... rest) {
+        return Collections.unmodifiableSet(EnumSet.of(first, rest));
+    }
+}
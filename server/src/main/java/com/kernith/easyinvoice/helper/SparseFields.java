@@ -0,0 +1,51 @@
+package com.kernith.easyinvoice.helper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Parses the {@code fields} parameter of list endpoints (sparse fieldsets).
+ *
+ * <p>Each response type publishes the fields a client may ask for, mapped to the entity path
+ * they are read from; the selection is passed to
+ * {@link com.kernith.easyinvoice.data.repository.FieldRowRepository} so that only those
+ * columns are queried and serialized. {@code id} is always included.</p>
+ */
+public final class SparseFields {
+
+    /** Field that every row carries, whether requested or not. */
+    public static final String ID = "id";
+
+    private SparseFields() {}
+
+    /**
+     * Returns the requested fields with their entity paths.
+     *
+     * @param fields comma-separated field names, may be {@code null}
+     * @param available selectable field names mapped to entity paths
+     * @return selected fields in request order (after {@code id}), or {@code null} if no
+     *         selection was requested
+     * @throws ResponseStatusException if a field is not available
+     */
+    public static Map<String, String> select(String fields, Map<String, String> available) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Map<String, String> selected = new LinkedHashMap<>();
+        selected.put(ID, available.get(ID));
+        for (String raw : fields.split(",")) {
+            String field = raw.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            String path = available.get(field);
+            if (path == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + field);
+            }
+            selected.put(field, path);
+        }
+        return selected;
+    }
+}
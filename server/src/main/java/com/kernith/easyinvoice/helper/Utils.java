@@ -7,8 +7,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.Locale;
-import java.util.List;
 
 /**
  * Small utility helpers used across the application.
@@ -17,18 +17,19 @@ public class Utils {
     /**
      * Ensures the authenticated principal has one of the allowed roles.
      *
+     * <p>Uses the role already resolved in the principal; pass one of the shared
+     * {@link Roles} sets to avoid allocating on every call.</p>
+     *
      * @param principal authenticated principal
      * @param roles allowed roles
      * @throws ResponseStatusException if the principal is missing, invalid, or lacks permissions
      */
-    public static void requireRoles(AuthPrincipal principal, List<UserRole> roles) {
+    public static void requireRoles(AuthPrincipal principal, Collection<UserRole> roles) {
         if (principal == null || principal.role() == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing principal");
         }
-        UserRole role;
-        try {
-            role = UserRole.valueOf(principal.role());
-        } catch (IllegalArgumentException ex) {
+        UserRole role = principal.userRole();
+        if (role == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid role");
         }
         if (!roles.contains(role)) {
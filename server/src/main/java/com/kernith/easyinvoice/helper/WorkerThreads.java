@@ -0,0 +1,54 @@
+package com.kernith.easyinvoice.helper;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Thread factories for the application's own background workers.
+ *
+ * <p>Follows {@code spring.threads.virtual.enabled}, the same switch Spring Boot uses for
+ * Tomcat, {@code @Async} and the scheduler: when it is on and the JVM supports virtual
+ * threads, workers are virtual threads; otherwise they are named daemon platform threads.
+ * CPU-bound pools (BCrypt) deliberately do not use this.</p>
+ */
+public final class WorkerThreads {
+    private static final Logger log = LoggerFactory.getLogger(WorkerThreads.class);
+
+    private WorkerThreads() {}
+
+    /**
+     * Returns whether virtual threads can be used on this JVM.
+     *
+     * @return {@code true} on Java 21 or newer
+     */
+    public static boolean virtualThreadsSupported() {
+        return JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+    }
+
+    /**
+     * Creates a factory for worker threads named {@code prefix-N}.
+     *
+     * @param prefix thread name prefix
+     * @param virtual whether virtual threads were requested
+     * @return thread factory
+     */
+    public static ThreadFactory factory(String prefix, boolean virtual) {
+        if (virtual) {
+            if (virtualThreadsSupported()) {
+                return new VirtualThreadTaskExecutor(prefix + "-").getVirtualThreadFactory();
+            }
+            log.warn("Virtual threads requested for {} but not supported by Java {}; using platform threads",
+                    prefix, JavaVersion.getJavaVersion());
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -4,6 +4,7 @@ import com.kernith.easyinvoice.data.model.Company;
 import com.kernith.easyinvoice.data.model.Customer;
 import com.kernith.easyinvoice.data.model.Invoice;
 import com.kernith.easyinvoice.data.model.InvoiceItem;
+import com.kernith.easyinvoice.data.model.InvoiceVatLine;
 
 import java.util.List;
 
@@ -17,6 +18,7 @@ public final class InvoicePdfAdapter implements PdfDocumentView {
 
     private final Invoice invoice;
     private final List<InvoiceItem> items;
+    private final List<InvoiceVatLine> vatLines;
     private final Company company;
     private final Customer customer;
 
@@ -29,8 +31,28 @@ public final class InvoicePdfAdapter implements PdfDocumentView {
      * @param customer customer entity
      */
     public InvoicePdfAdapter(Invoice invoice, List<InvoiceItem> items, Company company, Customer customer) {
+        this(invoice, items, List.of(), company, customer);
+    }
+
+    /**
+     * Creates a PDF adapter for an invoice, its VAT breakdown and its related entities.
+     *
+     * @param invoice invoice entity
+     * @param items invoice items
+     * @param vatLines VAT breakdown rows
+     * @param company company entity
+     * @param customer customer entity
+     */
+    public InvoicePdfAdapter(
+            Invoice invoice,
+            List<InvoiceItem> items,
+            List<InvoiceVatLine> vatLines,
+            Company company,
+            Customer customer
+    ) {
         this.invoice = invoice;
         this.items = items;
+        this.vatLines = vatLines;
         this.company = company;
         this.customer = customer;
     }
@@ -84,4 +106,9 @@ public final class InvoicePdfAdapter implements PdfDocumentView {
         String currency = invoice.getCurrency();
         return items.stream().map(item -> new InvoiceLineAdapter(item, currency)).toList();
     }
+
+    @Override public List<? extends PdfVatLineView> vatLines() {
+        String currency = invoice.getCurrency();
+        return vatLines.stream().map(line -> new InvoiceVatLineAdapter(line, currency)).toList();
+    }
 }
@@ -0,0 +1,31 @@
+package com.kernith.easyinvoice.helper.adapter;
+
+import com.kernith.easyinvoice.data.model.InvoiceVatLine;
+
+import static com.kernith.easyinvoice.helper.Utils.*;
+
+/**
+ * Adapts {@link InvoiceVatLine} data to {@link PdfVatLineView} for invoice PDFs.
+ */
+public class InvoiceVatLineAdapter implements PdfVatLineView {
+    private final InvoiceVatLine line;
+    private final String currency;
+
+    /**
+     * Creates a VAT row adapter for an invoice breakdown row.
+     *
+     * @param line VAT breakdown row
+     * @param currency currency code
+     */
+    public InvoiceVatLineAdapter(InvoiceVatLine line, String currency) {
+        this.line = line;
+        this.currency = currency;
+    }
+
+    @Override
+    public String rateLabel() { return percent2(line.getTaxRate()); }
+    @Override
+    public String taxableLabel() { return money(line.getTaxable(), currency); }
+    @Override
+    public String taxLabel() { return money(line.getTax(), currency); }
+}
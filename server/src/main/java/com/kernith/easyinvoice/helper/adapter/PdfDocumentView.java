@@ -104,4 +104,13 @@ public interface PdfDocumentView {
      * @return list of line views
      */
     java.util.List<? extends PdfLineView> lines();
+
+    /**
+     * VAT breakdown rows shown above the totals; documents without one return an empty list.
+     *
+     * @return list of VAT rows, lowest rate first
+     */
+    default java.util.List<? extends PdfVatLineView> vatLines() {
+        return java.util.List.of();
+    }
 }
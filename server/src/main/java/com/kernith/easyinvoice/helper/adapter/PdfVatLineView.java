@@ -0,0 +1,25 @@
+package com.kernith.easyinvoice.helper.adapter;
+
+/**
+ * View model for a single row of the VAT breakdown (riepilogo IVA) in a PDF document.
+ */
+public interface PdfVatLineView {
+    /**
+     * VAT rate formatted for display.
+     *
+     * @return formatted rate label
+     */
+    String rateLabel();
+    /**
+     * Taxable base formatted for display.
+     *
+     * @return formatted taxable label
+     */
+    String taxableLabel();
+    /**
+     * Tax amount formatted for display.
+     *
+     * @return formatted tax label
+     */
+    String taxLabel();
+}
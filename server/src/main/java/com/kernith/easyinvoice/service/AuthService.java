@@ -2,44 +2,65 @@ package com.kernith.easyinvoice.service;
 
 import com.kernith.easyinvoice.data.dto.auth.LoginRequest;
 import com.kernith.easyinvoice.data.dto.auth.LoginResponse;
+import com.kernith.easyinvoice.data.dto.auth.RefreshTokenRequest;
+import com.kernith.easyinvoice.data.model.User;
 import com.kernith.easyinvoice.data.repository.UserRepository;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 /**
  * Authentication use-cases for login and token issuance.
+ *
+ * <p>Login and refresh return a short-lived access JWT together with a rotating refresh token.
+ * Login attempts are throttled per account and per client IP before any hashing, and password
+ * checks run on the bounded {@link PasswordHasher} pool rather than on the request thread.</p>
  */
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordHasher passwordHasher;
+    private final LoginThrottle loginThrottle;
 
     /**
      * Creates the service with required repositories and JWT utilities.
      *
      * @param userRepository user repository
      * @param jwtService JWT service for token generation
+     * @param refreshTokenService refresh token issuance and rotation
+     * @param passwordHasher bounded BCrypt pool
+     * @param loginThrottle per-account and per-IP attempt limits
      */
     public AuthService(UserRepository userRepository,
-                       JwtService jwtService) {
+                       JwtService jwtService,
+                       RefreshTokenService refreshTokenService,
+                       PasswordHasher passwordHasher,
+                       LoginThrottle loginThrottle) {
         this.userRepository = userRepository;
         this.jwtService = jwtService;
+        this.refreshTokenService = refreshTokenService;
+        this.passwordHasher = passwordHasher;
+        this.loginThrottle = loginThrottle;
     }
 
     /**
      * Validates credentials and issues a JWT for the user.
      *
-     * <p>Lifecycle: find user, verify enabled flag, compare password hash,
-     * then generate and return the token.</p>
+     * <p>Lifecycle: check attempt limits, find user, verify enabled flag, compare password
+     * hash, rehash it if the configured BCrypt cost changed, then generate and return the
+     * access and refresh tokens.</p>
      *
      * @param req login request
+     * @param clientIp client address used for per-IP throttling, may be {@code null}
      * @return login response with token and identity info
+     * @throws com.kernith.easyinvoice.helper.TooManyRequestsException if the account or IP is throttled
+     * @throws org.springframework.web.server.ResponseStatusException with {@code 503} if the hashing pool is saturated
      * @throws RuntimeException if credentials are invalid or the user is disabled
      */
-    public LoginResponse login(LoginRequest req) {
+    public LoginResponse login(LoginRequest req, String clientIp) {
+        loginThrottle.checkAttempt(req.companyId(), req.email(), clientIp);
+
         var user = userRepository
                 .findByCompanyIdAndEmailIgnoreCase(req.companyId(), req.email())
                 .orElseThrow(() -> new RuntimeException("Invalid credentials"));
@@ -48,18 +69,51 @@ public class AuthService {
             throw new RuntimeException("User disabled");
         }
 
-        boolean ok = passwordEncoder.matches(req.password(), user.getPasswordHash());
+        boolean ok = passwordHasher.matches(req.password(), user.getPasswordHash());
         if (!ok) {
             throw new RuntimeException("Invalid credentials");
         }
 
+        if (passwordHasher.needsRehash(user.getPasswordHash())) {
+            user.setPasswordHash(passwordHasher.encode(req.password()));
+            userRepository.save(user);
+        }
+
+        return issueTokens(user);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     *
+     * @param req refresh request
+     * @return login response with the new token pair
+     * @throws org.springframework.web.server.ResponseStatusException if the refresh token is invalid
+     */
+    public LoginResponse refresh(RefreshTokenRequest req) {
+        User user = refreshTokenService.consume(req.refreshToken());
+        return issueTokens(user);
+    }
+
+    /**
+     * Revokes the given refresh token; the current access token expires on its own.
+     *
+     * @param req refresh token to revoke
+     */
+    public void logout(RefreshTokenRequest req) {
+        refreshTokenService.revoke(req.refreshToken());
+    }
+
+    private LoginResponse issueTokens(User user) {
         String token = jwtService.generateToken(user);
+        String refreshToken = refreshTokenService.issue(user);
 
         return new LoginResponse(
                 token,
                 user.getId(),
                 user.getCompany().getId(),
-                user.getRole().name()
+                user.getRole().name(),
+                refreshToken,
+                jwtService.getAccessTokenTtlSeconds()
         );
     }
 }
@@ -15,8 +15,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -28,17 +26,25 @@ public class CompanyService {
 
     private final CompanyRepository companyRepository;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final PasswordHasher passwordHasher;
+    private final StorageUsageService storageUsageService;
 
     /**
      * Creates the service with repositories.
      *
      * @param companyRepository company repository
      * @param userRepository user repository
+     * @param passwordHasher bounded BCrypt pool
+     * @param storageUsageService per-company storage counters
      */
-    public CompanyService(CompanyRepository companyRepository, UserRepository userRepository) {
+    public CompanyService(CompanyRepository companyRepository,
+                          UserRepository userRepository,
+                          PasswordHasher passwordHasher,
+                          StorageUsageService storageUsageService) {
         this.companyRepository = companyRepository;
         this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.storageUsageService = storageUsageService;
     }
 
     /**
@@ -79,7 +85,7 @@ public class CompanyService {
     }
 
     /**
-     * Retrieves company details by id.
+     * Retrieves company details by id, including the storage it uses.
      *
      * @param companyId company identifier
      * @param principal authenticated principal
@@ -90,7 +96,10 @@ public class CompanyService {
         requirePlatformAdmin(principal);
 
         return companyRepository.findById(companyId)
-                .map(CompanyDetailResponse::from);
+                .map(company -> CompanyDetailResponse.from(
+                        company,
+                        storageUsageService.getCompanyUsage(company.getId())
+                ));
     }
 
     /**
@@ -123,7 +132,7 @@ public class CompanyService {
         User user = new User(company.get());
         user.setEmail(email);
         user.setName(name);
-        user.setPasswordHash(passwordEncoder.encode(request.password()));
+        user.setPasswordHash(passwordHasher.encode(request.password()));
         user.setRole(UserRole.COMPANY_MANAGER);
         user.setEnabled(true);
 
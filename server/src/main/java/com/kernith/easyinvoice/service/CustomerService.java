@@ -7,18 +7,22 @@ import com.kernith.easyinvoice.data.model.Company;
 import com.kernith.easyinvoice.data.model.Customer;
 import com.kernith.easyinvoice.data.model.CustomerStatus;
 import com.kernith.easyinvoice.data.model.Quote;
-import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.data.repository.CompanyRepository;
 import com.kernith.easyinvoice.data.repository.CustomerRepository;
+import com.kernith.easyinvoice.data.repository.FieldRowRepository;
 import com.kernith.easyinvoice.data.repository.QuoteRepository;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
+import com.kernith.easyinvoice.helper.ETags;
+import com.kernith.easyinvoice.helper.Roles;
 import com.kernith.easyinvoice.helper.Utils;
 import org.springframework.http.HttpStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -61,7 +65,7 @@ public class CustomerService {
      * @throws ResponseStatusException if validation or authorization fails
      */
     public Customer createCustomer(CreateCustomerRequest request, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER));
+        Utils.requireRoles(principal, Roles.MANAGER);
 
         Long companyId = Utils.getRequiredCompanyId(principal);
         String vatNumber = normalizeVat(request.vatNumber());
@@ -110,7 +114,7 @@ public class CustomerService {
             String sort,
             String q
     ) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
 
         Long companyId = Utils.getRequiredCompanyId(principal);
         PageRequest pageRequest = toPageRequest(page, size, sort);
@@ -119,6 +123,74 @@ public class CustomerService {
                 : customerRepository.searchByCompanyIdAndStatus(companyId, CustomerStatus.ACTIVE, q.trim(), pageRequest);
     }
 
+    /**
+     * Lists customers like {@link #listCustomers} without counting the total; one extra row is
+     * fetched to know whether a next page exists.
+     *
+     * @param principal authenticated principal
+     * @param page page index (0-based)
+     * @param size page size
+     * @param sort sort spec (field,dir)
+     * @param q optional search query
+     * @return slice of customers
+     * @throws ResponseStatusException if authorization fails
+     */
+    public Slice<Customer> sliceCustomers(AuthPrincipal principal, int page, int size, String sort, String q) {
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
+
+        Long companyId = Utils.getRequiredCompanyId(principal);
+        PageRequest pageRequest = toPageRequest(page, size, sort);
+        return (q == null || q.isBlank())
+                ? customerRepository.findSliceByCompanyIdAndStatus(companyId, CustomerStatus.ACTIVE, pageRequest)
+                : customerRepository.searchSliceByCompanyIdAndStatus(companyId, CustomerStatus.ACTIVE, q.trim(), pageRequest);
+    }
+
+    /**
+     * Lists customers like {@link #listCustomers} with only the selected columns (sparse fieldset).
+     *
+     * @param principal authenticated principal
+     * @param page page index (0-based)
+     * @param size page size
+     * @param sort sort spec (field,dir)
+     * @param q optional search query
+     * @param columns output field name to customer attribute, see {@link com.kernith.easyinvoice.helper.SparseFields}
+     * @param total whether to count the total number of items
+     * @return rows keyed by field name; a page if {@code total}, otherwise a slice
+     * @throws ResponseStatusException if authorization fails
+     */
+    public Slice<Map<String, Object>> listCustomerFields(
+            AuthPrincipal principal,
+            int page,
+            int size,
+            String sort,
+            String q,
+            Map<String, String> columns,
+            boolean total
+    ) {
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
+        Long companyId = Utils.getRequiredCompanyId(principal);
+        FieldRowRepository.RowFilter filter = FieldRowRepository.RowFilter
+                .byCompany(companyId, q, "displayName", "legalName", "email", "vatNumber", "country")
+                .and("status", CustomerStatus.ACTIVE);
+        return customerRepository.findRows(Customer.class, columns, filter, toPageRequest(page, size, sort), total);
+    }
+
+    /**
+     * Returns the entity tag of the company's customer list, changing whenever a listed row changes.
+     *
+     * @param principal authenticated principal
+     * @return weak entity tag
+     * @throws ResponseStatusException if authorization fails
+     */
+    public String collectionETag(AuthPrincipal principal) {
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
+        Long companyId = Utils.getRequiredCompanyId(principal);
+        return ETags.ofCollection(
+                "customers",
+                customerRepository.collectionVersion(companyId)
+        );
+    }
+
     /**
      * Retrieves a customer by id for the current company.
      *
@@ -128,7 +200,7 @@ public class CustomerService {
      * @throws ResponseStatusException if authorization fails
      */
     public Optional<Customer> getCustomer(Long customerId, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Long companyId = Utils.getRequiredCompanyId(principal);
         return customerRepository.findByIdAndCompanyIdAndStatus(customerId, companyId, CustomerStatus.ACTIVE);
     }
@@ -237,7 +309,7 @@ public class CustomerService {
      * @throws ResponseStatusException if authorization fails or customer is missing
      */
     public List<Quote> listCustomerQuotes(Long customerId, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Long companyId = Utils.getRequiredCompanyId(principal);
 
         Optional<Customer> optionalCustomer = customerRepository.findByIdAndCompanyIdAndStatus(
@@ -253,7 +325,7 @@ public class CustomerService {
     }
 
     private Optional<Customer> getCustomerById(AuthPrincipal principal, Long customerId, Long companyId) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER));
+        Utils.requireRoles(principal, Roles.MANAGER);
         return customerRepository.findByIdAndCompanyIdAndStatus(customerId, companyId,CustomerStatus.ACTIVE);
     }
 
@@ -0,0 +1,197 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.data.dto.dashboard.CustomerInvoiceSummaryResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.ManagerDashboardSummaryResponse;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded in-memory cache of the manager summary (per company) and of the customer invoice
+ * summaries (per company and customer).
+ *
+ * <p>Entries are dropped when a {@link DocumentsChangedEvent} of their company commits, so an
+ * idle dashboard polled by many users is served from memory until an invoice or quote
+ * actually changes. The TTL is only a safety net for changes that bypass the document
+ * services (manual data fixes, other instances).</p>
+ *
+ * <p>Every company has a generation counter bumped on invalidation: a response computed
+ * while a change was committing is not kept, so a stale summary cannot outlive the event
+ * that should have removed it.</p>
+ */
+@Service
+public class DashboardCache {
+    private static final double EVICT_TO_RATIO = 0.9;
+
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Creates the cache.
+     *
+     * @param ttlMs maximum age of an entry
+     * @param maxEntries maximum number of entries ({@code 0} = disabled)
+     */
+    public DashboardCache(
+            @Value("${dashboard.cache-ttl-ms:300000}") long ttlMs,
+            @Value("${dashboard.cache-size:5000}") int maxEntries
+    ) {
+        this.ttlMs = Math.max(0, ttlMs);
+        this.maxEntries = Math.max(0, maxEntries);
+    }
+
+    /**
+     * Returns the cached manager summary of a company, loading it on a miss.
+     *
+     * @param companyId company identifier
+     * @param loader computes the summary
+     * @return summary response
+     */
+    public ManagerDashboardSummaryResponse managerSummary(
+            Long companyId,
+            Supplier<ManagerDashboardSummaryResponse> loader
+    ) {
+        return (ManagerDashboardSummaryResponse) get(new Key(companyId, null), loader::get);
+    }
+
+    /**
+     * Returns the cached invoice summary of a customer, loading it on a miss.
+     *
+     * <p>Only found customers are cached: a miss for an unknown customer always reaches the
+     * loader.</p>
+     *
+     * @param companyId company identifier
+     * @param customerId customer identifier
+     * @param loader computes the summary, empty if the customer is not found
+     * @return optional summary response
+     */
+    public Optional<CustomerInvoiceSummaryResponse> customerSummary(
+            Long companyId,
+            Long customerId,
+            Supplier<Optional<CustomerInvoiceSummaryResponse>> loader
+    ) {
+        return Optional.ofNullable((CustomerInvoiceSummaryResponse) get(
+                new Key(companyId, customerId),
+                () -> loader.get().orElse(null)
+        ));
+    }
+
+    /**
+     * Drops every entry of the company whose documents changed, once the change is committed.
+     *
+     * @param event change notification
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDocumentsChanged(DocumentsChangedEvent event) {
+        invalidate(event.companyId());
+    }
+
+    /**
+     * Drops every entry of a company.
+     *
+     * @param companyId company identifier
+     */
+    public void invalidate(Long companyId) {
+        generations.merge(companyId, 1L, Long::sum);
+        entries.keySet().removeIf(key -> key.companyId().equals(companyId));
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of lookups served from memory.
+     *
+     * @return hit count
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups that reached the loader.
+     *
+     * @return miss count
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of company invalidations.
+     *
+     * @return invalidation count
+     */
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+
+    /**
+     * Returns the number of entries kept in memory.
+     *
+     * @return cache size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private Object get(Key key, Supplier<Object> loader) {
+        long now = System.currentTimeMillis();
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                hits.incrementAndGet();
+                return cached.value();
+            }
+            entries.remove(key, cached);
+        }
+        misses.incrementAndGet();
+
+        long generation = generation(key.companyId());
+        Object value = loader.get();
+        if (value == null || maxEntries == 0) {
+            return value;
+        }
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        Entry entry = new Entry(value, now + ttlMs);
+        entries.put(key, entry);
+        // Un'invalidazione arrivata durante il calcolo rende il valore già vecchio
+        if (generation(key.companyId()) != generation) {
+            entries.remove(key, entry);
+        }
+        return value;
+    }
+
+    private long generation(Long companyId) {
+        return generations.getOrDefault(companyId, 0L);
+    }
+
+    /**
+     * Removes expired entries and, if still too full, arbitrary entries down to 90% of capacity.
+     */
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        int target = (int) (maxEntries * EVICT_TO_RATIO);
+        Iterator<Key> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Key(Long companyId, Long customerId) {}
+
+    private record Entry(Object value, long expiresAtMillis) {}
+}
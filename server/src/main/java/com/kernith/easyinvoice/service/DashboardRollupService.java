@@ -0,0 +1,162 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.data.model.DocumentType;
+import com.kernith.easyinvoice.data.model.InvoiceStatus;
+import com.kernith.easyinvoice.data.model.QuoteStatus;
+import com.kernith.easyinvoice.data.repository.DashboardRollupRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the {@code dashboard_rollups} table (count and total per company, document type and
+ * status) in step with invoices and quotes.
+ *
+ * <p>Document services report every create, status transition and total change here, inside
+ * their own transaction: the change is applied as a delta with a single upsert, so the rollup
+ * commits or rolls back together with the document and the manager dashboard reads a handful
+ * of rows instead of grouping all of a company's documents.</p>
+ *
+ * <p>Every effective change also publishes a {@link DocumentsChangedEvent}, so caches of
+ * dashboard responses are invalidated by the write paths instead of expiring on a timer.</p>
+ *
+ * <p>A periodic job compares the rollups with a fresh aggregation and rebuilds the companies
+ * that drifted (for example after a manual data fix).</p>
+ */
+@Service
+public class DashboardRollupService {
+    private static final Logger log = LoggerFactory.getLogger(DashboardRollupService.class);
+
+    private final DashboardRollupRepository rollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Creates the service.
+     *
+     * @param rollupRepository rollup table repository
+     * @param eventPublisher publisher of {@link DocumentsChangedEvent}
+     */
+    public DashboardRollupService(
+            DashboardRollupRepository rollupRepository,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.rollupRepository = rollupRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Records a change of an invoice's status and/or total.
+     *
+     * @param companyId company owning the invoice
+     * @param invoiceId invoice identifier
+     * @param fromStatus status before the change, {@code null} for a new invoice
+     * @param fromTotal total before the change, {@code null} for a new invoice
+     * @param toStatus status after the change
+     * @param toTotal total after the change
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void invoiceChanged(
+            Long companyId,
+            Long invoiceId,
+            InvoiceStatus fromStatus,
+            BigDecimal fromTotal,
+            InvoiceStatus toStatus,
+            BigDecimal toTotal
+    ) {
+        apply(companyId, DocumentType.INVOICE, invoiceId, fromStatus, fromTotal, toStatus, toTotal);
+    }
+
+    /**
+     * Records a change of a quote's status and/or total.
+     *
+     * @param companyId company owning the quote
+     * @param quoteId quote identifier
+     * @param fromStatus status before the change, {@code null} for a new quote
+     * @param fromTotal total before the change, {@code null} for a new quote
+     * @param toStatus status after the change
+     * @param toTotal total after the change
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void quoteChanged(
+            Long companyId,
+            Long quoteId,
+            QuoteStatus fromStatus,
+            BigDecimal fromTotal,
+            QuoteStatus toStatus,
+            BigDecimal toTotal
+    ) {
+        apply(companyId, DocumentType.QUOTE, quoteId, fromStatus, fromTotal, toStatus, toTotal);
+    }
+
+    /**
+     * Recomputes the rollups of a company from its invoices and quotes.
+     *
+     * @param companyId company identifier
+     */
+    @Transactional
+    public void rebuild(Long companyId) {
+        rollupRepository.deleteByCompanyIdAndDocumentType(companyId, DocumentType.INVOICE);
+        rollupRepository.deleteByCompanyIdAndDocumentType(companyId, DocumentType.QUOTE);
+        rollupRepository.rebuildInvoices(companyId);
+        rollupRepository.rebuildQuotes(companyId);
+        eventPublisher.publishEvent(DocumentsChangedEvent.company(companyId));
+    }
+
+    /**
+     * Compares all rollups with the document tables and rebuilds the companies that differ.
+     *
+     * @return number of companies rebuilt
+     */
+    @Scheduled(
+            initialDelayString = "${dashboard.rollup-verify-initial-delay-ms:60000}",
+            fixedDelayString = "${dashboard.rollup-verify-ms:21600000}"
+    )
+    @Transactional
+    public int verify() {
+        List<Long> drifted = rollupRepository.findDriftedCompanyIds();
+        for (Long companyId : drifted) {
+            log.warn("Dashboard rollups of company {} differ from documents, rebuilding", companyId);
+            rebuild(companyId);
+        }
+        return drifted.size();
+    }
+
+    private void apply(
+            Long companyId,
+            DocumentType documentType,
+            Long documentId,
+            Enum<?> fromStatus,
+            BigDecimal fromTotal,
+            Enum<?> toStatus,
+            BigDecimal toTotal
+    ) {
+        BigDecimal before = fromTotal == null ? BigDecimal.ZERO : fromTotal;
+        BigDecimal after = toTotal == null ? BigDecimal.ZERO : toTotal;
+        if (fromStatus == toStatus) {
+            if (toStatus == null || before.compareTo(after) == 0) {
+                return;
+            }
+            rollupRepository.applyDelta(companyId, documentType.name(), toStatus.name(), 0, after.subtract(before));
+        } else {
+            if (fromStatus != null) {
+                rollupRepository.applyDelta(companyId, documentType.name(), fromStatus.name(), -1, before.negate());
+            }
+            if (toStatus != null) {
+                rollupRepository.applyDelta(companyId, documentType.name(), toStatus.name(), 1, after);
+            }
+        }
+        eventPublisher.publishEvent(new DocumentsChangedEvent(
+                companyId,
+                documentType,
+                documentId,
+                toStatus == null ? null : toStatus.name(),
+                after
+        ));
+    }
+}
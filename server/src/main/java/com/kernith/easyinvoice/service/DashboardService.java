@@ -3,33 +3,30 @@ package com.kernith.easyinvoice.service;
 import com.kernith.easyinvoice.config.AuthPrincipal;
 import com.kernith.easyinvoice.data.dto.dashboard.AdminDashboardSummaryResponse;
 import com.kernith.easyinvoice.data.dto.dashboard.CustomerInvoiceSummaryResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.DashboardCacheStatsResponse;
 import com.kernith.easyinvoice.data.dto.dashboard.InvoiceStatusAggregateResponse;
 import com.kernith.easyinvoice.data.dto.dashboard.ManagerDashboardSummaryResponse;
 import com.kernith.easyinvoice.data.dto.dashboard.QuoteStatusAggregateResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.SystemSampleResponse;
 import com.kernith.easyinvoice.data.model.InvoiceStatus;
 import com.kernith.easyinvoice.data.model.QuoteStatus;
-import com.kernith.easyinvoice.data.model.UserRole;
-import com.kernith.easyinvoice.data.repository.CompanyRepository;
 import com.kernith.easyinvoice.data.repository.CustomerRepository;
+import com.kernith.easyinvoice.data.repository.DashboardRollupRepository;
 import com.kernith.easyinvoice.data.repository.InvoiceRepository;
 import com.kernith.easyinvoice.data.repository.InvoiceStatusAggregate;
+import com.kernith.easyinvoice.data.repository.PlatformCounts;
 import com.kernith.easyinvoice.data.repository.QuoteRepository;
 import com.kernith.easyinvoice.data.repository.QuoteStatusAggregate;
 import com.kernith.easyinvoice.data.repository.UserRepository;
+import com.kernith.easyinvoice.helper.Roles;
 import com.kernith.easyinvoice.helper.Utils;
-import java.io.IOException;
-import java.lang.management.ManagementFactory;
+import com.kernith.easyinvoice.service.SystemStatsSampler.SystemSample;
 import java.math.BigDecimal;
-import java.nio.file.FileStore;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import javax.sql.DataSource;
 import org.springframework.stereotype.Service;
 
 /**
@@ -41,40 +38,76 @@ public class DashboardService {
     private final QuoteRepository quoteRepository;
     private final InvoiceRepository invoiceRepository;
     private final CustomerRepository customerRepository;
-    private final CompanyRepository companyRepository;
     private final UserRepository userRepository;
-    private final DataSource dataSource;
+    private final DashboardRollupRepository rollupRepository;
+    private final SystemStatsSampler systemStatsSampler;
+    private final DashboardCache dashboardCache;
+    private final StorageUsageService storageUsageService;
 
     public DashboardService(
             QuoteRepository quoteRepository,
             InvoiceRepository invoiceRepository,
             CustomerRepository customerRepository,
-            CompanyRepository companyRepository,
             UserRepository userRepository,
-            DataSource dataSource
+            DashboardRollupRepository rollupRepository,
+            SystemStatsSampler systemStatsSampler,
+            DashboardCache dashboardCache,
+            StorageUsageService storageUsageService
     ) {
         this.quoteRepository = quoteRepository;
         this.invoiceRepository = invoiceRepository;
         this.customerRepository = customerRepository;
-        this.companyRepository = companyRepository;
         this.userRepository = userRepository;
-        this.dataSource = dataSource;
+        this.rollupRepository = rollupRepository;
+        this.systemStatsSampler = systemStatsSampler;
+        this.dashboardCache = dashboardCache;
+        this.storageUsageService = storageUsageService;
     }
 
     /**
      * Builds the manager dashboard summary for the current company.
      *
+     * <p>Counts and totals are read from the rollups maintained by
+     * {@link DashboardRollupService}, not aggregated from the documents, and the response is
+     * kept in {@link DashboardCache} until an invoice or quote of the company changes.</p>
+     *
      * @param principal authenticated principal
      * @return summary response
      */
     public ManagerDashboardSummaryResponse getManagerSummary(AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER));
+        Utils.requireRoles(principal, Roles.MANAGER);
+        Long companyId = Utils.getRequiredCompanyId(principal);
+        return dashboardCache.managerSummary(companyId, () -> loadManagerSummary(companyId));
+    }
+
+    /**
+     * Builds an invoice summary for a specific customer.
+     *
+     * <p>The response is kept in {@link DashboardCache} until an invoice of the company
+     * changes.</p>
+     *
+     * @param customerId customer identifier
+     * @param principal authenticated principal
+     * @return optional summary response
+     */
+    public Optional<CustomerInvoiceSummaryResponse> getCustomerInvoiceSummary(
+            Long customerId,
+            AuthPrincipal principal
+    ) {
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Long companyId = Utils.getRequiredCompanyId(principal);
+        return dashboardCache.customerSummary(
+                companyId,
+                customerId,
+                () -> loadCustomerInvoiceSummary(companyId, customerId)
+        );
+    }
 
+    private ManagerDashboardSummaryResponse loadManagerSummary(Long companyId) {
         List<QuoteStatusAggregateResponse> quoteAggregates =
-                normalizeQuoteAggregates(quoteRepository.aggregateByStatus(companyId));
+                normalizeQuoteAggregates(rollupRepository.findQuoteRollups(companyId));
         List<InvoiceStatusAggregateResponse> invoiceAggregates =
-                normalizeInvoiceAggregates(invoiceRepository.aggregateByStatus(companyId));
+                normalizeInvoiceAggregates(rollupRepository.findInvoiceRollups(companyId));
 
         BigDecimal paidTotal = getInvoiceTotal(invoiceAggregates, InvoiceStatus.PAID);
         BigDecimal issuedTotal = getInvoiceTotal(invoiceAggregates, InvoiceStatus.ISSUED);
@@ -90,20 +123,7 @@ public class DashboardService {
         );
     }
 
-    /**
-     * Builds an invoice summary for a specific customer.
-     *
-     * @param customerId customer identifier
-     * @param principal authenticated principal
-     * @return optional summary response
-     */
-    public Optional<CustomerInvoiceSummaryResponse> getCustomerInvoiceSummary(
-            Long customerId,
-            AuthPrincipal principal
-    ) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
-        Long companyId = Utils.getRequiredCompanyId(principal);
-
+    private Optional<CustomerInvoiceSummaryResponse> loadCustomerInvoiceSummary(Long companyId, Long customerId) {
         if (customerRepository.findByIdAndCompanyId(customerId, companyId).isEmpty()) {
             return Optional.empty();
         }
@@ -128,172 +148,46 @@ public class DashboardService {
     /**
      * Builds the platform admin dashboard summary.
      *
+     * <p>Counts come from a single query; system and database figures are the latest
+     * background sample of {@link SystemStatsSampler}, with its recent history, followed by
+     * the hit and miss counters of {@link DashboardCache} and the per-company storage
+     * counters kept by {@link StorageUsageService}.</p>
+     *
      * @param principal authenticated principal
      * @return summary response
      */
     public AdminDashboardSummaryResponse getAdminSummary(AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.PLATFORM_ADMIN));
+        Utils.requireRoles(principal, Roles.PLATFORM_ADMIN);
 
-        long companies = companyRepository.count();
-        long users = userRepository.count();
-        long enabledUsers = userRepository.countByEnabledTrue();
-        long disabledUsers = userRepository.countByEnabledFalse();
+        PlatformCounts counts = userRepository.countPlatform();
+        long companies = counts.getCompanies() == null ? 0L : counts.getCompanies();
+        long users = counts.getUsers() == null ? 0L : counts.getUsers();
+        long enabledUsers = counts.getEnabledUsers() == null ? 0L : counts.getEnabledUsers();
 
-        SystemStats stats = resolveSystemStats();
-        DatabaseStats dbStats = resolveDatabaseStats();
+        SystemSample stats = systemStatsSampler.latest();
+        List<SystemSampleResponse> history = systemStatsSampler.history().stream()
+                .map(SystemSampleResponse::from)
+                .toList();
 
         return AdminDashboardSummaryResponse.from(
                 companies,
                 users,
                 enabledUsers,
-                disabledUsers,
+                users - enabledUsers,
                 stats.diskTotalBytes(),
                 stats.diskFreeBytes(),
                 stats.ramTotalBytes(),
                 stats.ramFreeBytes(),
                 stats.diskPath(),
-                dbStats.dbFileBytes(),
-                dbStats.dbPath()
+                stats.dbFileBytes(),
+                stats.dbPath(),
+                stats.sampledAt(),
+                history,
+                DashboardCacheStatsResponse.from(dashboardCache),
+                storageUsageService.getPlatformUsage()
         );
     }
 
-    private SystemStats resolveSystemStats() {
-        String diskPath = System.getProperty("user.dir");
-        if (diskPath == null || diskPath.isBlank()) {
-            diskPath = "/";
-        }
-
-        Long diskTotal = null;
-        Long diskFree = null;
-        Path path = Paths.get(diskPath);
-        try {
-            if (!Files.exists(path)) {
-                path = Paths.get("/");
-                diskPath = "/";
-            }
-            FileStore store = Files.getFileStore(path);
-            diskTotal = store.getTotalSpace();
-            diskFree = store.getUsableSpace();
-        } catch (Exception ex) {
-            diskTotal = null;
-            diskFree = null;
-        }
-
-        Long ramTotal = null;
-        Long ramFree = null;
-        var osBean = ManagementFactory.getOperatingSystemMXBean();
-        if (osBean instanceof com.sun.management.OperatingSystemMXBean sunBean) {
-            ramTotal = sunBean.getTotalPhysicalMemorySize();
-            ramFree = sunBean.getFreePhysicalMemorySize();
-        }
-
-        return new SystemStats(diskTotal, diskFree, ramTotal, ramFree, diskPath);
-    }
-
-    private DatabaseStats resolveDatabaseStats() {
-        String url = null;
-        try (var connection = dataSource.getConnection()) {
-            url = connection.getMetaData().getURL();
-        } catch (Exception ex) {
-            return new DatabaseStats(null, "unavailable");
-        }
-
-        if (url == null || url.isBlank()) {
-            return new DatabaseStats(null, "unavailable");
-        }
-
-        if (url.startsWith("jdbc:h2:mem:")) {
-            return new DatabaseStats(null, "in-memory");
-        }
-
-        if (!url.startsWith("jdbc:h2:")) {
-            return new DatabaseStats(null, "unsupported");
-        }
-
-        String spec = url.substring("jdbc:h2:".length());
-        if (spec.startsWith("mem:")) {
-            return new DatabaseStats(null, "in-memory");
-        }
-        if (spec.startsWith("file:")) {
-            spec = spec.substring("file:".length());
-        }
-
-        int optsIndex = spec.indexOf(';');
-        if (optsIndex >= 0) {
-            spec = spec.substring(0, optsIndex);
-        }
-
-        String resolvedPath = resolveH2Path(spec);
-        if (resolvedPath == null) {
-            return new DatabaseStats(null, "unavailable");
-        }
-
-        Path dbFile = resolveH2DatabaseFile(Paths.get(resolvedPath));
-        if (dbFile == null) {
-            return new DatabaseStats(null, resolvedPath);
-        }
-
-        try {
-            return new DatabaseStats(Files.size(dbFile), dbFile.toString());
-        } catch (IOException ex) {
-            return new DatabaseStats(null, dbFile.toString());
-        }
-    }
-
-    private String resolveH2Path(String spec) {
-        if (spec == null || spec.isBlank()) {
-            return null;
-        }
-        String path = spec.trim();
-        if (path.startsWith("~")) {
-            String home = System.getProperty("user.home");
-            if (home != null) {
-                path = home + path.substring(1);
-            }
-        }
-        Path resolved = Paths.get(path);
-        if (!resolved.isAbsolute()) {
-            String base = System.getProperty("user.dir");
-            if (base != null && !base.isBlank()) {
-                resolved = Paths.get(base).resolve(resolved);
-            }
-        }
-        return resolved.normalize().toString();
-    }
-
-    private Path resolveH2DatabaseFile(Path basePath) {
-        if (basePath == null) {
-            return null;
-        }
-        String name = basePath.toString();
-        if (name.endsWith(".mv.db") || name.endsWith(".h2.db")) {
-            return Files.exists(basePath) ? basePath : null;
-        }
-
-        Path mv = Paths.get(name + ".mv.db");
-        if (Files.exists(mv)) {
-            return mv;
-        }
-        Path legacy = Paths.get(name + ".h2.db");
-        if (Files.exists(legacy)) {
-            return legacy;
-        }
-        return Files.exists(basePath) ? basePath : null;
-    }
-
-    private record SystemStats(
-            Long diskTotalBytes,
-            Long diskFreeBytes,
-            Long ramTotalBytes,
-            Long ramFreeBytes,
-            String diskPath
-    ) {}
-
-    private record DatabaseStats(
-            Long dbFileBytes,
-            String dbPath
-    ) {}
-
     private List<QuoteStatusAggregateResponse> normalizeQuoteAggregates(List<QuoteStatusAggregate> rows) {
         Map<QuoteStatus, QuoteStatusAggregateResponse> map = new EnumMap<>(QuoteStatus.class);
         for (QuoteStatus status : QuoteStatus.values()) {
@@ -0,0 +1,36 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.data.model.DocumentType;
+import java.math.BigDecimal;
+
+/**
+ * Published when an invoice or quote of a company changes in a way that affects dashboard
+ * figures (create, status transition or total change).
+ *
+ * <p>Published inside the document transaction; listeners that cache derived data or notify
+ * clients should react after commit. Company-wide events (rollup rebuilds) carry no
+ * document.</p>
+ *
+ * @param companyId company owning the changed document
+ * @param documentType kind of document, {@code null} for a company-wide change
+ * @param documentId document identifier, {@code null} for a company-wide change
+ * @param status status after the change
+ * @param totalAmount total after the change
+ */
+public record DocumentsChangedEvent(
+        Long companyId,
+        DocumentType documentType,
+        Long documentId,
+        String status,
+        BigDecimal totalAmount
+) {
+    /**
+     * Creates a company-wide event.
+     *
+     * @param companyId company identifier
+     * @return event without document
+     */
+    public static DocumentsChangedEvent company(Long companyId) {
+        return new DocumentsChangedEvent(companyId, null, null, null, null);
+    }
+}
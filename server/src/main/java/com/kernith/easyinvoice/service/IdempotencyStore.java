@@ -0,0 +1,248 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.data.model.IdempotencyRecord;
+import com.kernith.easyinvoice.data.repository.IdempotencyRecordRepository;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Responses of requests sent with an {@code Idempotency-Key}, kept for a limited time.
+ *
+ * <p>Keys are scoped by company. Completed responses live in a bounded in-memory map in
+ * front of the {@code idempotency_keys} table, so a retry on the same instance is a map
+ * lookup and a retry after a restart (or on another instance) is a single indexed query.
+ * Entries expire after the configured TTL; expired rows are purged periodically.</p>
+ *
+ * <p>Keys currently being processed are tracked in memory only: a concurrent retry on the
+ * same instance is rejected instead of running twice, and on different instances the
+ * unique constraint on {@code (company_id, idempotency_key)} keeps the first response.</p>
+ */
+@Service
+public class IdempotencyStore {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+    private static final double EVICT_TO_RATIO = 0.9;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<Key, StoredResponse> responses = new ConcurrentHashMap<>();
+    private final Set<Key> inProgress = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates the store.
+     *
+     * @param recordRepository idempotency table repository
+     * @param ttlHours how long a response is replayed
+     * @param maxEntries maximum number of responses kept in memory ({@code 0} = table only)
+     */
+    public IdempotencyStore(
+            IdempotencyRecordRepository recordRepository,
+            @Value("${idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${idempotency.cache-size:10000}") int maxEntries
+    ) {
+        this.recordRepository = recordRepository;
+        this.ttlMs = TimeUnit.HOURS.toMillis(Math.max(1, ttlHours));
+        this.maxEntries = Math.max(0, maxEntries);
+    }
+
+    /**
+     * Returns the stored, not yet expired response of a key.
+     *
+     * @param companyId tenant the key belongs to
+     * @param idempotencyKey client-supplied key
+     * @return stored response, if any
+     */
+    public Optional<StoredResponse> find(long companyId, String idempotencyKey) {
+        Key key = new Key(companyId, idempotencyKey);
+        long now = System.currentTimeMillis();
+        StoredResponse cached = responses.get(key);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                return Optional.of(cached);
+            }
+            responses.remove(key, cached);
+        }
+
+        Optional<StoredResponse> stored = recordRepository.findByCompanyIdAndIdempotencyKey(companyId, idempotencyKey)
+                .map(StoredResponse::from)
+                .filter(response -> response.expiresAtMillis() > now);
+        stored.ifPresent(response -> remember(key, response));
+        return stored;
+    }
+
+    /**
+     * Marks a key as being processed.
+     *
+     * @param companyId tenant the key belongs to
+     * @param idempotencyKey client-supplied key
+     * @return {@code false} if a request with the same key is already running on this instance
+     */
+    public boolean begin(long companyId, String idempotencyKey) {
+        return inProgress.add(new Key(companyId, idempotencyKey));
+    }
+
+    /**
+     * Releases a key marked by {@link #begin(long, String)}.
+     *
+     * @param companyId tenant the key belongs to
+     * @param idempotencyKey client-supplied key
+     */
+    public void end(long companyId, String idempotencyKey) {
+        inProgress.remove(new Key(companyId, idempotencyKey));
+    }
+
+    /**
+     * Stores the response of a completed request.
+     *
+     * <p>If another instance stored the same key first, its response is kept. An expired row
+     * for the key that has not been purged yet is replaced.</p>
+     *
+     * @param companyId tenant the key belongs to
+     * @param idempotencyKey client-supplied key
+     * @param requestHash fingerprint of the request the response belongs to
+     * @param statusCode HTTP status
+     * @param contentType response content type, may be {@code null}
+     * @param body response body
+     * @return the response that will be replayed for the key
+     */
+    public StoredResponse save(
+            long companyId,
+            String idempotencyKey,
+            String requestHash,
+            int statusCode,
+            String contentType,
+            byte[] body
+    ) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = record(companyId, idempotencyKey, requestHash, statusCode, contentType, body, now);
+        try {
+            recordRepository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException e) {
+            Optional<StoredResponse> stored = find(companyId, idempotencyKey);
+            if (stored.isPresent()) {
+                log.debug("Idempotency key already stored by another request for company {}", companyId);
+                return stored.get();
+            }
+            // La riga in conflitto è scaduta ma non ancora eliminata dal purge: la sostituisce
+            if (recordRepository.deleteExpiredKey(companyId, idempotencyKey, now) == 0) {
+                throw e;
+            }
+            record = record(companyId, idempotencyKey, requestHash, statusCode, contentType, body, now);
+            recordRepository.saveAndFlush(record);
+        }
+        StoredResponse response = StoredResponse.from(record);
+        remember(new Key(companyId, idempotencyKey), response);
+        return response;
+    }
+
+    private IdempotencyRecord record(
+            long companyId,
+            String idempotencyKey,
+            String requestHash,
+            int statusCode,
+            String contentType,
+            byte[] body,
+            LocalDateTime now
+    ) {
+        return new IdempotencyRecord(
+                companyId,
+                idempotencyKey,
+                requestHash,
+                statusCode,
+                contentType,
+                body,
+                now,
+                now.plusNanos(TimeUnit.MILLISECONDS.toNanos(ttlMs))
+        );
+    }
+
+    /**
+     * Deletes expired responses from memory and from the table.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-ms:600000}")
+    @Transactional
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        responses.values().removeIf(response -> response.expiresAtMillis() <= now);
+        int deleted = recordRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    /**
+     * Returns the number of responses kept in memory.
+     *
+     * @return cache size
+     */
+    public int cachedResponses() {
+        return responses.size();
+    }
+
+    private void remember(Key key, StoredResponse response) {
+        if (maxEntries == 0) {
+            return;
+        }
+        if (responses.size() >= maxEntries) {
+            evict();
+        }
+        responses.put(key, response);
+    }
+
+    /**
+     * Removes expired entries and, if still too full, arbitrary entries down to 90% of capacity;
+     * evicted responses are still served from the table.
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        responses.values().removeIf(response -> response.expiresAtMillis() <= now);
+        int target = (int) (maxEntries * EVICT_TO_RATIO);
+        Iterator<Key> keys = responses.keySet().iterator();
+        while (responses.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * A response recorded for an idempotency key.
+     *
+     * @param requestHash fingerprint of the original request
+     * @param statusCode HTTP status
+     * @param contentType content type, may be {@code null}
+     * @param body response body
+     * @param expiresAtMillis epoch millis after which the response is no longer replayed
+     */
+    public record StoredResponse(
+            String requestHash,
+            int statusCode,
+            String contentType,
+            byte[] body,
+            long expiresAtMillis
+    ) {
+        static StoredResponse from(IdempotencyRecord record) {
+            return new StoredResponse(
+                    record.getRequestHash(),
+                    record.getStatusCode(),
+                    record.getContentType(),
+                    record.getResponseBody() == null ? new byte[0] : record.getResponseBody(),
+                    record.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            );
+        }
+    }
+
+    private record Key(long companyId, String idempotencyKey) {}
+}
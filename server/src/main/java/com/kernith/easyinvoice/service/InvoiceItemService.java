@@ -6,35 +6,47 @@ import com.kernith.easyinvoice.data.dto.invoiceitem.UpdateInvoiceItemRequest;
 import com.kernith.easyinvoice.data.model.Invoice;
 import com.kernith.easyinvoice.data.model.InvoiceItem;
 import com.kernith.easyinvoice.data.model.InvoiceStatus;
-import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.data.repository.InvoiceItemRepository;
 import com.kernith.easyinvoice.data.repository.InvoiceRepository;
+import com.kernith.easyinvoice.helper.Roles;
 import com.kernith.easyinvoice.helper.Utils;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 /**
- * Manages invoice items and keeps invoice totals in sync.
+ * Manages invoice items and keeps invoice totals and VAT breakdown in sync.
  */
 @Service
 public class InvoiceItemService {
 
     private final InvoiceRepository invoiceRepository;
     private final InvoiceItemRepository invoiceItemRepository;
+    private final DashboardRollupService dashboardRollupService;
+    private final VatSummaryService vatSummaryService;
 
     /**
      * Creates the service with repositories.
      *
      * @param invoiceRepository invoice repository
      * @param invoiceItemRepository invoice item repository
+     * @param dashboardRollupService dashboard rollups to keep in step
+     * @param vatSummaryService VAT breakdown to keep in step with the items
      */
-    public InvoiceItemService(InvoiceRepository invoiceRepository, InvoiceItemRepository invoiceItemRepository) {
+    public InvoiceItemService(
+            InvoiceRepository invoiceRepository,
+            InvoiceItemRepository invoiceItemRepository,
+            DashboardRollupService dashboardRollupService,
+            VatSummaryService vatSummaryService
+    ) {
         this.invoiceRepository = invoiceRepository;
         this.invoiceItemRepository = invoiceItemRepository;
+        this.dashboardRollupService = dashboardRollupService;
+        this.vatSummaryService = vatSummaryService;
     }
 
     /**
@@ -48,8 +60,9 @@ public class InvoiceItemService {
      * @return saved invoice item
      * @throws ResponseStatusException if role or invoice state is invalid
      */
+    @Transactional
     public InvoiceItem addInvoiceItem(Long invoiceId, CreateInvoiceItemRequest request, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Invoice invoice = getEditableInvoice(invoiceId, principal);
 
         InvoiceItem item = new InvoiceItem(invoice);
@@ -77,7 +90,7 @@ public class InvoiceItemService {
      * @throws ResponseStatusException if role or invoice state is invalid
      */
     public List<InvoiceItem> listInvoiceItems(Long invoiceId, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Invoice invoice = getInvoiceOrThrow(invoiceId, principal);
         return invoiceItemRepository.findByInvoiceIdOrderByPositionAsc(invoice.getId());
     }
@@ -94,13 +107,14 @@ public class InvoiceItemService {
      * @return saved invoice item
      * @throws ResponseStatusException if role or invoice state is invalid
      */
+    @Transactional
     public InvoiceItem updateInvoiceItem(
             Long invoiceId,
             Long itemId,
             UpdateInvoiceItemRequest request,
             AuthPrincipal principal
     ) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Invoice invoice = getEditableInvoice(invoiceId, principal);
 
         Optional<InvoiceItem> optionalItem = invoiceItemRepository.findByIdAndInvoiceId(itemId, invoice.getId());
@@ -151,8 +165,9 @@ public class InvoiceItemService {
      * @return optional result indicating success
      * @throws ResponseStatusException if role or invoice state is invalid
      */
+    @Transactional
     public Optional<Boolean> deleteInvoiceItem(Long invoiceId, Long itemId, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Optional<Invoice> optionalInvoice = invoiceRepository.findByIdAndCompanyId(
                 invoiceId,
                 Utils.getRequiredCompanyId(principal)
@@ -193,8 +208,18 @@ public class InvoiceItemService {
 
     private void recalcInvoiceTotals(Invoice invoice) {
         List<InvoiceItem> items = invoiceItemRepository.findByInvoiceIdOrderByPositionAsc(invoice.getId());
+        BigDecimal previousTotal = invoice.getTotalAmount();
         invoice.recalculateTotalsFromItems(items);
+        vatSummaryService.itemsChanged(invoice, items);
         invoiceRepository.save(invoice);
+        dashboardRollupService.invoiceChanged(
+                invoice.getCompany().getId(),
+                invoice.getId(),
+                invoice.getStatus(),
+                previousTotal,
+                invoice.getStatus(),
+                invoice.getTotalAmount()
+        );
     }
 
 }
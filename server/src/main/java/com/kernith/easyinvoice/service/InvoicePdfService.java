@@ -32,6 +32,7 @@ public class InvoicePdfService {
     private final InvoicePdfArchiveRepository archiveRepository;
     private final InvoiceRepository invoiceRepository;
     private final PdfService pdfService;
+    private final StorageUsageService storageUsageService;
     private final Path storageRoot;
 
     /**
@@ -40,18 +41,21 @@ public class InvoicePdfService {
      * @param archiveRepository PDF archive repository
      * @param invoiceRepository invoice repository
      * @param pdfService PDF generator service
+     * @param storageUsageService per-company storage counters
      * @param storageRoot storage root path
      */
     public InvoicePdfService(
             InvoicePdfArchiveRepository archiveRepository,
             InvoiceRepository invoiceRepository,
             PdfService pdfService,
+            StorageUsageService storageUsageService,
             @Value("${storage.root:storage}") String storageRoot
     ) {
         this.archiveRepository = archiveRepository;
         this.invoiceRepository = invoiceRepository;
         this.storageRoot = Paths.get(storageRoot).toAbsolutePath().normalize();
         this.pdfService = pdfService;
+        this.storageUsageService = storageUsageService;
     }
 
     /**
@@ -105,7 +109,8 @@ public class InvoicePdfService {
      * Generates and stores the issued invoice PDF, then archives metadata.
      *
      * <p>Lifecycle: validate invoice and ownership, build filename, generate PDF,
-     * write to storage, then create an archive row.</p>
+     * write to storage, then create an archive row with the file size and count it in the
+     * company's storage usage.</p>
      *
      * @param invoiceId invoice identifier
      * @param principal authenticated principal
@@ -136,7 +141,11 @@ public class InvoicePdfService {
             throw new IllegalStateException("Failed to store PDF", e);
         }
 
-        return archiveRepository.save(new InvoicePdfArchive(invoice, relativeDir, fileName));
+        InvoicePdfArchive archive = archiveRepository.save(
+                new InvoicePdfArchive(invoice, relativeDir, fileName, (long) pdfBytes.length)
+        );
+        storageUsageService.pdfStored(companyId, pdfBytes.length);
+        return archive;
     }
 
     /**
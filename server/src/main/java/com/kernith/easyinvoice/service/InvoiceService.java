@@ -5,18 +5,23 @@ import com.kernith.easyinvoice.data.dto.invoice.CreateInvoiceRequest;
 import com.kernith.easyinvoice.data.dto.invoice.UpdateInvoiceRequest;
 import com.kernith.easyinvoice.data.model.*;
 import com.kernith.easyinvoice.data.repository.*;
+import com.kernith.easyinvoice.helper.ETags;
+import com.kernith.easyinvoice.helper.Roles;
 import com.kernith.easyinvoice.helper.Utils;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 /**
@@ -31,6 +36,9 @@ public class InvoiceService {
     private final CustomerRepository customerRepository;
     private final QuoteRepository quoteRepository;
     private final InvoicePdfService invoicePdfService;
+    private final DashboardRollupService dashboardRollupService;
+    private final RevenueRollupService revenueRollupService;
+    private final VatSummaryService vatSummaryService;
 
     /**
      * Creates the service with repositories and supporting services.
@@ -41,6 +49,9 @@ public class InvoiceService {
      * @param customerRepository customer repository
      * @param quoteRepository quote repository
      * @param invoicePdfService PDF archive service
+     * @param dashboardRollupService dashboard rollups to keep in step
+     * @param revenueRollupService revenue rollups to keep in step
+     * @param vatSummaryService VAT breakdown to keep in step with the items
      */
     public InvoiceService(
             InvoiceRepository invoiceRepository,
@@ -48,7 +59,10 @@ public class InvoiceService {
             CompanyRepository companyRepository,
             CustomerRepository customerRepository,
             QuoteRepository quoteRepository,
-            InvoicePdfService invoicePdfService
+            InvoicePdfService invoicePdfService,
+            DashboardRollupService dashboardRollupService,
+            RevenueRollupService revenueRollupService,
+            VatSummaryService vatSummaryService
     ) {
         this.invoiceRepository = invoiceRepository;
         this.invoiceItemRepository = invoiceItemRepository;
@@ -56,21 +70,25 @@ public class InvoiceService {
         this.customerRepository = customerRepository;
         this.quoteRepository = quoteRepository;
         this.invoicePdfService = invoicePdfService;
+        this.dashboardRollupService = dashboardRollupService;
+        this.revenueRollupService = revenueRollupService;
+        this.vatSummaryService = vatSummaryService;
     }
 
     /**
      * Creates a new invoice from scratch and computes totals from items.
      *
      * <p>Lifecycle: validate role and input, allocate invoice number, persist invoice,
-     * create items, recalc totals, then save updated invoice.</p>
+     * create items, recalc totals and VAT breakdown, then save updated invoice.</p>
      *
      * @param request invoice creation payload
      * @param principal authenticated principal
      * @return saved invoice
      * @throws ResponseStatusException if validation or authorization fails
      */
+    @Transactional
     public Invoice createInvoice(CreateInvoiceRequest request, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
 
         Long companyId = Utils.getRequiredCompanyId(principal);
         Optional<Company> optionalCompany = companyRepository.findById(companyId);
@@ -127,22 +145,33 @@ public class InvoiceService {
 
         invoiceItemRepository.saveAll(items);
         savedInvoice.recalculateTotalsFromItems(items);
-        return invoiceRepository.save(savedInvoice);
+        vatSummaryService.itemsChanged(savedInvoice, items);
+        Invoice created = invoiceRepository.save(savedInvoice);
+        dashboardRollupService.invoiceChanged(
+                companyId,
+                created.getId(),
+                null,
+                null,
+                created.getStatus(),
+                created.getTotalAmount()
+        );
+        return created;
     }
 
     /**
      * Creates a new invoice by converting a quote.
      *
      * <p>Lifecycle: validate role and quote, allocate invoice number, copy items,
-     * save invoice, and recalc totals if items are present.</p>
+     * save invoice, and recalc totals and VAT breakdown if items are present.</p>
      *
      * @param quoteId quote identifier
      * @param principal authenticated principal
      * @return saved invoice
      * @throws ResponseStatusException if validation or authorization fails
      */
+    @Transactional
     public Invoice createInvoiceFromQuote(Long quoteId, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Long companyId = Utils.getRequiredCompanyId(principal);
 
         Optional<Quote> optionalQuote = quoteRepository.findByIdAndCompanyId(quoteId, companyId);
@@ -167,8 +196,17 @@ public class InvoiceService {
         if (items != null && !items.isEmpty()) {
             invoiceItemRepository.saveAll(items);
             savedInvoice.recalculateTotalsFromItems(items);
+            vatSummaryService.itemsChanged(savedInvoice, items);
             savedInvoice = invoiceRepository.save(savedInvoice);
         }
+        dashboardRollupService.invoiceChanged(
+                companyId,
+                savedInvoice.getId(),
+                null,
+                null,
+                savedInvoice.getStatus(),
+                savedInvoice.getTotalAmount()
+        );
         return savedInvoice;
     }
 
@@ -181,7 +219,7 @@ public class InvoiceService {
      * @throws ResponseStatusException if authorization fails
      */
     public Optional<Invoice> getInvoice(Long invoiceId, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Long companyId = Utils.getRequiredCompanyId(principal);
         return invoiceRepository.findByIdAndCompanyId(invoiceId, companyId);
     }
@@ -198,7 +236,7 @@ public class InvoiceService {
      * @throws ResponseStatusException if validation or authorization fails
      */
     public Invoice updateInvoice(Long invoiceId, UpdateInvoiceRequest request, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Invoice invoice = getEditableInvoice(invoiceId, principal);
 
         if (request.title() != null) {
@@ -232,7 +270,7 @@ public class InvoiceService {
      * @throws ResponseStatusException if authorization fails
      */
     public Page<Invoice> listInvoices(AuthPrincipal principal, int page, int size, String sort, String q) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Long companyId = Utils.getRequiredCompanyId(principal);
         PageRequest pageRequest = toPageRequest(page, size, sort);
         if (q == null || q.isBlank()) {
@@ -241,16 +279,85 @@ public class InvoiceService {
         return invoiceRepository.searchByCompanyId(companyId, q.trim(), pageRequest);
     }
 
+    /**
+     * Lists invoices like {@link #listInvoices} without counting the total; one extra row is
+     * fetched to know whether a next page exists.
+     *
+     * @param principal authenticated principal
+     * @param page page index (0-based)
+     * @param size page size
+     * @param sort sort spec (field,dir)
+     * @param q optional search query
+     * @return slice of invoices
+     * @throws ResponseStatusException if authorization fails
+     */
+    public Slice<Invoice> sliceInvoices(AuthPrincipal principal, int page, int size, String sort, String q) {
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
+        Long companyId = Utils.getRequiredCompanyId(principal);
+        PageRequest pageRequest = toPageRequest(page, size, sort);
+        if (q == null || q.isBlank()) {
+            return invoiceRepository.findSliceByCompanyId(companyId, pageRequest);
+        }
+        return invoiceRepository.searchSliceByCompanyId(companyId, q.trim(), pageRequest);
+    }
+
+    /**
+     * Lists invoices like {@link #listInvoices} with only the selected columns (sparse fieldset).
+     *
+     * @param principal authenticated principal
+     * @param page page index (0-based)
+     * @param size page size
+     * @param sort sort spec (field,dir)
+     * @param q optional search query
+     * @param columns output field name to invoice attribute, see {@link com.kernith.easyinvoice.helper.SparseFields}
+     * @param total whether to count the total number of items
+     * @return rows keyed by field name; a page if {@code total}, otherwise a slice
+     * @throws ResponseStatusException if authorization fails
+     */
+    public Slice<Map<String, Object>> listInvoiceFields(
+            AuthPrincipal principal,
+            int page,
+            int size,
+            String sort,
+            String q,
+            Map<String, String> columns,
+            boolean total
+    ) {
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
+        Long companyId = Utils.getRequiredCompanyId(principal);
+        FieldRowRepository.RowFilter filter = FieldRowRepository.RowFilter.byCompany(companyId, q, "title", "notes", "customer.displayName");
+        return invoiceRepository.findRows(Invoice.class, columns, filter, toPageRequest(page, size, sort), total);
+    }
+
+    /**
+     * Returns the entity tag of the company's invoice list, changing whenever a listed row changes.
+     *
+     * @param principal authenticated principal
+     * @return weak entity tag
+     * @throws ResponseStatusException if authorization fails
+     */
+    public String collectionETag(AuthPrincipal principal) {
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
+        Long companyId = Utils.getRequiredCompanyId(principal);
+        return ETags.ofCollection(
+                "invoices",
+                invoiceRepository.collectionVersion(companyId),
+                customerRepository.collectionVersion(companyId)
+        );
+    }
+
     /**
      * Issues an invoice and stores its PDF snapshot.
      *
-     * <p>Lifecycle: transition status to ISSUED, then generate and archive PDF.</p>
+     * <p>Lifecycle: transition status to ISSUED, then generate and archive PDF, in one
+     * transaction.</p>
      *
      * @param invoiceId invoice identifier
      * @param principal authenticated principal
      * @return saved PDF archive
      * @throws ResponseStatusException if authorization fails
      */
+    @Transactional
     public InvoicePdfArchive issueInvoice(Long invoiceId, AuthPrincipal principal) {
         Boolean result = transitionStatus(invoiceId, principal, InvoiceStatus.ISSUED);
         return invoicePdfService.saveIssuedPdf(invoiceId, principal);
@@ -264,6 +371,7 @@ public class InvoiceService {
      * @return {@code true} if the invoice was found and updated
      * @throws ResponseStatusException if authorization fails
      */
+    @Transactional
     public Boolean payInvoice(Long invoiceId, AuthPrincipal principal) {
         return transitionStatus(invoiceId, principal, InvoiceStatus.PAID);
     }
@@ -276,6 +384,7 @@ public class InvoiceService {
      * @return {@code true} if the invoice was found and updated
      * @throws ResponseStatusException if authorization fails
      */
+    @Transactional
     public Boolean markInvoiceOverdue(Long invoiceId, AuthPrincipal principal) {
         return transitionStatus(invoiceId, principal, InvoiceStatus.OVERDUE);
     }
@@ -285,13 +394,14 @@ public class InvoiceService {
             AuthPrincipal principal,
             InvoiceStatus newStatus
     ) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Long companyId = Utils.getRequiredCompanyId(principal);
         Optional<Invoice> optionalInvoice = invoiceRepository.findByIdAndCompanyId(invoiceId, companyId);
         if (optionalInvoice.isEmpty()) {
             return Boolean.FALSE;
         }
         Invoice invoice = optionalInvoice.get();
+        InvoiceStatus previousStatus = invoice.getStatus();
         switch (newStatus) {
             case DRAFT -> invoice.draft();
             case ISSUED -> invoice.issue();
@@ -300,6 +410,15 @@ public class InvoiceService {
             case ARCHIVED -> invoice.archive();
         }
         invoiceRepository.save(invoice);
+        dashboardRollupService.invoiceChanged(
+                companyId,
+                invoice.getId(),
+                previousStatus,
+                invoice.getTotalAmount(),
+                invoice.getStatus(),
+                invoice.getTotalAmount()
+        );
+        revenueRollupService.invoiceTransitioned(invoice, previousStatus);
         return Boolean.TRUE;
     }
 
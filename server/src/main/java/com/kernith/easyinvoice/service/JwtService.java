@@ -2,6 +2,7 @@ package com.kernith.easyinvoice.service;
 
 import com.kernith.easyinvoice.data.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,15 +10,20 @@ import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.sql.Date;
+import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 
 /**
  * Issues and parses JWT tokens for API authentication.
+ *
+ * <p>The HMAC key and the parser are built once at construction and shared; both are
+ * immutable and thread-safe, so the per-request cost is only the verification itself.</p>
  */
 @Service
 public class JwtService {
-    private final String secret;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
     private final long expMinutes;
 
     /**
@@ -30,7 +36,10 @@ public class JwtService {
             @Value("${security.jwt.secret}") String secret,
             @Value("${security.jwt.exp-minutes}") long expMinutes
     ) {
-        this.secret = secret;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
         this.expMinutes = expMinutes;
     }
 
@@ -53,7 +62,7 @@ public class JwtService {
                 .claim("role", user.getRole().name())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(exp))
-                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -65,10 +74,15 @@ public class JwtService {
      * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
      */
     public Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Returns the access-token lifetime.
+     *
+     * @return lifetime in seconds
+     */
+    public long getAccessTokenTtlSeconds() {
+        return expMinutes * 60;
     }
 }
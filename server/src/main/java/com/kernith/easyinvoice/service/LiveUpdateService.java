@@ -0,0 +1,307 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.dto.dashboard.DocumentChangeResponse;
+import com.kernith.easyinvoice.data.model.DocumentType;
+import com.kernith.easyinvoice.helper.Roles;
+import com.kernith.easyinvoice.helper.Utils;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes committed invoice and quote changes to the company's open server-sent event streams.
+ *
+ * <p>Fan-out never blocks the committing request: every subscriber has its own bounded
+ * buffer, the listener only offers the event to each buffer and hands the subscriber to a
+ * small sender pool, which writes the buffered events to the connection. A subscriber that
+ * falls behind loses the buffered events and gets a single {@code refresh} event instead,
+ * telling the client to reload what it shows; a broken connection is dropped on the first
+ * failed write.</p>
+ *
+ * <p>Events are named {@code invoice}, {@code quote} or {@code refresh} (company-wide change,
+ * for example a rollup rebuild) and carry a {@link DocumentChangeResponse}. A comment is sent
+ * periodically so idle connections are not closed by proxies.</p>
+ *
+ * <p>A stream lives no longer than the access token that opened it: it times out when the
+ * token expires, and the heartbeat closes the streams whose token has been revoked since.
+ * The client then reconnects with a fresh token.</p>
+ */
+@Service
+public class LiveUpdateService {
+    private static final Logger log = LoggerFactory.getLogger(LiveUpdateService.class);
+    private static final String REFRESH = "refresh";
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ExecutorService sender;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final int maxPerCompany;
+    private final TokenRevocationRegistry revocationRegistry;
+
+    /**
+     * Creates the service and its sender pool.
+     *
+     * @param bufferSize events buffered per subscriber
+     * @param timeoutMs lifetime of a stream, after which the client reconnects ({@code 0} = none)
+     * @param maxPerCompany open streams allowed per company ({@code 0} = unlimited)
+     * @param senderThreads threads writing events to the connections
+     * @param revocationRegistry per-user token revocations, checked on every heartbeat
+     */
+    public LiveUpdateService(
+            @Value("${live.buffer-size:64}") int bufferSize,
+            @Value("${live.timeout-ms:1800000}") long timeoutMs,
+            @Value("${live.max-subscribers-per-company:100}") int maxPerCompany,
+            @Value("${live.sender-threads:2}") int senderThreads,
+            TokenRevocationRegistry revocationRegistry
+    ) {
+        this.bufferSize = Math.max(1, bufferSize);
+        this.timeoutMs = Math.max(0, timeoutMs);
+        this.maxPerCompany = Math.max(0, maxPerCompany);
+        this.revocationRegistry = revocationRegistry;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(Math.max(1, senderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "live-updates-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens an event stream on the current company, bound to the access token that authenticated it.
+     *
+     * @param principal authenticated principal
+     * @param issuedAt issue time of the access token, may be {@code null}
+     * @param expiresAt expiration of the access token, {@code null} if it has none
+     * @return emitter bound to the response
+     * @throws ResponseStatusException if the token has expired or the company has too many open streams
+     */
+    public SseEmitter subscribe(AuthPrincipal principal, Date issuedAt, Date expiresAt) {
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
+        Long companyId = Utils.getRequiredCompanyId(principal);
+        long timeout = timeoutMs;
+        if (expiresAt != null) {
+            long remaining = expiresAt.getTime() - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Token expired");
+            }
+            timeout = timeout == 0 ? remaining : Math.min(timeout, remaining);
+        }
+        return register(companyId, principal.userId(), issuedAt, expiresAt, new SseEmitter(timeout));
+    }
+
+    /**
+     * Forwards a committed document change to the company's streams.
+     *
+     * @param event change notification
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDocumentsChanged(DocumentsChangedEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.companyId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        Message message = new Message(eventName(event.documentType()), DocumentChangeResponse.from(event));
+        for (Subscriber subscriber : targets) {
+            subscriber.offer(message);
+        }
+    }
+
+    /**
+     * Closes the streams whose access token has expired or been revoked and sends a keep-alive
+     * comment on the others.
+     */
+    @Scheduled(fixedDelayString = "${live.heartbeat-ms:25000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Set<Subscriber> targets : subscribers.values()) {
+            for (Subscriber subscriber : targets) {
+                if (subscriber.tokenInvalid(now)) {
+                    unregister(subscriber);
+                    subscriber.emitter.complete();
+                } else {
+                    subscriber.offer(Message.HEARTBEAT);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of open streams of a company.
+     *
+     * @param companyId company identifier
+     * @return open streams
+     */
+    public int subscriberCount(Long companyId) {
+        Set<Subscriber> targets = subscribers.get(companyId);
+        return targets == null ? 0 : targets.size();
+    }
+
+    /**
+     * Returns the number of events discarded because a subscriber's buffer was full.
+     *
+     * @return dropped events
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Closes every open stream and stops the sender pool.
+     */
+    @PreDestroy
+    public void close() {
+        for (Set<Subscriber> targets : subscribers.values()) {
+            for (Subscriber subscriber : targets) {
+                subscriber.emitter.complete();
+            }
+        }
+        subscribers.clear();
+        sender.shutdownNow();
+    }
+
+    SseEmitter register(Long companyId, Long userId, Date issuedAt, Date expiresAt, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(companyId, userId, issuedAt, expiresAt, emitter);
+        // Controllo del limite e inserimento atomici per azienda
+        subscribers.compute(companyId, (id, targets) -> {
+            Set<Subscriber> current = targets == null ? ConcurrentHashMap.newKeySet() : targets;
+            if (maxPerCompany > 0 && current.size() >= maxPerCompany) {
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many open event streams");
+            }
+            current.add(subscriber);
+            return current;
+        });
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+        // Il primo commento fa partire subito la risposta verso il client
+        subscriber.offer(new Message(null, "connected"));
+        return emitter;
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.companyId, (id, targets) -> {
+            targets.remove(subscriber);
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+
+    private static String eventName(DocumentType documentType) {
+        if (documentType == null) {
+            return REFRESH;
+        }
+        return documentType == DocumentType.INVOICE ? "invoice" : "quote";
+    }
+
+    /**
+     * An open stream with its pending events.
+     */
+    private final class Subscriber {
+        private final Long companyId;
+        private final Long userId;
+        private final Date issuedAt;
+        private final long expiresAtMillis;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Subscriber(Long companyId, Long userId, Date issuedAt, Date expiresAt, SseEmitter emitter) {
+            this.companyId = companyId;
+            this.userId = userId;
+            this.issuedAt = issuedAt;
+            this.expiresAtMillis = expiresAt == null ? Long.MAX_VALUE : expiresAt.getTime();
+            this.emitter = emitter;
+        }
+
+        private boolean tokenInvalid(long now) {
+            return now >= expiresAtMillis
+                    || (userId != null && revocationRegistry.isRevoked(userId, issuedAt));
+        }
+
+        private void offer(Message message) {
+            if (!buffer.offer(message)) {
+                dropped.incrementAndGet();
+                overflowed.set(true);
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+
+        /**
+         * Writes the buffered events; runs on the sender pool, one drain per subscriber at a time.
+         */
+        private void drain() {
+            try {
+                if (overflowed.getAndSet(false)) {
+                    dropped.addAndGet(buffer.size());
+                    buffer.clear();
+                    send(new Message(REFRESH, DocumentChangeResponse.from(DocumentsChangedEvent.company(companyId))));
+                }
+                Message message;
+                while ((message = buffer.poll()) != null) {
+                    send(message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Closing event stream of company {}: {}", companyId, e.getMessage());
+                unregister(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // Eventi arrivati dopo l'ultimo poll ma prima del reset del flag
+            if (!buffer.isEmpty() || overflowed.get()) {
+                schedule();
+            }
+        }
+
+        private void send(Message message) throws IOException {
+            if (message.name() == null) {
+                emitter.send(SseEmitter.event().comment(String.valueOf(message.data())));
+            } else {
+                emitter.send(SseEmitter.event().name(message.name()).data(message.data(), MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    /**
+     * A pending event; a {@code null} name is sent as a comment.
+     */
+    private record Message(String name, Object data) {
+        private static final Message HEARTBEAT = new Message(null, "ping");
+    }
+}
@@ -0,0 +1,71 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.helper.KeyedTokenBucket;
+import com.kernith.easyinvoice.helper.TooManyRequestsException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-account and per-IP login attempt limits.
+ *
+ * <p>Every attempt takes a token from the client IP bucket and from the bucket of the
+ * targeted account (company + email), before any password hashing happens. The IP limit
+ * stops a single client spraying many accounts, the account limit stops a distributed
+ * guess against one account. State is in memory and per instance.</p>
+ */
+@Component
+public class LoginThrottle {
+
+    private final KeyedTokenBucket accountBuckets;
+    private final KeyedTokenBucket ipBuckets;
+
+    /**
+     * Creates the throttle.
+     *
+     * @param accountPerMinute attempts per minute per account ({@code 0} = unlimited)
+     * @param ipPerMinute attempts per minute per client IP ({@code 0} = unlimited)
+     */
+    public LoginThrottle(
+            @Value("${security.login.account-per-minute:10}") long accountPerMinute,
+            @Value("${security.login.ip-per-minute:60}") long ipPerMinute
+    ) {
+        this.accountBuckets = new KeyedTokenBucket(accountPerMinute, 1, TimeUnit.MINUTES);
+        this.ipBuckets = new KeyedTokenBucket(ipPerMinute, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Records a login attempt, rejecting it if either limit is exhausted.
+     *
+     * @param companyId company of the targeted account
+     * @param email email of the targeted account
+     * @param clientIp client address, may be {@code null}
+     * @throws TooManyRequestsException with the wait in {@code Retry-After} when throttled
+     */
+    public void checkAttempt(Long companyId, String email, String clientIp) {
+        if (clientIp != null) {
+            long ipWait = ipBuckets.tryAcquire(clientIp);
+            if (ipWait > 0) {
+                throw new TooManyRequestsException("Too many login attempts",
+                        KeyedTokenBucket.toRetryAfterSeconds(ipWait));
+            }
+        }
+        String account = companyId + ":" + (email == null ? "" : email.trim().toLowerCase(Locale.ROOT));
+        long accountWait = accountBuckets.tryAcquire(account);
+        if (accountWait > 0) {
+            throw new TooManyRequestsException("Too many login attempts",
+                    KeyedTokenBucket.toRetryAfterSeconds(accountWait));
+        }
+    }
+
+    /**
+     * Drops buckets of accounts and clients that have been quiet long enough to refill.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeIdle() {
+        accountBuckets.purgeIdle();
+        ipBuckets.purgeIdle();
+    }
+}
@@ -0,0 +1,165 @@
+package com.kernith.easyinvoice.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * BCrypt hashing on a small dedicated pool.
+ *
+ * <p>BCrypt is deliberately slow and CPU-bound, so the work runs on a fixed pool (2 threads by
+ * default) with a bounded queue (32 by default). The calling request thread still blocks until
+ * its hash is ready, for at most {@code security.password.timeout-ms}; what the pool bounds is
+ * the CPU spent on BCrypt and the number of request threads waiting on it. When the queue is
+ * full, or a hash is not ready in time, the caller gets {@code 503 Service Unavailable}, so a
+ * login storm ties up at most queue + threads request threads for a short time instead of
+ * every servlet thread.</p>
+ *
+ * <p>New hashes use the configured cost; {@link #needsRehash(String)} reports stored hashes
+ * with a different cost so they can be upgraded (or downgraded) on the next login.</p>
+ */
+@Component
+public class PasswordHasher {
+
+    private final int cost;
+    private final long timeoutMs;
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Creates the hasher and its worker pool.
+     *
+     * @param cost BCrypt cost (log2 rounds) for new hashes
+     * @param threads number of hashing threads
+     * @param queueCapacity hashing requests allowed to wait for a thread
+     * @param timeoutMs maximum time the calling thread blocks waiting for a result
+     * @throws IllegalArgumentException if the cost is outside BCrypt's 4..31 range
+     */
+    public PasswordHasher(
+            @Value("${security.password.bcrypt-cost:10}") int cost,
+            @Value("${security.password.threads:2}") int threads,
+            @Value("${security.password.queue-capacity:32}") int queueCapacity,
+            @Value("${security.password.timeout-ms:2000}") long timeoutMs
+    ) {
+        this.cost = cost;
+        this.timeoutMs = timeoutMs;
+        this.encoder = new BCryptPasswordEncoder(cost);
+        AtomicInteger sequence = new AtomicInteger();
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Hashes a raw password with the configured cost.
+     *
+     * @param rawPassword password to hash
+     * @return BCrypt hash
+     * @throws ResponseStatusException with {@code 503} if the pool is saturated
+     */
+    public String encode(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a raw password against a stored hash.
+     *
+     * @param rawPassword password supplied by the client
+     * @param hash stored BCrypt hash
+     * @return {@code true} if the password matches
+     * @throws ResponseStatusException with {@code 503} if the pool is saturated
+     */
+    public boolean matches(String rawPassword, String hash) {
+        if (rawPassword == null || hash == null) {
+            return false;
+        }
+        return submit(() -> encoder.matches(rawPassword, hash));
+    }
+
+    /**
+     * Returns whether a stored hash was produced with a different cost than the configured one.
+     *
+     * @param hash stored BCrypt hash
+     * @return {@code true} if the hash should be replaced
+     */
+    public boolean needsRehash(String hash) {
+        // Formato: $2a$12$<salt+hash>
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(6) != '$') {
+            return true;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6)) != cost;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Returns the number of hashing requests waiting for a thread.
+     *
+     * @return queue length
+     */
+    public int queuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Stops the hashing threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    private static ResponseStatusException busy() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Authentication service busy, retry later");
+    }
+}
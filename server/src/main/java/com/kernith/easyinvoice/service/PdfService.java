@@ -4,6 +4,7 @@ import com.kernith.easyinvoice.config.AuthPrincipal;
 import com.kernith.easyinvoice.data.model.*;
 import com.kernith.easyinvoice.data.repository.InvoiceItemRepository;
 import com.kernith.easyinvoice.data.repository.InvoiceRepository;
+import com.kernith.easyinvoice.data.repository.InvoiceVatLineRepository;
 import com.kernith.easyinvoice.data.repository.QuoteItemRepository;
 import com.kernith.easyinvoice.data.repository.QuoteRepository;
 import com.kernith.easyinvoice.helper.HtmlToPdfRenderer;
@@ -28,6 +29,7 @@ public class PdfService {
     private final InvoiceItemRepository invoiceItemRepo;
     private final QuoteRepository quoteRepo;
     private final QuoteItemRepository quoteItemRepo;
+    private final InvoiceVatLineRepository invoiceVatLineRepo;
 
     /**
      * Creates the service with repositories needed for rendering.
@@ -36,23 +38,27 @@ public class PdfService {
      * @param invoiceItemRepo invoice item repository
      * @param quoteRepo quote repository
      * @param quoteItemRepo quote item repository
+     * @param invoiceVatLineRepo invoice VAT breakdown repository
      */
     public PdfService(
             InvoiceRepository invoiceRepo,
             InvoiceItemRepository invoiceItemRepo,
             QuoteRepository quoteRepo,
-            QuoteItemRepository quoteItemRepo
+            QuoteItemRepository quoteItemRepo,
+            InvoiceVatLineRepository invoiceVatLineRepo
     ) {
         this.invoiceRepo = invoiceRepo;
         this.invoiceItemRepo = invoiceItemRepo;
         this.quoteRepo = quoteRepo;
         this.quoteItemRepo = quoteItemRepo;
+        this.invoiceVatLineRepo = invoiceVatLineRepo;
     }
 
     /**
      * Builds the PDF for an invoice.
      *
-     * <p>Lifecycle: load invoice and items, adapt to PDF view, build HTML, render PDF.</p>
+     * <p>Lifecycle: load invoice, items and VAT breakdown, adapt to PDF view, build HTML,
+     * render PDF.</p>
      *
      * @param invoiceId invoice identifier
      * @param principal authenticated principal
@@ -66,10 +72,11 @@ public class PdfService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Parameters");
         }
         List<InvoiceItem> items = invoiceItemRepo.findByInvoiceIdOrderByPositionAsc(invoiceId);
+        List<InvoiceVatLine> vatLines = invoiceVatLineRepo.findByInvoiceIdOrderByTaxRateAsc(invoiceId);
         Company company = inv.getCompany();
         Customer customer = inv.getCustomer();
 
-        PdfDocumentView view = new InvoicePdfAdapter(inv, items, company, customer);
+        PdfDocumentView view = new InvoicePdfAdapter(inv, items, vatLines, company, customer);
 
         String html = new PdfHtmlBuilder()
                 .document(view)
@@ -6,15 +6,16 @@ import com.kernith.easyinvoice.data.dto.quoteitem.UpdateQuoteItemRequest;
 import com.kernith.easyinvoice.data.model.Quote;
 import com.kernith.easyinvoice.data.model.QuoteItem;
 import com.kernith.easyinvoice.data.model.QuoteStatus;
-import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.data.repository.QuoteItemRepository;
 import com.kernith.easyinvoice.data.repository.QuoteRepository;
+import com.kernith.easyinvoice.helper.Roles;
 import com.kernith.easyinvoice.helper.Utils;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 /**
@@ -25,16 +26,23 @@ public class QuoteItemService {
 
     private final QuoteRepository quoteRepository;
     private final QuoteItemRepository quoteItemRepository;
+    private final DashboardRollupService dashboardRollupService;
 
     /**
      * Creates the service with repositories.
      *
      * @param quoteRepository quote repository
      * @param quoteItemRepository quote item repository
+     * @param dashboardRollupService dashboard rollups to keep in step
      */
-    public QuoteItemService(QuoteRepository quoteRepository, QuoteItemRepository quoteItemRepository) {
+    public QuoteItemService(
+            QuoteRepository quoteRepository,
+            QuoteItemRepository quoteItemRepository,
+            DashboardRollupService dashboardRollupService
+    ) {
         this.quoteRepository = quoteRepository;
         this.quoteItemRepository = quoteItemRepository;
+        this.dashboardRollupService = dashboardRollupService;
     }
 
     /**
@@ -48,8 +56,9 @@ public class QuoteItemService {
      * @return saved quote item
      * @throws ResponseStatusException if role or quote state is invalid
      */
+    @Transactional
     public QuoteItem addQuoteItem(Long quoteId, CreateQuoteItemRequest request, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Quote quote = getEditableQuote(quoteId, principal);
 
         QuoteItem item = new QuoteItem(quote);
@@ -77,7 +86,7 @@ public class QuoteItemService {
      * @throws ResponseStatusException if role or quote state is invalid
      */
     public List<QuoteItem> listQuoteItems(Long quoteId, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Quote quote = getQuoteOrThrow(quoteId, principal);
         return quoteItemRepository.findByQuoteIdOrderByPositionAsc(quote.getId());
     }
@@ -94,8 +103,9 @@ public class QuoteItemService {
      * @return saved quote item
      * @throws ResponseStatusException if role or quote state is invalid
      */
+    @Transactional
     public QuoteItem updateQuoteItem(Long quoteId, Long itemId, UpdateQuoteItemRequest request, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Quote quote = getEditableQuote(quoteId, principal);
 
         Optional<QuoteItem> optionalItem = quoteItemRepository.findByIdAndQuoteId(itemId, quote.getId());
@@ -146,8 +156,9 @@ public class QuoteItemService {
      * @return optional result indicating success
      * @throws ResponseStatusException if role or quote state is invalid
      */
+    @Transactional
     public Optional<Boolean> deleteQuoteItem(Long quoteId, Long itemId, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Optional<Quote> optionalQuote = quoteRepository.findByIdAndCompanyId(
                 quoteId,
                 Utils.getRequiredCompanyId(principal)
@@ -188,8 +199,17 @@ public class QuoteItemService {
 
     private void recalcQuoteTotals(Quote quote) {
         List<QuoteItem> items = quoteItemRepository.findByQuoteIdOrderByPositionAsc(quote.getId());
+        BigDecimal previousTotal = quote.getTotalAmount();
         quote.recalculateTotalsFromItems(items);
         quoteRepository.save(quote);
+        dashboardRollupService.quoteChanged(
+                quote.getCompany().getId(),
+                quote.getId(),
+                quote.getStatus(),
+                previousTotal,
+                quote.getStatus(),
+                quote.getTotalAmount()
+        );
     }
 
 }
@@ -9,23 +9,28 @@ import com.kernith.easyinvoice.data.model.CustomerStatus;
 import com.kernith.easyinvoice.data.model.Quote;
 import com.kernith.easyinvoice.data.model.QuoteItem;
 import com.kernith.easyinvoice.data.model.QuoteStatus;
-import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.data.repository.CompanyRepository;
 import com.kernith.easyinvoice.data.repository.CustomerRepository;
+import com.kernith.easyinvoice.data.repository.FieldRowRepository;
 import com.kernith.easyinvoice.data.repository.QuoteItemRepository;
 import com.kernith.easyinvoice.data.repository.QuoteRepository;
+import com.kernith.easyinvoice.helper.ETags;
+import com.kernith.easyinvoice.helper.Roles;
 import com.kernith.easyinvoice.helper.Utils;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 /**
@@ -38,6 +43,7 @@ public class QuoteService {
     private final QuoteItemRepository quoteItemRepository;
     private final CompanyRepository companyRepository;
     private final CustomerRepository customerRepository;
+    private final DashboardRollupService dashboardRollupService;
 
     /**
      * Creates the service with repositories.
@@ -46,17 +52,20 @@ public class QuoteService {
      * @param quoteItemRepository quote item repository
      * @param companyRepository company repository
      * @param customerRepository customer repository
+     * @param dashboardRollupService dashboard rollups to keep in step
      */
     public QuoteService(
             QuoteRepository quoteRepository,
             QuoteItemRepository quoteItemRepository,
             CompanyRepository companyRepository,
-            CustomerRepository customerRepository
+            CustomerRepository customerRepository,
+            DashboardRollupService dashboardRollupService
     ) {
         this.quoteRepository = quoteRepository;
         this.quoteItemRepository = quoteItemRepository;
         this.companyRepository = companyRepository;
         this.customerRepository = customerRepository;
+        this.dashboardRollupService = dashboardRollupService;
     }
 
     /**
@@ -70,8 +79,9 @@ public class QuoteService {
      * @return saved quote
      * @throws ResponseStatusException if validation or authorization fails
      */
+    @Transactional
     public Quote createQuote(CreateQuoteRequest request, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
 
         Long companyId = Utils.getRequiredCompanyId(principal);
         Optional<Company> optionalCompany = companyRepository.findById(companyId);
@@ -129,7 +139,16 @@ public class QuoteService {
         quoteItemRepository.saveAll(items);
         // Finally recalculate the totals and save the original Quote
         savedQuote.recalculateTotalsFromItems(items);
-        return quoteRepository.save(savedQuote);
+        Quote created = quoteRepository.save(savedQuote);
+        dashboardRollupService.quoteChanged(
+                companyId,
+                created.getId(),
+                null,
+                null,
+                created.getStatus(),
+                created.getTotalAmount()
+        );
+        return created;
     }
 
     /**
@@ -141,7 +160,7 @@ public class QuoteService {
      * @throws ResponseStatusException if authorization fails
      */
     public Optional<Quote> getQuote(Long quoteId, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Long companyId = Utils.getRequiredCompanyId(principal);
         return quoteRepository.findByIdAndCompanyId(quoteId, companyId);
     }
@@ -159,7 +178,7 @@ public class QuoteService {
      */
     // Update just in the description, to modify one of the items there is a specific endpoint
     public Quote updateQuote(Long quoteId, UpdateQuoteRequest request, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Long companyId = Utils.getRequiredCompanyId(principal);
         Optional<Quote> optionalQuote = quoteRepository.findByIdAndCompanyId(quoteId, companyId);
         if  (optionalQuote.isEmpty()) {
@@ -197,7 +216,7 @@ public class QuoteService {
      * @throws ResponseStatusException if authorization fails
      */
     public Page<Quote> listQuotes(AuthPrincipal principal, int page, int size, String sort, String q) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Long companyId = Utils.getRequiredCompanyId(principal);
         PageRequest pageRequest = toPageRequest(page, size, sort);
         if (q == null || q.isBlank()) {
@@ -206,6 +225,73 @@ public class QuoteService {
         return quoteRepository.searchByCompanyId(companyId, q.trim(), pageRequest);
     }
 
+    /**
+     * Lists quotes like {@link #listQuotes} without counting the total; one extra row is
+     * fetched to know whether a next page exists.
+     *
+     * @param principal authenticated principal
+     * @param page page index (0-based)
+     * @param size page size
+     * @param sort sort spec (field,dir)
+     * @param q optional search query
+     * @return slice of quotes
+     * @throws ResponseStatusException if authorization fails
+     */
+    public Slice<Quote> sliceQuotes(AuthPrincipal principal, int page, int size, String sort, String q) {
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
+        Long companyId = Utils.getRequiredCompanyId(principal);
+        PageRequest pageRequest = toPageRequest(page, size, sort);
+        if (q == null || q.isBlank()) {
+            return quoteRepository.findSliceByCompanyId(companyId, pageRequest);
+        }
+        return quoteRepository.searchSliceByCompanyId(companyId, q.trim(), pageRequest);
+    }
+
+    /**
+     * Lists quotes like {@link #listQuotes} with only the selected columns (sparse fieldset).
+     *
+     * @param principal authenticated principal
+     * @param page page index (0-based)
+     * @param size page size
+     * @param sort sort spec (field,dir)
+     * @param q optional search query
+     * @param columns output field name to quote attribute, see {@link com.kernith.easyinvoice.helper.SparseFields}
+     * @param total whether to count the total number of items
+     * @return rows keyed by field name; a page if {@code total}, otherwise a slice
+     * @throws ResponseStatusException if authorization fails
+     */
+    public Slice<Map<String, Object>> listQuoteFields(
+            AuthPrincipal principal,
+            int page,
+            int size,
+            String sort,
+            String q,
+            Map<String, String> columns,
+            boolean total
+    ) {
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
+        Long companyId = Utils.getRequiredCompanyId(principal);
+        FieldRowRepository.RowFilter filter = FieldRowRepository.RowFilter.byCompany(companyId, q, "title", "notes", "customer.displayName");
+        return quoteRepository.findRows(Quote.class, columns, filter, toPageRequest(page, size, sort), total);
+    }
+
+    /**
+     * Returns the entity tag of the company's quote list, changing whenever a listed row changes.
+     *
+     * @param principal authenticated principal
+     * @return weak entity tag
+     * @throws ResponseStatusException if authorization fails
+     */
+    public String collectionETag(AuthPrincipal principal) {
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
+        Long companyId = Utils.getRequiredCompanyId(principal);
+        return ETags.ofCollection(
+                "quotes",
+                quoteRepository.collectionVersion(companyId),
+                customerRepository.collectionVersion(companyId)
+        );
+    }
+
     /**
      * Archives a quote.
      *
@@ -214,6 +300,7 @@ public class QuoteService {
      * @return {@code true} if the quote was found and updated
      * @throws ResponseStatusException if authorization fails
      */
+    @Transactional
     public Boolean archiveQuote(Long quoteId, AuthPrincipal principal) {
         return transitionStatus(quoteId, principal, QuoteStatus.ARCHIVED);
     }
@@ -226,6 +313,7 @@ public class QuoteService {
      * @return {@code true} if the quote was found and updated
      * @throws ResponseStatusException if authorization fails
      */
+    @Transactional
     public Boolean sendQuote(Long quoteId, AuthPrincipal principal) {
         return transitionStatus(quoteId, principal, QuoteStatus.SENT);
     }
@@ -238,6 +326,7 @@ public class QuoteService {
      * @return {@code true} if the quote was found and updated
      * @throws ResponseStatusException if authorization fails
      */
+    @Transactional
     public Boolean acceptQuote(Long quoteId, AuthPrincipal principal) {
         return transitionStatus(quoteId, principal, QuoteStatus.ACCEPTED);
     }
@@ -250,6 +339,7 @@ public class QuoteService {
      * @return {@code true} if the quote was found and updated
      * @throws ResponseStatusException if authorization fails
      */
+    @Transactional
     public Boolean rejectQuote(Long quoteId, AuthPrincipal principal) {
         return transitionStatus(quoteId, principal, QuoteStatus.REJECTED);
     }
@@ -262,6 +352,7 @@ public class QuoteService {
      * @return {@code true} if the quote was found and updated
      * @throws ResponseStatusException if authorization fails
      */
+    @Transactional
     public Boolean convertQuote(Long quoteId, AuthPrincipal principal) {
         return transitionStatus(quoteId, principal, QuoteStatus.CONVERTED);
     }
@@ -271,13 +362,14 @@ public class QuoteService {
             AuthPrincipal principal,
             QuoteStatus newStatus
     ) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE));
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
         Long companyId = Utils.getRequiredCompanyId(principal);
         Optional<Quote> optionalQuote = quoteRepository.findByIdAndCompanyId(quoteId, companyId);
         if (optionalQuote.isEmpty()) {
             return Boolean.FALSE;
         }
         Quote quote = optionalQuote.get();
+        QuoteStatus previousStatus = quote.getStatus();
         switch (newStatus) {
             case DRAFT -> quote.draft();
             case SENT -> quote.send();
@@ -288,6 +380,14 @@ public class QuoteService {
             case ARCHIVED -> quote.archive();
         }
         quoteRepository.save(quote);
+        dashboardRollupService.quoteChanged(
+                companyId,
+                quote.getId(),
+                previousStatus,
+                quote.getTotalAmount(),
+                quote.getStatus(),
+                quote.getTotalAmount()
+        );
         return Boolean.TRUE;
     }
 
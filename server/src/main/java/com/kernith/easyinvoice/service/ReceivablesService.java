@@ -0,0 +1,93 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.dto.dashboard.AgingBucketsResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.ReceivablesAgingResponse;
+import com.kernith.easyinvoice.data.repository.InvoiceRepository;
+import com.kernith.easyinvoice.data.repository.ReceivablesAgingRow;
+import com.kernith.easyinvoice.helper.Csv;
+import com.kernith.easyinvoice.helper.Roles;
+import com.kernith.easyinvoice.helper.Utils;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Receivables reports for company staff.
+ */
+@Service
+public class ReceivablesService {
+
+    private final InvoiceRepository invoiceRepository;
+
+    /**
+     * Creates the service.
+     *
+     * @param invoiceRepository invoice repository
+     */
+    public ReceivablesService(InvoiceRepository invoiceRepository) {
+        this.invoiceRepository = invoiceRepository;
+    }
+
+    /**
+     * Builds the aging report of the current company's open (ISSUED and OVERDUE) invoices.
+     *
+     * <p>Lifecycle: validate role, run the grouped aging query (one row per customer, buckets
+     * computed by the database), then add the rows up into the total.</p>
+     *
+     * @param principal authenticated principal
+     * @param asOf date the days past due are counted from, today if {@code null}
+     * @return aging report
+     * @throws org.springframework.web.server.ResponseStatusException if authorization fails
+     */
+    @Transactional(readOnly = true)
+    public ReceivablesAgingResponse getAging(AuthPrincipal principal, LocalDate asOf) {
+        Utils.requireRoles(principal, Roles.COMPANY_STAFF);
+        Long companyId = Utils.getRequiredCompanyId(principal);
+        LocalDate date = asOf == null ? LocalDate.now() : asOf;
+
+        List<ReceivablesAgingRow> rows = invoiceRepository.agingByCustomer(
+                companyId,
+                date,
+                date.minusDays(30),
+                date.minusDays(60),
+                date.minusDays(90)
+        );
+        List<AgingBucketsResponse> customers = new ArrayList<>(rows.size());
+        AgingBucketsResponse total = AgingBucketsResponse.empty();
+        for (ReceivablesAgingRow row : rows) {
+            AgingBucketsResponse customer = AgingBucketsResponse.from(row);
+            customers.add(customer);
+            total = total.plus(customer);
+        }
+        return ReceivablesAgingResponse.from(date, customers, total);
+    }
+
+    /**
+     * Writes an aging report as CSV: a header, one record per customer and a total record.
+     *
+     * @param report aging report
+     * @param writer destination (left open)
+     * @throws IOException if writing fails
+     */
+    public void writeAgingCsv(ReceivablesAgingResponse report, Writer writer) throws IOException {
+        Csv.row(writer, "customer_id", "customer_name", "invoice_count", "current",
+                "days_1_30", "days_31_60", "days_61_90", "days_90_plus", "total");
+        for (AgingBucketsResponse row : report.customers()) {
+            writeAgingRow(writer, row.customerId(), row.customerName(), row);
+        }
+        writeAgingRow(writer, null, "TOTAL", report.total());
+        writer.flush();
+    }
+
+    private static void writeAgingRow(Writer writer, Long customerId, String name, AgingBucketsResponse row)
+            throws IOException {
+        Csv.row(writer, customerId, name, row.invoiceCount(), row.current().toPlainString(),
+                row.days1To30().toPlainString(), row.days31To60().toPlainString(),
+                row.days61To90().toPlainString(), row.days90Plus().toPlainString(), row.total().toPlainString());
+    }
+}
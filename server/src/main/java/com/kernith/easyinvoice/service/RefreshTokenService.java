@@ -0,0 +1,167 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.data.model.RefreshToken;
+import com.kernith.easyinvoice.data.model.User;
+import com.kernith.easyinvoice.data.repository.RefreshTokenRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ *
+ * <p>Tokens are random 256-bit values returned once to the client; only their SHA-256 is
+ * stored. Every refresh revokes the presented token and issues a new one. Presenting an
+ * already rotated token is treated as theft and revokes all of the user's tokens.</p>
+ *
+ * <p>Expired rows are purged periodically. Rotated and revoked rows are kept for
+ * {@code security.jwt.refresh-reuse-hours} so that reuse of a rotated token is still detected,
+ * then purged as well.</p>
+ */
+@Service
+public class RefreshTokenService {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final long refreshDays;
+    private final long reuseHours;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Creates the service.
+     *
+     * @param refreshTokenRepository refresh token repository
+     * @param revocationRegistry per-user revocation epochs
+     * @param refreshDays refresh token lifetime in days
+     * @param reuseHours how long revoked tokens are kept to detect reuse
+     */
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            TokenRevocationRegistry revocationRegistry,
+            @Value("${security.jwt.refresh-days:14}") long refreshDays,
+            @Value("${security.jwt.refresh-reuse-hours:24}") long reuseHours
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revocationRegistry = revocationRegistry;
+        this.refreshDays = refreshDays;
+        this.reuseHours = reuseHours;
+    }
+
+    /**
+     * Issues a new refresh token for the user.
+     *
+     * @param user authenticated user
+     * @return raw refresh token to return to the client
+     */
+    @Transactional
+    public String issue(User user) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(new RefreshToken(user, hash(raw), now, now.plusDays(refreshDays)));
+        return raw;
+    }
+
+    /**
+     * Validates a refresh token and revokes it, returning its user for a new token pair.
+     *
+     * <p>Lifecycle: look up by hash, detect reuse of a rotated token, check expiry, user
+     * state and revocation epoch, then mark the token as used with a conditional update. If
+     * another refresh marked it first, the call is treated as reuse.</p>
+     *
+     * @param rawToken refresh token presented by the client
+     * @return owner of the token
+     * @throws ResponseStatusException with {@code 401} if the token is unknown, expired or revoked
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public User consume(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw invalid();
+        }
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(RefreshTokenService::invalid);
+        User user = token.getUser();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (token.getRevokedAt() != null) {
+            revocationRegistry.revokeUser(user.getId());
+            throw invalid();
+        }
+        if (!token.getExpiresAt().isAfter(now) || !user.isEnabled()) {
+            throw invalid();
+        }
+        LocalDateTime revokedBefore = revocationRegistry.revokedBefore(user.getId());
+        if (revokedBefore != null && !token.getCreatedAt().isAfter(revokedBefore)) {
+            throw invalid();
+        }
+
+        // Update condizionale: con due refresh concorrenti dello stesso token solo uno lo marca
+        // come usato, l'altro è trattato come riuso
+        if (refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            revocationRegistry.revokeUser(user.getId());
+            throw invalid();
+        }
+        return user;
+    }
+
+    /**
+     * Revokes a refresh token; unknown tokens are ignored.
+     *
+     * @param rawToken refresh token presented by the client
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .filter(token -> token.getRevokedAt() == null)
+                .ifPresent(token -> {
+                    token.setRevokedAt(LocalDateTime.now());
+                    refreshTokenRepository.save(token);
+                });
+    }
+
+    /**
+     * Deletes expired tokens and tokens revoked longer ago than the reuse-detection window.
+     *
+     * @return number of deleted rows
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.refresh-purge-ms:3600000}")
+    @Transactional
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = refreshTokenRepository.deleteExpired(now, now.minusHours(reuseHours));
+        if (deleted > 0) {
+            log.debug("Purged {} expired or revoked refresh tokens", deleted);
+        }
+        return deleted;
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
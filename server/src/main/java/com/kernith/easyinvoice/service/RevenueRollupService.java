@@ -0,0 +1,326 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.dto.dashboard.RevenuePointResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.RevenueSeriesResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.TopCustomerResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.TopCustomersResponse;
+import com.kernith.easyinvoice.data.model.Customer;
+import com.kernith.easyinvoice.data.model.CustomerBalance;
+import com.kernith.easyinvoice.data.model.Invoice;
+import com.kernith.easyinvoice.data.model.InvoiceStatus;
+import com.kernith.easyinvoice.data.model.RevenueGranularity;
+import com.kernith.easyinvoice.data.model.TopCustomerMetric;
+import com.kernith.easyinvoice.data.repository.CustomerBalanceRepository;
+import com.kernith.easyinvoice.data.repository.CustomerRepository;
+import com.kernith.easyinvoice.data.repository.CustomerRevenue;
+import com.kernith.easyinvoice.data.repository.RevenueBucket;
+import com.kernith.easyinvoice.data.repository.RevenueRollupRepository;
+import com.kernith.easyinvoice.helper.Roles;
+import com.kernith.easyinvoice.helper.Utils;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Daily and monthly revenue per company and customer, kept in the {@code revenue_rollups}
+ * table, and open balance per customer, kept in {@code customer_balances}.
+ *
+ * <p>{@link InvoiceService} reports every invoice status transition here, inside its own
+ * transaction. An invoice counts as issued while it is ISSUED, OVERDUE or PAID (bucketed by
+ * issue date), so archiving an overdue invoice takes it out again, and as paid once PAID
+ * (bucketed by payment date). Each change is applied to the day and the month bucket with one
+ * upsert per bucket, so a time series is read from at most one row per bucket and customer
+ * whatever the number of invoices; entering or leaving the open statuses (ISSUED, OVERDUE)
+ * moves the customer's balance. Top customer rankings read these tables instead of grouping
+ * invoices.</p>
+ *
+ * <p>A periodic job compares the revenue rollups and the open balances with a fresh
+ * aggregation of the invoices, using the same rules, and rebuilds both tables for the
+ * companies that drifted. Invoices paid before the
+ * payment date was recorded carry the date of their last update as payment date (see the
+ * {@code V11} migration), so their paid buckets are approximate.</p>
+ *
+ * <p>Amounts are summed as stored, without currency conversion, like the manager dashboard
+ * totals.</p>
+ */
+@Service
+public class RevenueRollupService {
+    private static final Logger log = LoggerFactory.getLogger(RevenueRollupService.class);
+
+    private static final int MAX_TOP_CUSTOMERS = 100;
+
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final CustomerBalanceRepository customerBalanceRepository;
+    private final CustomerRepository customerRepository;
+    private final int maxBuckets;
+
+    /**
+     * Creates the service.
+     *
+     * @param revenueRollupRepository rollup table repository
+     * @param customerBalanceRepository open balance table repository
+     * @param customerRepository customer repository
+     * @param maxBuckets maximum number of buckets returned by one series
+     */
+    public RevenueRollupService(
+            RevenueRollupRepository revenueRollupRepository,
+            CustomerBalanceRepository customerBalanceRepository,
+            CustomerRepository customerRepository,
+            @Value("${dashboard.revenue-max-buckets:400}") int maxBuckets
+    ) {
+        this.revenueRollupRepository = revenueRollupRepository;
+        this.customerBalanceRepository = customerBalanceRepository;
+        this.customerRepository = customerRepository;
+        this.maxBuckets = Math.max(1, maxBuckets);
+    }
+
+    /**
+     * Records a status transition of an invoice.
+     *
+     * @param invoice invoice after the transition
+     * @param fromStatus status before the transition
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void invoiceTransitioned(Invoice invoice, InvoiceStatus fromStatus) {
+        InvoiceStatus toStatus = invoice.getStatus();
+        if (fromStatus == toStatus) {
+            return;
+        }
+        BigDecimal total = invoice.getTotalAmount() == null ? BigDecimal.ZERO : invoice.getTotalAmount();
+        boolean wasIssued = isIssued(fromStatus);
+        boolean issued = isIssued(toStatus);
+        if (wasIssued != issued) {
+            apply(invoice, invoice.getIssueDate(), issued ? 1 : -1, issued ? total : total.negate(), 0, BigDecimal.ZERO);
+        }
+        if (toStatus == InvoiceStatus.PAID) {
+            LocalDate paidDate = invoice.getPaidDate() == null ? LocalDate.now() : invoice.getPaidDate();
+            apply(invoice, paidDate, 0, BigDecimal.ZERO, 1, total);
+        }
+
+        boolean wasOpen = isOpen(fromStatus);
+        boolean open = isOpen(toStatus);
+        if (wasOpen != open) {
+            customerBalanceRepository.applyDelta(
+                    invoice.getCompany().getId(),
+                    invoice.getCustomer().getId(),
+                    open ? 1 : -1,
+                    open ? total : total.negate()
+            );
+        }
+    }
+
+    /**
+     * Returns the revenue series of the current company, or of one of its customers.
+     *
+     * <p>Lifecycle: validate role and range, check the customer belongs to the company,
+     * read the stored buckets, then fill the buckets without invoices with zeros.</p>
+     *
+     * @param principal authenticated principal
+     * @param from first day of the range
+     * @param to last day of the range
+     * @param granularity bucket size
+     * @param customerId optional customer filter
+     * @return series, or empty if the customer does not exist in the company
+     * @throws ResponseStatusException if authorization fails or the range is invalid or too long
+     */
+    @Transactional(readOnly = true)
+    public Optional<RevenueSeriesResponse> getSeries(
+            AuthPrincipal principal,
+            LocalDate from,
+            LocalDate to,
+            RevenueGranularity granularity,
+            Long customerId
+    ) {
+        Utils.requireRoles(principal, Roles.MANAGER);
+        Long companyId = Utils.getRequiredCompanyId(principal);
+        if (from == null || to == null || granularity == null || to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid range");
+        }
+        if (granularity.buckets(from, to) > maxBuckets) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Range too long for granularity " + granularity);
+        }
+        if (customerId != null && customerRepository.findByIdAndCompanyId(customerId, companyId).isEmpty()) {
+            return Optional.empty();
+        }
+
+        LocalDate start = granularity.periodStart(from);
+        List<RevenueBucket> buckets = customerId == null
+                ? revenueRollupRepository.findSeries(companyId, granularity, start, to)
+                : revenueRollupRepository.findCustomerSeries(companyId, customerId, granularity, start, to);
+        Map<LocalDate, RevenueBucket> byPeriod = new HashMap<>();
+        for (RevenueBucket bucket : buckets) {
+            byPeriod.put(bucket.getPeriodStart(), bucket);
+        }
+
+        List<RevenuePointResponse> points = new ArrayList<>();
+        for (LocalDate period = start; !period.isAfter(to); period = granularity.next(period)) {
+            RevenueBucket bucket = byPeriod.get(period);
+            points.add(bucket == null ? RevenuePointResponse.empty(period) : RevenuePointResponse.from(bucket));
+        }
+        return Optional.of(RevenueSeriesResponse.from(granularity, start, to, customerId, points));
+    }
+
+    /**
+     * Returns the current company's top customers by paid amount, issued invoices or open balance.
+     *
+     * <p>Lifecycle: validate role and period, rank customers from the monthly rollups (paid
+     * amount, issued invoices) or from the open balances, load the other metrics and the names
+     * of the ranked customers only, then build the rows in rank order.</p>
+     *
+     * @param principal authenticated principal
+     * @param metric ranking criterion
+     * @param from first month of the period, 11 months before {@code to} if {@code null}
+     * @param to last month of the period, the current month if {@code null}
+     * @param limit number of customers, capped at 100
+     * @return ranked customers
+     * @throws ResponseStatusException if authorization fails or the period is invalid
+     */
+    @Transactional(readOnly = true)
+    public TopCustomersResponse getTopCustomers(
+            AuthPrincipal principal,
+            TopCustomerMetric metric,
+            YearMonth from,
+            YearMonth to,
+            int limit
+    ) {
+        Utils.requireRoles(principal, Roles.MANAGER);
+        Long companyId = Utils.getRequiredCompanyId(principal);
+        YearMonth last = to == null ? YearMonth.now() : to;
+        YearMonth first = from == null ? last.minusMonths(11) : from;
+        if (metric == null || last.isBefore(first)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid period");
+        }
+        PageRequest top = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_TOP_CUSTOMERS));
+        LocalDate start = first.atDay(1);
+        LocalDate end = last.atDay(1);
+
+        List<Long> ranked = new ArrayList<>();
+        Map<Long, CustomerRevenue> revenue = new HashMap<>();
+        Map<Long, BigDecimal> outstanding = new HashMap<>();
+        if (metric == TopCustomerMetric.OUTSTANDING) {
+            for (CustomerBalance balance : customerBalanceRepository.findTopByOpenAmount(companyId, top)) {
+                ranked.add(balance.getCustomerId());
+                outstanding.put(balance.getCustomerId(), balance.getOpenAmount());
+            }
+            if (!ranked.isEmpty()) {
+                for (CustomerRevenue row : revenueRollupRepository.findCustomerRevenue(companyId, ranked, start, end)) {
+                    revenue.put(row.getCustomerId(), row);
+                }
+            }
+        } else {
+            List<CustomerRevenue> rows = metric == TopCustomerMetric.PAID
+                    ? revenueRollupRepository.findTopCustomersByPaidAmount(companyId, start, end, top)
+                    : revenueRollupRepository.findTopCustomersByIssuedCount(companyId, start, end, top);
+            for (CustomerRevenue row : rows) {
+                ranked.add(row.getCustomerId());
+                revenue.put(row.getCustomerId(), row);
+            }
+            if (!ranked.isEmpty()) {
+                for (CustomerBalance balance : customerBalanceRepository.findByCompanyIdAndCustomerIdIn(companyId, ranked)) {
+                    outstanding.put(balance.getCustomerId(), balance.getOpenAmount());
+                }
+            }
+        }
+
+        Map<Long, String> names = new HashMap<>();
+        for (Customer customer : customerRepository.findAllById(ranked)) {
+            names.put(customer.getId(), customer.getDisplayName());
+        }
+        List<TopCustomerResponse> customers = new ArrayList<>(ranked.size());
+        for (Long customerId : ranked) {
+            CustomerRevenue row = revenue.get(customerId);
+            customers.add(TopCustomerResponse.from(
+                    customerId,
+                    names.get(customerId),
+                    row == null || row.getPaidAmount() == null ? BigDecimal.ZERO : row.getPaidAmount(),
+                    row == null || row.getIssuedCount() == null ? 0L : row.getIssuedCount(),
+                    outstanding.getOrDefault(customerId, BigDecimal.ZERO)
+            ));
+        }
+        return TopCustomersResponse.from(metric, first, last, customers);
+    }
+
+    /**
+     * Recomputes the revenue rollups and the open balances of a company from its invoices.
+     *
+     * @param companyId company identifier
+     */
+    @Transactional
+    public void rebuild(Long companyId) {
+        revenueRollupRepository.deleteByCompanyId(companyId);
+        revenueRollupRepository.rebuild(companyId);
+        customerBalanceRepository.deleteByCompanyId(companyId);
+        customerBalanceRepository.rebuild(companyId);
+    }
+
+    /**
+     * Compares all revenue rollups and open balances with the invoices and rebuilds the
+     * companies that differ.
+     *
+     * @return number of companies rebuilt
+     */
+    @Scheduled(
+            initialDelayString = "${dashboard.rollup-verify-initial-delay-ms:60000}",
+            fixedDelayString = "${dashboard.rollup-verify-ms:21600000}"
+    )
+    @Transactional
+    public int verify() {
+        Set<Long> drifted = new TreeSet<>(revenueRollupRepository.findDriftedCompanyIds());
+        drifted.addAll(customerBalanceRepository.findDriftedCompanyIds());
+        for (Long companyId : drifted) {
+            log.warn("Revenue rollups or open balances of company {} differ from invoices, rebuilding", companyId);
+            rebuild(companyId);
+        }
+        return drifted.size();
+    }
+
+    private static boolean isIssued(InvoiceStatus status) {
+        return status == InvoiceStatus.ISSUED || status == InvoiceStatus.OVERDUE || status == InvoiceStatus.PAID;
+    }
+
+    private static boolean isOpen(InvoiceStatus status) {
+        return status == InvoiceStatus.ISSUED || status == InvoiceStatus.OVERDUE;
+    }
+
+    private void apply(
+            Invoice invoice,
+            LocalDate date,
+            long issuedCount,
+            BigDecimal issuedAmount,
+            long paidCount,
+            BigDecimal paidAmount
+    ) {
+        Long companyId = invoice.getCompany().getId();
+        Long customerId = invoice.getCustomer().getId();
+        for (RevenueGranularity granularity : RevenueGranularity.values()) {
+            revenueRollupRepository.applyDelta(
+                    companyId,
+                    customerId,
+                    granularity.name(),
+                    granularity.periodStart(date),
+                    issuedCount,
+                    issuedAmount,
+                    paidCount,
+                    paidAmount
+            );
+        }
+    }
+}
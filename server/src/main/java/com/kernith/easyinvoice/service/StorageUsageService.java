@@ -0,0 +1,234 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.data.dto.company.CompanyStorageResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.StorageUsageResponse;
+import com.kernith.easyinvoice.data.model.Company;
+import com.kernith.easyinvoice.data.model.InvoicePdfArchive;
+import com.kernith.easyinvoice.data.repository.CompanyRepository;
+import com.kernith.easyinvoice.data.repository.CompanyStorageRepository;
+import com.kernith.easyinvoice.data.repository.InvoicePdfArchiveRepository;
+import com.kernith.easyinvoice.data.repository.StorageTotals;
+import com.kernith.easyinvoice.service.backup.BackupService;
+import com.kernith.easyinvoice.service.backup.BackupService.BackupFile;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the per-company storage counters used by the admin dashboard and company detail.
+ *
+ * <p>Archived PDFs are counted in the transaction that archives them and backups are measured
+ * after every backup run, so reading usage never walks the storage tree. The reconciliation
+ * job resyncs every company from disk, which also covers files removed or copied by hand and
+ * archive rows written before sizes were recorded. It walks the disk outside any transaction
+ * and writes each company's counters in a short statement of its own, only if they did not
+ * move during the walk.</p>
+ *
+ * <p>Deduplicated backup blobs are shared between companies: only the company's manifests
+ * are attributed to it.</p>
+ */
+@Service
+public class StorageUsageService {
+    private static final Logger log = LoggerFactory.getLogger(StorageUsageService.class);
+    private static final int TOP_COMPANIES = 5;
+
+    private final CompanyStorageRepository storageRepository;
+    private final InvoicePdfArchiveRepository archiveRepository;
+    private final CompanyRepository companyRepository;
+    private final BackupService backupService;
+    private final Path storageRoot;
+
+    /**
+     * Creates the service.
+     *
+     * @param storageRepository per-company storage counters
+     * @param archiveRepository PDF archive repository
+     * @param companyRepository company repository
+     * @param backupService backup service, used to list each company's backups
+     * @param storageRoot storage root path
+     */
+    public StorageUsageService(
+            CompanyStorageRepository storageRepository,
+            InvoicePdfArchiveRepository archiveRepository,
+            CompanyRepository companyRepository,
+            BackupService backupService,
+            @Value("${storage.root:storage}") String storageRoot
+    ) {
+        this.storageRepository = storageRepository;
+        this.archiveRepository = archiveRepository;
+        this.companyRepository = companyRepository;
+        this.backupService = backupService;
+        this.storageRoot = Paths.get(storageRoot).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Counts a newly archived PDF; must run in the transaction that saves the archive row.
+     *
+     * @param companyId company identifier
+     * @param sizeBytes file size
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void pdfStored(Long companyId, long sizeBytes) {
+        storageRepository.applyPdfDelta(companyId, 1, sizeBytes);
+    }
+
+    /**
+     * Measures the backups kept for a company and stores their size.
+     *
+     * @param companyId company identifier
+     * @return backup bytes
+     */
+    @Transactional
+    public long backupsChanged(Long companyId) {
+        long bytes = measureBackups(companyId);
+        storageRepository.updateBackupBytes(companyId, bytes);
+        return bytes;
+    }
+
+    /**
+     * Returns the storage used by one company.
+     *
+     * @param companyId company identifier
+     * @return usage, zero if nothing was stored yet
+     */
+    @Transactional(readOnly = true)
+    public CompanyStorageResponse getCompanyUsage(Long companyId) {
+        return storageRepository.findByCompanyId(companyId)
+                .map(CompanyStorageResponse::from)
+                .orElseGet(() -> CompanyStorageResponse.empty(companyId));
+    }
+
+    /**
+     * Returns the platform totals and the companies using the most space.
+     *
+     * @return storage usage
+     */
+    @Transactional(readOnly = true)
+    public StorageUsageResponse getPlatformUsage() {
+        StorageTotals totals = storageRepository.sumAll();
+        List<CompanyStorageResponse> top = storageRepository.findTopByTotalBytes(PageRequest.of(0, TOP_COMPANIES))
+                .stream()
+                .map(CompanyStorageResponse::from)
+                .toList();
+        return StorageUsageResponse.from(
+                totals == null || totals.getPdfCount() == null ? 0L : totals.getPdfCount(),
+                totals == null || totals.getPdfBytes() == null ? 0L : totals.getPdfBytes(),
+                totals == null || totals.getBackupBytes() == null ? 0L : totals.getBackupBytes(),
+                top
+        );
+    }
+
+    /**
+     * Resyncs the counters of every company from disk.
+     *
+     * <p>Lifecycle: for each company, read its counters, size the archive rows that have no
+     * size yet, count the PDFs under its storage folder and measure its backups, then overwrite
+     * the counters if they still hold the values read first. Counters that moved meanwhile
+     * (a PDF archive committed during the walk) are left alone until the next run. PDFs
+     * modified after the counters were read are not counted: their file is written before the
+     * archiving transaction commits, and that commit adds them. A company whose files cannot
+     * be read is skipped.</p>
+     *
+     * <p>Not transactional: every write commits on its own.</p>
+     *
+     * @return number of companies whose counters differed from disk and were resynced
+     */
+    @Scheduled(
+            initialDelayString = "${storage.reconcile-initial-delay-ms:120000}",
+            fixedDelayString = "${storage.reconcile-ms:86400000}"
+    )
+    public int reconcile() {
+        int drifted = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (Company company : companyRepository.findAllByOrderByNameAsc()) {
+            Long companyId = company.getId();
+            try {
+                if (reconcileCompany(companyId, now)) {
+                    drifted++;
+                }
+            } catch (IOException | UncheckedIOException | IllegalStateException e) {
+                log.warn("Storage reconciliation of company {} failed: {}", companyId, e.getMessage());
+            }
+        }
+        return drifted;
+    }
+
+    private boolean reconcileCompany(Long companyId, LocalDateTime now) throws IOException {
+        CompanyStorageResponse before = getCompanyUsage(companyId);
+        // Il file di un PDF viene scritto prima del commit che lo conta: i file più recenti
+        // della lettura dei contatori sono lasciati al delta, per non contarli due volte
+        Instant walkStart = Instant.now();
+
+        for (InvoicePdfArchive archive : archiveRepository.findUnsizedByCompanyId(companyId)) {
+            Path file = storageRoot.resolve(archive.getPath()).resolve(archive.getFileName()).normalize();
+            if (file.startsWith(storageRoot) && Files.isRegularFile(file)) {
+                archiveRepository.updateMissingSize(archive.getId(), Files.size(file));
+            }
+        }
+
+        long pdfCount = 0;
+        long pdfBytes = 0;
+        Path companyRoot = storageRoot.resolve("companies").resolve(companyId.toString()).normalize();
+        if (Files.isDirectory(companyRoot)) {
+            try (Stream<Path> files = Files.walk(companyRoot)) {
+                for (Path file : files.filter(StorageUsageService::isPdf).toList()) {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attributes.lastModifiedTime().toInstant().isAfter(walkStart)) {
+                        continue;
+                    }
+                    pdfCount++;
+                    pdfBytes += attributes.size();
+                }
+            }
+        }
+        long backupBytes = measureBackups(companyId);
+
+        boolean drifted = before.pdfCount() != pdfCount
+                || before.pdfBytes() != pdfBytes
+                || before.backupBytes() != backupBytes;
+        int written = storageRepository.reconcile(
+                companyId,
+                before.pdfCount(),
+                before.pdfBytes(),
+                before.backupBytes(),
+                pdfCount,
+                pdfBytes,
+                backupBytes,
+                now
+        );
+        if (written == 0) {
+            log.debug("Storage counters of company {} changed during reconciliation, retrying next run", companyId);
+            return false;
+        }
+        if (drifted) {
+            log.info("Storage counters of company {} differed from disk, resynced", companyId);
+        }
+        return drifted;
+    }
+
+    private long measureBackups(Long companyId) {
+        return backupService.listBackups(companyId).stream()
+                .mapToLong(BackupFile::sizeBytes)
+                .sum();
+    }
+
+    private static boolean isPdf(Path file) {
+        return Files.isRegularFile(file) && file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".pdf");
+    }
+}
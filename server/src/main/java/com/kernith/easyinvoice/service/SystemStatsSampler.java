@@ -0,0 +1,262 @@
+package com.kernith.easyinvoice.service;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Samples disk, memory and database file size in the background for the admin dashboard.
+ *
+ * <p>A scheduled task takes a sample at a fixed interval and stores it in a bounded ring
+ * buffer, so the dashboard reads the latest value and a short trend from memory instead of
+ * querying the filesystem and opening a JDBC connection on every request. The database file
+ * is located once, from the connection URL, and only stat-ed afterwards.</p>
+ */
+@Service
+public class SystemStatsSampler {
+
+    private final DataSource dataSource;
+    private final SystemSample[] samples;
+    private int next;
+    private int size;
+    private volatile DatabaseLocation database;
+
+    /**
+     * Creates the sampler.
+     *
+     * @param dataSource application data source, used once to locate the database file
+     * @param capacity number of samples kept
+     */
+    public SystemStatsSampler(
+            DataSource dataSource,
+            @Value("${dashboard.system-samples:60}") int capacity
+    ) {
+        this.dataSource = dataSource;
+        this.samples = new SystemSample[Math.max(1, capacity)];
+    }
+
+    /**
+     * Takes a sample and adds it to the buffer, replacing the oldest one when full.
+     *
+     * @return new sample
+     */
+    @Scheduled(
+            initialDelayString = "${dashboard.system-sample-initial-delay-ms:0}",
+            fixedDelayString = "${dashboard.system-sample-ms:60000}"
+    )
+    public SystemSample sample() {
+        SystemSample sample = takeSample();
+        synchronized (samples) {
+            samples[next] = sample;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+        return sample;
+    }
+
+    /**
+     * Returns the most recent sample, taking one if none was taken yet.
+     *
+     * @return latest sample
+     */
+    public SystemSample latest() {
+        synchronized (samples) {
+            if (size > 0) {
+                return samples[(next - 1 + samples.length) % samples.length];
+            }
+        }
+        return sample();
+    }
+
+    /**
+     * Returns the buffered samples.
+     *
+     * @return samples, oldest first
+     */
+    public List<SystemSample> history() {
+        synchronized (samples) {
+            List<SystemSample> history = new ArrayList<>(size);
+            int start = (next - size + samples.length) % samples.length;
+            for (int i = 0; i < size; i++) {
+                history.add(samples[(start + i) % samples.length]);
+            }
+            return history;
+        }
+    }
+
+    private SystemSample takeSample() {
+        String diskPath = System.getProperty("user.dir");
+        if (diskPath == null || diskPath.isBlank()) {
+            diskPath = "/";
+        }
+
+        Long diskTotal = null;
+        Long diskFree = null;
+        Path path = Paths.get(diskPath);
+        try {
+            if (!Files.exists(path)) {
+                path = Paths.get("/");
+                diskPath = "/";
+            }
+            FileStore store = Files.getFileStore(path);
+            diskTotal = store.getTotalSpace();
+            diskFree = store.getUsableSpace();
+        } catch (Exception ex) {
+            diskTotal = null;
+            diskFree = null;
+        }
+
+        Long ramTotal = null;
+        Long ramFree = null;
+        var osBean = ManagementFactory.getOperatingSystemMXBean();
+        if (osBean instanceof com.sun.management.OperatingSystemMXBean sunBean) {
+            ramTotal = sunBean.getTotalPhysicalMemorySize();
+            ramFree = sunBean.getFreePhysicalMemorySize();
+        }
+
+        DatabaseLocation db = database;
+        if (db == null) {
+            db = locateDatabase();
+            if (!"unavailable".equals(db.path())) {
+                database = db;
+            }
+        }
+        Long dbFileBytes = null;
+        String dbPath = db.path();
+        if (db.basePath() != null) {
+            Path dbFile = resolveH2DatabaseFile(db.basePath());
+            if (dbFile != null) {
+                dbPath = dbFile.toString();
+                try {
+                    dbFileBytes = Files.size(dbFile);
+                } catch (IOException ex) {
+                    dbFileBytes = null;
+                }
+            }
+        }
+
+        return new SystemSample(Instant.now(), diskTotal, diskFree, ramTotal, ramFree, diskPath, dbFileBytes, dbPath);
+    }
+
+    private DatabaseLocation locateDatabase() {
+        String url = null;
+        try (var connection = dataSource.getConnection()) {
+            url = connection.getMetaData().getURL();
+        } catch (Exception ex) {
+            return new DatabaseLocation(null, "unavailable");
+        }
+
+        if (url == null || url.isBlank()) {
+            return new DatabaseLocation(null, "unavailable");
+        }
+
+        if (url.startsWith("jdbc:h2:mem:")) {
+            return new DatabaseLocation(null, "in-memory");
+        }
+
+        if (!url.startsWith("jdbc:h2:")) {
+            return new DatabaseLocation(null, "unsupported");
+        }
+
+        String spec = url.substring("jdbc:h2:".length());
+        if (spec.startsWith("mem:")) {
+            return new DatabaseLocation(null, "in-memory");
+        }
+        if (spec.startsWith("file:")) {
+            spec = spec.substring("file:".length());
+        }
+
+        int optsIndex = spec.indexOf(';');
+        if (optsIndex >= 0) {
+            spec = spec.substring(0, optsIndex);
+        }
+
+        String resolvedPath = resolveH2Path(spec);
+        if (resolvedPath == null) {
+            return new DatabaseLocation(null, "unavailable");
+        }
+        return new DatabaseLocation(Paths.get(resolvedPath), resolvedPath);
+    }
+
+    private String resolveH2Path(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return null;
+        }
+        String path = spec.trim();
+        if (path.startsWith("~")) {
+            String home = System.getProperty("user.home");
+            if (home != null) {
+                path = home + path.substring(1);
+            }
+        }
+        Path resolved = Paths.get(path);
+        if (!resolved.isAbsolute()) {
+            String base = System.getProperty("user.dir");
+            if (base != null && !base.isBlank()) {
+                resolved = Paths.get(base).resolve(resolved);
+            }
+        }
+        return resolved.normalize().toString();
+    }
+
+    private Path resolveH2DatabaseFile(Path basePath) {
+        if (basePath == null) {
+            return null;
+        }
+        String name = basePath.toString();
+        if (name.endsWith(".mv.db") || name.endsWith(".h2.db")) {
+            return Files.exists(basePath) ? basePath : null;
+        }
+
+        Path mv = Paths.get(name + ".mv.db");
+        if (Files.exists(mv)) {
+            return mv;
+        }
+        Path legacy = Paths.get(name + ".h2.db");
+        if (Files.exists(legacy)) {
+            return legacy;
+        }
+        return Files.exists(basePath) ? basePath : null;
+    }
+
+    /**
+     * System and database figures at one point in time.
+     *
+     * @param sampledAt when the sample was taken
+     * @param diskTotalBytes total bytes for the selected filesystem
+     * @param diskFreeBytes available bytes for the selected filesystem
+     * @param ramTotalBytes total physical memory in bytes
+     * @param ramFreeBytes free physical memory in bytes
+     * @param diskPath path used to resolve the filesystem stats
+     * @param dbFileBytes database file size in bytes (null when in-memory or unavailable)
+     * @param dbPath database file path or descriptor (e.g. "in-memory")
+     */
+    public record SystemSample(
+            Instant sampledAt,
+            Long diskTotalBytes,
+            Long diskFreeBytes,
+            Long ramTotalBytes,
+            Long ramFreeBytes,
+            String diskPath,
+            Long dbFileBytes,
+            String dbPath
+    ) {}
+
+    /**
+     * Database location resolved from the connection URL.
+     *
+     * @param basePath H2 database path without extension, {@code null} if not file-based
+     * @param path path or descriptor reported when the file is not found
+     */
+    private record DatabaseLocation(Path basePath, String path) {}
+}
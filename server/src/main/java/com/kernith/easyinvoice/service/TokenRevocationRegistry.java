@@ -0,0 +1,145 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.data.model.UserTokenRevocation;
+import com.kernith.easyinvoice.data.repository.UserTokenRevocationRepository;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * In-memory copy of the per-user "tokens issued before" epochs.
+ *
+ * <p>The {@code user_token_revocations} table is the source of truth. It is loaded once at
+ * startup and then polled incrementally by {@code updated_at}, so revocations written by
+ * other instances are picked up within the refresh interval while
+ * {@link #isRevoked(long, Date)} stays a single map lookup on the request path.</p>
+ *
+ * <p>JWT {@code iat} has second precision, so a token issued in the same second as the
+ * revocation is treated as revoked too. Epochs older than the access-token lifetime can
+ * no longer match a live token and are dropped from memory.</p>
+ */
+@Service
+public class TokenRevocationRegistry {
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+    /** Re-reads rows slightly older than the last sync to tolerate clock skew between writers. */
+    private static final long SYNC_OVERLAP_MS = 2_000;
+
+    private final UserTokenRevocationRepository revocationRepository;
+    private final long accessTokenTtlMs;
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSync;
+
+    /**
+     * Creates the registry.
+     *
+     * @param revocationRepository revocation table repository
+     * @param expMinutes access-token lifetime in minutes
+     */
+    public TokenRevocationRegistry(
+            UserTokenRevocationRepository revocationRepository,
+            @Value("${security.jwt.exp-minutes}") long expMinutes
+    ) {
+        this.revocationRepository = revocationRepository;
+        this.accessTokenTtlMs = TimeUnit.MINUTES.toMillis(expMinutes);
+    }
+
+    /**
+     * Loads every revocation epoch; called once at startup.
+     */
+    @PostConstruct
+    public void loadAll() {
+        LocalDateTime started = LocalDateTime.now();
+        merge(revocationRepository.findAll());
+        lastSync = started;
+    }
+
+    /**
+     * Pulls revocations changed since the last sync and prunes epochs that can no longer
+     * match a live access token.
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.revocation-refresh-ms:5000}")
+    public void refresh() {
+        LocalDateTime started = LocalDateTime.now();
+        LocalDateTime since = lastSync == null
+                ? LocalDateTime.of(1970, 1, 1, 0, 0)
+                : lastSync.minusNanos(TimeUnit.MILLISECONDS.toNanos(SYNC_OVERLAP_MS));
+        try {
+            merge(revocationRepository.findByUpdatedAtAfter(since));
+            lastSync = started;
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh token revocations", e);
+        }
+        long horizon = System.currentTimeMillis() - accessTokenTtlMs - SYNC_OVERLAP_MS;
+        revokedBefore.values().removeIf(epoch -> epoch < horizon);
+    }
+
+    /**
+     * Returns whether a token of the user issued at {@code issuedAt} has been revoked.
+     *
+     * @param userId token subject
+     * @param issuedAt token {@code iat}; tokens without one are revoked if the user has an epoch
+     * @return {@code true} if the token must be rejected
+     */
+    public boolean isRevoked(long userId, Date issuedAt) {
+        Long epoch = revokedBefore.get(userId);
+        if (epoch == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() < epoch;
+    }
+
+    /**
+     * Revokes every token issued to the user so far, on this instance immediately and on
+     * the others at their next refresh.
+     *
+     * @param userId user whose tokens are revoked
+     */
+    @Transactional
+    public void revokeUser(long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        UserTokenRevocation revocation = revocationRepository.findById(userId)
+                .orElseGet(() -> new UserTokenRevocation(userId));
+        revocation.setRevokedBefore(now);
+        revocation.setUpdatedAt(now);
+        revocationRepository.save(revocation);
+        merge(List.of(revocation));
+    }
+
+    /**
+     * Returns when the user's tokens were last revoked, reading the table directly.
+     *
+     * <p>Used for refresh tokens, which outlive the in-memory retention window.</p>
+     *
+     * @param userId user identifier
+     * @return revocation time, or {@code null} if never revoked
+     */
+    public LocalDateTime revokedBefore(long userId) {
+        return revocationRepository.findById(userId)
+                .map(UserTokenRevocation::getRevokedBefore)
+                .orElse(null);
+    }
+
+    /**
+     * Stores epochs rounded up to the next whole second, keeping the newest per user.
+     *
+     * @param revocations rows to merge
+     */
+    private void merge(List<UserTokenRevocation> revocations) {
+        for (UserTokenRevocation revocation : revocations) {
+            long millis = revocation.getRevokedBefore().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            long epoch = (millis / 1000 + 1) * 1000;
+            revokedBefore.merge(revocation.getUserId(), epoch, Math::max);
+        }
+    }
+}
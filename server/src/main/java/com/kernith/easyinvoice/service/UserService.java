@@ -10,10 +10,9 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 
+import com.kernith.easyinvoice.helper.Roles;
 import com.kernith.easyinvoice.helper.Utils;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -24,15 +23,22 @@ import org.springframework.web.server.ResponseStatusException;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final TokenRevocationRegistry revocationRegistry;
+    private final PasswordHasher passwordHasher;
 
     /**
      * Creates the service with repository.
      *
      * @param userRepository user repository
+     * @param revocationRegistry per-user token revocation epochs
+     * @param passwordHasher bounded BCrypt pool
      */
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository,
+                       TokenRevocationRegistry revocationRegistry,
+                       PasswordHasher passwordHasher) {
         this.userRepository = userRepository;
+        this.revocationRegistry = revocationRegistry;
+        this.passwordHasher = passwordHasher;
     }
 
     /**
@@ -47,7 +53,7 @@ public class UserService {
      * @throws ResponseStatusException if validation or authorization fails
      */
     public User createBackofficeUser(CreateBackofficeUserRequest request, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER));   //Only company manager can create back_office users
+        Utils.requireRoles(principal, Roles.MANAGER);   //Only company manager can create back_office users
         Optional<User> optionalUser = getRequiredCurrentUser(principal);
         if (optionalUser.isEmpty()) {
             return null;
@@ -66,7 +72,7 @@ public class UserService {
         User user = new User(currentUser.getCompany());
         user.setEmail(email);
         user.setName(name);
-        user.setPasswordHash(passwordEncoder.encode(request.password()));
+        user.setPasswordHash(passwordHasher.encode(request.password()));
         user.setRole(UserRole.BACK_OFFICE);
         user.setEnabled(true);
 
@@ -99,12 +105,12 @@ public class UserService {
      * @throws ResponseStatusException if authorization fails
      */
     public List<User> listPlatformUsers(AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.PLATFORM_ADMIN));
+        Utils.requireRoles(principal, Roles.PLATFORM_ADMIN);
         return userRepository.findAllByOrderByCompanyIdAscRoleAscEmailAsc();
     }
 
     /**
-     * Disables a user in the current company.
+     * Disables a user in the current company and revokes their tokens.
      *
      * @param userId target user identifier
      * @param principal authenticated principal
@@ -112,7 +118,7 @@ public class UserService {
      * @throws ResponseStatusException if authorization fails
      */
     public Optional<Boolean> disableUser(Long userId, AuthPrincipal principal) {
-        Utils.requireRoles(principal, List.of(UserRole.COMPANY_MANAGER, UserRole.PLATFORM_ADMIN));  //Also Platform_Admin can block a user if bad behaviour or suspected hack is detected
+        Utils.requireRoles(principal, Roles.MANAGER_OR_PLATFORM_ADMIN);  //Also Platform_Admin can block a user if bad behaviour or suspected hack is detected
         Optional<User> optionalUser = getRequiredCurrentUser(principal);
         if (optionalUser.isEmpty()) {
             return Optional.empty();
@@ -127,6 +133,7 @@ public class UserService {
 
         target.get().setEnabled(false);
         userRepository.save(target.get());
+        revocationRegistry.revokeUser(target.get().getId());
         return Optional.of(Boolean.TRUE);
     }
 
@@ -0,0 +1,123 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.dto.dashboard.VatRateSummaryResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.VatSummaryResponse;
+import com.kernith.easyinvoice.data.model.Invoice;
+import com.kernith.easyinvoice.data.model.InvoiceItem;
+import com.kernith.easyinvoice.data.model.InvoiceVatLine;
+import com.kernith.easyinvoice.data.repository.InvoiceVatLineRepository;
+import com.kernith.easyinvoice.helper.Roles;
+import com.kernith.easyinvoice.helper.Utils;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Maintains the per-rate VAT breakdown of invoices and serves period summaries from it.
+ *
+ * <p>The breakdown is rebuilt from the items in the transaction that changes them, so the
+ * PDF and the dashboard read a few rows per invoice instead of every item. Each rate sums
+ * the line amounts already stored on the items, so the breakdown always adds up to the
+ * invoice subtotal and tax.</p>
+ */
+@Service
+public class VatSummaryService {
+
+    private final InvoiceVatLineRepository vatLineRepository;
+
+    /**
+     * Creates the service.
+     *
+     * @param vatLineRepository invoice VAT breakdown repository
+     */
+    public VatSummaryService(InvoiceVatLineRepository vatLineRepository) {
+        this.vatLineRepository = vatLineRepository;
+    }
+
+    /**
+     * Replaces the VAT breakdown of an invoice; must run in the transaction that saved the items.
+     *
+     * @param invoice invoice whose items changed
+     * @param items current items of the invoice
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemsChanged(Invoice invoice, List<InvoiceItem> items) {
+        vatLineRepository.deleteByInvoiceId(invoice.getId());
+        vatLineRepository.saveAll(breakdown(invoice.getId(), items));
+    }
+
+    /**
+     * Returns the VAT breakdown of the current company's invoices issued in a period.
+     *
+     * <p>Only ISSUED, OVERDUE and PAID invoices count: drafts and archived invoices are excluded.</p>
+     *
+     * @param principal authenticated principal
+     * @param from first month of the period, same as {@code to} if {@code null}
+     * @param to last month of the period, the current month if {@code null}
+     * @return per-rate totals of the period
+     * @throws ResponseStatusException if authorization fails or the period is invalid
+     */
+    @Transactional(readOnly = true)
+    public VatSummaryResponse getSummary(AuthPrincipal principal, YearMonth from, YearMonth to) {
+        Utils.requireRoles(principal, Roles.MANAGER);
+        Long companyId = Utils.getRequiredCompanyId(principal);
+        YearMonth last = to == null ? YearMonth.now() : to;
+        YearMonth first = from == null ? last : from;
+        if (last.isBefore(first)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid period");
+        }
+        List<VatRateSummaryResponse> rates = vatLineRepository
+                .sumByTaxRate(companyId, first.atDay(1), last.atEndOfMonth())
+                .stream()
+                .map(VatRateSummaryResponse::from)
+                .toList();
+        return VatSummaryResponse.from(first, last, rates);
+    }
+
+    /**
+     * Groups the items by tax rate, lowest rate first.
+     *
+     * @param invoiceId invoice identifier
+     * @param items invoice items
+     * @return one breakdown row per rate
+     */
+    static List<InvoiceVatLine> breakdown(Long invoiceId, List<InvoiceItem> items) {
+        // TreeMap confronta con compareTo: 22 e 22.00 finiscono nella stessa aliquota
+        Map<BigDecimal, BigDecimal[]> byRate = new TreeMap<>();
+        if (items != null) {
+            for (InvoiceItem item : items) {
+                if (item == null) {
+                    continue;
+                }
+                BigDecimal rate = item.getTaxRate() == null ? BigDecimal.ZERO : item.getTaxRate();
+                BigDecimal[] sums = byRate.computeIfAbsent(rate, r -> new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO});
+                sums[0] = sums[0].add(amount(item.getLineSubtotalAmount()));
+                sums[1] = sums[1].add(amount(item.getLineTaxAmount()));
+            }
+        }
+        List<InvoiceVatLine> lines = new ArrayList<>(byRate.size());
+        for (Map.Entry<BigDecimal, BigDecimal[]> entry : byRate.entrySet()) {
+            lines.add(new InvoiceVatLine(
+                    invoiceId,
+                    entry.getKey().setScale(2, RoundingMode.HALF_UP),
+                    entry.getValue()[0].setScale(2, RoundingMode.HALF_UP),
+                    entry.getValue()[1].setScale(2, RoundingMode.HALF_UP)
+            ));
+        }
+        return lines;
+    }
+
+    private static BigDecimal amount(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+}
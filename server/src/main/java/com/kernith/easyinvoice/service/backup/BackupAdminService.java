@@ -0,0 +1,168 @@
+package com.kernith.easyinvoice.service.backup;
+
+import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.dto.backup.BackupDownload;
+import com.kernith.easyinvoice.data.dto.backup.BackupFileResponse;
+import com.kernith.easyinvoice.data.dto.backup.BackupProgressResponse;
+import com.kernith.easyinvoice.data.dto.backup.BackupRestoreResponse;
+import com.kernith.easyinvoice.data.dto.backup.BackupThrottleResponse;
+import com.kernith.easyinvoice.data.dto.backup.UpdateBackupThrottleRequest;
+import com.kernith.easyinvoice.data.repository.CompanyRepository;
+import com.kernith.easyinvoice.helper.Roles;
+import com.kernith.easyinvoice.helper.Utils;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Platform admin operations on the backup pipeline.
+ */
+@Service
+public class BackupAdminService {
+
+    private final BackupThrottle backupThrottle;
+    private final BackupService backupService;
+    private final BackupScheduler backupScheduler;
+    private final BackupProgress backupProgress;
+    private final CompanyRepository companyRepository;
+
+    /**
+     * Creates the service with the backup components it controls.
+     *
+     * @param backupThrottle shared backup I/O throttle
+     * @param backupService backup service
+     * @param backupScheduler scheduler running backup passes
+     * @param backupProgress live progress of the current run
+     * @param companyRepository company repository
+     */
+    public BackupAdminService(
+            BackupThrottle backupThrottle,
+            BackupService backupService,
+            BackupScheduler backupScheduler,
+            BackupProgress backupProgress,
+            CompanyRepository companyRepository
+    ) {
+        this.backupThrottle = backupThrottle;
+        this.backupService = backupService;
+        this.backupScheduler = backupScheduler;
+        this.backupProgress = backupProgress;
+        this.companyRepository = companyRepository;
+    }
+
+    /**
+     * Starts an on-demand backup of one company or of all companies.
+     *
+     * <p>Lifecycle: validate platform admin, ensure the company exists, start the run in the
+     * background and log who requested it.</p>
+     *
+     * @param companyId company identifier, or {@code null} for all companies
+     * @param principal authenticated principal
+     * @return {@code false} if the company does not exist
+     * @throws ResponseStatusException if authorization fails or a run is already in progress
+     */
+    public boolean startBackup(Long companyId, AuthPrincipal principal) {
+        Utils.requireRoles(principal, Roles.PLATFORM_ADMIN);
+        if (companyId != null && !companyRepository.existsById(companyId)) {
+            return false;
+        }
+        if (!backupScheduler.triggerBackup(companyId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Backup already running");
+        }
+        backupService.logEvent("On-demand backup of " + (companyId == null ? "all companies" : "company " + companyId)
+                + " requested by user " + principal.userId());
+        return true;
+    }
+
+    /**
+     * Returns the progress of the current or last backup run.
+     *
+     * @param principal authenticated principal
+     * @return progress, or empty if no run has started since boot
+     * @throws ResponseStatusException if authorization fails
+     */
+    public Optional<BackupProgressResponse> getProgress(AuthPrincipal principal) {
+        Utils.requireRoles(principal, Roles.PLATFORM_ADMIN);
+        return Optional.ofNullable(backupProgress.snapshot())
+                .map(BackupProgressResponse::from);
+    }
+
+    /**
+     * Lists the backup files kept for a company, newest first.
+     *
+     * @param companyId company identifier
+     * @param principal authenticated principal
+     * @return backup files, or empty if the company does not exist
+     * @throws ResponseStatusException if authorization fails
+     */
+    public Optional<List<BackupFileResponse>> listBackups(Long companyId, AuthPrincipal principal) {
+        Utils.requireRoles(principal, Roles.PLATFORM_ADMIN);
+        if (!companyRepository.existsById(companyId)) {
+            return Optional.empty();
+        }
+        return Optional.of(backupService.listBackups(companyId)
+                .stream()
+                .map(BackupFileResponse::from)
+                .toList());
+    }
+
+    /**
+     * Opens one of the company's backup files for download.
+     *
+     * @param companyId company identifier
+     * @param fileName file name as listed
+     * @param principal authenticated principal
+     * @return backup file resource, or empty if the company has no such backup
+     * @throws ResponseStatusException if authorization fails
+     */
+    public Optional<BackupDownload> downloadBackup(Long companyId, String fileName, AuthPrincipal principal) {
+        Utils.requireRoles(principal, Roles.PLATFORM_ADMIN);
+        return backupService.findBackup(companyId, fileName)
+                .map(file -> new BackupDownload(file.name(), new FileSystemResource(file.path())));
+    }
+
+    /**
+     * Returns the current throttle rate and counters.
+     *
+     * @param principal authenticated principal
+     * @return throttle snapshot
+     * @throws ResponseStatusException if authorization fails
+     */
+    public BackupThrottleResponse getThrottle(AuthPrincipal principal) {
+        Utils.requireRoles(principal, Roles.PLATFORM_ADMIN);
+        return BackupThrottleResponse.from(backupThrottle.stats());
+    }
+
+    /**
+     * Changes the backup I/O rate; running workers pick it up on their next chunk.
+     *
+     * @param request new rate
+     * @param principal authenticated principal
+     * @return throttle snapshot after the change
+     * @throws ResponseStatusException if authorization fails
+     */
+    public BackupThrottleResponse updateThrottle(UpdateBackupThrottleRequest request, AuthPrincipal principal) {
+        Utils.requireRoles(principal, Roles.PLATFORM_ADMIN);
+        backupThrottle.setBytesPerSecond(request.bytesPerSecond());
+        backupService.logEvent("Backup throttle set to " + request.bytesPerSecond() + " bytes/s by user " + principal.userId());
+        return BackupThrottleResponse.from(backupThrottle.stats());
+    }
+
+    /**
+     * Restores a company's PDFs as of a point in time into the backup restore area.
+     *
+     * @param companyId company identifier
+     * @param at point in time, or {@code null} for the latest run
+     * @param principal authenticated principal
+     * @return restore outcome, or empty if no backup exists at or before {@code at}
+     * @throws ResponseStatusException if authorization fails
+     */
+    public Optional<BackupRestoreResponse> restoreCompany(Long companyId, LocalDateTime at, AuthPrincipal principal) {
+        Utils.requireRoles(principal, Roles.PLATFORM_ADMIN);
+        return backupService.restoreCompany(companyId, at)
+                .map(restored -> BackupRestoreResponse.from(companyId, restored));
+    }
+}
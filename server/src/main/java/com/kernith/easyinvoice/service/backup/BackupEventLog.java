@@ -0,0 +1,292 @@
+package com.kernith.easyinvoice.service.backup;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asynchronous append-only writer for the backup debug log.
+ *
+ * <p>Callers only offer lines to a bounded ring buffer; a single daemon thread drains it
+ * in batches onto a kept-open {@link FileChannel}, forces it to disk periodically and
+ * rotates the file when it grows past the configured size. When the buffer is full the
+ * line is dropped and counted instead of blocking the caller.</p>
+ */
+@Component
+public class BackupEventLog {
+    private static final Logger log = LoggerFactory.getLogger(BackupEventLog.class);
+    private static final String LOG_FILE_NAME = "backup-debug.log";
+    private static final int BUFFER_CAPACITY = 4096;
+    private static final int MAX_BATCH = 256;
+    private static final int KEEP_ROTATED = 3;
+
+    private final Path logDir;
+    private final Path logFile;
+    private final long maxBytes;
+    private final long flushIntervalMs;
+    private final BlockingQueue<String> buffer = new ArrayBlockingQueue<>(BUFFER_CAPACITY);
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    // Lock esplicito invece di synchronized/wait: flush() non blocca il carrier dei virtual thread
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final Condition drained = drainLock.newCondition();
+    private final Thread writer;
+
+    private FileChannel channel;
+    private long lastForce = System.currentTimeMillis();
+    private volatile boolean closed = false;
+
+    /**
+     * Creates the log and starts its writer thread.
+     *
+     * @param storageRoot base storage directory
+     * @param maxBytes size after which the log file is rotated
+     * @param flushIntervalMs interval between forced flushes to disk
+     */
+    public BackupEventLog(
+            @Value("${storage.root:storage}") String storageRoot,
+            @Value("${backup.log.max-bytes:10485760}") long maxBytes,
+            @Value("${backup.log.flush-ms:1000}") long flushIntervalMs
+    ) {
+        this.logDir = Paths.get(storageRoot).toAbsolutePath().normalize().resolve("backup").normalize();
+        this.logFile = this.logDir.resolve(LOG_FILE_NAME);
+        this.maxBytes = Math.max(1024, maxBytes);
+        this.flushIntervalMs = Math.max(10, flushIntervalMs);
+        this.writer = new Thread(this::drainLoop, "backup-event-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Offers a line to the buffer without blocking.
+     *
+     * @param line formatted log line (without line separator)
+     */
+    public void append(String line) {
+        if (line == null || closed) {
+            return;
+        }
+        if (buffer.offer(line)) {
+            accepted.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Waits until every line accepted so far has been written to the channel.
+     *
+     * @param timeoutMs maximum wait time in milliseconds
+     * @return {@code true} if the buffer was drained in time
+     */
+    public boolean flush(long timeoutMs) {
+        long target = accepted.get();
+        long end = System.currentTimeMillis() + timeoutMs;
+        drainLock.lock();
+        try {
+            while (written.get() < target) {
+                long left = end - System.currentTimeMillis();
+                if (left <= 0 || !writer.isAlive()) {
+                    return false;
+                }
+                try {
+                    drained.await(left, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        } finally {
+            drainLock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of lines dropped because the buffer was full.
+     *
+     * @return dropped line count
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the path of the active log file.
+     *
+     * @return log file path
+     */
+    public Path getLogFile() {
+        return logFile;
+    }
+
+    /**
+     * Drains pending lines, stops the writer thread and closes the channel.
+     */
+    @PreDestroy
+    public void close() {
+        flush(5_000);
+        closed = true;
+        try {
+            writer.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writer loop: waits for lines, writes them in batches and forces periodically.
+     */
+    private void drainLoop() {
+        List<String> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (!closed) {
+                String first;
+                try {
+                    first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch, MAX_BATCH - 1);
+                    writeBatch(batch);
+                    batch.clear();
+                }
+                forceIfDue();
+            }
+            buffer.drainTo(batch);
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+            }
+        } finally {
+            closeChannel();
+        }
+    }
+
+    /**
+     * Writes a batch of lines, rotating the file first if it would exceed the size limit.
+     *
+     * @param batch lines to write
+     */
+    private void writeBatch(List<String> batch) {
+        StringBuilder sb = new StringBuilder(batch.size() * 96);
+        for (String line : batch) {
+            sb.append(line).append(System.lineSeparator());
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            FileChannel ch = openChannel();
+            if (ch.size() > 0 && ch.size() + bytes.remaining() > maxBytes) {
+                rotate();
+                ch = openChannel();
+            }
+            while (bytes.hasRemaining()) {
+                ch.write(bytes);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write backup log file: {}", logFile, e);
+            closeChannel();
+        } finally {
+            written.addAndGet(batch.size());
+            drainLock.lock();
+            try {
+                drained.signalAll();
+            } finally {
+                drainLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Opens the log channel in append mode if it is not already open.
+     *
+     * @return open channel
+     * @throws IOException if the file cannot be opened
+     */
+    private FileChannel openChannel() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            Files.createDirectories(logDir);
+            channel = FileChannel.open(
+                    logFile,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND
+            );
+        }
+        return channel;
+    }
+
+    /**
+     * Shifts rotated files by one ({@code .1} to {@code .2}, ...) and moves the active file to {@code .1}.
+     *
+     * @throws IOException if files cannot be moved
+     */
+    private void rotate() throws IOException {
+        closeChannel();
+        Files.deleteIfExists(rotated(KEEP_ROTATED));
+        for (int i = KEEP_ROTATED - 1; i >= 1; i--) {
+            Path source = rotated(i);
+            if (Files.exists(source)) {
+                Files.move(source, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(logFile, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rotated(int index) {
+        return logDir.resolve(LOG_FILE_NAME + "." + index);
+    }
+
+    /**
+     * Forces written data to disk when the flush interval has elapsed.
+     */
+    private void forceIfDue() {
+        long now = System.currentTimeMillis();
+        if (channel == null || !channel.isOpen() || now - lastForce < flushIntervalMs) {
+            return;
+        }
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            log.warn("Failed to flush backup log file: {}", logFile, e);
+        }
+        lastForce = now;
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (channel.isOpen()) {
+                channel.force(false);
+            }
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close backup log file: {}", logFile, e);
+        }
+        channel = null;
+    }
+}
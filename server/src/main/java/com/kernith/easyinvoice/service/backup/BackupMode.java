@@ -0,0 +1,11 @@
+package com.kernith.easyinvoice.service.backup;
+
+/**
+ * How company backups are written.
+ */
+public enum BackupMode {
+    /** One self-contained ZIP of every PDF per run. */
+    ZIP,
+    /** Content-addressed blobs plus a per-run manifest; only new content is stored. */
+    DEDUP
+}
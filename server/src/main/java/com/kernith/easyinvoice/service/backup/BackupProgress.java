@@ -0,0 +1,193 @@
+package com.kernith.easyinvoice.service.backup;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live progress of the current (or last) backup run.
+ *
+ * <p>The scheduler opens a run, each company reports its file count and byte total once it
+ * has been scanned, and every copied file advances the counters. Updates are lock-free so
+ * workers never contend on reporting; calls outside a run are ignored.</p>
+ *
+ * <p>The ETA extrapolates the byte total of companies not yet scanned from the average of
+ * the scanned ones and divides what is left by the observed throughput.</p>
+ */
+@Component
+public class BackupProgress {
+
+    private volatile Run current;
+
+    /**
+     * Opens a new run, replacing the previous one.
+     *
+     * @param trigger what started the run (for example {@code scheduled} or {@code manual})
+     * @param companies number of companies that will be backed up
+     */
+    public void startRun(String trigger, int companies) {
+        current = new Run(trigger, companies);
+    }
+
+    /**
+     * Registers the work found for one company.
+     *
+     * @param files number of files to back up
+     * @param bytes total size of those files
+     */
+    public void companyScanned(int files, long bytes) {
+        Run run = activeRun();
+        if (run == null) {
+            return;
+        }
+        run.companiesScanned.incrementAndGet();
+        run.filesTotal.addAndGet(files);
+        run.bytesTotal.addAndGet(bytes);
+    }
+
+    /**
+     * Records one processed file.
+     *
+     * @param bytes file size
+     */
+    public void fileDone(long bytes) {
+        Run run = activeRun();
+        if (run == null) {
+            return;
+        }
+        run.filesDone.incrementAndGet();
+        run.bytesDone.addAndGet(bytes);
+    }
+
+    /**
+     * Records the end of one company's backup.
+     *
+     * @param success whether the company was backed up without errors
+     */
+    public void companyFinished(boolean success) {
+        Run run = activeRun();
+        if (run == null) {
+            return;
+        }
+        run.companiesDone.incrementAndGet();
+        if (!success) {
+            run.companiesFailed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Closes the current run; its counters stay available until the next run starts.
+     */
+    public void finishRun() {
+        Run run = activeRun();
+        if (run != null) {
+            run.finishedNanos = System.nanoTime();
+            run.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * Returns the progress of the current or last run.
+     *
+     * @return progress snapshot, or {@code null} if no run has started since boot
+     */
+    public Snapshot snapshot() {
+        Run run = current;
+        if (run == null) {
+            return null;
+        }
+        boolean running = run.finishedAt == null;
+        long end = running ? System.nanoTime() : run.finishedNanos;
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(end - run.startNanos));
+        long bytesDone = run.bytesDone.get();
+        long bytesTotal = run.bytesTotal.get();
+        long bytesPerSecond = bytesDone * 1000 / elapsedMs;
+
+        Long etaSeconds = running ? null : 0L;
+        int scanned = run.companiesScanned.get();
+        if (running && scanned > 0 && bytesPerSecond > 0) {
+            int unscanned = Math.max(0, run.companiesTotal - scanned);
+            long estimatedTotal = bytesTotal + unscanned * (bytesTotal / scanned);
+            long remaining = Math.max(0, estimatedTotal - bytesDone);
+            etaSeconds = (remaining + bytesPerSecond - 1) / bytesPerSecond;
+        }
+
+        return new Snapshot(
+                run.trigger,
+                running,
+                run.startedAt,
+                run.finishedAt,
+                run.companiesTotal,
+                run.companiesDone.get(),
+                run.companiesFailed.get(),
+                run.filesTotal.get(),
+                run.filesDone.get(),
+                bytesTotal,
+                bytesDone,
+                bytesPerSecond,
+                etaSeconds
+        );
+    }
+
+    private Run activeRun() {
+        Run run = current;
+        return run == null || run.finishedAt != null ? null : run;
+    }
+
+    private static final class Run {
+        private final String trigger;
+        private final int companiesTotal;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger companiesScanned = new AtomicInteger();
+        private final AtomicInteger companiesDone = new AtomicInteger();
+        private final AtomicInteger companiesFailed = new AtomicInteger();
+        private final AtomicLong filesTotal = new AtomicLong();
+        private final AtomicLong filesDone = new AtomicLong();
+        private final AtomicLong bytesTotal = new AtomicLong();
+        private final AtomicLong bytesDone = new AtomicLong();
+        private volatile long finishedNanos;
+        private volatile LocalDateTime finishedAt;
+
+        private Run(String trigger, int companiesTotal) {
+            this.trigger = trigger;
+            this.companiesTotal = companiesTotal;
+        }
+    }
+
+    /**
+     * Progress of a backup run.
+     *
+     * @param trigger what started the run
+     * @param running whether the run is still in progress
+     * @param startedAt run start time
+     * @param finishedAt run end time, or {@code null} while running
+     * @param companiesTotal companies included in the run
+     * @param companiesDone companies finished, successfully or not
+     * @param companiesFailed companies whose backup failed
+     * @param filesTotal files found in the companies scanned so far
+     * @param filesDone files processed
+     * @param bytesTotal bytes found in the companies scanned so far
+     * @param bytesDone bytes processed
+     * @param bytesPerSecond average throughput since the run started
+     * @param etaSeconds estimated seconds left, or {@code null} while unknown
+     */
+    public record Snapshot(
+            String trigger,
+            boolean running,
+            LocalDateTime startedAt,
+            LocalDateTime finishedAt,
+            int companiesTotal,
+            int companiesDone,
+            int companiesFailed,
+            long filesTotal,
+            long filesDone,
+            long bytesTotal,
+            long bytesDone,
+            long bytesPerSecond,
+            Long etaSeconds
+    ) {}
+}
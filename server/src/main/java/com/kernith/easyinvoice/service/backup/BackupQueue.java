@@ -4,26 +4,38 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayDeque;
-import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Simple in-memory queue for scheduling company backups.
+ *
+ * <p>Backed by a {@link BlockingQueue} rather than {@code synchronized}/{@code wait}, so a
+ * worker waiting for work does not pin its carrier when running on a virtual thread.</p>
  */
 @Component
 public class BackupQueue {
     private static final Logger log = LoggerFactory.getLogger(BackupQueue.class);
-    private final Queue<Long> companyIds = new ArrayDeque<>();
+    private final BlockingQueue<Long> companyIds = new LinkedBlockingQueue<>();
 
     /**
      * Enqueues a company id for backup.
      *
      * @param id company identifier
      */
-    synchronized void enqueue(Long id) {
+    void enqueue(Long id) {
         if (id == null) { return; }
         companyIds.add(id);
-        notifyAll();
+    }
+
+    /**
+     * Dequeues a company id without waiting.
+     *
+     * @return company id or null if the queue is empty
+     */
+    Long poll() {
+        return companyIds.poll();
     }
 
     /**
@@ -32,18 +44,12 @@ public class BackupQueue {
      * @param timeoutMs maximum wait time in milliseconds
      * @return company id or null if timed out or interrupted
      */
-    synchronized Long dequeue(long timeoutMs) {
-        long end = System.currentTimeMillis() + timeoutMs;
-        while (companyIds.isEmpty()) {
-            long left = end - System.currentTimeMillis();
-            if (left <= 0) return null;
-            try {
-                wait(left);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return null;
-            }
+    Long dequeue(long timeoutMs) {
+        try {
+            return companyIds.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
         }
-        return companyIds.poll();
     }
 }
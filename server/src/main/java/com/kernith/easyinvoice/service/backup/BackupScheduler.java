@@ -1,18 +1,29 @@
 package com.kernith.easyinvoice.service.backup;
 
+import com.kernith.easyinvoice.data.model.Company;
 import com.kernith.easyinvoice.data.repository.CompanyRepository;
+import com.kernith.easyinvoice.helper.WorkerThreads;
+import com.kernith.easyinvoice.service.StorageUsageService;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Scheduled job that enqueues company backups and runs workers.
+ * Scheduled and on-demand job that enqueues company backups and runs workers.
+ *
+ * <p>Workers and the on-demand runner are virtual threads when
+ * {@code spring.threads.virtual.enabled} is set on Java 21+, see {@link WorkerThreads}.</p>
  */
 @Configuration
 @EnableScheduling
@@ -22,7 +33,12 @@ public class BackupScheduler {
     private final CompanyRepository companyRepository;
     private final BackupQueue backupQueue;
     private final BackupService backupService;
+    private final DatabaseSnapshotService snapshotService;
+    private final BackupProgress backupProgress;
+    private final StorageUsageService storageUsageService;
     private final AtomicBoolean running = new AtomicBoolean(false);
+    private final ThreadFactory workerThreads;
+    private final ExecutorService onDemandExecutor;
 
     /**
      * Creates the scheduler with required dependencies.
@@ -30,22 +46,34 @@ public class BackupScheduler {
      * @param companyRepository company repository
      * @param backupQueue backup queue
      * @param backupService backup service
+     * @param snapshotService database snapshot service
+     * @param backupProgress live progress of the current run
+     * @param storageUsageService per-company storage counters, updated after each run
+     * @param virtualThreads whether workers should run on virtual threads
      */
     public BackupScheduler(
             CompanyRepository companyRepository,
             BackupQueue backupQueue,
-            BackupService backupService
+            BackupService backupService,
+            DatabaseSnapshotService snapshotService,
+            BackupProgress backupProgress,
+            StorageUsageService storageUsageService,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
     ) {
         this.companyRepository = companyRepository;
         this.backupQueue = backupQueue;
         this.backupService = backupService;
+        this.snapshotService = snapshotService;
+        this.backupProgress = backupProgress;
+        this.storageUsageService = storageUsageService;
+        this.workerThreads = WorkerThreads.factory("backup-worker", virtualThreads);
+        this.onDemandExecutor = Executors.newSingleThreadExecutor(WorkerThreads.factory("backup-on-demand", virtualThreads));
     }
 
     /**
      * Schedules weekly backups by enqueuing all companies and starting workers.
      *
-     * <p>Lifecycle: guard against overlapping runs, enqueue companies, start workers,
-     * then await completion.</p>
+     * <p>Lifecycle: guard against overlapping runs, then run the backup of every company.</p>
      */
     @Scheduled(cron = "${backup.cron:0 0 2 ? * SUN}", zone = "${backup.zone:Europe/Rome}")
     public void scheduleWeeklyBackups() {
@@ -54,23 +82,83 @@ public class BackupScheduler {
             backupService.logEvent("Backup scheduler skipped: previous run still in progress.");
             return;
         }
+        runBackups("scheduled", null);
+    }
+
+    /**
+     * Starts an on-demand backup in the background.
+     *
+     * <p>Shares the overlap guard with the scheduled run, so at most one run of either
+     * kind is in progress. Progress is reported through {@link BackupProgress}.</p>
+     *
+     * @param companyId company to back up, or {@code null} for all companies
+     * @return {@code true} if the run was started, {@code false} if another run is in progress
+     */
+    public boolean triggerBackup(Long companyId) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            onDemandExecutor.execute(() -> runBackups("manual", companyId));
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            throw new IllegalStateException("Backup executor is shut down", e);
+        }
+        return true;
+    }
 
+    /**
+     * Returns whether a backup run is in progress.
+     *
+     * @return {@code true} while a scheduled or on-demand run is active
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Stops the on-demand executor; a run in progress is interrupted.
+     */
+    @PreDestroy
+    public void shutdown() {
+        onDemandExecutor.shutdownNow();
+    }
+
+    /**
+     * Runs one backup pass; the caller must have set {@code running}.
+     *
+     * <p>Lifecycle: enqueue companies, start workers (which exit once the queue is drained), snapshot the database (or only the
+     * requested company's rows) while workers copy PDFs, await completion, collect garbage, measure the backups of the companies,
+     * then release the overlap guard.</p>
+     *
+     * @param trigger what started the run, for logs and progress
+     * @param companyId single company to back up, or {@code null} for all companies
+     */
+    private void runBackups(String trigger, Long companyId) {
         ExecutorService pool = null;
+        List<Long> companyIds = List.of();
         try {
-            var companies = companyRepository.findAllByOrderByNameAsc();
-            backupService.logEvent("Backup scheduler started. Companies: " + companies.size());
-            log.info("Backup scheduler started. Companies: {}", companies.size());
+            companyIds = companyId != null
+                    ? List.of(companyId)
+                    : companyRepository.findAllByOrderByNameAsc().stream().map(Company::getId).toList();
+            backupService.logEvent("Backup scheduler started (" + trigger + "). Companies: " + companyIds.size());
+            log.info("Backup scheduler started ({}). Companies: {}", trigger, companyIds.size());
+            backupProgress.startRun(trigger, companyIds.size());
+
+            // Tutte le aziende sono in coda prima dell'avvio dei worker: un worker che trova
+            // la coda vuota può terminare subito
+            for (Long id : companyIds) {
+                backupQueue.enqueue(id);
+            }
 
-            int n = Math.min(Math.max(1, companies.size() / 10), 10);
-            pool = Executors.newFixedThreadPool(n);
+            int n = Math.min(Math.max(1, companyIds.size() / 10), 10);
+            pool = Executors.newFixedThreadPool(n, workerThreads);
 
             for (int i = 0; i < n; i++) {
-                pool.submit(new BackupWorker(backupQueue, backupService));
+                pool.submit(new BackupWorker(backupQueue, backupService, snapshotService));
             }
 
-            for (var company : companies) {
-                backupQueue.enqueue(company.getId());
-            }
+            snapshotDatabase(companyId);
         } finally {
             if (pool != null) {
                 pool.shutdown();
@@ -82,8 +170,53 @@ public class BackupScheduler {
                     pool.shutdownNow();
                     Thread.currentThread().interrupt();
                 }
+                if (pool.isTerminated()) {
+                    backupService.collectGarbage();
+                    recordBackupSizes(companyIds);
+                }
             }
+            backupProgress.finishRun();
             running.set(false);
         }
     }
+
+    /**
+     * Takes the database part of a run.
+     *
+     * <p>A run for all companies snapshots the whole database; a single-company run only
+     * exports that company's rows, which the worker already does when per-company exports
+     * are enabled.</p>
+     *
+     * @param companyId single company of the run, or {@code null} for all companies
+     */
+    private void snapshotDatabase(Long companyId) {
+        if (!snapshotService.isEnabled()) {
+            return;
+        }
+        try {
+            if (companyId == null) {
+                snapshotService.snapshot();
+            } else if (!snapshotService.isPerCompany()) {
+                snapshotService.exportCompany(companyId);
+            }
+        } catch (Exception e) {
+            log.error("Database snapshot failed", e);
+        }
+    }
+
+    /**
+     * Stores the backup size of each company; a failure only delays the figures until the
+     * next storage reconciliation.
+     *
+     * @param companyIds companies of the run
+     */
+    private void recordBackupSizes(List<Long> companyIds) {
+        for (Long id : companyIds) {
+            try {
+                storageUsageService.backupsChanged(id);
+            } catch (RuntimeException e) {
+                log.warn("Could not measure backups of company {}", id, e);
+            }
+        }
+    }
 }
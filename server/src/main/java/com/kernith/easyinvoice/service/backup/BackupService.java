@@ -6,49 +6,80 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 /**
- * Creates PDF backups for a company by zipping its stored documents.
+ * Creates PDF backups for a company, either as a ZIP per run or into the
+ * deduplicated {@link ContentAddressedBackupStore} depending on {@link BackupMode}.
  */
 @Service
 public class BackupService {
     private static final Logger log = LoggerFactory.getLogger(BackupService.class);
     private static final DateTimeFormatter TS_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    private static final int COPY_CHUNK = 64 * 1024;
+    private static final Pattern NAME_TIMESTAMP = Pattern.compile("_(\\d{8}_\\d{6})\\.");
 
     private final Path storageRoot;
     private final Path backupRoot;
-    private final Path backupLogFile;
-    private final Object logLock = new Object();
+    private final BackupMode mode;
+    private final BackupEventLog eventLog;
+    private final BackupThrottle throttle;
+    private final ContentAddressedBackupStore dedupStore;
+    private final BackupProgress progress;
 
     /**
      * Creates the service and resolves storage paths.
      *
      * @param storageRoot base storage directory
+     * @param mode backup output mode
+     * @param eventLog asynchronous backup debug log
+     * @param throttle shared byte-rate limiter for backup I/O
+     * @param dedupStore content-addressed store used in {@link BackupMode#DEDUP} mode
+     * @param progress live progress of the current backup run
      */
-    public BackupService(@Value("${storage.root:storage}") String storageRoot) {
+    public BackupService(
+            @Value("${storage.root:storage}") String storageRoot,
+            @Value("${backup.mode:ZIP}") BackupMode mode,
+            BackupEventLog eventLog,
+            BackupThrottle throttle,
+            ContentAddressedBackupStore dedupStore,
+            BackupProgress progress
+    ) {
         this.storageRoot = Paths.get(storageRoot).toAbsolutePath().normalize();
         this.backupRoot = this.storageRoot.resolve("backup").normalize();
-        this.backupLogFile = this.backupRoot.resolve("backup-debug.log");
+        this.mode = mode;
+        this.eventLog = eventLog;
+        this.throttle = throttle;
+        this.dedupStore = dedupStore;
+        this.progress = progress;
     }
 
     /**
-     * Builds a ZIP archive of all PDFs for a company.
+     * Backs up all PDFs for a company.
      *
-     * <p>Lifecycle: validate input, resolve company path, gather PDFs, zip, and log.</p>
+     * <p>Lifecycle: validate input, resolve company path, then either zip the PDFs or store
+     * new blobs and a manifest, log, and report the company as finished to {@link BackupProgress}.</p>
      *
      * @param companyId company identifier
-     * @return output ZIP path or null if company folder is missing
+     * @return output ZIP or manifest path, or null if company folder is missing
      * @throws IllegalArgumentException if companyId is null
      * @throws IllegalStateException if backup creation fails
      */
@@ -57,6 +88,72 @@ public class BackupService {
             throw new IllegalArgumentException("CompanyId is required for backup");
         }
 
+        boolean success = false;
+        try {
+            Path output = runBackup(companyId);
+            success = true;
+            return output;
+        } finally {
+            progress.companyFinished(success);
+        }
+    }
+
+    /**
+     * Lists the backup files kept for a company, newest first.
+     *
+     * <p>Covers ZIP archives, deduplicated-store manifests and per-company database exports.</p>
+     *
+     * @param companyId company identifier
+     * @return backup files
+     * @throws IllegalArgumentException if companyId is null
+     * @throws IllegalStateException if a backup directory cannot be listed
+     */
+    public List<BackupFile> listBackups(Long companyId) {
+        if (companyId == null) {
+            throw new IllegalArgumentException("CompanyId is required to list backups");
+        }
+        try {
+            List<BackupFile> files = new ArrayList<>();
+            collectBackupFiles(resolveBackupDir(companyId), "backup_", "ZIP", files);
+            for (Path manifest : dedupStore.listManifests(companyId)) {
+                files.add(toBackupFile(manifest, "MANIFEST"));
+            }
+            Path exportDir = backupRoot.resolve("db").resolve("companies").resolve(companyId.toString()).normalize();
+            collectBackupFiles(exportDir, "db_", "DATABASE", files);
+            files.sort(Comparator.comparing(BackupFile::createdAt).reversed());
+            return files;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to list backups for company " + companyId, e);
+        }
+    }
+
+    /**
+     * Finds one of the company's backup files by name.
+     *
+     * <p>Only names returned by {@link #listBackups(Long)} resolve, so the lookup cannot
+     * escape the company's backup directories.</p>
+     *
+     * @param companyId company identifier
+     * @param fileName file name as listed
+     * @return backup file, or empty if the company has no such backup
+     */
+    public Optional<BackupFile> findBackup(Long companyId, String fileName) {
+        if (fileName == null) {
+            return Optional.empty();
+        }
+        return listBackups(companyId).stream()
+                .filter(file -> file.name().equals(fileName))
+                .findFirst();
+    }
+
+    /**
+     * Performs the backup of one company.
+     *
+     * @param companyId company identifier
+     * @return output ZIP or manifest path, or null if company folder is missing
+     * @throws IllegalStateException if backup creation fails
+     */
+    private Path runBackup(Long companyId) {
         LocalDateTime now = LocalDateTime.now();
         Path companyRoot = resolveCompanyRoot(companyId);
         logEvent("Starting backup for company " + companyId + " from " + companyRoot);
@@ -64,9 +161,14 @@ public class BackupService {
         if (!Files.exists(companyRoot)) {
             logEvent("Company folder not found for company " + companyId + ": " + companyRoot);
             log.warn("Company folder missing: {}", companyRoot);
+            progress.companyScanned(0, 0);
             return null;
         }
 
+        if (mode == BackupMode.DEDUP) {
+            return backupCompanyDedup(companyId, companyRoot, now);
+        }
+
         Path outputDir = resolveBackupDir(companyId);
         String filename = "backup_" + now.format(TS_FORMAT) + ".zip";
         Path outputFile = outputDir.resolve(filename);
@@ -83,26 +185,91 @@ public class BackupService {
         }
     }
 
+    /**
+     * Restores a company's PDFs as of a point in time from the deduplicated store.
+     *
+     * <p>Files are written under {@code backup/restore/{companyId}/{timestamp}} and never
+     * over the live storage tree; copying them back is an explicit operator step.</p>
+     *
+     * @param companyId company identifier
+     * @param at point in time, or {@code null} for the latest run
+     * @return restore result, or empty if no manifest exists at or before {@code at}
+     * @throws IllegalArgumentException if companyId is null
+     * @throws IllegalStateException if restoring fails
+     */
+    public Optional<RestoredBackup> restoreCompany(Long companyId, LocalDateTime at) {
+        if (companyId == null) {
+            throw new IllegalArgumentException("CompanyId is required for restore");
+        }
+        Path targetDir = backupRoot.resolve("restore")
+                .resolve(companyId.toString())
+                .resolve(LocalDateTime.now().format(TS_FORMAT));
+        try {
+            Optional<ContentAddressedBackupStore.RestoreResult> result = dedupStore.restore(companyId, at, targetDir);
+            if (result.isEmpty()) {
+                logEvent("Restore for company " + companyId + " found no manifest at or before " + at);
+                return Optional.empty();
+            }
+            logEvent("Restore completed for company " + companyId + " from " + result.get().manifest()
+                    + ". Files: " + result.get().files() + ". Output: " + targetDir);
+            return Optional.of(new RestoredBackup(result.get().createdAt(), result.get().files(), targetDir));
+        } catch (IOException e) {
+            logEvent("Restore failed for company " + companyId + ". Error: " + e.getMessage());
+            throw new IllegalStateException("Failed to restore backup for company " + companyId, e);
+        }
+    }
+
+    /**
+     * Applies manifest retention and deletes unreferenced blobs; no-op in {@link BackupMode#ZIP} mode.
+     *
+     * <p>Must run after all workers have finished so no run is writing blobs concurrently.</p>
+     */
+    public void collectGarbage() {
+        if (mode != BackupMode.DEDUP) {
+            return;
+        }
+        try {
+            ContentAddressedBackupStore.GcResult gc = dedupStore.collectGarbage();
+            logEvent("Backup GC removed " + gc.removedManifests() + " manifests and " + gc.removedBlobs()
+                    + " blobs (" + gc.removedBytes() + " bytes). Live blobs: " + gc.liveBlobs());
+        } catch (IOException e) {
+            logEvent("Backup GC failed. Error: " + e.getMessage());
+            log.warn("Backup garbage collection failed", e);
+        }
+    }
+
     /**
      * Appends a log line to the backup debug log.
      *
+     * <p>The line is timestamped here and handed to {@link BackupEventLog}, which writes it
+     * asynchronously; the caller never waits on file I/O.</p>
+     *
      * @param message log message
      */
     public void logEvent(String message) {
-        String line = LocalDateTime.now().format(TS_FORMAT) + " - " + message;
-        synchronized (logLock) {
-            try {
-                Files.createDirectories(backupRoot);
-                Files.writeString(
-                        backupLogFile,
-                        line + System.lineSeparator(),
-                        StandardOpenOption.CREATE,
-                        StandardOpenOption.WRITE,
-                        StandardOpenOption.APPEND
-                );
-            } catch (IOException e) {
-                log.warn("Failed to write backup log file: {}", backupLogFile, e);
-            }
+        eventLog.append(LocalDateTime.now().format(TS_FORMAT) + " - " + message);
+    }
+
+    /**
+     * Stores the company's PDFs in the deduplicated store and writes a manifest.
+     *
+     * @param companyId company identifier
+     * @param companyRoot company storage directory
+     * @param now run timestamp
+     * @return manifest path
+     * @throws IllegalStateException if the run fails
+     */
+    private Path backupCompanyDedup(Long companyId, Path companyRoot, LocalDateTime now) {
+        try {
+            ContentAddressedBackupStore.RunResult run = dedupStore.backup(companyId, companyRoot, now, progress);
+            logEvent("Dedup backup completed for company " + companyId + ". Files: " + run.files()
+                    + ". New blobs: " + run.newBlobs() + " (" + run.newBytes() + " bytes). Manifest: " + run.manifest());
+            log.info("Dedup backup completed for company {}. Files: {}. New blobs: {}. Manifest: {}",
+                    companyId, run.files(), run.newBlobs(), run.manifest());
+            return run.manifest();
+        } catch (IOException e) {
+            logEvent("Backup failed for company " + companyId + ". Error: " + e.getMessage());
+            throw new IllegalStateException("Failed to create backup for company " + companyId, e);
         }
     }
 
@@ -122,6 +289,11 @@ public class BackupService {
                     .filter(path -> path.toString().toLowerCase(Locale.ROOT).endsWith(".pdf"))
                     .toList();
         }
+        long totalBytes = 0;
+        for (Path file : files) {
+            totalBytes += Files.size(file);
+        }
+        progress.companyScanned(files.size(), totalBytes);
 
         try (OutputStream out = Files.newOutputStream(outputFile, StandardOpenOption.CREATE_NEW);
              ZipOutputStream zip = new ZipOutputStream(out)) {
@@ -129,7 +301,7 @@ public class BackupService {
                 String entryName = companyRoot.relativize(file).toString().replace('\\', '/');
                 ZipEntry entry = new ZipEntry(entryName);
                 zip.putNextEntry(entry);
-                Files.copy(file, zip);
+                progress.fileDone(copyThrottled(file, zip));
                 zip.closeEntry();
             }
         }
@@ -137,6 +309,73 @@ public class BackupService {
         return files.size();
     }
 
+    /**
+     * Copies a file into the output stream in chunks, acquiring throttle tokens per chunk.
+     *
+     * @param file source file
+     * @param out destination stream
+     * @return number of bytes copied
+     * @throws IOException if reading or writing fails
+     */
+    private long copyThrottled(Path file, OutputStream out) throws IOException {
+        byte[] chunk = new byte[COPY_CHUNK];
+        long copied = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                throttle.acquire(read);
+                out.write(chunk, 0, read);
+                copied += read;
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * Adds the files of {@code dir} whose name starts with {@code prefix} to {@code target}.
+     *
+     * @param dir directory to list (may be missing)
+     * @param prefix file name prefix
+     * @param kind backup kind reported for these files
+     * @param target list receiving the files
+     * @throws IOException if the directory cannot be listed
+     */
+    private void collectBackupFiles(Path dir, String prefix, String kind, List<BackupFile> target) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (var stream = Files.list(dir)) {
+            for (Path file : stream.filter(Files::isRegularFile).toList()) {
+                if (file.getFileName().toString().startsWith(prefix)) {
+                    target.add(toBackupFile(file, kind));
+                }
+            }
+        }
+    }
+
+    /**
+     * Describes a backup file, taking its creation time from the timestamp in its name.
+     *
+     * @param file backup file
+     * @param kind backup kind
+     * @return backup file description
+     * @throws IOException if the file attributes cannot be read
+     */
+    private BackupFile toBackupFile(Path file, String kind) throws IOException {
+        String name = file.getFileName().toString();
+        LocalDateTime createdAt;
+        Matcher matcher = NAME_TIMESTAMP.matcher(name);
+        try {
+            createdAt = matcher.find() ? LocalDateTime.parse(matcher.group(1), TS_FORMAT) : null;
+        } catch (DateTimeParseException e) {
+            createdAt = null;
+        }
+        if (createdAt == null) {
+            createdAt = LocalDateTime.ofInstant(Files.getLastModifiedTime(file).toInstant(), ZoneId.systemDefault());
+        }
+        return new BackupFile(name, kind, Files.size(file), createdAt, file);
+    }
+
     /**
      * Resolves the storage directory for a company.
      *
@@ -166,4 +405,24 @@ public class BackupService {
         }
         return dir;
     }
+
+    /**
+     * Result of a point-in-time restore.
+     *
+     * @param snapshotAt timestamp of the manifest that was restored
+     * @param files number of restored files
+     * @param outputDir directory containing the restored tree
+     */
+    public record RestoredBackup(LocalDateTime snapshotAt, int files, Path outputDir) {}
+
+    /**
+     * A backup file kept for a company.
+     *
+     * @param name file name, unique per company
+     * @param kind {@code ZIP}, {@code MANIFEST} or {@code DATABASE}
+     * @param sizeBytes file size
+     * @param createdAt time of the backup run that wrote the file
+     * @param path absolute file path
+     */
+    public record BackupFile(String name, String kind, long sizeBytes, LocalDateTime createdAt, Path path) {}
 }
@@ -0,0 +1,134 @@
+package com.kernith.easyinvoice.service.backup;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token-bucket byte-rate limiter shared by every backup worker.
+ *
+ * <p>Workers reserve tokens for each chunk they copy; the reservation is computed under a
+ * short lock and any resulting wait is spent outside of it, so concurrent workers queue up
+ * fairly behind the configured rate. A rate of {@code 0} disables throttling.</p>
+ */
+@Component
+public class BackupThrottle {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong throttledNanos = new AtomicLong();
+    private final AtomicLong throttledAcquires = new AtomicLong();
+    private final AtomicLong bytesAcquired = new AtomicLong();
+
+    private long bytesPerSecond;
+    private long burstBytes;
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+
+    /**
+     * Creates the limiter with its initial rate.
+     *
+     * @param bytesPerSecond sustained rate in bytes per second ({@code 0} = unlimited)
+     */
+    public BackupThrottle(@Value("${backup.throttle.bytes-per-second:0}") long bytesPerSecond) {
+        setBytesPerSecond(bytesPerSecond);
+    }
+
+    /**
+     * Blocks until {@code bytes} tokens are available.
+     *
+     * @param bytes number of bytes about to be transferred
+     */
+    public void acquire(long bytes) {
+        if (bytes <= 0) {
+            return;
+        }
+        bytesAcquired.addAndGet(bytes);
+        long waitNanos = reserve(bytes);
+        if (waitNanos <= 0) {
+            return;
+        }
+        throttledAcquires.incrementAndGet();
+        long start = System.nanoTime();
+        long deadline = start + waitNanos;
+        long left = waitNanos;
+        while (left > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(left);
+            left = deadline - System.nanoTime();
+        }
+        throttledNanos.addAndGet(System.nanoTime() - start);
+    }
+
+    /**
+     * Changes the sustained rate; takes effect for the next reservation.
+     *
+     * @param bytesPerSecond new rate in bytes per second ({@code 0} = unlimited)
+     * @throws IllegalArgumentException if the rate is negative
+     */
+    public synchronized void setBytesPerSecond(long bytesPerSecond) {
+        if (bytesPerSecond < 0) {
+            throw new IllegalArgumentException("Backup throttle rate must be >= 0");
+        }
+        this.bytesPerSecond = bytesPerSecond;
+        // One second worth of tokens lets a worker copy a typical PDF without stalling.
+        this.burstBytes = bytesPerSecond;
+        this.tokens = Math.min(tokens, burstBytes);
+        this.lastRefill = System.nanoTime();
+    }
+
+    public synchronized long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * Returns a snapshot of the limiter counters.
+     *
+     * @return current rate and throttling metrics
+     */
+    public Stats stats() {
+        return new Stats(
+                getBytesPerSecond(),
+                bytesAcquired.get(),
+                throttledAcquires.get(),
+                TimeUnit.NANOSECONDS.toMillis(throttledNanos.get())
+        );
+    }
+
+    /**
+     * Takes tokens from the bucket, possibly going negative, and returns how long the
+     * caller has to wait for the debt to be refilled.
+     *
+     * @param bytes requested tokens
+     * @return wait time in nanoseconds
+     */
+    private synchronized long reserve(long bytes) {
+        if (bytesPerSecond == 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        tokens = Math.min(burstBytes, tokens + (now - lastRefill) * (double) bytesPerSecond / NANOS_PER_SECOND);
+        lastRefill = now;
+        tokens -= bytes;
+        if (tokens >= 0) {
+            return 0;
+        }
+        return (long) (-tokens * NANOS_PER_SECOND / bytesPerSecond);
+    }
+
+    /**
+     * Snapshot of the limiter state.
+     *
+     * @param bytesPerSecond configured rate ({@code 0} = unlimited)
+     * @param bytesAcquired total bytes that went through the limiter
+     * @param throttledAcquires number of acquisitions that had to wait
+     * @param throttledMillis total time spent waiting across all workers
+     */
+    public record Stats(
+            long bytesPerSecond,
+            long bytesAcquired,
+            long throttledAcquires,
+            long throttledMillis
+    ) {}
+}
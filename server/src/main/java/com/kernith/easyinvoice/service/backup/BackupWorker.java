@@ -11,25 +11,31 @@ public class BackupWorker implements Runnable {
 
     private final BackupQueue backupQueue;
     private final BackupService backupService;
+    private final DatabaseSnapshotService snapshotService;
 
     /**
-     * Creates a worker with required queue and service.
+     * Creates a worker with required queue and services.
      *
      * @param backupQueue queue of company ids
      * @param backupService backup service
+     * @param snapshotService database snapshot service for per-company exports
      */
-    public BackupWorker(BackupQueue backupQueue, BackupService backupService) {
+    public BackupWorker(BackupQueue backupQueue, BackupService backupService, DatabaseSnapshotService snapshotService) {
         this.backupQueue = backupQueue;
         this.backupService = backupService;
+        this.snapshotService = snapshotService;
     }
 
     /**
-     * Runs the worker loop until the queue is empty for the timeout window.
+     * Runs the worker loop until the queue is empty.
+     *
+     * <p>The scheduler enqueues every company of a run before starting the workers, so an
+     * empty queue means the run has no work left.</p>
      */
     @Override
     public void run() {
         while (true) {
-            Long companyId = backupQueue.dequeue(60_000);   //Wait 60sec
+            Long companyId = backupQueue.poll();
             if (companyId == null) {
                 backupService.logEvent("Backup queue empty. Worker exiting.");
                 log.info("Backup queue empty. Worker exiting.");
@@ -39,6 +45,9 @@ public class BackupWorker implements Runnable {
             try {
                 backupService.logEvent("Worker processing company " + companyId);
                 backupService.backupCompany(companyId);
+                if (snapshotService.isPerCompany()) {
+                    snapshotService.exportCompany(companyId);
+                }
             } catch (Exception e) {
                 backupService.logEvent("Worker failed company " + companyId + ": " + e.getMessage());
                 log.error("Backup failed for company {}", companyId, e);
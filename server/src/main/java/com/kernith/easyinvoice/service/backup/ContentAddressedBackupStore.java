@@ -0,0 +1,468 @@
+package com.kernith.easyinvoice.service.backup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Deduplicated backup store: every PDF is kept once under its SHA-256 and each backup run
+ * writes a manifest that references blobs by hash.
+ *
+ * <p>Layout under {@code storage/backup/cas}:</p>
+ * <pre>
+ * blobs/ab/abcdef...            blob content, named by SHA-256
+ * manifests/{companyId}/manifest_yyyyMMdd_HHmmss.txt
+ * </pre>
+ *
+ * <p>Manifest lines are {@code sha256 TAB size TAB lastModifiedMillis TAB relativePath}.
+ * Files whose size and modification time match the previous manifest reuse its hash
+ * without being read again, so a run costs I/O proportional to new data only.</p>
+ */
+@Component
+public class ContentAddressedBackupStore {
+    private static final Logger log = LoggerFactory.getLogger(ContentAddressedBackupStore.class);
+    private static final DateTimeFormatter TS_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    private static final String MANIFEST_PREFIX = "manifest_";
+    private static final String MANIFEST_SUFFIX = ".txt";
+    private static final String MANIFEST_HEADER = "# easyinvoice-backup-manifest v1";
+    private static final int COPY_CHUNK = 64 * 1024;
+
+    private final Path blobRoot;
+    private final Path manifestRoot;
+    private final Path tmpRoot;
+    private final int retentionRuns;
+    private final BackupThrottle throttle;
+
+    /**
+     * Creates the store and resolves its directories.
+     *
+     * @param storageRoot base storage directory
+     * @param retentionRuns number of manifests kept per company
+     * @param throttle shared byte-rate limiter for backup I/O
+     */
+    public ContentAddressedBackupStore(
+            @Value("${storage.root:storage}") String storageRoot,
+            @Value("${backup.dedup.retention-runs:8}") int retentionRuns,
+            BackupThrottle throttle
+    ) {
+        Path casRoot = Paths.get(storageRoot).toAbsolutePath().normalize().resolve("backup").resolve("cas");
+        this.blobRoot = casRoot.resolve("blobs");
+        this.manifestRoot = casRoot.resolve("manifests");
+        this.tmpRoot = casRoot.resolve("tmp");
+        this.retentionRuns = Math.max(1, retentionRuns);
+        this.throttle = throttle;
+    }
+
+    /**
+     * Stores all PDFs under {@code companyRoot} and writes a manifest for the run.
+     *
+     * @param companyId company identifier
+     * @param companyRoot company storage directory
+     * @param now run timestamp used for the manifest name
+     * @param progress run progress, advanced once per file (unchanged files included)
+     * @return run result with the manifest path and dedup counters
+     * @throws IOException if reading sources or writing the store fails
+     */
+    public RunResult backup(Long companyId, Path companyRoot, LocalDateTime now, BackupProgress progress)
+            throws IOException {
+        List<Path> files;
+        try (var stream = Files.walk(companyRoot)) {
+            files = stream
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.toString().toLowerCase(Locale.ROOT).endsWith(".pdf"))
+                    .sorted()
+                    .toList();
+        }
+        long totalBytes = 0;
+        for (Path file : files) {
+            totalBytes += Files.size(file);
+        }
+        progress.companyScanned(files.size(), totalBytes);
+
+        Map<String, ManifestEntry> previous = new HashMap<>();
+        Optional<Path> lastManifest = latestManifest(companyId, null);
+        if (lastManifest.isPresent()) {
+            for (ManifestEntry entry : readManifest(lastManifest.get())) {
+                previous.put(entry.path(), entry);
+            }
+        }
+
+        Files.createDirectories(blobRoot);
+        Files.createDirectories(tmpRoot);
+
+        List<ManifestEntry> entries = new ArrayList<>(files.size());
+        int newBlobs = 0;
+        long newBytes = 0;
+        for (Path file : files) {
+            String relative = companyRoot.relativize(file).toString().replace('\\', '/');
+            long size = Files.size(file);
+            long modified = Files.getLastModifiedTime(file).toMillis();
+
+            ManifestEntry prior = previous.get(relative);
+            if (prior != null && prior.size() == size && prior.lastModified() == modified
+                    && Files.exists(blobPath(prior.sha256()))) {
+                entries.add(prior);
+                progress.fileDone(size);
+                continue;
+            }
+
+            StoredBlob stored = storeBlob(file);
+            if (stored.created()) {
+                newBlobs++;
+                newBytes += size;
+            }
+            entries.add(new ManifestEntry(stored.sha256(), size, modified, relative));
+            progress.fileDone(size);
+        }
+
+        Path manifest = writeManifest(companyId, now, entries);
+        return new RunResult(manifest, entries.size(), newBlobs, newBytes);
+    }
+
+    /**
+     * Copies the files referenced by the newest manifest at or before {@code at} into {@code targetDir}.
+     *
+     * @param companyId company identifier
+     * @param at point in time to restore, or {@code null} for the latest run
+     * @param targetDir directory receiving the restored tree
+     * @return restore result, or empty if no manifest qualifies
+     * @throws IOException if a blob is missing or copying fails
+     */
+    public Optional<RestoreResult> restore(Long companyId, LocalDateTime at, Path targetDir) throws IOException {
+        Optional<Path> manifest = latestManifest(companyId, at);
+        if (manifest.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Path target = targetDir.toAbsolutePath().normalize();
+        List<ManifestEntry> entries = readManifest(manifest.get());
+        for (ManifestEntry entry : entries) {
+            Path destination = target.resolve(entry.path()).normalize();
+            if (!destination.startsWith(target)) {
+                throw new IOException("Invalid path in manifest: " + entry.path());
+            }
+            Path blob = blobPath(entry.sha256());
+            if (!Files.exists(blob)) {
+                throw new IOException("Missing blob " + entry.sha256() + " for " + entry.path());
+            }
+            Files.createDirectories(destination.getParent());
+            Files.copy(blob, destination, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return Optional.of(new RestoreResult(manifest.get(), manifestTime(manifest.get()), entries.size()));
+    }
+
+    /**
+     * Lists manifests for a company, newest first.
+     *
+     * @param companyId company identifier
+     * @return manifest paths
+     * @throws IOException if the directory cannot be listed
+     */
+    public List<Path> listManifests(Long companyId) throws IOException {
+        Path dir = manifestDir(companyId);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (var stream = Files.list(dir)) {
+            return stream
+                    .filter(path -> manifestTime(path) != null)
+                    .sorted((a, b) -> b.getFileName().toString().compareTo(a.getFileName().toString()))
+                    .toList();
+        }
+    }
+
+    /**
+     * Applies retention and deletes blobs no longer referenced by any manifest.
+     *
+     * <p>Must not run concurrently with {@link #backup}: the scheduler calls it after all
+     * workers finished. As an extra guard, blobs created after collection started are kept.</p>
+     *
+     * @return collection result
+     * @throws IOException if the store cannot be scanned
+     */
+    public GcResult collectGarbage() throws IOException {
+        long startedAt = System.currentTimeMillis();
+        int removedManifests = 0;
+        Set<String> live = new HashSet<>();
+
+        if (Files.isDirectory(manifestRoot)) {
+            List<Path> companyDirs;
+            try (var stream = Files.list(manifestRoot)) {
+                companyDirs = stream.filter(Files::isDirectory).toList();
+            }
+            for (Path companyDir : companyDirs) {
+                List<Path> manifests;
+                try (var stream = Files.list(companyDir)) {
+                    manifests = stream
+                            .filter(path -> manifestTime(path) != null)
+                            .sorted((a, b) -> b.getFileName().toString().compareTo(a.getFileName().toString()))
+                            .toList();
+                }
+                for (int i = 0; i < manifests.size(); i++) {
+                    if (i >= retentionRuns) {
+                        Files.deleteIfExists(manifests.get(i));
+                        removedManifests++;
+                        continue;
+                    }
+                    for (ManifestEntry entry : readManifest(manifests.get(i))) {
+                        live.add(entry.sha256());
+                    }
+                }
+            }
+        }
+
+        int removedBlobs = 0;
+        long removedBytes = 0;
+        if (Files.isDirectory(blobRoot)) {
+            List<Path> blobs;
+            try (var stream = Files.walk(blobRoot)) {
+                blobs = stream.filter(Files::isRegularFile).toList();
+            }
+            for (Path blob : blobs) {
+                if (live.contains(blob.getFileName().toString())) {
+                    continue;
+                }
+                if (Files.getLastModifiedTime(blob).toMillis() >= startedAt) {
+                    continue;
+                }
+                long size = Files.size(blob);
+                if (Files.deleteIfExists(blob)) {
+                    removedBlobs++;
+                    removedBytes += size;
+                }
+            }
+        }
+
+        return new GcResult(removedManifests, removedBlobs, removedBytes, live.size());
+    }
+
+    /**
+     * Copies a file into a temp blob while hashing it, then moves it into place unless
+     * a blob with the same hash already exists.
+     *
+     * @param file source file
+     * @return hash and whether a new blob was created
+     * @throws IOException if copying fails
+     */
+    private StoredBlob storeBlob(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        Path tmp = tmpRoot.resolve(UUID.randomUUID() + ".part");
+        byte[] chunk = new byte[COPY_CHUNK];
+        try (InputStream in = Files.newInputStream(file);
+             OutputStream out = Files.newOutputStream(tmp, StandardOpenOption.CREATE_NEW)) {
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                throttle.acquire(read);
+                digest.update(chunk, 0, read);
+                out.write(chunk, 0, read);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        Path blob = blobPath(sha256);
+        if (Files.exists(blob)) {
+            Files.deleteIfExists(tmp);
+            return new StoredBlob(sha256, false);
+        }
+        Files.createDirectories(blob.getParent());
+        try {
+            // Same hash means same bytes, so losing a race with another worker is harmless.
+            moveAtomically(tmp, blob);
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(tmp);
+            return new StoredBlob(sha256, false);
+        }
+        return new StoredBlob(sha256, true);
+    }
+
+    /**
+     * Writes the manifest to a temp file and moves it into place so readers never see a partial manifest.
+     *
+     * @param companyId company identifier
+     * @param now run timestamp
+     * @param entries manifest entries
+     * @return manifest path
+     * @throws IOException if writing fails
+     */
+    private Path writeManifest(Long companyId, LocalDateTime now, List<ManifestEntry> entries) throws IOException {
+        Path dir = manifestDir(companyId);
+        Files.createDirectories(dir);
+        Path tmp = tmpRoot.resolve(UUID.randomUUID() + ".manifest");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW)) {
+            writer.write(MANIFEST_HEADER + " company=" + companyId + " created=" + now);
+            writer.newLine();
+            for (ManifestEntry entry : entries) {
+                writer.write(entry.sha256() + "\t" + entry.size() + "\t" + entry.lastModified() + "\t" + entry.path());
+                writer.newLine();
+            }
+        }
+
+        LocalDateTime ts = now;
+        Path manifest = dir.resolve(MANIFEST_PREFIX + ts.format(TS_FORMAT) + MANIFEST_SUFFIX);
+        while (Files.exists(manifest)) {
+            ts = ts.plusSeconds(1);
+            manifest = dir.resolve(MANIFEST_PREFIX + ts.format(TS_FORMAT) + MANIFEST_SUFFIX);
+        }
+        moveAtomically(tmp, manifest);
+        return manifest;
+    }
+
+    private void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        }
+    }
+
+    /**
+     * Reads manifest entries, skipping the header and malformed lines.
+     *
+     * @param manifest manifest path
+     * @return entries
+     * @throws IOException if the file cannot be read
+     */
+    List<ManifestEntry> readManifest(Path manifest) throws IOException {
+        List<ManifestEntry> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\t", 4);
+            if (parts.length != 4) {
+                log.warn("Skipping malformed manifest line in {}: {}", manifest, line);
+                continue;
+            }
+            try {
+                entries.add(new ManifestEntry(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2]), parts[3]));
+            } catch (NumberFormatException e) {
+                log.warn("Skipping malformed manifest line in {}: {}", manifest, line);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Finds the newest manifest created at or before {@code at}.
+     *
+     * @param companyId company identifier
+     * @param at upper bound, or {@code null} for the newest
+     * @return manifest path if any
+     * @throws IOException if the directory cannot be listed
+     */
+    private Optional<Path> latestManifest(Long companyId, LocalDateTime at) throws IOException {
+        for (Path manifest : listManifests(companyId)) {
+            LocalDateTime created = manifestTime(manifest);
+            if (at == null || !created.isAfter(at)) {
+                return Optional.of(manifest);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private LocalDateTime manifestTime(Path manifest) {
+        String name = manifest.getFileName().toString();
+        if (!name.startsWith(MANIFEST_PREFIX) || !name.endsWith(MANIFEST_SUFFIX)) {
+            return null;
+        }
+        String ts = name.substring(MANIFEST_PREFIX.length(), name.length() - MANIFEST_SUFFIX.length());
+        try {
+            return LocalDateTime.parse(ts, TS_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private Path manifestDir(Long companyId) {
+        Path dir = manifestRoot.resolve(companyId.toString()).normalize();
+        if (!dir.startsWith(manifestRoot)) {
+            throw new IllegalStateException("Invalid manifest path");
+        }
+        return dir;
+    }
+
+    private Path blobPath(String sha256) {
+        return blobRoot.resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * One file reference inside a manifest.
+     *
+     * @param sha256 blob hash
+     * @param size file size in bytes
+     * @param lastModified source modification time in epoch millis
+     * @param path path relative to the company storage root
+     */
+    record ManifestEntry(String sha256, long size, long lastModified, String path) {}
+
+    private record StoredBlob(String sha256, boolean created) {}
+
+    /**
+     * Outcome of a deduplicated backup run.
+     *
+     * @param manifest written manifest
+     * @param files files referenced by the manifest
+     * @param newBlobs blobs added by this run
+     * @param newBytes bytes added by this run
+     */
+    public record RunResult(Path manifest, int files, int newBlobs, long newBytes) {}
+
+    /**
+     * Outcome of a point-in-time restore.
+     *
+     * @param manifest manifest used
+     * @param createdAt manifest timestamp
+     * @param files restored files
+     */
+    public record RestoreResult(Path manifest, LocalDateTime createdAt, int files) {}
+
+    /**
+     * Outcome of a garbage collection pass.
+     *
+     * @param removedManifests manifests dropped by retention
+     * @param removedBlobs unreferenced blobs deleted
+     * @param removedBytes bytes reclaimed
+     * @param liveBlobs blobs still referenced
+     */
+    public record GcResult(int removedManifests, int removedBlobs, long removedBytes, int liveBlobs) {}
+}
@@ -0,0 +1,84 @@
+package com.kernith.easyinvoice.service.backup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+
+/**
+ * Restores the database from a snapshot while the context is still starting.
+ *
+ * <p>Run the application with {@code --backup.database.restore-from=<file.sql.gz>}. The
+ * restore runs as soon as the data source is created: before Flyway migrates the restored
+ * schema, before any service loads state from the database, before scheduled jobs start and
+ * before the web server accepts requests. In-memory caches (token revocations, dashboard
+ * cache, idempotency keys) are therefore built from the restored data.</p>
+ *
+ * <p>One-shot: a successful restore writes a {@code <file.sql.gz>.restored} marker next to
+ * the snapshot, and a snapshot with a marker is not restored again. A restart with the
+ * property left in place therefore keeps the data written since the restore; delete the
+ * marker to restore the same snapshot again.</p>
+ *
+ * <p>Lifecycle: runs once for the first {@link DataSource} bean; a failed restore, or a marker
+ * that cannot be written, aborts startup.</p>
+ */
+@Component
+public class DatabaseRestoreInitializer implements BeanPostProcessor {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseRestoreInitializer.class);
+
+    static final String MARKER_SUFFIX = ".restored";
+
+    private final String restoreFrom;
+    private boolean done;
+
+    /**
+     * Creates the initializer.
+     *
+     * @param restoreFrom snapshot path; empty disables the restore
+     */
+    public DatabaseRestoreInitializer(@Value("${backup.database.restore-from:}") String restoreFrom) {
+        this.restoreFrom = restoreFrom;
+    }
+
+    /**
+     * Restores the configured snapshot into the first data source created, unless it was
+     * already restored.
+     *
+     * @param bean initialized bean
+     * @param beanName bean name
+     * @return the same bean
+     * @throws IllegalStateException if the restore fails or its marker cannot be written
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (done || !(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        done = true;
+        if (restoreFrom == null || restoreFrom.isBlank()) {
+            return bean;
+        }
+        Path snapshot = Paths.get(restoreFrom.trim()).toAbsolutePath().normalize();
+        Path marker = snapshot.resolveSibling(snapshot.getFileName() + MARKER_SUFFIX);
+        if (Files.exists(marker)) {
+            log.warn("Snapshot {} was already restored (marker {}), skipping restore", snapshot, marker);
+            return bean;
+        }
+        DatabaseSnapshotService.restore(dataSource, snapshot);
+        try {
+            Files.writeString(marker, LocalDateTime.now() + System.lineSeparator());
+        } catch (IOException e) {
+            // Avvio interrotto: nessun dato è stato scritto dopo il ripristino, ripeterlo è innocuo
+            throw new IllegalStateException("Database restored but marker " + marker + " could not be written", e);
+        }
+        return bean;
+    }
+}
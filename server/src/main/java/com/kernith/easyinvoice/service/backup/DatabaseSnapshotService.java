@@ -0,0 +1,277 @@
+package com.kernith.easyinvoice.service.backup;
+
+import com.kernith.easyinvoice.helper.Csv;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Takes consistent online snapshots of the H2 database for the backup pipeline.
+ *
+ * <p>Full snapshots use H2's {@code SCRIPT TO ... COMPRESSION GZIP}, which reads a single
+ * MVCC snapshot and streams it to a gzipped SQL file, so it is safe while the application
+ * keeps serving requests. The same file is the input of {@link #restore(Path)}. Per-company
+ * exports stream the company's rows as one CSV per table into a ZIP.</p>
+ */
+@Service
+public class DatabaseSnapshotService {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseSnapshotService.class);
+    private static final DateTimeFormatter TS_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    /**
+     * Company-scoped tables and the filter selecting one company's rows, in restore order.
+     * Credential columns ({@code users.password_hash}) are left out of the export.
+     */
+    private static final Map<String, String> COMPANY_TABLES = new LinkedHashMap<>();
+
+    static {
+        COMPANY_TABLES.put("companies", "SELECT * FROM companies WHERE id = ?");
+        COMPANY_TABLES.put("users",
+                "SELECT id, company_id, email, name, role, enabled, created_at FROM users WHERE company_id = ?");
+        COMPANY_TABLES.put("customers", "SELECT * FROM customers WHERE company_id = ?");
+        COMPANY_TABLES.put("quotes", "SELECT * FROM quotes WHERE company_id = ?");
+        COMPANY_TABLES.put("quote_items",
+                "SELECT qi.* FROM quote_items qi JOIN quotes q ON q.id = qi.quote_id WHERE q.company_id = ?");
+        COMPANY_TABLES.put("invoices", "SELECT * FROM invoices WHERE company_id = ?");
+        COMPANY_TABLES.put("invoice_items",
+                "SELECT ii.* FROM invoice_items ii JOIN invoices i ON i.id = ii.invoice_id WHERE i.company_id = ?");
+        COMPANY_TABLES.put("invoice_pdf_archive",
+                "SELECT a.* FROM invoice_pdf_archive a JOIN invoices i ON i.id = a.invoice_id WHERE i.company_id = ?");
+    }
+
+    private final DataSource dataSource;
+    private final BackupService backupService;
+    private final Path snapshotRoot;
+    private final boolean enabled;
+    private final boolean perCompany;
+
+    /**
+     * Creates the service.
+     *
+     * @param dataSource application data source
+     * @param backupService backup service, used for the backup log
+     * @param storageRoot base storage directory
+     * @param enabled whether scheduled runs take a full snapshot
+     * @param perCompany whether workers also export each company's rows
+     */
+    public DatabaseSnapshotService(
+            DataSource dataSource,
+            BackupService backupService,
+            @Value("${storage.root:storage}") String storageRoot,
+            @Value("${backup.database.enabled:true}") boolean enabled,
+            @Value("${backup.database.per-company:false}") boolean perCompany
+    ) {
+        this.dataSource = dataSource;
+        this.backupService = backupService;
+        this.snapshotRoot = Paths.get(storageRoot).toAbsolutePath().normalize().resolve("backup").resolve("db");
+        this.enabled = enabled;
+        this.perCompany = perCompany;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isPerCompany() {
+        return perCompany;
+    }
+
+    /**
+     * Writes a gzipped SQL script of the whole database.
+     *
+     * @return snapshot file
+     * @throws IllegalStateException if the snapshot fails
+     */
+    public Path snapshot() {
+        long start = System.nanoTime();
+        Path target = snapshotRoot.resolve("db_" + LocalDateTime.now().format(TS_FORMAT) + ".sql.gz");
+        backupService.logEvent("Database snapshot started: " + target);
+        try {
+            Files.createDirectories(snapshotRoot);
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SCRIPT TO " + sqlLiteral(target) + " COMPRESSION GZIP");
+            }
+            long size = Files.size(target);
+            long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            backupService.logEvent("Database snapshot completed in " + ms + " ms. Bytes: " + size + ". Output: " + target);
+            log.info("Database snapshot completed in {} ms. Bytes: {}. Output: {}", ms, size, target);
+            return target;
+        } catch (SQLException | IOException e) {
+            backupService.logEvent("Database snapshot failed. Error: " + e.getMessage());
+            throw new IllegalStateException("Failed to snapshot database", e);
+        }
+    }
+
+    /**
+     * Exports one company's rows as a ZIP with one CSV per table.
+     *
+     * <p>All tables are read inside a single repeatable-read transaction so the export is
+     * consistent across tables.</p>
+     *
+     * @param companyId company identifier
+     * @return export file
+     * @throws IllegalArgumentException if companyId is null
+     * @throws IllegalStateException if the export fails
+     */
+    public Path exportCompany(Long companyId) {
+        if (companyId == null) {
+            throw new IllegalArgumentException("CompanyId is required for export");
+        }
+        long start = System.nanoTime();
+        Path dir = snapshotRoot.resolve("companies").resolve(companyId.toString()).normalize();
+        Path target = dir.resolve("db_" + LocalDateTime.now().format(TS_FORMAT) + ".zip");
+        try {
+            Files.createDirectories(dir);
+            long rows = 0;
+            try (Connection connection = dataSource.getConnection();
+                 OutputStream out = Files.newOutputStream(target, StandardOpenOption.CREATE_NEW);
+                 ZipOutputStream zip = new ZipOutputStream(out)) {
+                boolean autoCommit = connection.getAutoCommit();
+                int isolation = connection.getTransactionIsolation();
+                connection.setAutoCommit(false);
+                connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+                connection.setReadOnly(true);
+                try {
+                    for (Map.Entry<String, String> table : COMPANY_TABLES.entrySet()) {
+                        zip.putNextEntry(new ZipEntry(table.getKey() + ".csv"));
+                        rows += writeCsv(connection, table.getValue(), companyId, zip);
+                        zip.closeEntry();
+                    }
+                    connection.commit();
+                } finally {
+                    connection.setReadOnly(false);
+                    connection.setTransactionIsolation(isolation);
+                    connection.setAutoCommit(autoCommit);
+                }
+            }
+            long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            backupService.logEvent("Database export for company " + companyId + " completed in " + ms
+                    + " ms. Rows: " + rows + ". Output: " + target);
+            return target;
+        } catch (SQLException | IOException e) {
+            backupService.logEvent("Database export failed for company " + companyId + ". Error: " + e.getMessage());
+            throw new IllegalStateException("Failed to export database for company " + companyId, e);
+        }
+    }
+
+    /**
+     * Replaces the whole database with the content of a snapshot.
+     *
+     * <p>Destructive: drops every object before running the script. At startup the restore
+     * is driven by {@link DatabaseRestoreInitializer}, which runs it before anything else
+     * uses the database.</p>
+     *
+     * @param snapshot gzipped SQL script written by {@link #snapshot()}
+     * @throws IllegalArgumentException if the file does not exist
+     * @throws IllegalStateException if the restore fails
+     */
+    public void restore(Path snapshot) {
+        backupService.logEvent("Database restore started from " + snapshot.toAbsolutePath().normalize());
+        try {
+            long ms = restore(dataSource, snapshot);
+            backupService.logEvent("Database restore completed in " + ms + " ms from " + snapshot.toAbsolutePath().normalize());
+        } catch (IllegalStateException e) {
+            backupService.logEvent("Database restore failed. Error: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Drops every object of a database and runs a snapshot script against it.
+     *
+     * @param dataSource target data source
+     * @param snapshot gzipped SQL script written by {@link #snapshot()}
+     * @return elapsed milliseconds
+     * @throws IllegalArgumentException if the file does not exist
+     * @throws IllegalStateException if the restore fails
+     */
+    static long restore(DataSource dataSource, Path snapshot) {
+        Path source = snapshot.toAbsolutePath().normalize();
+        if (!Files.isRegularFile(source)) {
+            throw new IllegalArgumentException("Snapshot not found: " + source);
+        }
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("RUNSCRIPT FROM " + sqlLiteral(source) + " COMPRESSION GZIP");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to restore database from " + source, e);
+        }
+        long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Database restore completed in {} ms from {}", ms, source);
+        return ms;
+    }
+
+    /**
+     * Streams the result of a company-filtered query as CSV.
+     *
+     * @param connection open connection
+     * @param sql query with a single company id parameter
+     * @param companyId company identifier
+     * @param out destination stream (left open)
+     * @return number of rows written
+     * @throws SQLException if the query fails
+     * @throws IOException if writing fails
+     */
+    private long writeCsv(Connection connection, String sql, Long companyId, OutputStream out)
+            throws SQLException, IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = 0;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setFetchSize(500);
+            ps.setLong(1, companyId);
+            try (ResultSet rs = ps.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                int columns = meta.getColumnCount();
+                for (int i = 1; i <= columns; i++) {
+                    if (i > 1) writer.write(',');
+                    writer.write(Csv.field(meta.getColumnLabel(i).toLowerCase(Locale.ROOT)));
+                }
+                writer.newLine();
+                while (rs.next()) {
+                    for (int i = 1; i <= columns; i++) {
+                        if (i > 1) writer.write(',');
+                        Object value = rs.getObject(i);
+                        writer.write(value == null ? "" : Csv.field(value.toString()));
+                    }
+                    writer.newLine();
+                    rows++;
+                }
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static String sqlLiteral(Path path) {
+        return "'" + path.toString().replace("'", "''") + "'";
+    }
+}
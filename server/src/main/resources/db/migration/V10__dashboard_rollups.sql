@@ -0,0 +1,21 @@
+CREATE TABLE dashboard_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    company_id BIGINT NOT NULL,
+    document_type VARCHAR(16) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    document_count BIGINT NOT NULL DEFAULT 0,
+    total_amount NUMERIC(19,2) NOT NULL DEFAULT 0,
+
+    CONSTRAINT fk_dashboard_rollups_company FOREIGN KEY (company_id) REFERENCES companies(id) ON DELETE CASCADE,
+    CONSTRAINT uq_dashboard_rollups_company_type_status UNIQUE (company_id, document_type, status)
+);
+
+INSERT INTO dashboard_rollups (company_id, document_type, status, document_count, total_amount)
+SELECT company_id, 'INVOICE', status, COUNT(*), COALESCE(SUM(total_amount), 0)
+FROM invoices
+GROUP BY company_id, status;
+
+INSERT INTO dashboard_rollups (company_id, document_type, status, document_count, total_amount)
+SELECT company_id, 'QUOTE', status, COUNT(*), COALESCE(SUM(total_amount), 0)
+FROM quotes
+GROUP BY company_id, status;
@@ -0,0 +1,45 @@
+ALTER TABLE invoices ADD COLUMN paid_date DATE;
+
+-- The payment date was not recorded before this migration: invoices already PAID take the date
+-- of their last update, which is the payment date unless the invoice was edited afterwards.
+-- Their paid buckets below are therefore approximate.
+UPDATE invoices SET paid_date = CAST(updated_at AS DATE) WHERE status = 'PAID';
+
+CREATE TABLE revenue_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    company_id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    granularity VARCHAR(8) NOT NULL,
+    period_start DATE NOT NULL,
+    issued_count BIGINT NOT NULL DEFAULT 0,
+    issued_amount NUMERIC(19,2) NOT NULL DEFAULT 0,
+    paid_count BIGINT NOT NULL DEFAULT 0,
+    paid_amount NUMERIC(19,2) NOT NULL DEFAULT 0,
+
+    CONSTRAINT fk_revenue_rollups_company FOREIGN KEY (company_id) REFERENCES companies(id) ON DELETE CASCADE,
+    CONSTRAINT fk_revenue_rollups_customer FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE,
+    CONSTRAINT uq_revenue_rollups_bucket UNIQUE (company_id, granularity, period_start, customer_id)
+);
+
+CREATE INDEX idx_revenue_rollups_customer_bucket ON revenue_rollups (company_id, customer_id, granularity, period_start);
+
+-- An invoice counts as issued while ISSUED, OVERDUE or PAID, as in RevenueRollupService.
+INSERT INTO revenue_rollups (company_id, customer_id, granularity, period_start, issued_count, issued_amount, paid_count, paid_amount)
+SELECT company_id, customer_id, granularity, period_start,
+       SUM(issued_count), SUM(issued_amount), SUM(paid_count), SUM(paid_amount)
+FROM (
+    SELECT company_id, customer_id, 'DAY' AS granularity, issue_date AS period_start,
+           1 AS issued_count, total_amount AS issued_amount, 0 AS paid_count, 0 AS paid_amount
+    FROM invoices WHERE status IN ('ISSUED', 'OVERDUE', 'PAID')
+    UNION ALL
+    SELECT company_id, customer_id, 'MONTH', CAST(DATE_TRUNC('MONTH', issue_date) AS DATE),
+           1, total_amount, 0, 0
+    FROM invoices WHERE status IN ('ISSUED', 'OVERDUE', 'PAID')
+    UNION ALL
+    SELECT company_id, customer_id, 'DAY', paid_date, 0, 0, 1, total_amount
+    FROM invoices WHERE status = 'PAID'
+    UNION ALL
+    SELECT company_id, customer_id, 'MONTH', CAST(DATE_TRUNC('MONTH', paid_date) AS DATE), 0, 0, 1, total_amount
+    FROM invoices WHERE status = 'PAID'
+) events
+GROUP BY company_id, customer_id, granularity, period_start;
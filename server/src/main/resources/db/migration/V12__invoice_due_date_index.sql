@@ -0,0 +1 @@
+CREATE INDEX idx_invoices_company_status_due_date ON invoices (company_id, status, due_date);
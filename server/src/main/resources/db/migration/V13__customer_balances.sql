@@ -0,0 +1,19 @@
+CREATE TABLE customer_balances (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    company_id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    open_count BIGINT NOT NULL DEFAULT 0,
+    open_amount NUMERIC(19,2) NOT NULL DEFAULT 0,
+
+    CONSTRAINT fk_customer_balances_company FOREIGN KEY (company_id) REFERENCES companies(id) ON DELETE CASCADE,
+    CONSTRAINT fk_customer_balances_customer FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE,
+    CONSTRAINT uq_customer_balances_company_customer UNIQUE (company_id, customer_id)
+);
+
+CREATE INDEX idx_customer_balances_company_open_amount ON customer_balances (company_id, open_amount DESC, customer_id);
+
+INSERT INTO customer_balances (company_id, customer_id, open_count, open_amount)
+SELECT company_id, customer_id, COUNT(*), COALESCE(SUM(total_amount), 0)
+FROM invoices
+WHERE status IN ('ISSUED', 'OVERDUE')
+GROUP BY company_id, customer_id;
@@ -0,0 +1,19 @@
+ALTER TABLE invoice_pdf_archive ADD COLUMN size_bytes BIGINT;
+
+CREATE TABLE company_storage (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    company_id BIGINT NOT NULL,
+    pdf_count BIGINT NOT NULL DEFAULT 0,
+    pdf_bytes BIGINT NOT NULL DEFAULT 0,
+    backup_bytes BIGINT NOT NULL DEFAULT 0,
+    reconciled_at TIMESTAMP,
+
+    CONSTRAINT fk_company_storage_company FOREIGN KEY (company_id) REFERENCES companies(id) ON DELETE CASCADE,
+    CONSTRAINT uq_company_storage_company UNIQUE (company_id)
+);
+
+INSERT INTO company_storage (company_id, pdf_count)
+SELECT i.company_id, COUNT(*)
+FROM invoice_pdf_archive a
+JOIN invoices i ON i.id = a.invoice_id
+GROUP BY i.company_id;
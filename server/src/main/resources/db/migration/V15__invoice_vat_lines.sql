@@ -0,0 +1,15 @@
+CREATE TABLE invoice_vat_lines (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    invoice_id BIGINT NOT NULL,
+    tax_rate NUMERIC(5,2) NOT NULL,
+    taxable NUMERIC(19,2) NOT NULL DEFAULT 0,
+    tax NUMERIC(19,2) NOT NULL DEFAULT 0,
+
+    CONSTRAINT fk_invoice_vat_lines_invoice FOREIGN KEY (invoice_id) REFERENCES invoices(id) ON DELETE CASCADE,
+    CONSTRAINT uq_invoice_vat_lines_invoice_rate UNIQUE (invoice_id, tax_rate)
+);
+
+INSERT INTO invoice_vat_lines (invoice_id, tax_rate, taxable, tax)
+SELECT invoice_id, tax_rate, COALESCE(SUM(line_subtotal_amount), 0), COALESCE(SUM(line_tax_amount), 0)
+FROM invoice_items
+GROUP BY invoice_id, tax_rate;
@@ -0,0 +1,3 @@
+ALTER TABLE invoices DROP CONSTRAINT ck_invoices_status;
+
+ALTER TABLE invoices ADD CONSTRAINT ck_invoices_status CHECK (status IN ('DRAFT', 'ISSUED', 'PAID', 'OVERDUE', 'ARCHIVED'));
@@ -0,0 +1,7 @@
+ALTER TABLE customers ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE quotes ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE invoices ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE INDEX idx_customers_company_version ON customers (company_id, id, version);
+CREATE INDEX idx_quotes_company_version ON quotes (company_id, id, version);
+CREATE INDEX idx_invoices_company_version ON invoices (company_id, id, version);
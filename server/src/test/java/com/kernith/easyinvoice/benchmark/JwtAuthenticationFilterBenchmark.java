@@ -0,0 +1,92 @@
+package com.kernith.easyinvoice.benchmark;
+
+import com.kernith.easyinvoice.config.JwtAuthenticationFilter;
+import com.kernith.easyinvoice.config.VerifiedTokenCache;
+import com.kernith.easyinvoice.data.model.Company;
+import com.kernith.easyinvoice.data.model.User;
+import com.kernith.easyinvoice.data.model.UserRole;
+import com.kernith.easyinvoice.data.repository.UserTokenRevocationRepository;
+import com.kernith.easyinvoice.service.JwtService;
+import com.kernith.easyinvoice.service.TokenRevocationRegistry;
+import jakarta.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Per-request overhead of {@link JwtAuthenticationFilter} with and without the verified-token cache.
+ *
+ * <p>Not part of the test suite. Run with:</p>
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.kernith.easyinvoice.benchmark.JwtAuthenticationFilterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    /** Verified-token cache size; {@code 0} disables the cache and verifies every request. */
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private String header;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService("0123456789abcdef0123456789abcdef0123456789abcdef", 60);
+
+        Company company = new Company();
+        ReflectionTestUtils.setField(company, "id", 10L);
+        User user = new User(company);
+        ReflectionTestUtils.setField(user, "id", 7L);
+        user.setRole(UserRole.COMPANY_MANAGER);
+
+        header = "Bearer " + jwtService.generateToken(user);
+        TokenRevocationRegistry revocations = new TokenRevocationRegistry(mock(UserTokenRevocationRepository.class), 60);
+        filter = new JwtAuthenticationFilter(jwtService, new VerifiedTokenCache(cacheSize), revocations);
+    }
+
+    @Benchmark
+    public Object authenticateRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/invoices");
+        request.addHeader(HttpHeaders.AUTHORIZATION, header);
+        filter.doFilter(request, new MockHttpServletResponse(), NOOP_CHAIN);
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,121 @@
+package com.kernith.easyinvoice.benchmark;
+
+import com.kernith.easyinvoice.data.dto.PageResponse;
+import com.kernith.easyinvoice.data.dto.invoice.InvoiceSummaryResponse;
+import com.kernith.easyinvoice.data.model.InvoiceStatus;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Bytes on the wire and serialization cost of a 100-row invoice page, Spring Data
+ * {@link Page} versus {@link PageResponse}.
+ *
+ * <p>Not part of the test suite. Prints the raw and gzip sizes, then runs the JMH
+ * benchmarks. Run with:</p>
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.kernith.easyinvoice.benchmark.PageSerializationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    private static final int ROWS = 100;
+
+    private JsonMapper mapper;
+    private Page<InvoiceSummaryResponse> springPage;
+    private PageResponse<InvoiceSummaryResponse> compactPage;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().findAndAddModules().build();
+        List<InvoiceSummaryResponse> rows = rows();
+        PageRequest pageRequest = PageRequest.of(0, ROWS, Sort.by("issueDate").descending());
+        springPage = new PageImpl<>(rows, pageRequest, 1_250);
+        compactPage = PageResponse.from(new SliceImpl<>(rows, pageRequest, true), row -> row);
+    }
+
+    @Benchmark
+    public byte[] springDataPage() {
+        return mapper.writeValueAsBytes(springPage);
+    }
+
+    @Benchmark
+    public byte[] compactEnvelope() {
+        return mapper.writeValueAsBytes(compactPage);
+    }
+
+    private static List<InvoiceSummaryResponse> rows() {
+        List<InvoiceSummaryResponse> rows = new ArrayList<>(ROWS);
+        LocalDate issueDate = LocalDate.of(2025, 3, 31);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new InvoiceSummaryResponse(
+                    10_000L + i,
+                    2025,
+                    1_000 - i,
+                    InvoiceStatus.values()[i % InvoiceStatus.values().length],
+                    "Consulenza e sviluppo software - " + issueDate.minusDays(i).getMonth(),
+                    issueDate.minusDays(i),
+                    issueDate.minusDays(i).plusDays(30),
+                    "EUR",
+                    new BigDecimal("1220.00").add(BigDecimal.valueOf(i * 13L, 2)),
+                    500L + (i % 17),
+                    "Cliente " + (i % 17) + " S.r.l."
+            ));
+        }
+        return rows;
+    }
+
+    private static int gzipSize(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.size();
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        PageSerializationBenchmark sizes = new PageSerializationBenchmark();
+        sizes.setUp();
+        byte[] before = sizes.springDataPage();
+        byte[] after = sizes.compactEnvelope();
+        System.out.printf("%-18s %8s %8s%n", "payload", "bytes", "gzip");
+        System.out.printf("%-18s %8d %8d%n", "Spring Data Page", before.length, gzipSize(before));
+        System.out.printf("%-18s %8d %8d%n", "PageResponse", after.length, gzipSize(after));
+
+        new Runner(new OptionsBuilder()
+                .include(PageSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,140 @@
+package com.kernith.easyinvoice.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load test for comparing the platform-thread and virtual-thread modes.
+ *
+ * <p>Not part of the test suite. Logs in once, then for each concurrency level keeps that
+ * many requests in flight against one endpoint for a fixed time and prints throughput and
+ * latency percentiles. Clients are asynchronous, so 5,000 of them do not need 5,000 threads
+ * in the load generator.</p>
+ *
+ * <p>Start the server twice, once per mode, with the tenant limits switched off:</p>
+ * <pre>
+ * java -jar target/EasyInvoice-*.jar --spring.threads.virtual.enabled=true \
+ *     --security.tenant-limits.requests-per-minute=0 --security.tenant-limits.max-concurrent=0 \
+ *     --security.login.ip-per-minute=0 --logging.level.org.springframework.security=WARN \
+ *     --spring.jpa.show-sql=false
+ * java -cp target/test-classes com.kernith.easyinvoice.benchmark.RequestLoadBenchmark \
+ *     http://localhost:8080/api /platform/companies 1 platform.admin@easyinvoice.com 'Admin123!!' 20 50,500,5000
+ * </pre>
+ */
+public class RequestLoadBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("usage: RequestLoadBenchmark <baseUrl> <path> <companyId> <email> <password> "
+                    + "[seconds=20] [clients=50,500,5000]");
+            System.exit(2);
+        }
+        String baseUrl = args[0];
+        String path = args[1];
+        long seconds = args.length > 5 ? Long.parseLong(args[5]) : 20;
+        int[] levels = Arrays.stream((args.length > 6 ? args[6] : "50,500,5000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()))
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String token = login(client, baseUrl, Long.parseLong(args[2]), args[3], args[4]);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        run(client, request, Math.min(levels[0], 50), 5, false);
+        System.out.printf("%8s %10s %8s %10s %10s %10s%n", "clients", "req/s", "errors", "p50 ms", "p99 ms", "max ms");
+        for (int clients : levels) {
+            run(client, request, clients, seconds, true);
+        }
+        System.exit(0);
+    }
+
+    private static String login(HttpClient client, String baseUrl, long companyId, String email, String password)
+            throws Exception {
+        String body = String.format("{\"companyId\":%d,\"email\":\"%s\",\"password\":\"%s\"}", companyId, email, password);
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed: " + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static void run(HttpClient client, HttpRequest request, int clients, long seconds, boolean report)
+            throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+        List<CompletableFuture<Void>> loops = new ArrayList<>(clients);
+        long started = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            loop(client, request, deadline, latencies, errors, done);
+            loops.add(done);
+        }
+        CompletableFuture.allOf(loops.toArray(CompletableFuture[]::new)).get(seconds + 120, TimeUnit.SECONDS);
+        double elapsed = (System.nanoTime() - started) / 1e9;
+        if (!report) {
+            return;
+        }
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("%8d %10.0f %8d %10.1f %10.1f %10.1f%n",
+                clients,
+                sorted.length / elapsed,
+                errors.get(),
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static void loop(HttpClient client, HttpRequest request, long deadline,
+                             ConcurrentLinkedQueue<Long> latencies, AtomicLong errors, CompletableFuture<Void> done) {
+        if (System.nanoTime() >= deadline) {
+            done.complete(null);
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            if (failure != null || response.statusCode() >= 400) {
+                errors.incrementAndGet();
+            } else {
+                latencies.add(System.nanoTime() - start);
+            }
+            loop(client, request, deadline, latencies, errors, done);
+        });
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,197 @@
+package com.kernith.easyinvoice.config;
+
+import com.kernith.easyinvoice.data.model.IdempotencyRecord;
+import com.kernith.easyinvoice.data.repository.IdempotencyRecordRepository;
+import com.kernith.easyinvoice.service.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTests {
+
+    private IdempotencyStore store;
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+        when(repository.findByCompanyIdAndIdempotencyKey(anyLong(), anyString())).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        store = new IdempotencyStore(repository, 24, 100);
+        filter = new IdempotencyFilter(store);
+        authenticate(10L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void authenticate(long companyId) {
+        AuthPrincipal principal = new AuthPrincipal(7L, companyId, "COMPANY_MANAGER", List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.authorities()));
+    }
+
+    private static MockHttpServletRequest post(String path, String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api" + path);
+        request.setContextPath("/api");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    /**
+     * Chain that echoes the request body with a sequence number, like a create endpoint.
+     */
+    private static FilterChain creatingChain(AtomicInteger calls, int status) {
+        return (req, res) -> {
+            int n = calls.incrementAndGet();
+            String body = new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            ((HttpServletResponse) res).setStatus(status);
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getWriter().write("{\"id\":" + n + ",\"echo\":" + body + "}");
+        };
+    }
+
+    @Test
+    void replaysStoredResponseWithoutRunningTheRequestAgain() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain chain = creatingChain(calls, 200);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(post("/invoices", "k-1", "{\"a\":1}"), first, chain);
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(post("/invoices", "k-1", "{\"a\":1}"), retry, chain);
+
+        assertEquals(1, calls.get());
+        assertEquals(200, first.getStatus());
+        assertEquals("{\"id\":1,\"echo\":{\"a\":1}}", first.getContentAsString());
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(200, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, retry.getContentType());
+    }
+
+    @Test
+    void rejectsKeyReusedForDifferentRequest() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain chain = creatingChain(calls, 200);
+
+        filter.doFilter(post("/invoices", "k-1", "{\"a\":1}"), new MockHttpServletResponse(), chain);
+        MockHttpServletResponse otherBody = new MockHttpServletResponse();
+        filter.doFilter(post("/invoices", "k-1", "{\"a\":2}"), otherBody, chain);
+        MockHttpServletResponse otherPath = new MockHttpServletResponse();
+        filter.doFilter(post("/quotes", "k-1", "{\"a\":1}"), otherPath, chain);
+
+        assertEquals(1, calls.get());
+        assertEquals(422, otherBody.getStatus());
+        assertEquals(422, otherPath.getStatus());
+    }
+
+    @Test
+    void requestsWithoutKeyOrOnOtherPathsAreNotCached() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain chain = creatingChain(calls, 200);
+
+        filter.doFilter(post("/invoices", null, "{}"), new MockHttpServletResponse(), chain);
+        filter.doFilter(post("/invoices", null, "{}"), new MockHttpServletResponse(), chain);
+        filter.doFilter(post("/invoices/5/pay", "k-2", "{}"), new MockHttpServletResponse(), chain);
+        filter.doFilter(post("/invoices/5/pay", "k-2", "{}"), new MockHttpServletResponse(), chain);
+
+        assertEquals(4, calls.get());
+        assertEquals(0, store.cachedResponses());
+    }
+
+    @Test
+    void issueEndpointIsIdempotent() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain chain = creatingChain(calls, 200);
+
+        filter.doFilter(post("/invoices/5/issue", "issue-5", ""), new MockHttpServletResponse(), chain);
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(post("/invoices/5/issue", "issue-5", ""), retry, chain);
+
+        assertEquals(1, calls.get());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void failedResponsesAreNotStored() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        filter.doFilter(post("/invoices", "k-3", "{}"), failed, creatingChain(calls, 400));
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(post("/invoices", "k-3", "{}"), retry, creatingChain(calls, 200));
+
+        assertEquals(2, calls.get());
+        assertEquals(400, failed.getStatus());
+        assertEquals(200, retry.getStatus());
+        assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void rejectsRetryWhileFirstRequestIsRunning() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        store.begin(10L, "k-4");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post("/invoices", "k-4", "{}"), response, creatingChain(calls, 200));
+
+        assertEquals(0, calls.get());
+        assertEquals(409, response.getStatus());
+    }
+
+    @Test
+    void keysAreScopedByCompany() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain chain = creatingChain(calls, 200);
+
+        filter.doFilter(post("/invoices", "shared", "{}"), new MockHttpServletResponse(), chain);
+        authenticate(11L);
+        MockHttpServletResponse otherTenant = new MockHttpServletResponse();
+        filter.doFilter(post("/invoices", "shared", "{}"), otherTenant, chain);
+
+        assertEquals(2, calls.get());
+        assertNull(otherTenant.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void rejectsBlankOrOversizedKeys() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        MockHttpServletResponse blank = new MockHttpServletResponse();
+        filter.doFilter(post("/invoices", " ", "{}"), blank, creatingChain(calls, 200));
+        MockHttpServletResponse oversized = new MockHttpServletResponse();
+        filter.doFilter(post("/invoices", "x".repeat(IdempotencyFilter.MAX_KEY_LENGTH + 1), "{}"),
+                oversized, creatingChain(calls, 200));
+
+        assertEquals(0, calls.get());
+        assertEquals(400, blank.getStatus());
+        assertEquals(400, oversized.getStatus());
+    }
+}
@@ -1,9 +1,12 @@
 package com.kernith.easyinvoice.config;
 
+import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.service.JwtService;
+import com.kernith.easyinvoice.service.TokenRevocationRegistry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.impl.DefaultClaims;
 import jakarta.servlet.FilterChain;
+import java.util.Date;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
@@ -16,13 +19,22 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class JwtAuthenticationFilterTests {
 
+    private final TokenRevocationRegistry revocationRegistry = mock(TokenRevocationRegistry.class);
+
+    private JwtAuthenticationFilter newFilter(JwtService jwtService) {
+        return new JwtAuthenticationFilter(jwtService, new VerifiedTokenCache(10), revocationRegistry);
+    }
+
     @AfterEach
     void tearDown() {
         SecurityContextHolder.clearContext();
@@ -31,7 +43,7 @@ class JwtAuthenticationFilterTests {
     @Test
     void shouldNotFilterSkipsAuthAndErrorPaths() {
         JwtService jwtService = mock(JwtService.class);
-        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService);
+        JwtAuthenticationFilter filter = newFilter(jwtService);
 
         MockHttpServletRequest authRequest = new MockHttpServletRequest();
         authRequest.setRequestURI("/auth/login");
@@ -49,7 +61,7 @@ class JwtAuthenticationFilterTests {
     @Test
     void doFilterInternalPassesThroughWhenNoAuthorizationHeader() throws Exception {
         JwtService jwtService = mock(JwtService.class);
-        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService);
+        JwtAuthenticationFilter filter = newFilter(jwtService);
 
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.setRequestURI("/platform/companies");
@@ -66,7 +78,7 @@ class JwtAuthenticationFilterTests {
     void doFilterInternalClearsContextWhenTokenInvalid() throws Exception {
         JwtService jwtService = mock(JwtService.class);
         when(jwtService.parseClaims(anyString())).thenThrow(new RuntimeException("bad token"));
-        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService);
+        JwtAuthenticationFilter filter = newFilter(jwtService);
 
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.setRequestURI("/platform/companies");
@@ -89,7 +101,7 @@ class JwtAuthenticationFilterTests {
         claims.put("role", "COMPANY_MANAGER");
         when(jwtService.parseClaims("goodtoken")).thenReturn(claims);
 
-        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService);
+        JwtAuthenticationFilter filter = newFilter(jwtService);
 
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.setRequestURI("/platform/companies");
@@ -107,4 +119,124 @@ class JwtAuthenticationFilterTests {
         assertEquals("COMPANY_MANAGER", principal.role());
         verify(chain).doFilter(request, response);
     }
+
+    @Test
+    void doFilterInternalReusesVerifiedTokenFromCache() throws Exception {
+        JwtService jwtService = mock(JwtService.class);
+        Claims claims = new DefaultClaims();
+        claims.setSubject("7");
+        claims.put("cid", 10L);
+        claims.put("role", "COMPANY_MANAGER");
+        claims.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        when(jwtService.parseClaims("goodtoken")).thenReturn(claims);
+
+        JwtAuthenticationFilter filter = newFilter(jwtService);
+
+        for (int i = 0; i < 3; i++) {
+            SecurityContextHolder.clearContext();
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setRequestURI("/platform/companies");
+            request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer goodtoken");
+            filter.doFilterInternal(request, new MockHttpServletResponse(), mock(FilterChain.class));
+
+            AuthPrincipal principal = (AuthPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            assertEquals(7L, principal.userId());
+        }
+
+        verify(jwtService, times(1)).parseClaims("goodtoken");
+    }
+
+    @Test
+    void doFilterInternalRejectsRevokedTokenEvenWhenCached() throws Exception {
+        JwtService jwtService = mock(JwtService.class);
+        Claims claims = new DefaultClaims();
+        claims.setSubject("7");
+        claims.put("cid", 10L);
+        claims.put("role", "COMPANY_MANAGER");
+        claims.setIssuedAt(new Date());
+        claims.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        when(jwtService.parseClaims("goodtoken")).thenReturn(claims);
+        JwtAuthenticationFilter filter = newFilter(jwtService);
+
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        first.setRequestURI("/platform/companies");
+        first.addHeader(HttpHeaders.AUTHORIZATION, "Bearer goodtoken");
+        filter.doFilterInternal(first, new MockHttpServletResponse(), mock(FilterChain.class));
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+
+        SecurityContextHolder.clearContext();
+        when(revocationRegistry.isRevoked(eq(7L), any())).thenReturn(true);
+        MockHttpServletRequest second = new MockHttpServletRequest();
+        second.setRequestURI("/platform/companies");
+        second.addHeader(HttpHeaders.AUTHORIZATION, "Bearer goodtoken");
+        FilterChain chain = mock(FilterChain.class);
+        filter.doFilterInternal(second, new MockHttpServletResponse(), chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(chain).doFilter(any(), any());
+    }
+
+    @Test
+    void doFilterInternalResolvesRoleOnceAndRejectsUnknownRoles() throws Exception {
+        JwtService jwtService = mock(JwtService.class);
+        Claims claims = new DefaultClaims();
+        claims.setSubject("7");
+        claims.put("cid", 10L);
+        claims.put("role", "BACK_OFFICE");
+        claims.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        Claims unknown = new DefaultClaims();
+        unknown.setSubject("8");
+        unknown.put("cid", 10L);
+        unknown.put("role", "AUDITOR");
+        when(jwtService.parseClaims("goodtoken")).thenReturn(claims);
+        when(jwtService.parseClaims("unknownrole")).thenReturn(unknown);
+        JwtAuthenticationFilter filter = newFilter(jwtService);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI("/invoices");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer goodtoken");
+        filter.doFilterInternal(request, new MockHttpServletResponse(), mock(FilterChain.class));
+        AuthPrincipal principal = (AuthPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(UserRole.BACK_OFFICE, principal.userRole());
+        assertEquals("ROLE_BACK_OFFICE", principal.authorities().iterator().next().getAuthority());
+
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest unknownRequest = new MockHttpServletRequest();
+        unknownRequest.setRequestURI("/invoices");
+        unknownRequest.addHeader(HttpHeaders.AUTHORIZATION, "Bearer unknownrole");
+        filter.doFilterInternal(unknownRequest, new MockHttpServletResponse(), mock(FilterChain.class));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilterInternalAcceptsQueryTokenOnlyOnEventStream() throws Exception {
+        JwtService jwtService = mock(JwtService.class);
+        Claims claims = new DefaultClaims();
+        claims.setSubject("7");
+        claims.put("cid", 10L);
+        claims.put("role", "BACK_OFFICE");
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000L);
+        claims.setExpiration(expiresAt);
+        when(jwtService.parseClaims("streamtoken")).thenReturn(claims);
+        JwtAuthenticationFilter filter = newFilter(jwtService);
+
+        MockHttpServletRequest events = new MockHttpServletRequest("GET", "/api/events");
+        events.setContextPath("/api");
+        events.setParameter(JwtAuthenticationFilter.ACCESS_TOKEN_PARAMETER, "streamtoken");
+        filter.doFilterInternal(events, new MockHttpServletResponse(), mock(FilterChain.class));
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        VerifiedTokenCache.VerifiedToken verified = (VerifiedTokenCache.VerifiedToken)
+                events.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE);
+        assertEquals(claims.getExpiration(), verified.expiresAt());
+
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest other = new MockHttpServletRequest("GET", "/api/invoices");
+        other.setContextPath("/api");
+        other.setParameter(JwtAuthenticationFilter.ACCESS_TOKEN_PARAMETER, "streamtoken");
+        filter.doFilterInternal(other, new MockHttpServletResponse(), mock(FilterChain.class));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNull(other.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE));
+    }
 }
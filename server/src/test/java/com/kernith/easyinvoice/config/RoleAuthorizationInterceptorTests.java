@@ -0,0 +1,92 @@
+package com.kernith.easyinvoice.config;
+
+import com.kernith.easyinvoice.data.model.UserRole;
+import com.kernith.easyinvoice.helper.RequireRoles;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoleAuthorizationInterceptorTests {
+
+    @RequireRoles({UserRole.COMPANY_MANAGER, UserRole.BACK_OFFICE})
+    static class StaffController {
+        public void list() { }
+
+        @RequireRoles(UserRole.COMPANY_MANAGER)
+        public void delete() { }
+    }
+
+    static class OpenController {
+        public void open() { }
+    }
+
+    private final RoleAuthorizationInterceptor interceptor = new RoleAuthorizationInterceptor();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void authenticate(UserRole role) {
+        AuthPrincipal principal = AuthPrincipal.of(7L, 10L, role);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.authorities()));
+    }
+
+    private boolean call(Object controller, String method) throws Exception {
+        HandlerMethod handler = new HandlerMethod(controller, controller.getClass().getMethod(method));
+        return interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler);
+    }
+
+    @Test
+    void classLevelRolesApplyToUnannotatedMethods() throws Exception {
+        authenticate(UserRole.BACK_OFFICE);
+        assertTrue(call(new StaffController(), "list"));
+
+        authenticate(UserRole.PLATFORM_ADMIN);
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> call(new StaffController(), "list"));
+        assertEquals(HttpStatus.FORBIDDEN, ex.getStatusCode());
+    }
+
+    @Test
+    void methodLevelRolesOverrideClassLevel() throws Exception {
+        authenticate(UserRole.BACK_OFFICE);
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> call(new StaffController(), "delete"));
+        assertEquals(HttpStatus.FORBIDDEN, ex.getStatusCode());
+
+        authenticate(UserRole.COMPANY_MANAGER);
+        assertTrue(call(new StaffController(), "delete"));
+    }
+
+    @Test
+    void rejectsMissingOrUnknownRole() {
+        ResponseStatusException missing = assertThrows(ResponseStatusException.class, () -> call(new StaffController(), "list"));
+        assertEquals(HttpStatus.UNAUTHORIZED, missing.getStatusCode());
+
+        AuthPrincipal unknown = new AuthPrincipal(7L, 10L, "AUDITOR", List.of());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(unknown, null, List.of()));
+        ResponseStatusException invalid = assertThrows(ResponseStatusException.class, () -> call(new StaffController(), "list"));
+        assertEquals(HttpStatus.UNAUTHORIZED, invalid.getStatusCode());
+    }
+
+    @Test
+    void unannotatedHandlersAreOpenAndRulesAreCached() throws Exception {
+        assertTrue(call(new OpenController(), "open"));
+        authenticate(UserRole.COMPANY_MANAGER);
+        call(new StaffController(), "list");
+        call(new StaffController(), "list");
+
+        assertEquals(2, interceptor.cachedRules());
+    }
+}
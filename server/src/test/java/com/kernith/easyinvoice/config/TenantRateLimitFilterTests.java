@@ -0,0 +1,135 @@
+package com.kernith.easyinvoice.config;
+
+import jakarta.servlet.FilterChain;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TenantRateLimitFilterTests {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void authenticate(long companyId) {
+        AuthPrincipal principal = new AuthPrincipal(7L, companyId, "COMPANY_MANAGER", List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.authorities()));
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api" + path);
+        request.setContextPath("/api");
+        return request;
+    }
+
+    @Test
+    void passesThroughAnonymousRequests() throws Exception {
+        TenantRateLimitFilter filter = new TenantRateLimitFilter(1, 1, 1, 1);
+        FilterChain chain = mock(FilterChain.class);
+
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(request("/invoices"), new MockHttpServletResponse(), chain);
+        }
+
+        verify(chain, times(3)).doFilter(any(), any());
+    }
+
+    @Test
+    void rejectsWithRetryAfterWhenTenantRateExceeded() throws Exception {
+        TenantRateLimitFilter filter = new TenantRateLimitFilter(2, 0, 0, 0);
+        authenticate(10L);
+
+        filter.doFilter(request("/invoices"), new MockHttpServletResponse(), mock(FilterChain.class));
+        filter.doFilter(request("/invoices"), new MockHttpServletResponse(), mock(FilterChain.class));
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+        filter.doFilter(request("/invoices"), rejected, chain);
+
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        verify(chain, never()).doFilter(any(), any());
+
+        authenticate(11L);
+        MockHttpServletResponse otherTenant = new MockHttpServletResponse();
+        filter.doFilter(request("/invoices"), otherTenant, mock(FilterChain.class));
+        assertEquals(200, otherTenant.getStatus());
+    }
+
+    @Test
+    void expensiveEndpointsUseSeparateBudget() throws Exception {
+        TenantRateLimitFilter filter = new TenantRateLimitFilter(100, 0, 1, 0);
+        authenticate(10L);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request("/invoices/5/pdf"), first, mock(FilterChain.class));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(request("/invoices/5/pdf-download"), second, mock(FilterChain.class));
+        MockHttpServletResponse ordinary = new MockHttpServletResponse();
+        filter.doFilter(request("/invoices/5"), ordinary, mock(FilterChain.class));
+
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+        assertEquals(200, ordinary.getStatus());
+    }
+
+    @Test
+    void rejectsWhenTenantHasTooManyRequestsInFlight() throws Exception {
+        TenantRateLimitFilter filter = new TenantRateLimitFilter(0, 1, 0, 0);
+        authenticate(10L);
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+
+        FilterChain slowChain = (req, res) -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request("/invoices"), response, mock(FilterChain.class));
+            nested.set(response);
+        };
+        filter.doFilter(request("/invoices"), new MockHttpServletResponse(), slowChain);
+
+        assertEquals(429, nested.get().getStatus());
+        assertEquals("1", nested.get().getHeader(HttpHeaders.RETRY_AFTER));
+
+        MockHttpServletResponse after = new MockHttpServletResponse();
+        filter.doFilter(request("/invoices"), after, mock(FilterChain.class));
+        assertEquals(200, after.getStatus());
+    }
+
+    @Test
+    void concurrencyRejectionDoesNotConsumeRateBudget() throws Exception {
+        TenantRateLimitFilter filter = new TenantRateLimitFilter(2, 1, 0, 0);
+        authenticate(10L);
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+
+        FilterChain slowChain = (req, res) -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request("/invoices"), response, mock(FilterChain.class));
+            nested.set(response);
+        };
+        filter.doFilter(request("/invoices"), new MockHttpServletResponse(), slowChain);
+        assertEquals(429, nested.get().getStatus());
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(request("/invoices"), second, mock(FilterChain.class));
+        MockHttpServletResponse third = new MockHttpServletResponse();
+        filter.doFilter(request("/invoices"), third, mock(FilterChain.class));
+
+        assertEquals(200, second.getStatus());
+        assertEquals(429, third.getStatus());
+        assertEquals("Rate limit exceeded", third.getContentAsString());
+    }
+}
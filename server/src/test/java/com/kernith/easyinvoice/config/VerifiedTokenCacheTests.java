@@ -0,0 +1,60 @@
+package com.kernith.easyinvoice.config;
+
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VerifiedTokenCacheTests {
+
+    private final AuthPrincipal principal = new AuthPrincipal(7L, 10L, "COMPANY_MANAGER", List.of());
+
+    private static Date inMinutes(long minutes) {
+        return new Date(System.currentTimeMillis() + minutes * 60_000);
+    }
+
+    @Test
+    void getReturnsCachedPrincipalUntilExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+
+        cache.put("token-a", principal, new Date(), inMinutes(5));
+        cache.put("token-b", principal, new Date(), new Date(System.currentTimeMillis() - 1));
+
+        assertEquals(principal, cache.get("token-a").principal());
+        assertNull(cache.get("token-b"));
+        assertNull(cache.get("token-c"));
+    }
+
+    @Test
+    void putSkipsTokensWithoutExpiration() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+
+        cache.put("token-a", principal, new Date(), null);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void putEvictsWhenFull() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+
+        for (int i = 0; i < 25; i++) {
+            cache.put("token-" + i, principal, new Date(), inMinutes(5));
+        }
+
+        assertTrue(cache.size() <= 10);
+        assertEquals(principal, cache.get("token-24").principal());
+    }
+
+    @Test
+    void zeroSizeDisablesCaching() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0);
+
+        cache.put("token-a", principal, new Date(), inMinutes(5));
+
+        assertNull(cache.get("token-a"));
+    }
+}
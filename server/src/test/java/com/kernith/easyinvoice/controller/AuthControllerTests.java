@@ -5,6 +5,7 @@ import com.kernith.easyinvoice.config.AuthPrincipal;
 import com.kernith.easyinvoice.config.WebConfig;
 import com.kernith.easyinvoice.data.dto.auth.LoginRequest;
 import com.kernith.easyinvoice.data.dto.auth.LoginResponse;
+import com.kernith.easyinvoice.data.dto.auth.RefreshTokenRequest;
 import com.kernith.easyinvoice.data.model.User;
 import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.helper.CurrentUserArgumentResolver;
@@ -32,6 +33,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -78,8 +80,8 @@ class AuthControllerTests {
         @Test
         void loginReturnsTokenWhenCredentialsValid() throws Exception {
             LoginRequest req = new LoginRequest(10L, "user@acme.test", "pw");
-            LoginResponse res = new LoginResponse("jwt", 7L, 10L, "COMPANY_MANAGER");
-            when(authService.login(any(LoginRequest.class))).thenReturn(res);
+            LoginResponse res = new LoginResponse("jwt", 7L, 10L, "COMPANY_MANAGER", "refresh", 900L);
+            when(authService.login(any(LoginRequest.class), any())).thenReturn(res);
 
             mockMvc.perform(post("/auth/login")
                             .contentType(MediaType.APPLICATION_JSON)
@@ -88,7 +90,9 @@ class AuthControllerTests {
                     .andExpect(jsonPath("$.token").value("jwt"))
                     .andExpect(jsonPath("$.userId").value(7L))
                     .andExpect(jsonPath("$.companyId").value(10L))
-                    .andExpect(jsonPath("$.role").value("COMPANY_MANAGER"));
+                    .andExpect(jsonPath("$.role").value("COMPANY_MANAGER"))
+                    .andExpect(jsonPath("$.refreshToken").value("refresh"))
+                    .andExpect(jsonPath("$.expiresInSeconds").value(900));
         }
 
         @Test
@@ -102,7 +106,7 @@ class AuthControllerTests {
 
         @Test
         void loginThrowsWhenServiceThrows() throws Exception {
-            when(authService.login(any(LoginRequest.class)))
+            when(authService.login(any(LoginRequest.class), any()))
                     .thenThrow(new RuntimeException("Invalid credentials"));
 
             LoginRequest req = new LoginRequest(10L, "user@acme.test", "bad");
@@ -115,7 +119,7 @@ class AuthControllerTests {
 
         @Test
         void loginReturnsServerErrorWhenServiceThrowsIllegalState() throws Exception {
-            when(authService.login(any(LoginRequest.class)))
+            when(authService.login(any(LoginRequest.class), any()))
                     .thenThrow(new IllegalStateException("broken"));
 
             LoginRequest req = new LoginRequest(10L, "user@acme.test", "bad");
@@ -127,6 +131,40 @@ class AuthControllerTests {
         }
     }
 
+    @Nested
+    class authRefreshTests {
+        @Test
+        void refreshReturnsNewTokenPair() throws Exception {
+            LoginResponse res = new LoginResponse("jwt2", 7L, 10L, "COMPANY_MANAGER", "refresh2", 900L);
+            when(authService.refresh(new RefreshTokenRequest("refresh1"))).thenReturn(res);
+
+            mockMvc.perform(post("/auth/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh1"))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.token").value("jwt2"))
+                    .andExpect(jsonPath("$.refreshToken").value("refresh2"));
+        }
+
+        @Test
+        void refreshRejectsBlankToken() throws Exception {
+            mockMvc.perform(post("/auth/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"refreshToken\":\"\"}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void logoutRevokesRefreshToken() throws Exception {
+            mockMvc.perform(post("/auth/logout")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh1"))))
+                    .andExpect(status().isNoContent());
+
+            verify(authService).logout(new RefreshTokenRequest("refresh1"));
+        }
+    }
+
     @Nested
     class authMeTests {
         @Test
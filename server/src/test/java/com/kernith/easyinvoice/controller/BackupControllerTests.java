@@ -0,0 +1,224 @@
+package com.kernith.easyinvoice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.config.WebConfig;
+import com.kernith.easyinvoice.data.dto.backup.BackupDownload;
+import com.kernith.easyinvoice.data.dto.backup.BackupFileResponse;
+import com.kernith.easyinvoice.data.dto.backup.BackupProgressResponse;
+import com.kernith.easyinvoice.data.dto.backup.BackupRestoreResponse;
+import com.kernith.easyinvoice.data.dto.backup.BackupThrottleResponse;
+import com.kernith.easyinvoice.data.dto.backup.UpdateBackupThrottleRequest;
+import com.kernith.easyinvoice.helper.CurrentUserArgumentResolver;
+import com.kernith.easyinvoice.service.backup.BackupAdminService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BackupController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import({
+        WebConfig.class,
+        CurrentUserArgumentResolver.class,
+        BackupControllerTests.TestExceptionHandler.class
+})
+@ActiveProfiles("test")
+class BackupControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @MockitoBean
+    private BackupAdminService backupAdminService;
+
+    @RestControllerAdvice
+    static class TestExceptionHandler {
+        @ExceptionHandler(RuntimeException.class)
+        ResponseEntity<String> handleRuntime(RuntimeException ex) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal error");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void setPrincipal() {
+        AuthPrincipal principal = new AuthPrincipal(1L, 1L, "PLATFORM_ADMIN", List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.authorities())
+        );
+    }
+
+    @Nested
+    class throttleTests {
+        @Test
+        void getThrottleReturnsStats() throws Exception {
+            setPrincipal();
+            when(backupAdminService.getThrottle(any(AuthPrincipal.class)))
+                    .thenReturn(new BackupThrottleResponse(1024L, 2048L, 1L, 15L));
+
+            mockMvc.perform(get("/platform/backups/throttle"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.bytesPerSecond").value(1024))
+                    .andExpect(jsonPath("$.throttledMillis").value(15));
+        }
+
+        @Test
+        void updateThrottleRejectsNegativeRate() throws Exception {
+            setPrincipal();
+
+            mockMvc.perform(patch("/platform/backups/throttle")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new UpdateBackupThrottleRequest(-5L))))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void updateThrottleReturnsNewRate() throws Exception {
+            setPrincipal();
+            when(backupAdminService.updateThrottle(any(UpdateBackupThrottleRequest.class), any(AuthPrincipal.class)))
+                    .thenReturn(new BackupThrottleResponse(4096L, 0L, 0L, 0L));
+
+            mockMvc.perform(patch("/platform/backups/throttle")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new UpdateBackupThrottleRequest(4096L))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.bytesPerSecond").value(4096));
+        }
+    }
+
+    @Nested
+    class restoreTests {
+        @Test
+        void restoreCompanyReturnsNotFoundWhenNoBackup() throws Exception {
+            setPrincipal();
+            when(backupAdminService.restoreCompany(eq(2L), any(), any(AuthPrincipal.class)))
+                    .thenReturn(Optional.empty());
+
+            mockMvc.perform(post("/platform/backups/companies/2/restore"))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        void restoreCompanyPassesPointInTime() throws Exception {
+            setPrincipal();
+            LocalDateTime at = LocalDateTime.of(2026, 1, 5, 0, 0);
+            when(backupAdminService.restoreCompany(eq(2L), eq(at), any(AuthPrincipal.class)))
+                    .thenReturn(Optional.of(new BackupRestoreResponse(
+                            2L, LocalDateTime.of(2026, 1, 1, 2, 0), 3, "/tmp/restore/2")));
+
+            mockMvc.perform(post("/platform/backups/companies/2/restore").param("at", "2026-01-05T00:00:00"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.files").value(3))
+                    .andExpect(jsonPath("$.companyId").value(2));
+        }
+    }
+
+    @Nested
+    class runTests {
+
+        @Test
+        void runBackupReturnsAcceptedWithProgressLocation() throws Exception {
+            setPrincipal();
+            when(backupAdminService.startBackup(eq(null), any(AuthPrincipal.class))).thenReturn(true);
+
+            mockMvc.perform(post("/platform/backups/run"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", "/platform/backups/progress"));
+        }
+
+        @Test
+        void runCompanyBackupReturnsNotFoundForUnknownCompany() throws Exception {
+            setPrincipal();
+            when(backupAdminService.startBackup(eq(9L), any(AuthPrincipal.class))).thenReturn(false);
+
+            mockMvc.perform(post("/platform/backups/companies/9/run"))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        void getProgressReturnsCounters() throws Exception {
+            setPrincipal();
+            when(backupAdminService.getProgress(any(AuthPrincipal.class))).thenReturn(Optional.of(new BackupProgressResponse(
+                    "manual", true, LocalDateTime.of(2026, 1, 1, 2, 0), null,
+                    4, 1, 0, 10, 5, 1000, 500, 250, 2L)));
+
+            mockMvc.perform(get("/platform/backups/progress"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.filesDone").value(5))
+                    .andExpect(jsonPath("$.etaSeconds").value(2));
+        }
+    }
+
+    @Nested
+    class filesTests {
+
+        @Test
+        void listBackupsReturnsFiles() throws Exception {
+            setPrincipal();
+            when(backupAdminService.listBackups(eq(2L), any(AuthPrincipal.class))).thenReturn(Optional.of(List.of(
+                    new BackupFileResponse("backup_20260101_020000.zip", "ZIP", 12L, LocalDateTime.of(2026, 1, 1, 2, 0)))));
+
+            mockMvc.perform(get("/platform/backups/companies/2/files"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].name").value("backup_20260101_020000.zip"))
+                    .andExpect(jsonPath("$[0].kind").value("ZIP"));
+        }
+
+        @Test
+        void downloadBackupReturnsAttachment() throws Exception {
+            setPrincipal();
+            when(backupAdminService.downloadBackup(eq(2L), eq("backup_20260101_020000.zip"), any(AuthPrincipal.class)))
+                    .thenReturn(Optional.of(new BackupDownload(
+                            "backup_20260101_020000.zip", new ByteArrayResource("zip".getBytes()))));
+
+            mockMvc.perform(get("/platform/backups/companies/2/files/backup_20260101_020000.zip"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=\"backup_20260101_020000.zip\""))
+                    .andExpect(content().bytes("zip".getBytes()));
+        }
+
+        @Test
+        void downloadBackupReturnsNotFoundForUnknownFile() throws Exception {
+            setPrincipal();
+            when(backupAdminService.downloadBackup(eq(2L), eq("missing.zip"), any(AuthPrincipal.class)))
+                    .thenReturn(Optional.empty());
+
+            mockMvc.perform(get("/platform/backups/companies/2/files/missing.zip"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+}
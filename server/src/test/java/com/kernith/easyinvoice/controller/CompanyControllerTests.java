@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kernith.easyinvoice.config.AuthPrincipal;
 import com.kernith.easyinvoice.config.WebConfig;
 import com.kernith.easyinvoice.data.dto.company.CompanyDetailResponse;
+import com.kernith.easyinvoice.data.dto.company.CompanyStorageResponse;
 import com.kernith.easyinvoice.data.dto.company.CompanySummaryResponse;
 import com.kernith.easyinvoice.data.dto.company.CreateCompanyManagerRequest;
 import com.kernith.easyinvoice.data.dto.company.CreatePlatformCompanyManagerRequest;
@@ -145,7 +146,8 @@ class CompanyControllerTests {
         @Test
         void getCompanyReturnsCompanyWhenFound() throws Exception {
             setPrincipal();
-            CompanyDetailResponse res = new CompanyDetailResponse(10L, "Acme SRL", "IT123", null);
+            CompanyDetailResponse res = new CompanyDetailResponse(
+                    10L, "Acme SRL", "IT123", null, new CompanyStorageResponse(10L, 2L, 300L, 700L, 1000L, null));
             when(companyService.getCompany(eq(10L), any(AuthPrincipal.class)))
                     .thenReturn(Optional.of(res));
 
@@ -153,7 +155,8 @@ class CompanyControllerTests {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.id").value(10L))
                     .andExpect(jsonPath("$.name").value("Acme SRL"))
-                    .andExpect(jsonPath("$.vatNumber").value("IT123"));
+                    .andExpect(jsonPath("$.vatNumber").value("IT123"))
+                    .andExpect(jsonPath("$.storage.totalBytes").value(1000L));
         }
 
         @Test
@@ -296,7 +296,7 @@ class CustomerControllerTests {
             when(customer.getPec()).thenReturn("pec@acme.test");
             when(customer.getCountry()).thenReturn("IT");
             Page<Customer> page = new PageImpl<>(List.of(customer));
-            when(customerService.listCustomers(any(AuthPrincipal.class), eq(0), eq(20), eq("displayName,asc"), eq(null)))
+            when(customerService.sliceCustomers(any(AuthPrincipal.class), eq(0), eq(20), eq("displayName,asc"), eq(null)))
                     .thenReturn(page);
 
             mockMvc.perform(get("/manager/customers")
@@ -312,7 +312,7 @@ class CustomerControllerTests {
         void listCustomersSummaryReturnsNoContentWhenEmpty() throws Exception {
             setPrincipal();
             Page<Customer> page = Page.empty();
-            when(customerService.listCustomers(any(AuthPrincipal.class), eq(0), eq(20), eq("displayName,asc"), eq(null)))
+            when(customerService.sliceCustomers(any(AuthPrincipal.class), eq(0), eq(20), eq("displayName,asc"), eq(null)))
                     .thenReturn(page);
 
             mockMvc.perform(get("/manager/customers")
@@ -340,7 +340,7 @@ class CustomerControllerTests {
             when(customer.getPostalCode()).thenReturn("00100");
             when(customer.getCountry()).thenReturn("IT");
             Page<Customer> page = new PageImpl<>(List.of(customer));
-            when(customerService.listCustomers(any(AuthPrincipal.class), eq(0), eq(20), eq("displayName,asc"), eq(null)))
+            when(customerService.sliceCustomers(any(AuthPrincipal.class), eq(0), eq(20), eq("displayName,asc"), eq(null)))
                     .thenReturn(page);
 
             mockMvc.perform(get("/manager/customers"))
@@ -355,7 +355,7 @@ class CustomerControllerTests {
         void listCustomersReturnsNoContentWhenEmpty() throws Exception {
             setPrincipal();
             Page<Customer> page = Page.empty();
-            when(customerService.listCustomers(any(AuthPrincipal.class), eq(0), eq(20), eq("displayName,asc"), eq(null)))
+            when(customerService.sliceCustomers(any(AuthPrincipal.class), eq(0), eq(20), eq("displayName,asc"), eq(null)))
                     .thenReturn(page);
 
             mockMvc.perform(get("/manager/customers"))
@@ -3,15 +3,36 @@ package com.kernith.easyinvoice.controller;
 import com.kernith.easyinvoice.config.AuthPrincipal;
 import com.kernith.easyinvoice.config.WebConfig;
 import com.kernith.easyinvoice.data.dto.dashboard.AdminDashboardSummaryResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.DashboardCacheStatsResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.StorageUsageResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.AgingBucketsResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.CompanyActivityResponse;
 import com.kernith.easyinvoice.data.dto.dashboard.CustomerInvoiceSummaryResponse;
 import com.kernith.easyinvoice.data.dto.dashboard.InvoiceStatusAggregateResponse;
 import com.kernith.easyinvoice.data.dto.dashboard.ManagerDashboardSummaryResponse;
 import com.kernith.easyinvoice.data.dto.dashboard.QuoteStatusAggregateResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.ReceivablesAgingResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.RevenuePointResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.RevenueSeriesResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.TopCustomerResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.TopCustomersResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.VatRateSummaryResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.VatSummaryResponse;
 import com.kernith.easyinvoice.data.model.InvoiceStatus;
 import com.kernith.easyinvoice.data.model.QuoteStatus;
+import com.kernith.easyinvoice.data.model.RevenueGranularity;
+import com.kernith.easyinvoice.data.model.TopCustomerMetric;
 import com.kernith.easyinvoice.helper.CurrentUserArgumentResolver;
 import com.kernith.easyinvoice.service.DashboardService;
+import com.kernith.easyinvoice.service.PlatformAnalyticsService;
+import com.kernith.easyinvoice.service.PlatformAnalyticsService.ActivityQuery;
+import com.kernith.easyinvoice.service.ReceivablesService;
+import com.kernith.easyinvoice.service.RevenueRollupService;
+import com.kernith.easyinvoice.service.VatSummaryService;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
@@ -21,6 +42,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -28,14 +52,22 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(DashboardController.class)
@@ -54,6 +86,18 @@ class DashboardControllerTests {
     @MockitoBean
     private DashboardService dashboardService;
 
+    @MockitoBean
+    private RevenueRollupService revenueRollupService;
+
+    @MockitoBean
+    private ReceivablesService receivablesService;
+
+    @MockitoBean
+    private PlatformAnalyticsService platformAnalyticsService;
+
+    @MockitoBean
+    private VatSummaryService vatSummaryService;
+
     @RestControllerAdvice
     static class TestExceptionHandler {
         @ExceptionHandler(RuntimeException.class)
@@ -128,6 +172,158 @@ class DashboardControllerTests {
         }
     }
 
+    @Nested
+    class revenueSeriesTests {
+        @Test
+        void revenueSeriesReturnsPayload() throws Exception {
+            setPrincipal("COMPANY_MANAGER");
+            LocalDate january = LocalDate.of(2025, 1, 1);
+            RevenueSeriesResponse response = RevenueSeriesResponse.from(
+                    RevenueGranularity.MONTH,
+                    january,
+                    LocalDate.of(2025, 2, 28),
+                    null,
+                    List.of(
+                            new RevenuePointResponse(january, 2L, new BigDecimal("427.00"), 1L, new BigDecimal("244.00")),
+                            RevenuePointResponse.empty(LocalDate.of(2025, 2, 1))
+                    )
+            );
+            when(revenueRollupService.getSeries(
+                    any(AuthPrincipal.class),
+                    eq(january),
+                    eq(LocalDate.of(2025, 2, 28)),
+                    eq(RevenueGranularity.MONTH),
+                    isNull()
+            )).thenReturn(Optional.of(response));
+
+            mockMvc.perform(get("/manager/dashboard/revenue")
+                            .param("from", "2025-01-01")
+                            .param("to", "2025-02-28"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.granularity").value("MONTH"))
+                    .andExpect(jsonPath("$.points[0].issuedCount").value(2L))
+                    .andExpect(jsonPath("$.points[1].paidAmount").value(0));
+        }
+
+        @Test
+        void revenueSeriesReturnsNotFoundWhenCustomerMissing() throws Exception {
+            setPrincipal("COMPANY_MANAGER");
+            when(revenueRollupService.getSeries(
+                    any(AuthPrincipal.class),
+                    any(LocalDate.class),
+                    any(LocalDate.class),
+                    eq(RevenueGranularity.DAY),
+                    eq(999L)
+            )).thenReturn(Optional.empty());
+
+            mockMvc.perform(get("/manager/dashboard/revenue")
+                            .param("from", "2025-01-01")
+                            .param("to", "2025-01-31")
+                            .param("granularity", "DAY")
+                            .param("customerId", "999"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    class topCustomersTests {
+        @Test
+        void topCustomersParsesPeriodAndReturnsPayload() throws Exception {
+            setPrincipal("COMPANY_MANAGER");
+            TopCustomersResponse response = TopCustomersResponse.from(
+                    TopCustomerMetric.OUTSTANDING,
+                    YearMonth.of(2025, 1),
+                    YearMonth.of(2025, 6),
+                    List.of(TopCustomerResponse.from(100L, "Alfa Uno", BigDecimal.ZERO, 2L, new BigDecimal("183.00")))
+            );
+            when(revenueRollupService.getTopCustomers(
+                    any(AuthPrincipal.class),
+                    eq(TopCustomerMetric.OUTSTANDING),
+                    eq(YearMonth.of(2025, 1)),
+                    eq(YearMonth.of(2025, 6)),
+                    eq(5)
+            )).thenReturn(response);
+
+            mockMvc.perform(get("/manager/dashboard/top-customers")
+                            .param("metric", "OUTSTANDING")
+                            .param("from", "2025-01")
+                            .param("to", "2025-06")
+                            .param("limit", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.from").value("2025-01"))
+                    .andExpect(jsonPath("$.customers[0].customerName").value("Alfa Uno"))
+                    .andExpect(jsonPath("$.customers[0].outstandingAmount").value(183.00));
+        }
+
+        @Test
+        void vatSummaryParsesPeriodAndReturnsPayload() throws Exception {
+            setPrincipal("COMPANY_MANAGER");
+            VatSummaryResponse response = VatSummaryResponse.from(
+                    YearMonth.of(2025, 1),
+                    YearMonth.of(2025, 3),
+                    List.of(
+                            new VatRateSummaryResponse(new BigDecimal("10.00"), 1L, new BigDecimal("50.00"), new BigDecimal("5.00")),
+                            new VatRateSummaryResponse(new BigDecimal("22.00"), 2L, new BigDecimal("300.00"), new BigDecimal("66.00"))
+                    )
+            );
+            when(vatSummaryService.getSummary(
+                    any(AuthPrincipal.class),
+                    eq(YearMonth.of(2025, 1)),
+                    eq(YearMonth.of(2025, 3))
+            )).thenReturn(response);
+
+            mockMvc.perform(get("/manager/dashboard/vat")
+                            .param("from", "2025-01")
+                            .param("to", "2025-03"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.to").value("2025-03"))
+                    .andExpect(jsonPath("$.rates[1].taxRate").value(22.00))
+                    .andExpect(jsonPath("$.taxable").value(350.00))
+                    .andExpect(jsonPath("$.tax").value(71.00));
+        }
+    }
+
+    @Nested
+    class receivablesAgingTests {
+        private ReceivablesAgingResponse report() {
+            AgingBucketsResponse row = new AgingBucketsResponse(
+                    100L, "Alfa Uno", 1L, BigDecimal.ZERO, new BigDecimal("183.00"),
+                    BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("183.00")
+            );
+            return ReceivablesAgingResponse.from(LocalDate.of(2025, 3, 10), List.of(row), AgingBucketsResponse.empty().plus(row));
+        }
+
+        @Test
+        void receivablesAgingReturnsPayload() throws Exception {
+            setPrincipal("BACK_OFFICE");
+            when(receivablesService.getAging(any(AuthPrincipal.class), eq(LocalDate.of(2025, 3, 10))))
+                    .thenReturn(report());
+
+            mockMvc.perform(get("/manager/receivables/aging").param("asOf", "2025-03-10"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.customers[0].customerName").value("Alfa Uno"))
+                    .andExpect(jsonPath("$.customers[0].days1To30").value(183.00))
+                    .andExpect(jsonPath("$.total.invoiceCount").value(1L));
+        }
+
+        @Test
+        void receivablesAgingCsvStreamsAttachment() throws Exception {
+            setPrincipal("COMPANY_MANAGER");
+            when(receivablesService.getAging(any(AuthPrincipal.class), isNull())).thenReturn(report());
+            doCallRealMethod().when(receivablesService).writeAgingCsv(any(), any());
+
+            MvcResult result = mockMvc.perform(get("/manager/receivables/aging.csv"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=receivables-aging-2025-03-10.csv"))
+                    .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                    .andExpect(content().string(containsString("100,Alfa Uno,1,0,183.00,0,0,0,183.00\r\n")));
+        }
+    }
+
     @Nested
     class adminSummaryTests {
         @Test
@@ -144,14 +340,60 @@ class DashboardControllerTests {
                     1024L,
                     "/",
                     null,
-                    "in-memory"
+                    "in-memory",
+                    Instant.parse("2025-03-10T10:00:00Z"),
+                    List.of(),
+                    new DashboardCacheStatsResponse(3L, 1L, 0L, 1),
+                    StorageUsageResponse.from(4L, 4096L, 1024L, List.of())
             );
             when(dashboardService.getAdminSummary(any(AuthPrincipal.class))).thenReturn(response);
 
             mockMvc.perform(get("/platform/dashboard/summary"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.companies").value(2L))
-                    .andExpect(jsonPath("$.dbPath").value("in-memory"));
+                    .andExpect(jsonPath("$.dbPath").value("in-memory"))
+                    .andExpect(jsonPath("$.dashboardCache.hits").value(3L))
+                    .andExpect(jsonPath("$.storage.totalBytes").value(5120L));
+        }
+    }
+
+    @Nested
+    class companyActivityTests {
+        @Test
+        void companyActivityReturnsPageWithTotal() throws Exception {
+            setPrincipal("PLATFORM_ADMIN");
+            ActivityQuery query = new ActivityQuery(YearMonth.of(2025, 3), YearMonth.of(2025, 3), Sort.by("companyName"));
+            when(platformAnalyticsService.query(any(AuthPrincipal.class), eq(YearMonth.of(2025, 3)), isNull(), eq("paidAmount,desc")))
+                    .thenReturn(query);
+            CompanyActivityResponse row = new CompanyActivityResponse(
+                    2L, "Alpha SRL", null, 3L, 2L, 4L,
+                    new BigDecimal("400.00"), new BigDecimal("300.00"), BigDecimal.ZERO, 2048L);
+            when(platformAnalyticsService.listCompanyActivity(query, 0, 20))
+                    .thenReturn(new PageImpl<>(List.of(row), PageRequest.of(0, 20), 1));
+
+            mockMvc.perform(get("/platform/analytics/companies")
+                            .param("from", "2025-03")
+                            .param("sort", "paidAmount,desc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].companyName").value("Alpha SRL"))
+                    .andExpect(jsonPath("$.content[0].paidAmount").value(300.00))
+                    .andExpect(jsonPath("$.totalElements").value(1));
+        }
+
+        @Test
+        void companyActivityCsvStreamsAttachment() throws Exception {
+            setPrincipal("PLATFORM_ADMIN");
+            ActivityQuery query = new ActivityQuery(YearMonth.of(2025, 1), YearMonth.of(2025, 3), Sort.by("companyName"));
+            when(platformAnalyticsService.query(any(AuthPrincipal.class), any(), any(), any())).thenReturn(query);
+
+            MvcResult result = mockMvc.perform(get("/platform/analytics/companies.csv"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=company-activity-2025-01_2025-03.csv"))
+                    .andExpect(content().contentTypeCompatibleWith("text/csv"));
         }
     }
 }
@@ -6,6 +6,7 @@ import com.kernith.easyinvoice.config.WebConfig;
 import com.kernith.easyinvoice.data.dto.invoice.CreateInvoiceRequest;
 import com.kernith.easyinvoice.data.dto.invoice.InvoicePdfDownload;
 import com.kernith.easyinvoice.data.dto.invoice.InvoicePdfDto;
+import com.kernith.easyinvoice.data.dto.invoice.InvoiceSummaryResponse;
 import com.kernith.easyinvoice.data.dto.invoice.UpdateInvoiceRequest;
 import com.kernith.easyinvoice.data.dto.invoiceitem.CreateInvoiceItemRequest;
 import com.kernith.easyinvoice.data.model.Company;
@@ -15,12 +16,16 @@ import com.kernith.easyinvoice.data.model.Invoice;
 import com.kernith.easyinvoice.data.model.InvoicePdfArchive;
 import com.kernith.easyinvoice.data.model.InvoiceStatus;
 import com.kernith.easyinvoice.helper.CurrentUserArgumentResolver;
+import com.kernith.easyinvoice.helper.ETags;
+import com.kernith.easyinvoice.helper.SparseFields;
 import com.kernith.easyinvoice.service.InvoicePdfService;
 import com.kernith.easyinvoice.service.InvoiceService;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.kernith.easyinvoice.service.PdfService;
@@ -34,6 +39,10 @@ import org.springframework.context.annotation.Import;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -45,7 +54,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.server.ResponseStatusException;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -190,7 +202,7 @@ class InvoiceControllerTests {
             setPrincipal();
             Invoice invoice = buildInvoice();
             Page<Invoice> page = new PageImpl<>(List.of(invoice));
-            when(invoiceService.listInvoices(any(AuthPrincipal.class), eq(0), eq(20), eq("issueDate,desc"), eq(null)))
+            when(invoiceService.sliceInvoices(any(AuthPrincipal.class), eq(0), eq(20), eq("issueDate,desc"), eq(null)))
                     .thenReturn(page);
 
             mockMvc.perform(get("/invoices"))
@@ -199,11 +211,73 @@ class InvoiceControllerTests {
                     .andExpect(jsonPath("$.content[0].invoiceNumber").value(5));
         }
 
+        @Test
+        void listInvoicesReturnsCompactEnvelopeWithoutTotal() throws Exception {
+            setPrincipal();
+            Slice<Invoice> slice = new SliceImpl<>(List.of(buildInvoice()), PageRequest.of(0, 20), false);
+            when(invoiceService.sliceInvoices(any(AuthPrincipal.class), eq(0), eq(20), eq("issueDate,desc"), eq(null)))
+                    .thenReturn(slice);
+
+            mockMvc.perform(get("/invoices"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.number").value(0))
+                    .andExpect(jsonPath("$.next").isEmpty())
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andExpect(jsonPath("$.pageable").doesNotExist())
+                    .andExpect(jsonPath("$.sort").doesNotExist());
+            verify(invoiceService, never()).listInvoices(any(), anyInt(), anyInt(), any(), any());
+        }
+
+        @Test
+        void listInvoicesReturnsTotalWhenRequested() throws Exception {
+            setPrincipal();
+            Page<Invoice> page = new PageImpl<>(List.of(buildInvoice()), PageRequest.of(0, 1), 5);
+            when(invoiceService.listInvoices(any(AuthPrincipal.class), eq(0), eq(1), eq("issueDate,desc"), eq(null)))
+                    .thenReturn(page);
+
+            mockMvc.perform(get("/invoices").param("size", "1").param("total", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(77L))
+                    .andExpect(jsonPath("$.size").value(1))
+                    .andExpect(jsonPath("$.next").value(1))
+                    .andExpect(jsonPath("$.totalElements").value(5));
+        }
+
+        @Test
+        void listInvoicesReturnsOnlyRequestedFields() throws Exception {
+            setPrincipal();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", 77L);
+            row.put("status", InvoiceStatus.ISSUED);
+            row.put("totalAmount", new BigDecimal("122.00"));
+            when(invoiceService.listInvoiceFields(
+                    any(AuthPrincipal.class), eq(0), eq(20), eq("issueDate,desc"), eq(null),
+                    eq(SparseFields.select("status,totalAmount", InvoiceSummaryResponse.FIELDS)), eq(false)
+            )).thenReturn(new SliceImpl<>(List.of(row)));
+
+            mockMvc.perform(get("/invoices").param("fields", "status,totalAmount"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(77L))
+                    .andExpect(jsonPath("$.content[0].status").value("ISSUED"))
+                    .andExpect(jsonPath("$.content[0].totalAmount").value(122.00))
+                    .andExpect(jsonPath("$.content[0].title").doesNotExist());
+            verify(invoiceService, never()).sliceInvoices(any(), anyInt(), anyInt(), any(), any());
+        }
+
+        @Test
+        void listInvoicesRejectsUnknownField() throws Exception {
+            setPrincipal();
+
+            mockMvc.perform(get("/invoices").param("fields", "id,notes"))
+                    .andExpect(status().isInternalServerError());
+            verify(invoiceService, never()).collectionETag(any());
+        }
+
         @Test
         void listInvoicesReturnsNoContentWhenEmpty() throws Exception {
             setPrincipal();
             Page<Invoice> page = Page.empty();
-            when(invoiceService.listInvoices(any(AuthPrincipal.class), eq(0), eq(20), eq("issueDate,desc"), eq(null)))
+            when(invoiceService.sliceInvoices(any(AuthPrincipal.class), eq(0), eq(20), eq("issueDate,desc"), eq(null)))
                     .thenReturn(page);
 
             mockMvc.perform(get("/invoices"))
@@ -213,12 +287,36 @@ class InvoiceControllerTests {
         @Test
         void listInvoicesReturnsServerErrorOnFailure() throws Exception {
             setPrincipal();
-            when(invoiceService.listInvoices(any(AuthPrincipal.class), eq(0), eq(20), eq("issueDate,desc"), eq(null)))
+            when(invoiceService.sliceInvoices(any(AuthPrincipal.class), eq(0), eq(20), eq("issueDate,desc"), eq(null)))
                     .thenThrow(new RuntimeException("boom"));
 
             mockMvc.perform(get("/invoices"))
                     .andExpect(status().isInternalServerError());
         }
+
+        @Test
+        void listInvoicesReturnsNotModifiedWhenCollectionUnchanged() throws Exception {
+            setPrincipal();
+            when(invoiceService.collectionETag(any(AuthPrincipal.class))).thenReturn("W/\"invoices.3-5-9.2-2-4\"");
+
+            mockMvc.perform(get("/invoices").header(HttpHeaders.IF_NONE_MATCH, "W/\"invoices.3-5-9.2-2-4\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, "W/\"invoices.3-5-9.2-2-4\""));
+
+            verify(invoiceService, never()).listInvoices(any(), anyInt(), anyInt(), any(), any());
+        }
+
+        @Test
+        void listInvoicesReturnsETagWhenCollectionChanged() throws Exception {
+            setPrincipal();
+            when(invoiceService.collectionETag(any(AuthPrincipal.class))).thenReturn("W/\"invoices.4-6-10.2-2-4\"");
+            when(invoiceService.sliceInvoices(any(AuthPrincipal.class), eq(0), eq(20), eq("issueDate,desc"), eq(null)))
+                    .thenReturn(new PageImpl<>(List.of(buildInvoice())));
+
+            mockMvc.perform(get("/invoices").header(HttpHeaders.IF_NONE_MATCH, "W/\"invoices.3-5-9.2-2-4\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "W/\"invoices.4-6-10.2-2-4\""));
+        }
     }
 
     @Nested
@@ -254,6 +352,22 @@ class InvoiceControllerTests {
             mockMvc.perform(get("/invoices/77"))
                     .andExpect(status().isInternalServerError());
         }
+
+        @Test
+        void getInvoiceReturnsNotModifiedWhenVersionMatches() throws Exception {
+            setPrincipal();
+            Invoice invoice = buildInvoice();
+            when(invoiceService.getInvoice(eq(77L), any(AuthPrincipal.class)))
+                    .thenReturn(Optional.of(invoice));
+            String etag = ETags.of(invoice);
+
+            mockMvc.perform(get("/invoices/77"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag));
+            mockMvc.perform(get("/invoices/77").header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
     }
 
     @Nested
@@ -0,0 +1,90 @@
+package com.kernith.easyinvoice.controller;
+
+import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.config.JwtAuthenticationFilter;
+import com.kernith.easyinvoice.config.VerifiedTokenCache;
+import com.kernith.easyinvoice.config.WebConfig;
+import com.kernith.easyinvoice.helper.CurrentUserArgumentResolver;
+import com.kernith.easyinvoice.service.LiveUpdateService;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(LiveUpdateController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import({
+        WebConfig.class,
+        CurrentUserArgumentResolver.class
+})
+@ActiveProfiles("test")
+class LiveUpdateControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LiveUpdateService liveUpdateService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void setPrincipal(String role) {
+        AuthPrincipal principal = new AuthPrincipal(1L, 2L, role, List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.authorities())
+        );
+    }
+
+    @Nested
+    class eventsTests {
+        @Test
+        void eventsOpensStreamForBackOffice() throws Exception {
+            setPrincipal("BACK_OFFICE");
+            when(liveUpdateService.subscribe(any(AuthPrincipal.class), isNull(), isNull())).thenReturn(new SseEmitter());
+
+            mockMvc.perform(get("/events").accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(status().isOk())
+                    .andExpect(request().asyncStarted());
+        }
+
+        @Test
+        void eventsBindsStreamToAccessToken() throws Exception {
+            setPrincipal("COMPANY_MANAGER");
+            Date issuedAt = new Date(1_000L);
+            Date expiresAt = new Date(System.currentTimeMillis() + 60_000L);
+            VerifiedTokenCache.VerifiedToken token = new VerifiedTokenCache.VerifiedToken(
+                    new AuthPrincipal(1L, 2L, "COMPANY_MANAGER", List.of()), issuedAt, expiresAt);
+            when(liveUpdateService.subscribe(any(AuthPrincipal.class), eq(issuedAt), eq(expiresAt)))
+                    .thenReturn(new SseEmitter());
+
+            mockMvc.perform(get("/events")
+                            .requestAttr(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE, token)
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(status().isOk())
+                    .andExpect(request().asyncStarted());
+        }
+    }
+}
@@ -127,7 +127,7 @@ class QuoteControllerTests {
             setPrincipal();
             Quote quote = buildQuote();
             Page<Quote> page = new PageImpl<>(List.of(quote));
-            when(quoteService.listQuotes(any(AuthPrincipal.class), eq(0), eq(20), eq("issueDate,desc"), eq(null)))
+            when(quoteService.sliceQuotes(any(AuthPrincipal.class), eq(0), eq(20), eq("issueDate,desc"), eq(null)))
                     .thenReturn(page);
 
             mockMvc.perform(get("/quotes"))
@@ -140,7 +140,7 @@ class QuoteControllerTests {
         void listQuotesReturnsNoContentWhenEmpty() throws Exception {
             setPrincipal();
             Page<Quote> page = Page.empty();
-            when(quoteService.listQuotes(any(AuthPrincipal.class), eq(0), eq(20), eq("issueDate,desc"), eq(null)))
+            when(quoteService.sliceQuotes(any(AuthPrincipal.class), eq(0), eq(20), eq("issueDate,desc"), eq(null)))
                     .thenReturn(page);
 
             mockMvc.perform(get("/quotes"))
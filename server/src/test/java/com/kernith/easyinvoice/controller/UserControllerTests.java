@@ -71,7 +71,11 @@ class UserControllerTests {
     }
 
     private void setPrincipal() {
-        AuthPrincipal principal = new AuthPrincipal(7L, 10L, "COMPANY_MANAGER", List.of());
+        setPrincipal("COMPANY_MANAGER");
+    }
+
+    private void setPrincipal(String role) {
+        AuthPrincipal principal = new AuthPrincipal(7L, 10L, role, List.of());
         SecurityContextHolder.getContext().setAuthentication(
                 new UsernamePasswordAuthenticationToken(principal, null, principal.authorities())
         );
@@ -151,7 +155,7 @@ class UserControllerTests {
     class listPlatformUsersTests {
         @Test
         void listPlatformUsersReturnsUsersWhenNotEmpty() throws Exception {
-            setPrincipal();
+            setPrincipal("PLATFORM_ADMIN");
             User user = mock(User.class);
             when(user.getId()).thenReturn(2L);
             when(user.getEmail()).thenReturn("adminlist@acme.test");
@@ -170,7 +174,7 @@ class UserControllerTests {
 
         @Test
         void listPlatformUsersReturnsNoContentWhenEmpty() throws Exception {
-            setPrincipal();
+            setPrincipal("PLATFORM_ADMIN");
             when(userService.listPlatformUsers(any(AuthPrincipal.class)))
                     .thenReturn(List.of());
 
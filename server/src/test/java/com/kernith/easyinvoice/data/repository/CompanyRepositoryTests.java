@@ -1,6 +1,8 @@
 package com.kernith.easyinvoice.data.repository;
 
 import com.kernith.easyinvoice.data.model.Company;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -8,6 +10,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -20,6 +26,15 @@ public class CompanyRepositoryTests {
     @Autowired
     private CompanyRepository companyRepository;
 
+    @Autowired
+    private RevenueRollupRepository revenueRollupRepository;
+
+    @Autowired
+    private CustomerBalanceRepository customerBalanceRepository;
+
+    @Autowired
+    private CompanyStorageRepository companyStorageRepository;
+
     @Test
     void testFindAllByOrderByNameAsc() {
         List<Company> companies = companyRepository.findAllByOrderByNameAsc();
@@ -31,4 +46,49 @@ public class CompanyRepositoryTests {
         assertThat(names).contains("Alpha SRL", "Beta SPA");
         assertThat(names).isEqualTo(sorted);
     }
+
+    @Test
+    void testFindActivitySortedByPaidAmount() {
+        LocalDate march = LocalDate.of(2025, 3, 1);
+        revenueRollupRepository.applyDelta(2L, 100L, "MONTH", march, 2, new BigDecimal("300.00"), 1, new BigDecimal("100.00"));
+        revenueRollupRepository.applyDelta(2L, 101L, "MONTH", march, 1, new BigDecimal("50.00"), 0, BigDecimal.ZERO);
+        revenueRollupRepository.applyDelta(2L, 100L, "MONTH", march.minusMonths(1), 5, new BigDecimal("900.00"), 5, new BigDecimal("900.00"));
+        revenueRollupRepository.applyDelta(3L, 200L, "MONTH", march, 1, new BigDecimal("500.00"), 1, new BigDecimal("500.00"));
+        customerBalanceRepository.applyDelta(2L, 100L, 1, new BigDecimal("183.00"));
+        companyStorageRepository.applyPdfDelta(2L, 1, 4096L);
+        companyStorageRepository.updateBackupBytes(2L, 1024L);
+
+        Page<CompanyActivity> page = companyRepository.findActivity(
+                march,
+                march,
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "paidAmount").and(Sort.by("companyId")))
+        );
+
+        assertThat(page.getTotalElements()).isEqualTo(companyRepository.count());
+        assertThat(page.getContent()).extracting(CompanyActivity::getCompanyId).containsExactly(3L, 2L);
+        CompanyActivity alpha = page.getContent().get(1);
+        assertThat(alpha.getCompanyName()).isEqualTo("Alpha SRL");
+        assertThat(alpha.getUsers()).isEqualTo(3L);
+        assertThat(alpha.getInvoicesIssued()).isEqualTo(3L);
+        assertThat(alpha.getIssuedAmount()).isEqualByComparingTo(new BigDecimal("350.00"));
+        assertThat(alpha.getPaidAmount()).isEqualByComparingTo(new BigDecimal("100.00"));
+        assertThat(alpha.getOpenAmount()).isEqualByComparingTo(new BigDecimal("183.00"));
+        assertThat(alpha.getStorageBytes()).isEqualTo(5120L);
+        assertThat(page.getContent().get(0).getStorageBytes()).isZero();
+    }
+
+    @Test
+    void testFindActivitySliceWalksCompaniesInOrder() {
+        LocalDate march = LocalDate.of(2025, 3, 1);
+        Sort byId = Sort.by("companyId");
+
+        Slice<CompanyActivity> first = companyRepository.findActivitySlice(march, march, PageRequest.of(0, 1, byId));
+        Slice<CompanyActivity> last = companyRepository.findActivitySlice(
+                march, march, PageRequest.of((int) companyRepository.count() - 1, 1, byId));
+
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.getContent()).singleElement()
+                .satisfies(row -> assertThat(row.getCompanyId()).isLessThan(last.getContent().get(0).getCompanyId()));
+        assertThat(last.hasNext()).isFalse();
+    }
 }
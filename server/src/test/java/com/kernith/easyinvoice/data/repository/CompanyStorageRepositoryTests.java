@@ -0,0 +1,60 @@
+package com.kernith.easyinvoice.data.repository;
+
+import com.kernith.easyinvoice.data.model.CompanyStorage;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ImportAutoConfiguration(FlywayAutoConfiguration.class)
+class CompanyStorageRepositoryTests {
+
+    @Autowired
+    private CompanyStorageRepository companyStorageRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void testDeltasBackupBytesAndReconcile() {
+        companyStorageRepository.applyPdfDelta(2L, 1, 1000L);
+        companyStorageRepository.applyPdfDelta(2L, 1, 500L);
+        companyStorageRepository.updateBackupBytes(2L, 200L);
+        companyStorageRepository.updateBackupBytes(3L, 5000L);
+
+        List<CompanyStorage> top = companyStorageRepository.findTopByTotalBytes(PageRequest.of(0, 10));
+        assertThat(top).extracting(CompanyStorage::getCompanyId).containsExactly(3L, 2L);
+        assertThat(top.get(1).getPdfCount()).isEqualTo(2L);
+        assertThat(top.get(1).getPdfBytes()).isEqualTo(1500L);
+        assertThat(top.get(1).getBackupBytes()).isEqualTo(200L);
+
+        StorageTotals totals = companyStorageRepository.sumAll();
+        assertThat(totals.getPdfCount()).isEqualTo(2L);
+        assertThat(totals.getPdfBytes()).isEqualTo(1500L);
+        assertThat(totals.getBackupBytes()).isEqualTo(5200L);
+
+        LocalDateTime now = LocalDateTime.of(2025, 3, 10, 3, 30);
+        assertThat(companyStorageRepository.reconcile(2L, 2, 1000L, 200L, 1, 700L, 0L, now)).isZero();
+        assertThat(companyStorageRepository.reconcile(2L, 2, 1500L, 200L, 1, 700L, 0L, now)).isEqualTo(1);
+        assertThat(companyStorageRepository.reconcile(1L, 0, 0L, 0L, 3, 300L, 0L, now)).isEqualTo(1);
+        entityManager.clear();
+        assertThat(companyStorageRepository.findByCompanyId(2L))
+                .get()
+                .satisfies(storage -> {
+                    assertThat(storage.getPdfCount()).isEqualTo(1L);
+                    assertThat(storage.getPdfBytes()).isEqualTo(700L);
+                    assertThat(storage.getBackupBytes()).isZero();
+                    assertThat(storage.getReconciledAt()).isEqualTo(now);
+                });
+    }
+}
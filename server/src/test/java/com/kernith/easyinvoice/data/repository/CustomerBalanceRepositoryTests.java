@@ -0,0 +1,65 @@
+package com.kernith.easyinvoice.data.repository;
+
+import com.kernith.easyinvoice.data.model.CustomerBalance;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ImportAutoConfiguration(FlywayAutoConfiguration.class)
+class CustomerBalanceRepositoryTests {
+
+    @Autowired
+    private CustomerBalanceRepository customerBalanceRepository;
+
+    @Test
+    void testApplyDeltaAndTopByOpenAmount() {
+        customerBalanceRepository.applyDelta(2L, 100L, 1, new BigDecimal("183.00"));
+        customerBalanceRepository.applyDelta(2L, 101L, 1, new BigDecimal("244.00"));
+        customerBalanceRepository.applyDelta(2L, 101L, -1, new BigDecimal("-244.00"));
+        customerBalanceRepository.applyDelta(2L, 102L, 2, new BigDecimal("50.00"));
+
+        List<CustomerBalance> top = customerBalanceRepository.findTopByOpenAmount(2L, PageRequest.of(0, 10));
+
+        assertThat(top).extracting(CustomerBalance::getCustomerId).containsExactly(100L, 102L);
+        assertThat(top.get(0).getOpenCount()).isEqualTo(1L);
+        assertThat(top.get(0).getOpenAmount()).isEqualByComparingTo(new BigDecimal("183.00"));
+        assertThat(customerBalanceRepository.findByCompanyIdAndCustomerIdIn(2L, List.of(101L)))
+                .singleElement()
+                .satisfies(balance -> assertThat(balance.getOpenCount()).isZero());
+        assertThat(customerBalanceRepository.findTopByOpenAmount(3L, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void testRebuildRestoresCorruptedBalance() {
+        // 2001 emessa (Alpha, cliente 100); 2011 emessa (Beta, cliente 200)
+        customerBalanceRepository.rebuild(2L);
+        customerBalanceRepository.rebuild(3L);
+        assertThat(customerBalanceRepository.findDriftedCompanyIds()).isEmpty();
+
+        customerBalanceRepository.applyDelta(2L, 100L, 1, new BigDecimal("50.00"));
+        customerBalanceRepository.applyDelta(2L, 101L, 1, new BigDecimal("10.00"));
+        assertThat(customerBalanceRepository.findDriftedCompanyIds()).containsExactly(2L);
+
+        customerBalanceRepository.deleteByCompanyId(2L);
+        customerBalanceRepository.rebuild(2L);
+
+        assertThat(customerBalanceRepository.findDriftedCompanyIds()).isEmpty();
+        assertThat(customerBalanceRepository.findTopByOpenAmount(2L, PageRequest.of(0, 10)))
+                .singleElement()
+                .satisfies(balance -> {
+                    assertThat(balance.getCustomerId()).isEqualTo(100L);
+                    assertThat(balance.getOpenCount()).isEqualTo(1L);
+                    assertThat(balance.getOpenAmount()).isEqualByComparingTo(new BigDecimal("183.00"));
+                });
+    }
+}
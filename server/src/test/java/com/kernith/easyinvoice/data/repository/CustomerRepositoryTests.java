@@ -90,7 +90,16 @@ public class CustomerRepositoryTests {
                 null,
                 PageRequest.of(0, 10, Sort.by("displayName"))
         );
-        assertThat(allActive.getTotalElements()).isEqualTo(4);
+        assertThat(allActive.getTotalElements()).isEqualTo(2);
+        assertThat(allActive.getContent()).extracting(Customer::getDisplayName).containsExactly("Alfa Uno", "Beta Due");
+
+        Page<Customer> archived = customerRepository.searchByCompanyIdAndStatus(
+                2L,
+                CustomerStatus.ARCHIVED,
+                "tre",
+                PageRequest.of(0, 10, Sort.by("displayName"))
+        );
+        assertThat(archived.getContent()).extracting(Customer::getDisplayName).containsExactly("Gamma Tre");
 
         Page<Customer> filtered = customerRepository.searchByCompanyIdAndStatus(
                 2L,
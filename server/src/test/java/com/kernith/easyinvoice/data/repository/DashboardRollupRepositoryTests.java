@@ -0,0 +1,66 @@
+package com.kernith.easyinvoice.data.repository;
+
+import com.kernith.easyinvoice.data.model.InvoiceStatus;
+import com.kernith.easyinvoice.data.model.QuoteStatus;
+import com.kernith.easyinvoice.service.DashboardRollupService;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ImportAutoConfiguration(FlywayAutoConfiguration.class)
+@Import(DashboardRollupService.class)
+class DashboardRollupRepositoryTests {
+
+    @Autowired
+    private DashboardRollupRepository rollupRepository;
+
+    @Autowired
+    private DashboardRollupService rollupService;
+
+    @Test
+    void testRebuildMatchesGroupedDocuments() {
+        rollupService.rebuild(2L);
+
+        List<InvoiceStatusAggregate> invoices = rollupRepository.findInvoiceRollups(2L);
+        assertThat(invoices).extracting(InvoiceStatusAggregate::getStatus)
+                .containsExactlyInAnyOrder(InvoiceStatus.DRAFT, InvoiceStatus.ISSUED, InvoiceStatus.PAID);
+        InvoiceStatusAggregate paid = invoices.stream()
+                .filter(row -> row.getStatus() == InvoiceStatus.PAID)
+                .findFirst()
+                .orElseThrow();
+        assertThat(paid.getCount()).isEqualTo(1L);
+        assertThat(paid.getTotalAmount()).isEqualByComparingTo(new BigDecimal("244.00"));
+        assertThat(rollupRepository.findQuoteRollups(2L)).extracting(QuoteStatusAggregate::getStatus)
+                .contains(QuoteStatus.DRAFT);
+        assertThat(rollupRepository.findDriftedCompanyIds()).doesNotContain(2L);
+    }
+
+    @Test
+    void testApplyDeltaUpsertsAndDriftIsDetected() {
+        rollupService.rebuild(2L);
+
+        rollupRepository.applyDelta(2L, "INVOICE", "OVERDUE", 1, new BigDecimal("10.00"));
+        rollupRepository.applyDelta(2L, "INVOICE", "OVERDUE", 1, new BigDecimal("5.50"));
+
+        InvoiceStatusAggregate overdue = rollupRepository.findInvoiceRollups(2L).stream()
+                .filter(row -> row.getStatus() == InvoiceStatus.OVERDUE)
+                .findFirst()
+                .orElseThrow();
+        assertThat(overdue.getCount()).isEqualTo(2L);
+        assertThat(overdue.getTotalAmount()).isEqualByComparingTo(new BigDecimal("15.50"));
+        assertThat(rollupRepository.findDriftedCompanyIds()).contains(2L);
+
+        rollupRepository.applyDelta(2L, "INVOICE", "OVERDUE", -2, new BigDecimal("-15.50"));
+        assertThat(rollupRepository.findDriftedCompanyIds()).doesNotContain(2L);
+    }
+}
@@ -3,7 +3,10 @@ package com.kernith.easyinvoice.data.repository;
 import com.kernith.easyinvoice.data.model.Invoice;
 import com.kernith.easyinvoice.data.model.InvoiceStatus;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
@@ -11,6 +14,7 @@ import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -72,6 +76,29 @@ class InvoiceRepositoryTests {
         assertThat(all.getTotalElements()).isGreaterThanOrEqualTo(1);
     }
 
+    @Test
+    void testAgingByCustomerBucketsOpenInvoicesByDaysPastDue() {
+        LocalDate asOf = LocalDate.of(2025, 3, 10);
+        List<ReceivablesAgingRow> rows = invoiceRepository.agingByCustomer(
+                2L, asOf, asOf.minusDays(30), asOf.minusDays(60), asOf.minusDays(90));
+
+        assertThat(rows).hasSize(1);
+        ReceivablesAgingRow row = rows.get(0);
+        assertThat(row.getCustomerId()).isEqualTo(100L);
+        assertThat(row.getCustomerName()).isEqualTo("Alfa Uno");
+        assertThat(row.getInvoiceCount()).isEqualTo(1L);
+        assertThat(row.getCurrentAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(row.getDays1To30()).isEqualByComparingTo(new BigDecimal("183.00"));
+        assertThat(row.getDays90Plus()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(row.getTotalAmount()).isEqualByComparingTo(new BigDecimal("183.00"));
+
+        LocalDate later = LocalDate.of(2025, 6, 1);
+        ReceivablesAgingRow old = invoiceRepository.agingByCustomer(
+                2L, later, later.minusDays(30), later.minusDays(60), later.minusDays(90)).get(0);
+        assertThat(old.getDays1To30()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(old.getDays90Plus()).isEqualByComparingTo(new BigDecimal("183.00"));
+    }
+
     @Test
     void testAggregateByStatus() {
         List<InvoiceStatusAggregate> aggregates = invoiceRepository.aggregateByStatus(2L);
@@ -111,4 +138,59 @@ class InvoiceRepositoryTests {
         assertThat(issued.getCount()).isEqualTo(1L);
         assertThat(issued.getTotalAmount()).isEqualByComparingTo(new BigDecimal("183.00"));
     }
+
+    @Test
+    void testCollectionVersion() {
+        CollectionVersion alpha = invoiceRepository.collectionVersion(2L);
+        CollectionVersion none = invoiceRepository.collectionVersion(999L);
+
+        assertThat(alpha.getCount()).isEqualTo(3L);
+        assertThat(alpha.getVersionSum()).isEqualTo(0L);
+        assertThat(alpha.getMaxId()).isEqualTo(2002L);
+        assertThat(none.getCount()).isEqualTo(0L);
+        assertThat(none.getMaxId()).isEqualTo(0L);
+    }
+
+    @Test
+    void testFindRowsSelectsOnlyRequestedColumns() {
+        Map<String, String> columns = new LinkedHashMap<>();
+        columns.put("id", "id");
+        columns.put("title", "title");
+        columns.put("customerDisplayName", "customer.displayName");
+
+        Slice<Map<String, Object>> rows = invoiceRepository.findRows(
+                Invoice.class,
+                columns,
+                FieldRowRepository.RowFilter.byCompany(2L, null, "title"),
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "issueDate")),
+                false
+        );
+
+        assertThat(rows).isNotInstanceOf(Page.class);
+        assertThat(rows.hasNext()).isTrue();
+        assertThat(rows.getContent()).hasSize(2);
+        assertThat(rows.getContent().get(0))
+                .containsExactly(
+                        Map.entry("id", 2002L),
+                        Map.entry("title", "Fattura Pagata"),
+                        Map.entry("customerDisplayName", "Beta Due")
+                );
+        assertThat(rows.getContent().get(1)).containsEntry("id", 2001L);
+    }
+
+    @Test
+    void testFindRowsSearchesAndCounts() {
+        Slice<Map<String, Object>> rows = invoiceRepository.findRows(
+                Invoice.class,
+                Map.of("id", "id", "status", "status"),
+                FieldRowRepository.RowFilter.byCompany(2L, " BETA ", "title", "notes", "customer.displayName"),
+                PageRequest.of(0, 10, Sort.by("customer.displayName")),
+                true
+        );
+
+        assertThat(rows).isInstanceOf(Page.class);
+        assertThat(((Page<Map<String, Object>>) rows).getTotalElements()).isEqualTo(1L);
+        assertThat(rows.getContent()).singleElement()
+                .satisfies(row -> assertThat(row).containsEntry("id", 2002L).containsEntry("status", InvoiceStatus.PAID));
+    }
 }
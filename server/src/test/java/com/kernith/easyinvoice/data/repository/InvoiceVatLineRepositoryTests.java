@@ -0,0 +1,92 @@
+package com.kernith.easyinvoice.data.repository;
+
+import com.kernith.easyinvoice.data.model.InvoiceVatLine;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ImportAutoConfiguration(FlywayAutoConfiguration.class)
+class InvoiceVatLineRepositoryTests {
+
+    @Autowired
+    private InvoiceVatLineRepository invoiceVatLineRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void testSumByTaxRateExcludesDraftsAndOtherCompanies() {
+        // 2000 bozza, 2001 emessa, 2002 pagata (Alpha); 2011 emessa (Beta)
+        invoiceVatLineRepository.saveAll(List.of(
+                line(2000L, "22.00", "100.00", "22.00"),
+                line(2001L, "10.00", "50.00", "5.00"),
+                line(2001L, "22.00", "100.00", "22.00"),
+                line(2002L, "22.00", "200.00", "44.00"),
+                line(2011L, "22.00", "90.00", "19.80")
+        ));
+        entityManager.flush();
+
+        List<VatRateTotal> totals = invoiceVatLineRepository.sumByTaxRate(
+                2L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+
+        assertThat(totals).extracting(VatRateTotal::getTaxRate)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("10.00"), new BigDecimal("22.00"));
+        assertThat(totals.get(1).getInvoices()).isEqualTo(2L);
+        assertThat(totals.get(1).getTaxable()).isEqualByComparingTo("300.00");
+        assertThat(totals.get(1).getTax()).isEqualByComparingTo("66.00");
+
+        assertThat(invoiceVatLineRepository.sumByTaxRate(
+                2L, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28))).isEmpty();
+    }
+
+    @Test
+    void testSumByTaxRateExcludesArchivedDrafts() {
+        // 2013 bozza archiviata senza essere mai emessa, 2011 emessa (Beta)
+        invoiceVatLineRepository.saveAll(List.of(
+                line(2013L, "22.00", "50.00", "11.00"),
+                line(2011L, "22.00", "90.00", "19.80")
+        ));
+        entityManager.flush();
+
+        List<VatRateTotal> totals = invoiceVatLineRepository.sumByTaxRate(
+                3L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+
+        assertThat(totals).singleElement().satisfies(total -> {
+            assertThat(total.getInvoices()).isEqualTo(1L);
+            assertThat(total.getTaxable()).isEqualByComparingTo("90.00");
+            assertThat(total.getTax()).isEqualByComparingTo("19.80");
+        });
+    }
+
+    @Test
+    void testDeleteByInvoiceId() {
+        invoiceVatLineRepository.saveAll(List.of(
+                line(2001L, "22.00", "100.00", "22.00"),
+                line(2001L, "10.00", "50.00", "5.00"),
+                line(2002L, "22.00", "200.00", "44.00")
+        ));
+        entityManager.flush();
+
+        assertThat(invoiceVatLineRepository.deleteByInvoiceId(2001L)).isEqualTo(2);
+        entityManager.clear();
+
+        assertThat(invoiceVatLineRepository.findByInvoiceIdOrderByTaxRateAsc(2001L)).isEmpty();
+        assertThat(invoiceVatLineRepository.findByInvoiceIdOrderByTaxRateAsc(2002L)).hasSize(1);
+    }
+
+    private static InvoiceVatLine line(Long invoiceId, String rate, String taxable, String tax) {
+        return new InvoiceVatLine(invoiceId, new BigDecimal(rate), new BigDecimal(taxable), new BigDecimal(tax));
+    }
+}
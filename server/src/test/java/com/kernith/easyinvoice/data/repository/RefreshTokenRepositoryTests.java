@@ -0,0 +1,70 @@
+package com.kernith.easyinvoice.data.repository;
+
+import com.kernith.easyinvoice.data.model.RefreshToken;
+import com.kernith.easyinvoice.data.model.User;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ImportAutoConfiguration(FlywayAutoConfiguration.class)
+class RefreshTokenRepositoryTests {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void testDeleteExpiredRemovesExpiredAndLongRevokedTokens() {
+        User user = userRepository.findByEmailIgnoreCase("manager@alpha.it").orElseThrow();
+        LocalDateTime now = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+        refreshTokenRepository.save(new RefreshToken(user, "a".repeat(64), now.minusDays(15), now.minusDays(1)));
+        RefreshToken oldRotated = new RefreshToken(user, "b".repeat(64), now.minusDays(3), now.plusDays(11));
+        oldRotated.setRevokedAt(now.minusDays(2));
+        refreshTokenRepository.save(oldRotated);
+        RefreshToken recentRotated = new RefreshToken(user, "c".repeat(64), now.minusHours(2), now.plusDays(13));
+        recentRotated.setRevokedAt(now.minusHours(1));
+        refreshTokenRepository.save(recentRotated);
+        refreshTokenRepository.save(new RefreshToken(user, "d".repeat(64), now.minusHours(1), now.plusDays(14)));
+        entityManager.flush();
+
+        assertThat(refreshTokenRepository.deleteExpired(now, now.minusHours(24))).isEqualTo(2);
+        entityManager.clear();
+
+        assertThat(refreshTokenRepository.findByTokenHash("a".repeat(64))).isEmpty();
+        assertThat(refreshTokenRepository.findByTokenHash("b".repeat(64))).isEmpty();
+        assertThat(refreshTokenRepository.findByTokenHash("c".repeat(64))).isPresent();
+        assertThat(refreshTokenRepository.findByTokenHash("d".repeat(64))).isPresent();
+    }
+
+    @Test
+    void testMarkUsedUpdatesOnlyUnusedToken() {
+        User user = userRepository.findByEmailIgnoreCase("manager@alpha.it").orElseThrow();
+        LocalDateTime now = LocalDateTime.of(2025, 3, 10, 12, 0);
+        RefreshToken token = refreshTokenRepository.save(
+                new RefreshToken(user, "e".repeat(64), now.minusHours(1), now.plusDays(14)));
+        entityManager.flush();
+
+        assertThat(refreshTokenRepository.markUsed(token.getId(), now)).isEqualTo(1);
+        assertThat(refreshTokenRepository.markUsed(token.getId(), now.plusSeconds(1))).isZero();
+        entityManager.clear();
+
+        assertThat(refreshTokenRepository.findByTokenHash("e".repeat(64)))
+                .get()
+                .satisfies(stored -> assertThat(stored.getRevokedAt()).isEqualTo(now));
+    }
+}
@@ -0,0 +1,92 @@
+package com.kernith.easyinvoice.data.repository;
+
+import com.kernith.easyinvoice.data.model.RevenueGranularity;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ImportAutoConfiguration(FlywayAutoConfiguration.class)
+class RevenueRollupRepositoryTests {
+
+    @Autowired
+    private RevenueRollupRepository revenueRollupRepository;
+
+    @Test
+    void testApplyDeltaUpsertsAndSeriesSumsCustomers() {
+        LocalDate january = LocalDate.of(2025, 1, 1);
+        revenueRollupRepository.applyDelta(2L, 100L, "MONTH", january, 1, new BigDecimal("183.00"), 0, BigDecimal.ZERO);
+        revenueRollupRepository.applyDelta(2L, 100L, "MONTH", january, 0, BigDecimal.ZERO, 1, new BigDecimal("183.00"));
+        revenueRollupRepository.applyDelta(2L, 101L, "MONTH", january, 1, new BigDecimal("244.00"), 1, new BigDecimal("244.00"));
+        revenueRollupRepository.applyDelta(2L, 101L, "MONTH", LocalDate.of(2025, 3, 1), 1, new BigDecimal("10.00"), 0, BigDecimal.ZERO);
+
+        List<RevenueBucket> series = revenueRollupRepository.findSeries(
+                2L, RevenueGranularity.MONTH, january, LocalDate.of(2025, 2, 28));
+        assertThat(series).hasSize(1);
+        assertThat(series.get(0).getPeriodStart()).isEqualTo(january);
+        assertThat(series.get(0).getIssuedCount()).isEqualTo(2L);
+        assertThat(series.get(0).getIssuedAmount()).isEqualByComparingTo(new BigDecimal("427.00"));
+        assertThat(series.get(0).getPaidCount()).isEqualTo(2L);
+        assertThat(series.get(0).getPaidAmount()).isEqualByComparingTo(new BigDecimal("427.00"));
+
+        List<RevenueBucket> customer = revenueRollupRepository.findCustomerSeries(
+                2L, 101L, RevenueGranularity.MONTH, january, LocalDate.of(2025, 12, 31));
+        assertThat(customer).extracting(RevenueBucket::getPeriodStart)
+                .containsExactly(january, LocalDate.of(2025, 3, 1));
+        assertThat(revenueRollupRepository.findSeries(2L, RevenueGranularity.DAY, january, LocalDate.of(2025, 12, 31)))
+                .isEmpty();
+    }
+
+    @Test
+    void testTopCustomersRankByPeriodTotals() {
+        revenueRollupRepository.applyDelta(2L, 100L, "MONTH", LocalDate.of(2025, 1, 1), 2, new BigDecimal("305.00"), 1, new BigDecimal("122.00"));
+        revenueRollupRepository.applyDelta(2L, 101L, "MONTH", LocalDate.of(2025, 1, 1), 1, new BigDecimal("244.00"), 1, new BigDecimal("244.00"));
+        revenueRollupRepository.applyDelta(2L, 100L, "MONTH", LocalDate.of(2024, 12, 1), 0, BigDecimal.ZERO, 1, new BigDecimal("500.00"));
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 12, 1);
+
+        assertThat(revenueRollupRepository.findTopCustomersByPaidAmount(2L, from, to, PageRequest.of(0, 10)))
+                .extracting(CustomerRevenue::getCustomerId)
+                .containsExactly(101L, 100L);
+        assertThat(revenueRollupRepository.findTopCustomersByIssuedCount(2L, from, to, PageRequest.of(0, 1)))
+                .extracting(CustomerRevenue::getCustomerId)
+                .containsExactly(100L);
+        assertThat(revenueRollupRepository.findCustomerRevenue(2L, List.of(100L), from, to))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getPaidAmount()).isEqualByComparingTo(new BigDecimal("122.00")));
+    }
+
+    @Test
+    void testRebuildMatchesInvoicesAndClearsDrift() {
+        // 2001 emessa e 2002 pagata senza data di pagamento (Alpha); 2011, 2012 (Beta)
+        assertThat(revenueRollupRepository.findDriftedCompanyIds()).containsExactlyInAnyOrder(2L, 3L);
+
+        revenueRollupRepository.rebuild(2L);
+
+        assertThat(revenueRollupRepository.findDriftedCompanyIds()).containsExactly(3L);
+        List<RevenueBucket> series = revenueRollupRepository.findSeries(
+                2L, RevenueGranularity.MONTH, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+        assertThat(series).singleElement().satisfies(bucket -> {
+            assertThat(bucket.getIssuedCount()).isEqualTo(2L);
+            assertThat(bucket.getIssuedAmount()).isEqualByComparingTo(new BigDecimal("427.00"));
+            assertThat(bucket.getPaidCount()).isZero();
+        });
+
+        revenueRollupRepository.applyDelta(2L, 100L, "DAY", LocalDate.of(2025, 1, 25), -1, new BigDecimal("-183.00"), 0, BigDecimal.ZERO);
+        assertThat(revenueRollupRepository.findDriftedCompanyIds()).containsExactlyInAnyOrder(2L, 3L);
+
+        revenueRollupRepository.deleteByCompanyId(2L);
+        revenueRollupRepository.rebuild(2L);
+        assertThat(revenueRollupRepository.findDriftedCompanyIds()).containsExactly(3L);
+    }
+}
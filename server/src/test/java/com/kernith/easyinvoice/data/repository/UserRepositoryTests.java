@@ -19,6 +19,9 @@ public class UserRepositoryTests {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CompanyRepository companyRepository;
+
     @Test
     void testFindByEmailIgnoreCase() {
         assertThat(userRepository.findByEmailIgnoreCase("MANAGER@ALPHA.IT"))
@@ -79,4 +82,13 @@ public class UserRepositoryTests {
         assertThat(userRepository.findByIdAndCompanyId(10L, 3L))
                 .isNotPresent();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCountPlatform() {
+        PlatformCounts counts = userRepository.countPlatform();
+
+        assertThat(counts.getCompanies()).isEqualTo(companyRepository.count());
+        assertThat(counts.getUsers()).isEqualTo(userRepository.count());
+        assertThat(counts.getEnabledUsers()).isEqualTo(counts.getUsers() - 1);
+    }
+}
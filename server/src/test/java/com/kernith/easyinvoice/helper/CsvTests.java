@@ -0,0 +1,39 @@
+package com.kernith.easyinvoice.helper;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvTests {
+
+    @Test
+    void fieldQuotesOnlyWhenNeeded() {
+        assertThat(Csv.field("Alfa Uno")).isEqualTo("Alfa Uno");
+        assertThat(Csv.field("Rossi, Bianchi & C.")).isEqualTo("\"Rossi, Bianchi & C.\"");
+        assertThat(Csv.field("Il \"Faro\"")).isEqualTo("\"Il \"\"Faro\"\"\"");
+        assertThat(Csv.field("riga\nnuova")).isEqualTo("\"riga\nnuova\"");
+    }
+
+    @Test
+    void fieldNeutralisesFormulas() {
+        assertThat(Csv.field("=HYPERLINK(\"http://x\")")).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\"");
+        assertThat(Csv.field("+39 02 1234")).isEqualTo("\"'+39 02 1234\"");
+        assertThat(Csv.field("-1+1")).isEqualTo("\"'-1+1\"");
+        assertThat(Csv.field("@SUM(A1)")).isEqualTo("\"'@SUM(A1)\"");
+        assertThat(Csv.field("\tcmd")).isEqualTo("\"'\tcmd\"");
+        assertThat(Csv.field("\rcmd")).isEqualTo("\"'\rcmd\"");
+        assertThat(Csv.field("-12.50")).isEqualTo("-12.50");
+        assertThat(Csv.field("Rossi = Bianchi")).isEqualTo("Rossi = Bianchi");
+    }
+
+    @Test
+    void rowWritesNullsAsEmptyFields() throws IOException {
+        StringWriter writer = new StringWriter();
+
+        Csv.row(writer, 100L, null, "a,b");
+
+        assertThat(writer.toString()).isEqualTo("100,,\"a,b\"\r\n");
+    }
+}
@@ -0,0 +1,79 @@
+package com.kernith.easyinvoice.helper;
+
+import com.kernith.easyinvoice.data.model.Customer;
+import com.kernith.easyinvoice.data.repository.CollectionVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ETagsTests {
+
+    private static CollectionVersion version(long count, long versionSum, long maxId) {
+        return new CollectionVersion() {
+            @Override
+            public Long getCount() {
+                return count;
+            }
+
+            @Override
+            public Long getVersionSum() {
+                return versionSum;
+            }
+
+            @Override
+            public Long getMaxId() {
+                return maxId;
+            }
+        };
+    }
+
+    @Test
+    void entityTagFollowsVersion() {
+        Customer customer = new Customer();
+        ReflectionTestUtils.setField(customer, "id", 5L);
+        String initial = ETags.of(customer);
+        ReflectionTestUtils.setField(customer, "version", 3L);
+
+        assertEquals("W/\"cus-5-0\"", initial);
+        assertEquals("W/\"cus-5-3\"", ETags.of(customer));
+    }
+
+    @Test
+    void collectionTagCombinesVersions() {
+        String tag = ETags.ofCollection("invoices", version(3, 5, 9), version(2, 2, 4));
+
+        assertEquals("W/\"invoices.3-5-9.2-2-4\"", tag);
+        assertNotEquals(tag, ETags.ofCollection("invoices", version(3, 5, 9), version(2, 3, 4)));
+        assertNull(ETags.ofCollection("invoices", version(3, 5, 9), null));
+    }
+
+    @Test
+    void matchesUsesWeakComparison() {
+        String tag = "W/\"cus-5-3\"";
+
+        assertTrue(ETags.matches("W/\"cus-5-3\"", tag));
+        assertTrue(ETags.matches("\"cus-5-3\"", tag));
+        assertTrue(ETags.matches("\"other\", W/\"cus-5-3\"", tag));
+        assertTrue(ETags.matches("*", tag));
+        assertFalse(ETags.matches("W/\"cus-5-2\"", tag));
+        assertFalse(ETags.matches(null, tag));
+        assertFalse(ETags.matches("*", null));
+    }
+
+    @Test
+    void notModifiedCarriesTag() {
+        ResponseEntity<Object> response = ETags.notModified("W/\"cus-5-3\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("W/\"cus-5-3\"", response.getHeaders().getFirst(HttpHeaders.ETAG));
+        assertNull(response.getBody());
+    }
+}
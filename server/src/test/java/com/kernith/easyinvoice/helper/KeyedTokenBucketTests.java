@@ -0,0 +1,61 @@
+package com.kernith.easyinvoice.helper;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyedTokenBucketTests {
+
+    @Test
+    void tryAcquireAllowsBurstThenReportsWait() {
+        KeyedTokenBucket limiter = new KeyedTokenBucket(2, 1, TimeUnit.MINUTES);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        long wait = limiter.tryAcquire("a");
+
+        assertTrue(wait > TimeUnit.SECONDS.toNanos(25));
+        assertTrue(wait <= TimeUnit.SECONDS.toNanos(30));
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void zeroCapacityDisablesLimiting() {
+        KeyedTokenBucket limiter = new KeyedTokenBucket(0, 1, TimeUnit.MINUTES);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.tryAcquire("a"));
+        }
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void purgeIdleDropsOnlyRefilledBuckets() throws Exception {
+        KeyedTokenBucket limiter = new KeyedTokenBucket(1000, 1, TimeUnit.SECONDS);
+        KeyedTokenBucket slow = new KeyedTokenBucket(1, 1, TimeUnit.HOURS);
+        limiter.tryAcquire("a");
+        slow.tryAcquire("a");
+
+        Thread.sleep(20);
+        limiter.purgeIdle();
+        slow.purgeIdle();
+
+        assertEquals(0, limiter.size());
+        assertEquals(1, slow.size());
+    }
+
+    @Test
+    void toRetryAfterSecondsRoundsUp() {
+        assertEquals(1, KeyedTokenBucket.toRetryAfterSeconds(1));
+        assertEquals(2, KeyedTokenBucket.toRetryAfterSeconds(TimeUnit.MILLISECONDS.toNanos(1001)));
+    }
+
+    @Test
+    void constructorRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyedTokenBucket(-1, 1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> new KeyedTokenBucket(1, 0, TimeUnit.SECONDS));
+    }
+}
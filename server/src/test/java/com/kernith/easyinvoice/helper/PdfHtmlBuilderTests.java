@@ -2,6 +2,7 @@ package com.kernith.easyinvoice.helper;
 
 import com.kernith.easyinvoice.helper.adapter.PdfDocumentView;
 import com.kernith.easyinvoice.helper.adapter.PdfLineView;
+import com.kernith.easyinvoice.helper.adapter.PdfVatLineView;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -24,7 +25,8 @@ class PdfHtmlBuilderTests {
                 "",
                 "",
                 "",
-                ""
+                "",
+                List.of()
         );
 
         String html = new PdfHtmlBuilder()
@@ -33,6 +35,7 @@ class PdfHtmlBuilderTests {
 
         assertTrue(html.contains("Nessuna riga presente"));
         assertTrue(!html.contains("Note</div>"));
+        assertTrue(!html.contains("Riepilogo IVA"));
     }
 
     @Test
@@ -46,7 +49,8 @@ class PdfHtmlBuilderTests {
                 "2025-02-01",
                 "Notes & <b>safe</b>",
                 "Via <Roma>",
-                "Client & Co"
+                "Client & Co",
+                List.of()
         );
 
         String html = new PdfHtmlBuilder()
@@ -64,6 +68,36 @@ class PdfHtmlBuilderTests {
         assertTrue(firstIndex >= 0 && secondIndex > firstIndex);
     }
 
+    @Test
+    void buildRendersVatBreakdownBeforeTotals() {
+        PdfDocumentView doc = new TestDoc(
+                List.of(),
+                "",
+                "",
+                "",
+                "",
+                List.of(
+                        new TestVatLine("10,00%", "€ 50.00", "€ 5.00"),
+                        new TestVatLine("22,00%", "€ 300.00", "€ 66.00")
+                )
+        );
+
+        String html = new PdfHtmlBuilder()
+                .document(doc)
+                .build();
+
+        int summaryIndex = html.indexOf("Riepilogo IVA");
+        assertTrue(summaryIndex >= 0 && summaryIndex < html.indexOf("Subtotale"));
+        assertTrue(html.indexOf("10,00%") < html.indexOf("22,00%"));
+        assertTrue(html.contains("€ 66.00"));
+    }
+
+    private record TestVatLine(
+            String rateLabel,
+            String taxableLabel,
+            String taxLabel
+    ) implements PdfVatLineView {}
+
     private record TestLine(
             int position,
             String description,
@@ -81,7 +115,8 @@ class PdfHtmlBuilderTests {
             String dueDateLabel,
             String notes,
             String companyAddress,
-            String customerAddress
+            String customerAddress,
+            List<? extends PdfVatLineView> vatLines
     ) implements PdfDocumentView {
         @Override public String title() { return "Doc"; }
         @Override public String numberLabel() { return "1"; }
@@ -0,0 +1,41 @@
+package com.kernith.easyinvoice.helper;
+
+import com.kernith.easyinvoice.data.dto.invoice.InvoiceSummaryResponse;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SparseFieldsTests {
+
+    @Test
+    void selectReturnsNullWithoutFields() {
+        assertThat(SparseFields.select(null, InvoiceSummaryResponse.FIELDS)).isNull();
+        assertThat(SparseFields.select(" ", InvoiceSummaryResponse.FIELDS)).isNull();
+    }
+
+    @Test
+    void selectAlwaysIncludesIdFirstAndKeepsRequestOrder() {
+        Map<String, String> selected = SparseFields.select(
+                "totalAmount, status,,customerDisplayName,status",
+                InvoiceSummaryResponse.FIELDS
+        );
+
+        assertThat(selected).containsExactly(
+                Map.entry("id", "id"),
+                Map.entry("totalAmount", "totalAmount"),
+                Map.entry("status", "status"),
+                Map.entry("customerDisplayName", "customer.displayName")
+        );
+    }
+
+    @Test
+    void selectRejectsUnknownFields() {
+        assertThatThrownBy(() -> SparseFields.select("id,notes", InvoiceSummaryResponse.FIELDS))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(ex -> assertThat(((ResponseStatusException) ex).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
@@ -0,0 +1,36 @@
+package com.kernith.easyinvoice.helper;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkerThreadsTests {
+
+    @Test
+    void platformFactoryCreatesNamedDaemonThreads() {
+        ThreadFactory factory = WorkerThreads.factory("worker", false);
+
+        Thread first = factory.newThread(() -> { });
+        Thread second = factory.newThread(() -> { });
+
+        assertEquals("worker-1", first.getName());
+        assertEquals("worker-2", second.getName());
+        assertTrue(first.isDaemon());
+    }
+
+    @Test
+    void virtualFactoryRunsTasksOnAnyJava() throws Exception {
+        ThreadFactory factory = WorkerThreads.factory("worker", true);
+        CountDownLatch ran = new CountDownLatch(1);
+
+        Thread thread = factory.newThread(ran::countDown);
+        thread.start();
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertTrue(thread.getName().startsWith("worker-"));
+    }
+}
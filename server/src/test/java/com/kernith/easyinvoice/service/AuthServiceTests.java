@@ -2,28 +2,43 @@ package com.kernith.easyinvoice.service;
 
 import com.kernith.easyinvoice.data.dto.auth.LoginRequest;
 import com.kernith.easyinvoice.data.dto.auth.LoginResponse;
+import com.kernith.easyinvoice.data.dto.auth.RefreshTokenRequest;
 import com.kernith.easyinvoice.data.model.Company;
 import com.kernith.easyinvoice.data.model.User;
 import com.kernith.easyinvoice.data.model.UserRole;
 import com.kernith.easyinvoice.data.repository.UserRepository;
+import com.kernith.easyinvoice.helper.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class AuthServiceTests {
 
+    private final PasswordHasher passwordHasher = new PasswordHasher(10, 1, 4, 5000);
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
     @Test
     void loginReturnsResponseWhenValid() {
         UserRepository userRepository = mock(UserRepository.class);
         JwtService jwtService = mock(JwtService.class);
-        AuthService authService = new AuthService(userRepository, jwtService);
+        RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+        AuthService authService = new AuthService(userRepository, jwtService, refreshTokenService, passwordHasher, new LoginThrottle(0, 0));
 
         Company company = mock(Company.class);
         when(company.getId()).thenReturn(10L);
@@ -40,20 +55,25 @@ class AuthServiceTests {
         when(userRepository.findByCompanyIdAndEmailIgnoreCase(10L, "user@acme.test"))
                 .thenReturn(Optional.of(user));
         when(jwtService.generateToken(any(User.class))).thenReturn("jwt");
+        when(jwtService.getAccessTokenTtlSeconds()).thenReturn(900L);
+        when(refreshTokenService.issue(user)).thenReturn("refresh");
 
-        LoginResponse res = authService.login(new LoginRequest(10L, "user@acme.test", rawPassword));
+        LoginResponse res = authService.login(new LoginRequest(10L, "user@acme.test", rawPassword), "127.0.0.1");
 
         assertEquals("jwt", res.token());
         assertEquals(7L, res.userId());
         assertEquals(10L, res.companyId());
         assertEquals("COMPANY_MANAGER", res.role());
+        assertEquals("refresh", res.refreshToken());
+        assertEquals(900L, res.expiresInSeconds());
     }
 
     @Test
     void loginThrowsWhenUserDisabled() {
         UserRepository userRepository = mock(UserRepository.class);
         JwtService jwtService = mock(JwtService.class);
-        AuthService authService = new AuthService(userRepository, jwtService);
+        RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+        AuthService authService = new AuthService(userRepository, jwtService, refreshTokenService, passwordHasher, new LoginThrottle(0, 0));
 
         User user = mock(User.class);
         when(user.isEnabled()).thenReturn(false);
@@ -61,6 +81,74 @@ class AuthServiceTests {
                 .thenReturn(Optional.of(user));
 
         assertThrows(RuntimeException.class,
-                () -> authService.login(new LoginRequest(10L, "user@acme.test", "pw")));
+                () -> authService.login(new LoginRequest(10L, "user@acme.test", "pw"), "127.0.0.1"));
+    }
+
+    @Test
+    void refreshIssuesNewTokenPair() {
+        UserRepository userRepository = mock(UserRepository.class);
+        JwtService jwtService = mock(JwtService.class);
+        RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+        AuthService authService = new AuthService(userRepository, jwtService, refreshTokenService, passwordHasher, new LoginThrottle(0, 0));
+
+        Company company = mock(Company.class);
+        when(company.getId()).thenReturn(10L);
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(7L);
+        when(user.getCompany()).thenReturn(company);
+        when(user.getRole()).thenReturn(UserRole.BACK_OFFICE);
+        when(refreshTokenService.consume("old")).thenReturn(user);
+        when(refreshTokenService.issue(user)).thenReturn("new");
+        when(jwtService.generateToken(user)).thenReturn("jwt2");
+
+        LoginResponse res = authService.refresh(new RefreshTokenRequest("old"));
+
+        assertEquals("jwt2", res.token());
+        assertEquals("new", res.refreshToken());
+    }
+
+    @Test
+    void loginRehashesPasswordWhenCostChanged() {
+        UserRepository userRepository = mock(UserRepository.class);
+        JwtService jwtService = mock(JwtService.class);
+        RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+        PasswordHasher cheaperHasher = new PasswordHasher(4, 1, 4, 5000);
+        AuthService authService = new AuthService(userRepository, jwtService, refreshTokenService,
+                cheaperHasher, new LoginThrottle(0, 0));
+
+        Company company = mock(Company.class);
+        when(company.getId()).thenReturn(10L);
+        User user = new User(company);
+        ReflectionTestUtils.setField(user, "id", 7L);
+        user.setRole(UserRole.COMPANY_MANAGER);
+        user.setEnabled(true);
+        user.setPasswordHash(new BCryptPasswordEncoder(5).encode("password123"));
+        when(userRepository.findByCompanyIdAndEmailIgnoreCase(10L, "user@acme.test"))
+                .thenReturn(Optional.of(user));
+
+        authService.login(new LoginRequest(10L, "user@acme.test", "password123"), "127.0.0.1");
+
+        assertTrue(user.getPasswordHash().startsWith("$2a$04$"));
+        verify(userRepository).save(user);
+        cheaperHasher.shutdown();
+    }
+
+    @Test
+    void loginThrottlesRepeatedAttemptsOnSameAccount() {
+        UserRepository userRepository = mock(UserRepository.class);
+        JwtService jwtService = mock(JwtService.class);
+        RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+        AuthService authService = new AuthService(userRepository, jwtService, refreshTokenService,
+                passwordHasher, new LoginThrottle(1, 0));
+        when(userRepository.findByCompanyIdAndEmailIgnoreCase(10L, "user@acme.test"))
+                .thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class,
+                () -> authService.login(new LoginRequest(10L, "user@acme.test", "pw"), "10.0.0.1"));
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> authService.login(new LoginRequest(10L, "USER@acme.test", "pw"), "10.0.0.2"));
+
+        assertTrue(ex.getRetryAfterSeconds() >= 1);
+        verify(userRepository, never()).findByCompanyIdAndEmailIgnoreCase(10L, "USER@acme.test");
     }
 }
@@ -29,7 +29,7 @@ class CompanyServiceTests {
     void createCompanyReturnsSummaryWhenValid() {
         CompanyRepository companyRepository = mock(CompanyRepository.class);
         UserRepository userRepository = mock(UserRepository.class);
-        CompanyService companyService = new CompanyService(companyRepository, userRepository);
+        CompanyService companyService = new CompanyService(companyRepository, userRepository, mock(PasswordHasher.class), mock(StorageUsageService.class));
 
         User platformUser = new User(new Company());
         platformUser.setRole(UserRole.PLATFORM_ADMIN);
@@ -51,7 +51,7 @@ class CompanyServiceTests {
     void createCompanyManagerReturnsEmptyWhenCompanyMissing() {
         CompanyRepository companyRepository = mock(CompanyRepository.class);
         UserRepository userRepository = mock(UserRepository.class);
-        CompanyService companyService = new CompanyService(companyRepository, userRepository);
+        CompanyService companyService = new CompanyService(companyRepository, userRepository, mock(PasswordHasher.class), mock(StorageUsageService.class));
 
         User platformUser = new User(new Company());
         platformUser.setRole(UserRole.PLATFORM_ADMIN);
@@ -70,7 +70,7 @@ class CompanyServiceTests {
     void listCompaniesReturnsSummariesWhenAllowed() {
         CompanyRepository companyRepository = mock(CompanyRepository.class);
         UserRepository userRepository = mock(UserRepository.class);
-        CompanyService companyService = new CompanyService(companyRepository, userRepository);
+        CompanyService companyService = new CompanyService(companyRepository, userRepository, mock(PasswordHasher.class), mock(StorageUsageService.class));
 
         User platformUser = new User(new Company());
         platformUser.setRole(UserRole.PLATFORM_ADMIN);
@@ -93,7 +93,7 @@ class CompanyServiceTests {
     void getCompanyReturnsEmptyWhenMissing() {
         CompanyRepository companyRepository = mock(CompanyRepository.class);
         UserRepository userRepository = mock(UserRepository.class);
-        CompanyService companyService = new CompanyService(companyRepository, userRepository);
+        CompanyService companyService = new CompanyService(companyRepository, userRepository, mock(PasswordHasher.class), mock(StorageUsageService.class));
 
         User platformUser = new User(new Company());
         platformUser.setRole(UserRole.PLATFORM_ADMIN);
@@ -108,7 +108,7 @@ class CompanyServiceTests {
     void createCompanyManagerThrowsWhenEmailAlreadyUsed() {
         CompanyRepository companyRepository = mock(CompanyRepository.class);
         UserRepository userRepository = mock(UserRepository.class);
-        CompanyService companyService = new CompanyService(companyRepository, userRepository);
+        CompanyService companyService = new CompanyService(companyRepository, userRepository, mock(PasswordHasher.class), mock(StorageUsageService.class));
 
         User platformUser = new User(new Company());
         platformUser.setRole(UserRole.PLATFORM_ADMIN);
@@ -130,7 +130,7 @@ class CompanyServiceTests {
     void createCompanyThrowsWhenRoleNotPlatformAdmin() {
         CompanyRepository companyRepository = mock(CompanyRepository.class);
         UserRepository userRepository = mock(UserRepository.class);
-        CompanyService companyService = new CompanyService(companyRepository, userRepository);
+        CompanyService companyService = new CompanyService(companyRepository, userRepository, mock(PasswordHasher.class), mock(StorageUsageService.class));
 
         User user = new User(new Company());
         user.setRole(UserRole.COMPANY_MANAGER);
@@ -145,7 +145,7 @@ class CompanyServiceTests {
     void listCompaniesThrowsWhenPrincipalMissing() {
         CompanyRepository companyRepository = mock(CompanyRepository.class);
         UserRepository userRepository = mock(UserRepository.class);
-        CompanyService companyService = new CompanyService(companyRepository, userRepository);
+        CompanyService companyService = new CompanyService(companyRepository, userRepository, mock(PasswordHasher.class), mock(StorageUsageService.class));
 
         assertThrows(ResponseStatusException.class, () -> companyService.listCompanies(null));
         verify(userRepository, never()).findById(any());
@@ -0,0 +1,89 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.data.dto.dashboard.CustomerInvoiceSummaryResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.ManagerDashboardSummaryResponse;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardCacheTests {
+
+    private static ManagerDashboardSummaryResponse summary() {
+        return ManagerDashboardSummaryResponse.from(List.of(), List.of(), BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    private static CustomerInvoiceSummaryResponse customerSummary(Long customerId) {
+        return CustomerInvoiceSummaryResponse.from(customerId, List.of(), BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    @Test
+    void invalidationOnlyDropsTheChangedCompany() {
+        DashboardCache cache = new DashboardCache(300_000, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.managerSummary(2L, () -> { loads.incrementAndGet(); return summary(); });
+        cache.customerSummary(2L, 100L, () -> { loads.incrementAndGet(); return Optional.of(customerSummary(100L)); });
+        cache.managerSummary(3L, () -> { loads.incrementAndGet(); return summary(); });
+        assertEquals(3, cache.size());
+
+        cache.onDocumentsChanged(DocumentsChangedEvent.company(2L));
+
+        assertEquals(1, cache.size());
+        cache.managerSummary(3L, () -> { loads.incrementAndGet(); return summary(); });
+        assertEquals(3, loads.get());
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(1L, cache.getInvalidationCount());
+    }
+
+    @Test
+    void missingCustomerIsNotCached() {
+        DashboardCache cache = new DashboardCache(300_000, 100);
+
+        assertTrue(cache.customerSummary(2L, 999L, Optional::empty).isEmpty());
+        assertTrue(cache.customerSummary(2L, 999L, Optional::empty).isEmpty());
+
+        assertEquals(0, cache.size());
+        assertEquals(2L, cache.getMissCount());
+    }
+
+    @Test
+    void valueLoadedDuringInvalidationIsNotKept() {
+        DashboardCache cache = new DashboardCache(300_000, 100);
+
+        cache.managerSummary(2L, () -> {
+            cache.invalidate(2L);
+            return summary();
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void expiredEntriesAreReloaded() {
+        DashboardCache cache = new DashboardCache(0, 100);
+        ManagerDashboardSummaryResponse first = summary();
+        ManagerDashboardSummaryResponse second = summary();
+
+        assertSame(first, cache.managerSummary(2L, () -> first));
+        assertSame(second, cache.managerSummary(2L, () -> second));
+        assertEquals(0L, cache.getHitCount());
+    }
+
+    @Test
+    void sizeIsBounded() {
+        DashboardCache cache = new DashboardCache(300_000, 10);
+
+        for (long customerId = 1; customerId <= 50; customerId++) {
+            long id = customerId;
+            cache.customerSummary(2L, id, () -> Optional.of(customerSummary(id)));
+        }
+
+        assertTrue(cache.size() <= 10);
+    }
+}
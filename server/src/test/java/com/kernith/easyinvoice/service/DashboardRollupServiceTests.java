@@ -0,0 +1,83 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.data.model.DocumentType;
+import com.kernith.easyinvoice.data.model.InvoiceStatus;
+import com.kernith.easyinvoice.data.model.QuoteStatus;
+import com.kernith.easyinvoice.data.repository.DashboardRollupRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class DashboardRollupServiceTests {
+
+    private DashboardRollupRepository repository;
+    private ApplicationEventPublisher eventPublisher;
+    private DashboardRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(DashboardRollupRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new DashboardRollupService(repository, eventPublisher);
+    }
+
+    @Test
+    void invoiceCreationAddsToNewStatus() {
+        service.invoiceChanged(2L, 2000L, null, null, InvoiceStatus.DRAFT, new BigDecimal("122.00"));
+
+        verify(repository).applyDelta(2L, "INVOICE", "DRAFT", 1, new BigDecimal("122.00"));
+        verifyNoMoreInteractions(repository);
+        verify(eventPublisher).publishEvent(
+                new DocumentsChangedEvent(2L, DocumentType.INVOICE, 2000L, "DRAFT", new BigDecimal("122.00")));
+    }
+
+    @Test
+    void invoiceTransitionMovesCountAndTotal() {
+        service.invoiceChanged(2L, 2001L, InvoiceStatus.ISSUED, new BigDecimal("183.00"), InvoiceStatus.PAID, new BigDecimal("183.00"));
+
+        verify(repository).applyDelta(2L, "INVOICE", "ISSUED", -1, new BigDecimal("-183.00"));
+        verify(repository).applyDelta(2L, "INVOICE", "PAID", 1, new BigDecimal("183.00"));
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void quoteTotalChangeOnlyAdjustsTotal() {
+        service.quoteChanged(2L, 3000L, QuoteStatus.DRAFT, new BigDecimal("100.00"), QuoteStatus.DRAFT, new BigDecimal("150.50"));
+
+        verify(repository).applyDelta(2L, "QUOTE", "DRAFT", 0, new BigDecimal("50.50"));
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void unchangedDocumentIsNotWritten() {
+        service.quoteChanged(2L, 3001L, QuoteStatus.SENT, new BigDecimal("10.0"), QuoteStatus.SENT, new BigDecimal("10.00"));
+
+        verify(repository, never()).applyDelta(anyLong(), anyString(), anyString(), any(Long.class), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void verifyRebuildsDriftedCompaniesOnly() {
+        when(repository.findDriftedCompanyIds()).thenReturn(List.of(3L));
+
+        assertEquals(1, service.verify());
+        verify(repository).deleteByCompanyIdAndDocumentType(3L, DocumentType.INVOICE);
+        verify(repository).deleteByCompanyIdAndDocumentType(3L, DocumentType.QUOTE);
+        verify(repository).rebuildInvoices(3L);
+        verify(repository).rebuildQuotes(3L);
+        verify(repository, never()).rebuildInvoices(2L);
+    }
+}
@@ -3,27 +3,31 @@ package com.kernith.easyinvoice.service;
 import com.kernith.easyinvoice.config.AuthPrincipal;
 import com.kernith.easyinvoice.data.dto.dashboard.ManagerDashboardSummaryResponse;
 import com.kernith.easyinvoice.data.dto.dashboard.CustomerInvoiceSummaryResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.StorageUsageResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.SystemSampleResponse;
 import com.kernith.easyinvoice.data.model.InvoiceStatus;
 import com.kernith.easyinvoice.data.model.QuoteStatus;
-import com.kernith.easyinvoice.data.repository.CompanyRepository;
 import com.kernith.easyinvoice.data.repository.CustomerRepository;
+import com.kernith.easyinvoice.data.repository.DashboardRollupRepository;
 import com.kernith.easyinvoice.data.repository.InvoiceRepository;
 import com.kernith.easyinvoice.data.repository.InvoiceStatusAggregate;
+import com.kernith.easyinvoice.data.repository.PlatformCounts;
 import com.kernith.easyinvoice.data.repository.QuoteRepository;
 import com.kernith.easyinvoice.data.repository.QuoteStatusAggregate;
 import com.kernith.easyinvoice.data.repository.UserRepository;
 import java.math.BigDecimal;
-import java.sql.Connection;
-import java.sql.DatabaseMetaData;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
-import javax.sql.DataSource;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,20 +42,17 @@ class DashboardServiceTests {
     @Mock
     private CustomerRepository customerRepository;
 
-    @Mock
-    private CompanyRepository companyRepository;
-
     @Mock
     private UserRepository userRepository;
 
     @Mock
-    private DataSource dataSource;
+    private DashboardRollupRepository rollupRepository;
 
     @Mock
-    private Connection connection;
+    private SystemStatsSampler systemStatsSampler;
 
     @Mock
-    private DatabaseMetaData metaData;
+    private StorageUsageService storageUsageService;
 
     @Test
     void getManagerSummaryComputesTotals() {
@@ -59,15 +60,17 @@ class DashboardServiceTests {
                 quoteRepository,
                 invoiceRepository,
                 customerRepository,
-                companyRepository,
                 userRepository,
-                dataSource
+                rollupRepository,
+                systemStatsSampler,
+                new DashboardCache(300_000, 100),
+                storageUsageService
         );
 
-        when(quoteRepository.aggregateByStatus(2L)).thenReturn(List.of(
+        when(rollupRepository.findQuoteRollups(2L)).thenReturn(List.of(
                 new QuoteAgg(QuoteStatus.DRAFT, 2L, new BigDecimal("300.00"))
         ));
-        when(invoiceRepository.aggregateByStatus(2L)).thenReturn(List.of(
+        when(rollupRepository.findInvoiceRollups(2L)).thenReturn(List.of(
                 new InvoiceAgg(InvoiceStatus.ISSUED, 1L, new BigDecimal("100.00")),
                 new InvoiceAgg(InvoiceStatus.OVERDUE, 1L, new BigDecimal("40.00")),
                 new InvoiceAgg(InvoiceStatus.PAID, 1L, new BigDecimal("60.00"))
@@ -83,15 +86,47 @@ class DashboardServiceTests {
         assertThat(response.quotes()).hasSize(QuoteStatus.values().length);
     }
 
+    @Test
+    void getManagerSummaryIsCachedUntilDocumentsChange() {
+        DashboardCache cache = new DashboardCache(300_000, 100);
+        DashboardService service = new DashboardService(
+                quoteRepository,
+                invoiceRepository,
+                customerRepository,
+                userRepository,
+                rollupRepository,
+                systemStatsSampler,
+                cache,
+                storageUsageService
+        );
+        when(rollupRepository.findQuoteRollups(2L)).thenReturn(List.of());
+        when(rollupRepository.findInvoiceRollups(2L)).thenReturn(List.of(
+                new InvoiceAgg(InvoiceStatus.PAID, 1L, new BigDecimal("60.00"))
+        ));
+        AuthPrincipal principal = new AuthPrincipal(10L, 2L, "COMPANY_MANAGER", List.of());
+
+        service.getManagerSummary(principal);
+        service.getManagerSummary(principal);
+        verify(rollupRepository, times(1)).findInvoiceRollups(2L);
+
+        cache.onDocumentsChanged(DocumentsChangedEvent.company(2L));
+        service.getManagerSummary(principal);
+        verify(rollupRepository, times(2)).findInvoiceRollups(2L);
+        assertThat(cache.getHitCount()).isEqualTo(1L);
+        assertThat(cache.getMissCount()).isEqualTo(2L);
+    }
+
     @Test
     void getCustomerInvoiceSummaryReturnsEmptyWhenMissingCustomer() {
         DashboardService service = new DashboardService(
                 quoteRepository,
                 invoiceRepository,
                 customerRepository,
-                companyRepository,
                 userRepository,
-                dataSource
+                rollupRepository,
+                systemStatsSampler,
+                new DashboardCache(300_000, 100),
+                storageUsageService
         );
         when(customerRepository.findByIdAndCompanyId(100L, 2L)).thenReturn(Optional.empty());
 
@@ -102,28 +137,41 @@ class DashboardServiceTests {
     }
 
     @Test
-    void getAdminSummaryReportsInMemoryH2() throws Exception {
+    void getAdminSummaryCombinesCountsWithLatestSample() {
         DashboardService service = new DashboardService(
                 quoteRepository,
                 invoiceRepository,
                 customerRepository,
-                companyRepository,
                 userRepository,
-                dataSource
+                rollupRepository,
+                systemStatsSampler,
+                new DashboardCache(300_000, 100),
+                storageUsageService
         );
-        when(companyRepository.count()).thenReturn(3L);
-        when(userRepository.count()).thenReturn(10L);
-        when(userRepository.countByEnabledTrue()).thenReturn(8L);
-        when(userRepository.countByEnabledFalse()).thenReturn(2L);
-        when(dataSource.getConnection()).thenReturn(connection);
-        when(connection.getMetaData()).thenReturn(metaData);
-        when(metaData.getURL()).thenReturn("jdbc:h2:mem:easyinvoice;DB_CLOSE_DELAY=-1");
+        PlatformCounts counts = mock(PlatformCounts.class);
+        when(counts.getCompanies()).thenReturn(3L);
+        when(counts.getUsers()).thenReturn(10L);
+        when(counts.getEnabledUsers()).thenReturn(8L);
+        when(userRepository.countPlatform()).thenReturn(counts);
+        SystemStatsSampler.SystemSample older = new SystemStatsSampler.SystemSample(
+                Instant.parse("2025-03-10T10:00:00Z"), 100L, 60L, 16L, 8L, "/", null, "in-memory");
+        SystemStatsSampler.SystemSample latest = new SystemStatsSampler.SystemSample(
+                Instant.parse("2025-03-10T10:01:00Z"), 100L, 50L, 16L, 6L, "/", null, "in-memory");
+        when(systemStatsSampler.latest()).thenReturn(latest);
+        when(systemStatsSampler.history()).thenReturn(List.of(older, latest));
+        when(storageUsageService.getPlatformUsage()).thenReturn(StorageUsageResponse.from(4L, 4096L, 1024L, List.of()));
 
         AuthPrincipal principal = new AuthPrincipal(1L, 1L, "PLATFORM_ADMIN", List.of());
         var response = service.getAdminSummary(principal);
 
+        assertThat(response.companies()).isEqualTo(3L);
+        assertThat(response.disabledUsers()).isEqualTo(2L);
+        assertThat(response.diskFreeBytes()).isEqualTo(50L);
         assertThat(response.dbPath()).isEqualTo("in-memory");
-        assertThat(response.dbFileBytes()).isNull();
+        assertThat(response.sampledAt()).isEqualTo(latest.sampledAt());
+        assertThat(response.history()).extracting(SystemSampleResponse::ramFreeBytes).containsExactly(8L, 6L);
+        assertThat(response.dashboardCache().entries()).isZero();
+        assertThat(response.storage().totalBytes()).isEqualTo(5120L);
     }
 
     private static final class InvoiceAgg implements InvoiceStatusAggregate {
@@ -0,0 +1,137 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.data.model.IdempotencyRecord;
+import com.kernith.easyinvoice.data.repository.IdempotencyRecordRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyStoreTests {
+
+    private IdempotencyRecordRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyRecordRepository.class);
+        when(repository.findByCompanyIdAndIdempotencyKey(anyLong(), anyString())).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static IdempotencyRecord record(String key, String hash, LocalDateTime expiresAt) {
+        return new IdempotencyRecord(10L, key, hash, 200, "application/json",
+                "{}".getBytes(StandardCharsets.UTF_8), expiresAt.minusHours(24), expiresAt);
+    }
+
+    @Test
+    void savedResponsesAreServedFromMemory() {
+        IdempotencyStore store = new IdempotencyStore(repository, 24, 100);
+
+        store.save(10L, "k", "hash", 200, "application/json", "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        Optional<IdempotencyStore.StoredResponse> found = store.find(10L, "k");
+
+        assertTrue(found.isPresent());
+        assertEquals("hash", found.get().requestHash());
+        assertArrayEquals("{\"id\":1}".getBytes(StandardCharsets.UTF_8), found.get().body());
+        verify(repository, times(0)).findByCompanyIdAndIdempotencyKey(10L, "k");
+    }
+
+    @Test
+    void fallsBackToTableAndCachesTheRow() {
+        when(repository.findByCompanyIdAndIdempotencyKey(10L, "k"))
+                .thenReturn(Optional.of(record("k", "hash", LocalDateTime.now().plusHours(1))));
+        IdempotencyStore store = new IdempotencyStore(repository, 24, 100);
+
+        assertTrue(store.find(10L, "k").isPresent());
+        assertTrue(store.find(10L, "k").isPresent());
+
+        verify(repository, times(1)).findByCompanyIdAndIdempotencyKey(10L, "k");
+        assertEquals(1, store.cachedResponses());
+    }
+
+    @Test
+    void ignoresExpiredRows() {
+        when(repository.findByCompanyIdAndIdempotencyKey(10L, "k"))
+                .thenReturn(Optional.of(record("k", "hash", LocalDateTime.now().minusMinutes(1))));
+        IdempotencyStore store = new IdempotencyStore(repository, 24, 100);
+
+        assertFalse(store.find(10L, "k").isPresent());
+        assertEquals(0, store.cachedResponses());
+    }
+
+    @Test
+    void keepsResponseStoredFirstOnConflict() {
+        when(repository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("uq_idempotency_keys_company_key"));
+        when(repository.findByCompanyIdAndIdempotencyKey(10L, "k"))
+                .thenReturn(Optional.of(record("k", "first", LocalDateTime.now().plusHours(1))));
+        IdempotencyStore store = new IdempotencyStore(repository, 24, 100);
+
+        IdempotencyStore.StoredResponse kept = store.save(10L, "k", "second", 200, null, new byte[0]);
+
+        assertEquals("first", kept.requestHash());
+    }
+
+    @Test
+    void replacesExpiredRowNotYetPurged() {
+        when(repository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("uq_idempotency_keys_company_key"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.findByCompanyIdAndIdempotencyKey(10L, "k"))
+                .thenReturn(Optional.of(record("k", "old", LocalDateTime.now().minusMinutes(1))));
+        when(repository.deleteExpiredKey(eq(10L), eq("k"), any(LocalDateTime.class))).thenReturn(1);
+        IdempotencyStore store = new IdempotencyStore(repository, 24, 100);
+
+        IdempotencyStore.StoredResponse saved = store.save(10L, "k", "new", 201, null, new byte[0]);
+
+        assertEquals("new", saved.requestHash());
+        verify(repository, times(2)).saveAndFlush(any(IdempotencyRecord.class));
+        assertEquals("new", store.find(10L, "k").orElseThrow().requestHash());
+    }
+
+    @Test
+    void memoryIsBounded() {
+        IdempotencyStore store = new IdempotencyStore(repository, 24, 10);
+
+        for (int i = 0; i < 50; i++) {
+            store.save(10L, "k-" + i, "hash", 200, null, new byte[0]);
+        }
+
+        assertTrue(store.cachedResponses() <= 10);
+    }
+
+    @Test
+    void inProgressKeysAreExclusive() {
+        IdempotencyStore store = new IdempotencyStore(repository, 24, 100);
+
+        assertTrue(store.begin(10L, "k"));
+        assertFalse(store.begin(10L, "k"));
+        assertTrue(store.begin(11L, "k"));
+        store.end(10L, "k");
+        assertTrue(store.begin(10L, "k"));
+    }
+
+    @Test
+    void purgeDeletesExpiredRows() {
+        IdempotencyStore store = new IdempotencyStore(repository, 24, 100);
+
+        store.purgeExpired();
+
+        verify(repository).deleteExpired(any(LocalDateTime.class));
+    }
+}
@@ -31,7 +31,7 @@ class InvoiceItemServiceTests {
     void addInvoiceItemCreatesAndRecalculatesTotals() {
         InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
         InvoiceItemRepository invoiceItemRepository = mock(InvoiceItemRepository.class);
-        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository);
+        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository, mock(DashboardRollupService.class), mock(VatSummaryService.class));
 
         Invoice invoice = new Invoice(new Company(), new Customer(new Company()));
         invoice.setStatus(InvoiceStatus.DRAFT);
@@ -66,7 +66,7 @@ class InvoiceItemServiceTests {
     void addInvoiceItemThrowsWhenNotEditable() {
         InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
         InvoiceItemRepository invoiceItemRepository = mock(InvoiceItemRepository.class);
-        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository);
+        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository, mock(DashboardRollupService.class), mock(VatSummaryService.class));
 
         Invoice invoice = new Invoice(new Company(), new Customer(new Company()));
         invoice.setStatus(InvoiceStatus.ISSUED);
@@ -92,7 +92,7 @@ class InvoiceItemServiceTests {
     void updateInvoiceItemThrowsWhenMissing() {
         InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
         InvoiceItemRepository invoiceItemRepository = mock(InvoiceItemRepository.class);
-        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository);
+        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository, mock(DashboardRollupService.class), mock(VatSummaryService.class));
 
         Invoice invoice = new Invoice(new Company(), new Customer(new Company()));
         invoice.setStatus(InvoiceStatus.DRAFT);
@@ -109,7 +109,7 @@ class InvoiceItemServiceTests {
     void updateInvoiceItemUpdatesFields() {
         InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
         InvoiceItemRepository invoiceItemRepository = mock(InvoiceItemRepository.class);
-        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository);
+        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository, mock(DashboardRollupService.class), mock(VatSummaryService.class));
 
         Invoice invoice = new Invoice(new Company(), new Customer(new Company()));
         invoice.setStatus(InvoiceStatus.DRAFT);
@@ -134,7 +134,7 @@ class InvoiceItemServiceTests {
     void deleteInvoiceItemReturnsEmptyWhenInvoiceMissing() {
         InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
         InvoiceItemRepository invoiceItemRepository = mock(InvoiceItemRepository.class);
-        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository);
+        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository, mock(DashboardRollupService.class), mock(VatSummaryService.class));
 
         when(invoiceRepository.findByIdAndCompanyId(77L, 10L)).thenReturn(Optional.empty());
         AuthPrincipal principal = new AuthPrincipal(7L, 10L, "BACK_OFFICE", List.of());
@@ -146,7 +146,7 @@ class InvoiceItemServiceTests {
     void deleteInvoiceItemThrowsWhenNotEditable() {
         InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
         InvoiceItemRepository invoiceItemRepository = mock(InvoiceItemRepository.class);
-        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository);
+        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository, mock(DashboardRollupService.class), mock(VatSummaryService.class));
 
         Invoice invoice = new Invoice(new Company(), new Customer(new Company()));
         invoice.setStatus(InvoiceStatus.ISSUED);
@@ -160,7 +160,7 @@ class InvoiceItemServiceTests {
     void deleteInvoiceItemReturnsEmptyWhenItemMissing() {
         InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
         InvoiceItemRepository invoiceItemRepository = mock(InvoiceItemRepository.class);
-        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository);
+        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository, mock(DashboardRollupService.class), mock(VatSummaryService.class));
 
         Invoice invoice = new Invoice(new Company(), new Customer(new Company()));
         invoice.setStatus(InvoiceStatus.DRAFT);
@@ -175,7 +175,7 @@ class InvoiceItemServiceTests {
     void deleteInvoiceItemDeletesAndRecalculatesTotals() {
         InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
         InvoiceItemRepository invoiceItemRepository = mock(InvoiceItemRepository.class);
-        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository);
+        InvoiceItemService service = new InvoiceItemService(invoiceRepository, invoiceItemRepository, mock(DashboardRollupService.class), mock(VatSummaryService.class));
 
         Invoice invoice = new Invoice(new Company(), new Customer(new Company()));
         invoice.setStatus(InvoiceStatus.DRAFT);
@@ -43,6 +43,7 @@ class InvoicePdfServiceTests {
                 archiveRepository,
                 invoiceRepository,
                 pdfService,
+                mock(StorageUsageService.class),
                 tempDir.toString()
         );
 
@@ -68,6 +69,7 @@ class InvoicePdfServiceTests {
                 mock(InvoicePdfArchiveRepository.class),
                 invoiceRepository,
                 mock(PdfService.class),
+                mock(StorageUsageService.class),
                 tempDir.toString()
         );
 
@@ -86,6 +88,7 @@ class InvoicePdfServiceTests {
                 archiveRepository,
                 invoiceRepository,
                 pdfService,
+                mock(StorageUsageService.class),
                 tempDir.toString()
         );
 
@@ -115,6 +118,7 @@ class InvoicePdfServiceTests {
                 archiveRepository,
                 invoiceRepository,
                 pdfService,
+                mock(StorageUsageService.class),
                 tempDir.toString()
         );
 
@@ -135,6 +139,7 @@ class InvoicePdfServiceTests {
                 archiveRepository,
                 invoiceRepository,
                 pdfService,
+                mock(StorageUsageService.class),
                 tempDir.toString()
         );
 
@@ -153,10 +158,12 @@ class InvoicePdfServiceTests {
         InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
         InvoicePdfArchiveRepository archiveRepository = mock(InvoicePdfArchiveRepository.class);
         PdfService pdfService = mock(PdfService.class);
+        StorageUsageService storageUsageService = mock(StorageUsageService.class);
         InvoicePdfService service = new InvoicePdfService(
                 archiveRepository,
                 invoiceRepository,
                 pdfService,
+                storageUsageService,
                 tempDir.toString()
         );
 
@@ -170,6 +177,8 @@ class InvoicePdfServiceTests {
         assertNotNull(saved);
         assertTrue(Files.exists(tempDir.resolve(saved.getPath()).resolve(saved.getFileName())));
         verify(archiveRepository).save(any(InvoicePdfArchive.class));
+        assertEquals(3L, saved.getSizeBytes());
+        verify(storageUsageService).pdfStored(10L, 3L);
     }
 
     @Test
@@ -179,6 +188,7 @@ class InvoicePdfServiceTests {
                 mock(InvoicePdfArchiveRepository.class),
                 invoiceRepository,
                 mock(PdfService.class),
+                mock(StorageUsageService.class),
                 tempDir.toString()
         );
 
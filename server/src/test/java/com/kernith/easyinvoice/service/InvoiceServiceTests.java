@@ -26,6 +26,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -36,6 +37,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -56,7 +58,10 @@ class InvoiceServiceTests {
                 companyRepository,
                 customerRepository,
                 quoteRepository,
-                invoicePdfService
+                invoicePdfService,
+                mock(DashboardRollupService.class),
+                mock(RevenueRollupService.class),
+                mock(VatSummaryService.class)
         );
 
         Company company = new Company();
@@ -110,7 +115,10 @@ class InvoiceServiceTests {
                 mock(CompanyRepository.class),
                 mock(CustomerRepository.class),
                 mock(QuoteRepository.class),
-                mock(InvoicePdfService.class)
+                mock(InvoicePdfService.class),
+                mock(DashboardRollupService.class),
+                mock(RevenueRollupService.class),
+                mock(VatSummaryService.class)
         );
         CreateInvoiceRequest req = new CreateInvoiceRequest(
                 100L,
@@ -141,7 +149,10 @@ class InvoiceServiceTests {
                 companyRepository,
                 customerRepository,
                 quoteRepository,
-                invoicePdfService
+                invoicePdfService,
+                mock(DashboardRollupService.class),
+                mock(RevenueRollupService.class),
+                mock(VatSummaryService.class)
         );
 
         when(companyRepository.findById(10L)).thenReturn(Optional.of(new Company()));
@@ -178,7 +189,10 @@ class InvoiceServiceTests {
                 companyRepository,
                 customerRepository,
                 quoteRepository,
-                invoicePdfService
+                invoicePdfService,
+                mock(DashboardRollupService.class),
+                mock(RevenueRollupService.class),
+                mock(VatSummaryService.class)
         );
 
         Company company = new Company();
@@ -220,7 +234,10 @@ class InvoiceServiceTests {
                 mock(CompanyRepository.class),
                 mock(CustomerRepository.class),
                 mock(QuoteRepository.class),
-                mock(InvoicePdfService.class)
+                mock(InvoicePdfService.class),
+                mock(DashboardRollupService.class),
+                mock(RevenueRollupService.class),
+                mock(VatSummaryService.class)
         );
         AuthPrincipal principal = new AuthPrincipal(7L, 10L, "COMPANY_MANAGER", List.of());
 
@@ -236,7 +253,10 @@ class InvoiceServiceTests {
                 mock(CompanyRepository.class),
                 mock(CustomerRepository.class),
                 mock(QuoteRepository.class),
-                mock(InvoicePdfService.class)
+                mock(InvoicePdfService.class),
+                mock(DashboardRollupService.class),
+                mock(RevenueRollupService.class),
+                mock(VatSummaryService.class)
         );
         when(invoiceRepository.findByIdAndCompanyId(10L, 10L)).thenReturn(Optional.empty());
 
@@ -255,7 +275,10 @@ class InvoiceServiceTests {
                 mock(CompanyRepository.class),
                 mock(CustomerRepository.class),
                 mock(QuoteRepository.class),
-                mock(InvoicePdfService.class)
+                mock(InvoicePdfService.class),
+                mock(DashboardRollupService.class),
+                mock(RevenueRollupService.class),
+                mock(VatSummaryService.class)
         );
         Invoice invoice = new Invoice(new Company(), new Customer(new Company()));
         invoice.setStatus(InvoiceStatus.ISSUED);
@@ -276,7 +299,10 @@ class InvoiceServiceTests {
                 mock(CompanyRepository.class),
                 mock(CustomerRepository.class),
                 mock(QuoteRepository.class),
-                mock(InvoicePdfService.class)
+                mock(InvoicePdfService.class),
+                mock(DashboardRollupService.class),
+                mock(RevenueRollupService.class),
+                mock(VatSummaryService.class)
         );
         Invoice invoice = new Invoice(new Company(), new Customer(new Company()));
         invoice.setStatus(InvoiceStatus.DRAFT);
@@ -308,7 +334,10 @@ class InvoiceServiceTests {
                 mock(CompanyRepository.class),
                 mock(CustomerRepository.class),
                 mock(QuoteRepository.class),
-                mock(InvoicePdfService.class)
+                mock(InvoicePdfService.class),
+                mock(DashboardRollupService.class),
+                mock(RevenueRollupService.class),
+                mock(VatSummaryService.class)
         );
         Page<Invoice> page = new PageImpl<>(List.of(new Invoice(new Company(), new Customer(new Company()))));
         when(invoiceRepository.searchByCompanyId(eq(10L), eq("acme"), any(Pageable.class))).thenReturn(page);
@@ -328,7 +357,10 @@ class InvoiceServiceTests {
                 mock(CompanyRepository.class),
                 mock(CustomerRepository.class),
                 mock(QuoteRepository.class),
-                mock(InvoicePdfService.class)
+                mock(InvoicePdfService.class),
+                mock(DashboardRollupService.class),
+                mock(RevenueRollupService.class),
+                mock(VatSummaryService.class)
         );
         Page<Invoice> page = new PageImpl<>(List.of());
         when(invoiceRepository.findByCompanyId(eq(10L), any(Pageable.class))).thenReturn(page);
@@ -340,6 +372,33 @@ class InvoiceServiceTests {
         verify(invoiceRepository).findByCompanyId(eq(10L), any(Pageable.class));
     }
 
+    @Test
+    void sliceInvoicesDoesNotCount() {
+        InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
+        InvoiceService invoiceService = new InvoiceService(
+                invoiceRepository,
+                mock(InvoiceItemRepository.class),
+                mock(CompanyRepository.class),
+                mock(CustomerRepository.class),
+                mock(QuoteRepository.class),
+                mock(InvoicePdfService.class),
+                mock(DashboardRollupService.class),
+                mock(RevenueRollupService.class),
+                mock(VatSummaryService.class)
+        );
+        when(invoiceRepository.findSliceByCompanyId(eq(10L), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+        when(invoiceRepository.searchSliceByCompanyId(eq(10L), eq("acme"), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+
+        AuthPrincipal principal = new AuthPrincipal(7L, 10L, "BACK_OFFICE", List.of());
+        invoiceService.sliceInvoices(principal, 0, 20, "issueDate,desc", null);
+        invoiceService.sliceInvoices(principal, 0, 20, "issueDate,desc", " acme ");
+
+        verify(invoiceRepository).findSliceByCompanyId(eq(10L), any(Pageable.class));
+        verify(invoiceRepository).searchSliceByCompanyId(eq(10L), eq("acme"), any(Pageable.class));
+        verify(invoiceRepository, never()).findByCompanyId(any(), any());
+        verify(invoiceRepository, never()).searchByCompanyId(any(), any(), any());
+    }
+
     @Test
     void transitionThrowsWhenInvalidStatus() {
         InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
@@ -349,7 +408,10 @@ class InvoiceServiceTests {
                 mock(CompanyRepository.class),
                 mock(CustomerRepository.class),
                 mock(QuoteRepository.class),
-                mock(InvoicePdfService.class)
+                mock(InvoicePdfService.class),
+                mock(DashboardRollupService.class),
+                mock(RevenueRollupService.class),
+                mock(VatSummaryService.class)
         );
         Invoice invoice = new Invoice(new Company(), new Customer(new Company()));
         invoice.setStatus(InvoiceStatus.DRAFT);
@@ -359,6 +421,65 @@ class InvoiceServiceTests {
         assertThrows(IllegalStateException.class, () -> invoiceService.payInvoice(10L, principal));
     }
 
+    @Test
+    void payInvoiceMovesDashboardRollup() {
+        InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
+        DashboardRollupService dashboardRollupService = mock(DashboardRollupService.class);
+        InvoiceService invoiceService = new InvoiceService(
+                invoiceRepository,
+                mock(InvoiceItemRepository.class),
+                mock(CompanyRepository.class),
+                mock(CustomerRepository.class),
+                mock(QuoteRepository.class),
+                mock(InvoicePdfService.class),
+                dashboardRollupService,
+                mock(RevenueRollupService.class),
+                mock(VatSummaryService.class)
+        );
+        Invoice invoice = new Invoice(new Company(), new Customer(new Company()));
+        invoice.setStatus(InvoiceStatus.ISSUED);
+        when(invoiceRepository.findByIdAndCompanyId(10L, 10L)).thenReturn(Optional.of(invoice));
+
+        AuthPrincipal principal = new AuthPrincipal(7L, 10L, "COMPANY_MANAGER", List.of());
+        assertEquals(Boolean.TRUE, invoiceService.payInvoice(10L, principal));
+        verify(dashboardRollupService).invoiceChanged(
+                10L,
+                invoice.getId(),
+                InvoiceStatus.ISSUED,
+                invoice.getTotalAmount(),
+                InvoiceStatus.PAID,
+                invoice.getTotalAmount()
+        );
+    }
+
+    @Test
+    void transitionsAreReportedToRevenueRollups() {
+        InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
+        RevenueRollupService revenueRollupService = mock(RevenueRollupService.class);
+        InvoiceService invoiceService = new InvoiceService(
+                invoiceRepository,
+                mock(InvoiceItemRepository.class),
+                mock(CompanyRepository.class),
+                mock(CustomerRepository.class),
+                mock(QuoteRepository.class),
+                mock(InvoicePdfService.class),
+                mock(DashboardRollupService.class),
+                revenueRollupService,
+                mock(VatSummaryService.class)
+        );
+        Invoice invoice = new Invoice(new Company(), new Customer(new Company()));
+        invoice.setStatus(InvoiceStatus.ISSUED);
+        when(invoiceRepository.findByIdAndCompanyId(10L, 10L)).thenReturn(Optional.of(invoice));
+
+        AuthPrincipal principal = new AuthPrincipal(7L, 10L, "COMPANY_MANAGER", List.of());
+        assertEquals(Boolean.TRUE, invoiceService.markInvoiceOverdue(10L, principal));
+        verify(revenueRollupService).invoiceTransitioned(invoice, InvoiceStatus.ISSUED);
+
+        assertEquals(Boolean.TRUE, invoiceService.payInvoice(10L, principal));
+        assertEquals(LocalDate.now(), invoice.getPaidDate());
+        verify(revenueRollupService).invoiceTransitioned(invoice, InvoiceStatus.OVERDUE);
+    }
+
     @Test
     void transitionReturnsFalseWhenMissing() {
         InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
@@ -369,7 +490,10 @@ class InvoiceServiceTests {
                 mock(CompanyRepository.class),
                 mock(CustomerRepository.class),
                 mock(QuoteRepository.class),
-                invoicePdfService
+                invoicePdfService,
+                mock(DashboardRollupService.class),
+                mock(RevenueRollupService.class),
+                mock(VatSummaryService.class)
         );
         when(invoiceRepository.findByIdAndCompanyId(10L, 10L)).thenReturn(Optional.empty());
         when(invoicePdfService.saveIssuedPdf(eq(10L), any(AuthPrincipal.class)))
@@ -389,7 +513,10 @@ class InvoiceServiceTests {
                 mock(CompanyRepository.class),
                 mock(CustomerRepository.class),
                 mock(QuoteRepository.class),
-                invoicePdfService
+                invoicePdfService,
+                mock(DashboardRollupService.class),
+                mock(RevenueRollupService.class),
+                mock(VatSummaryService.class)
         );
         Invoice invoice = new Invoice(new Company(), new Customer(new Company()));
         invoice.setStatus(InvoiceStatus.DRAFT);
@@ -0,0 +1,206 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.model.DocumentType;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LiveUpdateServiceTests {
+
+    private final TokenRevocationRegistry revocationRegistry = mock(TokenRevocationRegistry.class);
+    private LiveUpdateService service;
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    private static DocumentsChangedEvent invoicePaid(Long companyId, Long invoiceId) {
+        return new DocumentsChangedEvent(companyId, DocumentType.INVOICE, invoiceId, "PAID", new BigDecimal("183.00"));
+    }
+
+    private static boolean await(CountDownLatch latch) throws InterruptedException {
+        return latch.await(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void changesReachOnlyTheCompanyStreams() throws Exception {
+        service = new LiveUpdateService(16, 0, 10, 2, revocationRegistry);
+        RecordingEmitter company2 = new RecordingEmitter(2);
+        RecordingEmitter company3 = new RecordingEmitter(1);
+        service.register(2L, null, null, null, company2);
+        service.register(3L, null, null, null, company3);
+
+        service.onDocumentsChanged(invoicePaid(2L, 2001L));
+
+        assertTrue(await(company2.sent));
+        assertTrue(await(company3.sent));
+        assertTrue(company2.text().contains("event:invoice"));
+        assertTrue(company2.text().contains("status=PAID"));
+        assertFalse(company3.text().contains("event:invoice"));
+    }
+
+    @Test
+    void slowSubscriberGetsRefreshInsteadOfBlocking() throws Exception {
+        service = new LiveUpdateService(2, 0, 10, 1, revocationRegistry);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // connected, the two buffered changes, refresh
+        RecordingEmitter slow = new RecordingEmitter(4) {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                sending.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(builder);
+            }
+        };
+        service.register(2L, null, null, null, slow);
+        assertTrue(await(sending));
+
+        for (long id = 1; id <= 10; id++) {
+            service.onDocumentsChanged(invoicePaid(2L, id));
+        }
+        release.countDown();
+
+        assertTrue(await(slow.sent));
+        assertEquals(8L, service.getDroppedCount());
+        assertTrue(slow.events.get(3).contains("event:refresh"));
+    }
+
+    @Test
+    void brokenStreamIsRemoved() throws Exception {
+        service = new LiveUpdateService(16, 0, 10, 1, revocationRegistry);
+        CountDownLatch failed = new CountDownLatch(1);
+        SseEmitter broken = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                failed.countDown();
+                throw new IOException("Broken pipe");
+            }
+        };
+        service.register(2L, null, null, null, broken);
+
+        assertTrue(await(failed));
+        for (int i = 0; i < 50 && service.subscriberCount(2L) > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, service.subscriberCount(2L));
+    }
+
+    @Test
+    void subscribeRejectsTooManyStreams() {
+        service = new LiveUpdateService(16, 0, 1, 1, revocationRegistry);
+        AuthPrincipal principal = new AuthPrincipal(1L, 2L, "BACK_OFFICE", List.of());
+        service.subscribe(principal, null, null);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> service.subscribe(principal, null, null));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatusCode());
+        assertEquals(1, service.subscriberCount(2L));
+    }
+
+    @Test
+    void subscribeLimitHoldsUnderConcurrentOpens() throws Exception {
+        service = new LiveUpdateService(16, 0, 5, 1, revocationRegistry);
+        AuthPrincipal principal = new AuthPrincipal(1L, 2L, "BACK_OFFICE", List.of());
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        try {
+            for (int i = 0; i < 40; i++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                        service.subscribe(principal, null, null);
+                    } catch (ResponseStatusException e) {
+                        rejected.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(5, service.subscriberCount(2L));
+        assertEquals(35, rejected.get());
+    }
+
+    @Test
+    void subscribeRejectsExpiredTokenAndCapsTimeoutAtExpiry() {
+        service = new LiveUpdateService(16, 1_800_000, 10, 1, revocationRegistry);
+        AuthPrincipal principal = new AuthPrincipal(1L, 2L, "BACK_OFFICE", List.of());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.subscribe(principal, new Date(0L), new Date(System.currentTimeMillis() - 1)));
+        assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+
+        SseEmitter emitter = service.subscribe(principal, new Date(), new Date(System.currentTimeMillis() + 60_000L));
+        assertTrue(emitter.getTimeout() <= 60_000L);
+    }
+
+    @Test
+    void heartbeatClosesStreamsOfRevokedTokens() {
+        service = new LiveUpdateService(16, 0, 10, 1, revocationRegistry);
+        Date issuedAt = new Date();
+        service.register(2L, 7L, issuedAt, null, new RecordingEmitter(1));
+        service.register(2L, 8L, issuedAt, null, new RecordingEmitter(1));
+        service.register(2L, 9L, issuedAt, new Date(System.currentTimeMillis() - 1), new RecordingEmitter(1));
+        when(revocationRegistry.isRevoked(7L, issuedAt)).thenReturn(true);
+
+        service.heartbeat();
+
+        assertEquals(1, service.subscriberCount(2L));
+    }
+
+    /**
+     * Emitter that records the text of every event instead of writing to a response.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch sent;
+
+        RecordingEmitter(int expectedEvents) {
+            this.sent = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            events.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+            sent.countDown();
+        }
+
+        String text() {
+            return String.join("\n", events);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.kernith.easyinvoice.service;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTests {
+
+    @Test
+    void encodeAndMatchUseConfiguredCost() {
+        PasswordHasher hasher = new PasswordHasher(4, 1, 4, 5000);
+
+        String hash = hasher.encode("secret");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(hasher.matches("secret", hash));
+        assertFalse(hasher.matches("other", hash));
+        assertFalse(hasher.matches("secret", null));
+        hasher.shutdown();
+    }
+
+    @Test
+    void needsRehashWhenCostDiffers() {
+        PasswordHasher hasher = new PasswordHasher(10, 1, 4, 5000);
+
+        assertFalse(hasher.needsRehash("$2a$10$3zC7J6G1IJQcrCQn9OlFNu9sUhlSlbaGtZgHAnDYvazbGOBUYtyy."));
+        assertTrue(hasher.needsRehash("$2a$12$3zC7J6G1IJQcrCQn9OlFNu9sUhlSlbaGtZgHAnDYvazbGOBUYtyy."));
+        assertTrue(hasher.needsRehash("plain"));
+        hasher.shutdown();
+    }
+
+    @Test
+    void rejectsWorkWhenPoolAndQueueAreFull() throws Exception {
+        PasswordHasher hasher = new PasswordHasher(14, 1, 1, 5000);
+        String hash = "$2a$14$3zC7J6G1IJQcrCQn9OlFNu9sUhlSlbaGtZgHAnDYvazbGOBUYtyy.";
+        CountDownLatch started = new CountDownLatch(2);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int i = 0; i < 2; i++) {
+            Thread thread = new Thread(() -> {
+                started.countDown();
+                try {
+                    hasher.matches("pw", hash);
+                } catch (RuntimeException e) {
+                    failure.set(e);
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        started.await();
+        while (hasher.queuedTasks() == 0 && failure.get() == null) {
+            Thread.sleep(5);
+        }
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> hasher.matches("pw", hash));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+        hasher.shutdown();
+    }
+
+    @Test
+    void timesOutWhenHashIsTooSlow() {
+        PasswordHasher hasher = new PasswordHasher(16, 1, 4, 10);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> hasher.encode("pw"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+        hasher.shutdown();
+    }
+}
@@ -7,6 +7,7 @@ import com.kernith.easyinvoice.data.model.Invoice;
 import com.kernith.easyinvoice.data.model.Quote;
 import com.kernith.easyinvoice.data.repository.InvoiceItemRepository;
 import com.kernith.easyinvoice.data.repository.InvoiceRepository;
+import com.kernith.easyinvoice.data.repository.InvoiceVatLineRepository;
 import com.kernith.easyinvoice.data.repository.QuoteItemRepository;
 import com.kernith.easyinvoice.data.repository.QuoteRepository;
 import java.util.List;
@@ -32,7 +33,8 @@ class PdfServiceTests {
                 invoiceRepository,
                 invoiceItemRepository,
                 quoteRepository,
-                quoteItemRepository
+                quoteItemRepository,
+                mock(InvoiceVatLineRepository.class)
         );
 
         Company company = new Company();
@@ -57,7 +59,8 @@ class PdfServiceTests {
                 invoiceRepository,
                 mock(InvoiceItemRepository.class),
                 mock(QuoteRepository.class),
-                mock(QuoteItemRepository.class)
+                mock(QuoteItemRepository.class),
+                mock(InvoiceVatLineRepository.class)
         );
 
         Company company = new Company();
@@ -77,7 +80,8 @@ class PdfServiceTests {
                 mock(InvoiceRepository.class),
                 mock(InvoiceItemRepository.class),
                 quoteRepository,
-                quoteItemRepository
+                quoteItemRepository,
+                mock(InvoiceVatLineRepository.class)
         );
 
         Company company = new Company();
@@ -102,7 +106,8 @@ class PdfServiceTests {
                 mock(InvoiceRepository.class),
                 mock(InvoiceItemRepository.class),
                 quoteRepository,
-                mock(QuoteItemRepository.class)
+                mock(QuoteItemRepository.class),
+                mock(InvoiceVatLineRepository.class)
         );
 
         Company company = new Company();
@@ -0,0 +1,130 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.dto.dashboard.CompanyActivityResponse;
+import com.kernith.easyinvoice.data.repository.CompanyActivity;
+import com.kernith.easyinvoice.data.repository.CompanyRepository;
+import com.kernith.easyinvoice.service.PlatformAnalyticsService.ActivityQuery;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PlatformAnalyticsServiceTests {
+
+    private static final AuthPrincipal ADMIN = new AuthPrincipal(1L, 1L, "PLATFORM_ADMIN", List.of());
+
+    @Test
+    void queryDefaultsToCurrentMonthAndMapsSort() {
+        PlatformAnalyticsService service = new PlatformAnalyticsService(mock(CompanyRepository.class));
+
+        ActivityQuery query = service.query(ADMIN, null, null, "paidAmount,desc");
+
+        assertEquals(YearMonth.now(), query.from());
+        assertEquals(YearMonth.now(), query.to());
+        assertEquals(Sort.by(Sort.Direction.DESC, "paidAmount").and(Sort.by("companyId")), query.sort());
+        assertEquals(Sort.by("companyName").and(Sort.by("companyId")), service.query(ADMIN, null, null, "name;drop").sort());
+    }
+
+    @Test
+    void queryRejectsInvalidPeriodAndOtherRoles() {
+        PlatformAnalyticsService service = new PlatformAnalyticsService(mock(CompanyRepository.class));
+
+        ResponseStatusException invalid = assertThrows(ResponseStatusException.class,
+                () -> service.query(ADMIN, YearMonth.of(2025, 4), YearMonth.of(2025, 3), null));
+        assertEquals(HttpStatus.BAD_REQUEST, invalid.getStatusCode());
+        assertThrows(ResponseStatusException.class,
+                () -> service.query(new AuthPrincipal(10L, 2L, "COMPANY_MANAGER", List.of()), null, null, null));
+    }
+
+    @Test
+    void listCapsPageSizeAndReadsMonthlyRange() {
+        CompanyRepository repository = mock(CompanyRepository.class);
+        PlatformAnalyticsService service = new PlatformAnalyticsService(repository);
+        when(repository.findActivity(any(), any(), any())).thenReturn(Page.empty());
+        ActivityQuery query = service.query(ADMIN, YearMonth.of(2025, 1), YearMonth.of(2025, 3), null);
+
+        service.listCompanyActivity(query, 0, 1_000);
+
+        verify(repository).findActivity(
+                eq(LocalDate.of(2025, 1, 1)),
+                eq(LocalDate.of(2025, 3, 1)),
+                argThat(pageable -> pageable.getPageSize() == 100)
+        );
+    }
+
+    @Test
+    void csvWalksEveryPage() throws IOException {
+        CompanyRepository repository = mock(CompanyRepository.class);
+        PlatformAnalyticsService service = new PlatformAnalyticsService(repository);
+        when(repository.findActivitySlice(any(), any(), any())).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(2);
+            Row row = new Row(2L + pageable.getPageNumber(), pageable.getPageNumber() == 0 ? "Alpha SRL" : "=Beta, SPA");
+            return new SliceImpl<CompanyActivity>(List.of(row), pageable, pageable.getPageNumber() == 0);
+        });
+        ActivityQuery query = service.query(ADMIN, YearMonth.of(2025, 3), YearMonth.of(2025, 3), null);
+        StringWriter out = new StringWriter();
+
+        service.writeCompanyActivityCsv(query, out);
+
+        String[] lines = out.toString().split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("company_id,company_name,created_at,users,customers,invoices_issued,issued_amount,paid_amount,open_amount,storage_bytes", lines[0]);
+        assertEquals("2,Alpha SRL,2025-01-02T10:00,3,2,4,400.00,300.00,0,0", lines[1]);
+        assertEquals("3,\"'=Beta, SPA\",2025-01-02T10:00,3,2,4,400.00,300.00,0,0", lines[2]);
+        verify(repository, never()).findActivity(any(), any(), any());
+    }
+
+    @Test
+    void responseDefaultsMissingMetricsToZero() {
+        CompanyActivityResponse response = CompanyActivityResponse.from(new Row(2L, "Alpha SRL") {
+            @Override
+            public BigDecimal getOpenAmount() {
+                return null;
+            }
+        });
+
+        assertEquals(BigDecimal.ZERO, response.openAmount());
+    }
+
+    private static class Row implements CompanyActivity {
+        private final Long companyId;
+        private final String companyName;
+
+        Row(Long companyId, String companyName) {
+            this.companyId = companyId;
+            this.companyName = companyName;
+        }
+
+        public Long getCompanyId() { return companyId; }
+        public String getCompanyName() { return companyName; }
+        public LocalDateTime getCreatedAt() { return LocalDateTime.of(2025, 1, 2, 10, 0); }
+        public Long getUsers() { return 3L; }
+        public Long getCustomers() { return 2L; }
+        public Long getInvoicesIssued() { return 4L; }
+        public BigDecimal getIssuedAmount() { return new BigDecimal("400.00"); }
+        public BigDecimal getPaidAmount() { return new BigDecimal("300.00"); }
+        public BigDecimal getOpenAmount() { return BigDecimal.ZERO; }
+        public Long getStorageBytes() { return 0L; }
+    }
+}
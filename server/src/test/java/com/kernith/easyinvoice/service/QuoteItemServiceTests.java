@@ -31,7 +31,7 @@ class QuoteItemServiceTests {
     void addQuoteItemCreatesAndRecalculatesTotals() {
         QuoteRepository quoteRepository = mock(QuoteRepository.class);
         QuoteItemRepository quoteItemRepository = mock(QuoteItemRepository.class);
-        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository);
+        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository, mock(DashboardRollupService.class));
 
         Quote quote = new Quote(new Company(), new Customer(new Company()));
         quote.setStatus(QuoteStatus.DRAFT);
@@ -66,7 +66,7 @@ class QuoteItemServiceTests {
     void addQuoteItemThrowsWhenNotEditable() {
         QuoteRepository quoteRepository = mock(QuoteRepository.class);
         QuoteItemRepository quoteItemRepository = mock(QuoteItemRepository.class);
-        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository);
+        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository, mock(DashboardRollupService.class));
 
         Quote quote = new Quote(new Company(), new Customer(new Company()));
         quote.setStatus(QuoteStatus.SENT);
@@ -92,7 +92,7 @@ class QuoteItemServiceTests {
     void updateQuoteItemThrowsWhenMissing() {
         QuoteRepository quoteRepository = mock(QuoteRepository.class);
         QuoteItemRepository quoteItemRepository = mock(QuoteItemRepository.class);
-        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository);
+        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository, mock(DashboardRollupService.class));
 
         Quote quote = new Quote(new Company(), new Customer(new Company()));
         quote.setStatus(QuoteStatus.DRAFT);
@@ -109,7 +109,7 @@ class QuoteItemServiceTests {
     void updateQuoteItemUpdatesFields() {
         QuoteRepository quoteRepository = mock(QuoteRepository.class);
         QuoteItemRepository quoteItemRepository = mock(QuoteItemRepository.class);
-        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository);
+        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository, mock(DashboardRollupService.class));
 
         Quote quote = new Quote(new Company(), new Customer(new Company()));
         quote.setStatus(QuoteStatus.DRAFT);
@@ -134,7 +134,7 @@ class QuoteItemServiceTests {
     void deleteQuoteItemReturnsEmptyWhenQuoteMissing() {
         QuoteRepository quoteRepository = mock(QuoteRepository.class);
         QuoteItemRepository quoteItemRepository = mock(QuoteItemRepository.class);
-        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository);
+        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository, mock(DashboardRollupService.class));
 
         when(quoteRepository.findByIdAndCompanyId(77L, 10L)).thenReturn(Optional.empty());
         AuthPrincipal principal = new AuthPrincipal(7L, 10L, "BACK_OFFICE", List.of());
@@ -146,7 +146,7 @@ class QuoteItemServiceTests {
     void deleteQuoteItemThrowsWhenNotEditable() {
         QuoteRepository quoteRepository = mock(QuoteRepository.class);
         QuoteItemRepository quoteItemRepository = mock(QuoteItemRepository.class);
-        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository);
+        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository, mock(DashboardRollupService.class));
 
         Quote quote = new Quote(new Company(), new Customer(new Company()));
         quote.setStatus(QuoteStatus.ACCEPTED);
@@ -160,7 +160,7 @@ class QuoteItemServiceTests {
     void listQuoteItemsReturnsItems() {
         QuoteRepository quoteRepository = mock(QuoteRepository.class);
         QuoteItemRepository quoteItemRepository = mock(QuoteItemRepository.class);
-        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository);
+        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository, mock(DashboardRollupService.class));
 
         Quote quote = new Quote(new Company(), new Customer(new Company()));
         quote.setStatus(QuoteStatus.DRAFT);
@@ -178,7 +178,7 @@ class QuoteItemServiceTests {
     void deleteQuoteItemReturnsEmptyWhenItemMissing() {
         QuoteRepository quoteRepository = mock(QuoteRepository.class);
         QuoteItemRepository quoteItemRepository = mock(QuoteItemRepository.class);
-        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository);
+        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository, mock(DashboardRollupService.class));
 
         Quote quote = new Quote(new Company(), new Customer(new Company()));
         quote.setStatus(QuoteStatus.DRAFT);
@@ -193,7 +193,7 @@ class QuoteItemServiceTests {
     void deleteQuoteItemDeletesAndRecalculatesTotals() {
         QuoteRepository quoteRepository = mock(QuoteRepository.class);
         QuoteItemRepository quoteItemRepository = mock(QuoteItemRepository.class);
-        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository);
+        QuoteItemService service = new QuoteItemService(quoteRepository, quoteItemRepository, mock(DashboardRollupService.class));
 
         Quote quote = new Quote(new Company(), new Customer(new Company()));
         quote.setStatus(QuoteStatus.DRAFT);
@@ -43,7 +43,7 @@ class QuoteServiceTests {
         QuoteItemRepository quoteItemRepository = mock(QuoteItemRepository.class);
         CompanyRepository companyRepository = mock(CompanyRepository.class);
         CustomerRepository customerRepository = mock(CustomerRepository.class);
-        QuoteService quoteService = new QuoteService(quoteRepository, quoteItemRepository, companyRepository, customerRepository);
+        QuoteService quoteService = new QuoteService(quoteRepository, quoteItemRepository, companyRepository, customerRepository, mock(DashboardRollupService.class));
 
         Company company = new Company();
         Customer customer = new Customer(company);
@@ -93,7 +93,8 @@ class QuoteServiceTests {
                 mock(QuoteRepository.class),
                 mock(QuoteItemRepository.class),
                 mock(CompanyRepository.class),
-                mock(CustomerRepository.class)
+                mock(CustomerRepository.class),
+                mock(DashboardRollupService.class)
         );
         CreateQuoteRequest req = new CreateQuoteRequest(
                 100L,
@@ -115,7 +116,7 @@ class QuoteServiceTests {
         QuoteItemRepository quoteItemRepository = mock(QuoteItemRepository.class);
         CompanyRepository companyRepository = mock(CompanyRepository.class);
         CustomerRepository customerRepository = mock(CustomerRepository.class);
-        QuoteService quoteService = new QuoteService(quoteRepository, quoteItemRepository, companyRepository, customerRepository);
+        QuoteService quoteService = new QuoteService(quoteRepository, quoteItemRepository, companyRepository, customerRepository, mock(DashboardRollupService.class));
 
         when(companyRepository.findById(10L)).thenReturn(Optional.of(new Company()));
         when(customerRepository.findByIdAndCompanyIdAndStatus(100L, 10L, CustomerStatus.ACTIVE))
@@ -143,7 +144,8 @@ class QuoteServiceTests {
                 quoteRepository,
                 mock(QuoteItemRepository.class),
                 mock(CompanyRepository.class),
-                mock(CustomerRepository.class)
+                mock(CustomerRepository.class),
+                mock(DashboardRollupService.class)
         );
         when(quoteRepository.findByIdAndCompanyId(10L, 10L)).thenReturn(Optional.empty());
 
@@ -160,7 +162,8 @@ class QuoteServiceTests {
                 quoteRepository,
                 mock(QuoteItemRepository.class),
                 mock(CompanyRepository.class),
-                mock(CustomerRepository.class)
+                mock(CustomerRepository.class),
+                mock(DashboardRollupService.class)
         );
         Quote quote = new Quote(new Company(), new Customer(new Company()));
         when(quoteRepository.findByIdAndCompanyId(10L, 10L)).thenReturn(Optional.of(quote));
@@ -189,7 +192,8 @@ class QuoteServiceTests {
                 quoteRepository,
                 mock(QuoteItemRepository.class),
                 mock(CompanyRepository.class),
-                mock(CustomerRepository.class)
+                mock(CustomerRepository.class),
+                mock(DashboardRollupService.class)
         );
         Page<Quote> page = new PageImpl<>(List.of(new Quote(new Company(), new Customer(new Company()))));
         when(quoteRepository.searchByCompanyId(eq(10L), eq("acme"), any(Pageable.class))).thenReturn(page);
@@ -207,7 +211,8 @@ class QuoteServiceTests {
                 quoteRepository,
                 mock(QuoteItemRepository.class),
                 mock(CompanyRepository.class),
-                mock(CustomerRepository.class)
+                mock(CustomerRepository.class),
+                mock(DashboardRollupService.class)
         );
         Page<Quote> page = new PageImpl<>(List.of());
         when(quoteRepository.findByCompanyId(eq(10L), any(Pageable.class))).thenReturn(page);
@@ -226,7 +231,8 @@ class QuoteServiceTests {
                 quoteRepository,
                 mock(QuoteItemRepository.class),
                 mock(CompanyRepository.class),
-                mock(CustomerRepository.class)
+                mock(CustomerRepository.class),
+                mock(DashboardRollupService.class)
         );
         Quote quote = new Quote(new Company(), new Customer(new Company()));
         quote.setStatus(QuoteStatus.REJECTED);
@@ -243,7 +249,8 @@ class QuoteServiceTests {
                 quoteRepository,
                 mock(QuoteItemRepository.class),
                 mock(CompanyRepository.class),
-                mock(CustomerRepository.class)
+                mock(CustomerRepository.class),
+                mock(DashboardRollupService.class)
         );
         when(quoteRepository.findByIdAndCompanyId(10L, 10L)).thenReturn(Optional.empty());
 
@@ -258,7 +265,8 @@ class QuoteServiceTests {
                 quoteRepository,
                 mock(QuoteItemRepository.class),
                 mock(CompanyRepository.class),
-                mock(CustomerRepository.class)
+                mock(CustomerRepository.class),
+                mock(DashboardRollupService.class)
         );
         Quote quote = new Quote(new Company(), new Customer(new Company()));
         quote.setStatus(QuoteStatus.DRAFT);
@@ -277,7 +285,8 @@ class QuoteServiceTests {
                 quoteRepository,
                 mock(QuoteItemRepository.class),
                 mock(CompanyRepository.class),
-                mock(CustomerRepository.class)
+                mock(CustomerRepository.class),
+                mock(DashboardRollupService.class)
         );
         Quote quote = new Quote(new Company(), new Customer(new Company()));
         quote.setStatus(QuoteStatus.SENT);
@@ -294,7 +303,8 @@ class QuoteServiceTests {
                 quoteRepository,
                 mock(QuoteItemRepository.class),
                 mock(CompanyRepository.class),
-                mock(CustomerRepository.class)
+                mock(CustomerRepository.class),
+                mock(DashboardRollupService.class)
         );
         Quote quote = new Quote(new Company(), new Customer(new Company()));
         quote.setStatus(QuoteStatus.ACCEPTED);
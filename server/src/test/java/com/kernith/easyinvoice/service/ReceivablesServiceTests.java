@@ -0,0 +1,97 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.dto.dashboard.ReceivablesAgingResponse;
+import com.kernith.easyinvoice.data.repository.InvoiceRepository;
+import com.kernith.easyinvoice.data.repository.ReceivablesAgingRow;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReceivablesServiceTests {
+
+    private static final LocalDate AS_OF = LocalDate.of(2025, 3, 10);
+
+    @Test
+    void getAgingSumsCustomersIntoTotal() {
+        InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
+        ReceivablesService service = new ReceivablesService(invoiceRepository);
+        when(invoiceRepository.agingByCustomer(
+                2L, AS_OF, LocalDate.of(2025, 2, 8), LocalDate.of(2025, 1, 9), LocalDate.of(2024, 12, 10)
+        )).thenReturn(List.of(
+                new Row(100L, "Alfa Uno", 2L, "100.00", "183.00", "0", "0", "0"),
+                new Row(101L, "Beta, Due", 1L, "0", "0", "0", "0", "50.00")
+        ));
+
+        ReceivablesAgingResponse report = service.getAging(principal("BACK_OFFICE"), AS_OF);
+
+        assertEquals(2, report.customers().size());
+        assertEquals(3L, report.total().invoiceCount());
+        assertEquals(new BigDecimal("100.00"), report.total().current());
+        assertEquals(new BigDecimal("183.00"), report.total().days1To30());
+        assertEquals(new BigDecimal("50.00"), report.total().days90Plus());
+        assertEquals(new BigDecimal("333.00"), report.total().total());
+    }
+
+    @Test
+    void writeAgingCsvWritesHeaderCustomersAndTotal() throws IOException {
+        InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
+        ReceivablesService service = new ReceivablesService(invoiceRepository);
+        when(invoiceRepository.agingByCustomer(
+                2L, AS_OF, LocalDate.of(2025, 2, 8), LocalDate.of(2025, 1, 9), LocalDate.of(2024, 12, 10)
+        )).thenReturn(List.of(new Row(101L, "Beta, Due", 1L, "0", "0", "0", "0", "50.00")));
+        StringWriter writer = new StringWriter();
+
+        service.writeAgingCsv(service.getAging(principal("COMPANY_MANAGER"), AS_OF), writer);
+
+        assertEquals(
+                "customer_id,customer_name,invoice_count,current,days_1_30,days_31_60,days_61_90,days_90_plus,total\r\n"
+                        + "101,\"Beta, Due\",1,0,0,0,0,50.00,50.00\r\n"
+                        + ",TOTAL,1,0,0,0,0,50.00,50.00\r\n",
+                writer.toString()
+        );
+    }
+
+    @Test
+    void getAgingRejectsPlatformAdmin() {
+        ReceivablesService service = new ReceivablesService(mock(InvoiceRepository.class));
+
+        assertThrows(ResponseStatusException.class, () -> service.getAging(principal("PLATFORM_ADMIN"), AS_OF));
+    }
+
+    private static AuthPrincipal principal(String role) {
+        return new AuthPrincipal(1L, 2L, role, List.of());
+    }
+
+    private record Row(
+            Long customerId,
+            String customerName,
+            Long invoiceCount,
+            String current,
+            String days1To30,
+            String days31To60,
+            String days61To90,
+            String days90Plus
+    ) implements ReceivablesAgingRow {
+        public Long getCustomerId() { return customerId; }
+        public String getCustomerName() { return customerName; }
+        public Long getInvoiceCount() { return invoiceCount; }
+        public BigDecimal getCurrentAmount() { return new BigDecimal(current); }
+        public BigDecimal getDays1To30() { return new BigDecimal(days1To30); }
+        public BigDecimal getDays31To60() { return new BigDecimal(days31To60); }
+        public BigDecimal getDays61To90() { return new BigDecimal(days61To90); }
+        public BigDecimal getDays90Plus() { return new BigDecimal(days90Plus); }
+        public BigDecimal getTotalAmount() {
+            return getCurrentAmount().add(getDays1To30()).add(getDays31To60()).add(getDays61To90()).add(getDays90Plus());
+        }
+    }
+}
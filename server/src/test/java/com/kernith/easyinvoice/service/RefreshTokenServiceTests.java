@@ -0,0 +1,119 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.data.model.RefreshToken;
+import com.kernith.easyinvoice.data.model.User;
+import com.kernith.easyinvoice.data.repository.RefreshTokenRepository;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTests {
+
+    private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+    private final TokenRevocationRegistry revocationRegistry = mock(TokenRevocationRegistry.class);
+    private final RefreshTokenService service = new RefreshTokenService(repository, revocationRegistry, 14, 24);
+
+    private User enabledUser() {
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(7L);
+        when(user.isEnabled()).thenReturn(true);
+        return user;
+    }
+
+    @Test
+    void issueStoresHashOnly() {
+        User user = enabledUser();
+
+        String raw = service.issue(user);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(saved.capture());
+        assertNotNull(raw);
+        assertEquals(64, saved.getValue().getTokenHash().length());
+        assertEquals(14, saved.getValue().getCreatedAt().until(saved.getValue().getExpiresAt(),
+                java.time.temporal.ChronoUnit.DAYS));
+    }
+
+    @Test
+    void consumeRotatesValidToken() {
+        User user = enabledUser();
+        RefreshToken token = new RefreshToken(user, "h", LocalDateTime.now().minusMinutes(5), LocalDateTime.now().plusDays(1));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(token));
+        when(repository.markUsed(any(), any(LocalDateTime.class))).thenReturn(1);
+
+        assertSame(user, service.consume("raw"));
+        verify(repository).markUsed(any(), any(LocalDateTime.class));
+        verify(revocationRegistry, never()).revokeUser(anyLong());
+    }
+
+    @Test
+    void concurrentConsumesOfSameTokenCannotBothSucceed() {
+        User user = enabledUser();
+        RefreshToken token = new RefreshToken(user, "h", LocalDateTime.now().minusMinutes(5), LocalDateTime.now().plusDays(1));
+        // Entrambe le richieste leggono il token ancora valido, solo la prima update lo marca
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(token));
+        when(repository.markUsed(any(), any(LocalDateTime.class))).thenReturn(1, 0);
+
+        assertSame(user, service.consume("raw"));
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> service.consume("raw"));
+        assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+        verify(revocationRegistry).revokeUser(7L);
+    }
+
+    @Test
+    void consumeOfRotatedTokenRevokesAllUserTokens() {
+        User user = enabledUser();
+        RefreshToken token = new RefreshToken(user, "h", LocalDateTime.now().minusMinutes(5), LocalDateTime.now().plusDays(1));
+        token.setRevokedAt(LocalDateTime.now().minusMinutes(1));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(token));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> service.consume("raw"));
+        assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+        verify(revocationRegistry).revokeUser(7L);
+    }
+
+    @Test
+    void consumeRejectsTokenIssuedBeforeRevocation() {
+        User user = enabledUser();
+        RefreshToken token = new RefreshToken(user, "h", LocalDateTime.now().minusHours(2), LocalDateTime.now().plusDays(1));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(token));
+        when(revocationRegistry.revokedBefore(7L)).thenReturn(LocalDateTime.now().minusHours(1));
+
+        assertThrows(ResponseStatusException.class, () -> service.consume("raw"));
+    }
+
+    @Test
+    void consumeRejectsUnknownToken() {
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(ResponseStatusException.class, () -> service.consume("raw"));
+        assertThrows(ResponseStatusException.class, () -> service.consume(" "));
+    }
+
+    @Test
+    void purgeExpiredKeepsRevokedTokensForReuseWindow() {
+        when(repository.deleteExpired(any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(3);
+
+        assertEquals(3, service.purgeExpired());
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> revokedBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).deleteExpired(now.capture(), revokedBefore.capture());
+        assertEquals(now.getValue().minusHours(24), revokedBefore.getValue());
+    }
+}
@@ -0,0 +1,243 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.dto.dashboard.RevenuePointResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.RevenueSeriesResponse;
+import com.kernith.easyinvoice.data.dto.dashboard.TopCustomersResponse;
+import com.kernith.easyinvoice.data.model.Company;
+import com.kernith.easyinvoice.data.model.Customer;
+import com.kernith.easyinvoice.data.model.CustomerBalance;
+import com.kernith.easyinvoice.data.model.DiscountType;
+import com.kernith.easyinvoice.data.model.Invoice;
+import com.kernith.easyinvoice.data.model.InvoiceItem;
+import com.kernith.easyinvoice.data.model.InvoiceStatus;
+import com.kernith.easyinvoice.data.model.RevenueGranularity;
+import com.kernith.easyinvoice.data.model.TopCustomerMetric;
+import com.kernith.easyinvoice.data.repository.CustomerBalanceRepository;
+import com.kernith.easyinvoice.data.repository.CustomerRepository;
+import com.kernith.easyinvoice.data.repository.CustomerRevenue;
+import com.kernith.easyinvoice.data.repository.RevenueBucket;
+import com.kernith.easyinvoice.data.repository.RevenueRollupRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class RevenueRollupServiceTests {
+
+    private static final AuthPrincipal MANAGER = new AuthPrincipal(1L, 2L, "COMPANY_MANAGER", List.of());
+
+    private RevenueRollupRepository repository;
+    private CustomerBalanceRepository balanceRepository;
+    private CustomerRepository customerRepository;
+    private RevenueRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevenueRollupRepository.class);
+        balanceRepository = mock(CustomerBalanceRepository.class);
+        customerRepository = mock(CustomerRepository.class);
+        service = new RevenueRollupService(repository, balanceRepository, customerRepository, 400);
+    }
+
+    @Test
+    void issuedInvoiceIsAddedToIssueDateBucketsAndOpenBalance() {
+        Invoice invoice = invoice(LocalDate.of(2025, 1, 25));
+        invoice.setStatus(InvoiceStatus.ISSUED);
+        BigDecimal total = invoice.getTotalAmount();
+
+        service.invoiceTransitioned(invoice, InvoiceStatus.DRAFT);
+
+        assertEquals(0, new BigDecimal("183.00").compareTo(total));
+        verify(repository).applyDelta(2L, 100L, "DAY", LocalDate.of(2025, 1, 25), 1, total, 0, BigDecimal.ZERO);
+        verify(repository).applyDelta(2L, 100L, "MONTH", LocalDate.of(2025, 1, 1), 1, total, 0, BigDecimal.ZERO);
+        verify(balanceRepository).applyDelta(2L, 100L, 1, total);
+        verifyNoMoreInteractions(repository, balanceRepository);
+    }
+
+    @Test
+    void paidInvoiceIsAddedToPaymentDateBucketsAndLeavesOpenBalance() {
+        Invoice invoice = invoice(LocalDate.of(2025, 1, 25));
+        invoice.setStatus(InvoiceStatus.PAID);
+        invoice.setPaidDate(LocalDate.of(2025, 3, 2));
+        BigDecimal total = invoice.getTotalAmount();
+
+        service.invoiceTransitioned(invoice, InvoiceStatus.OVERDUE);
+
+        verify(repository).applyDelta(2L, 100L, "DAY", LocalDate.of(2025, 3, 2), 0, BigDecimal.ZERO, 1, total);
+        verify(repository).applyDelta(2L, 100L, "MONTH", LocalDate.of(2025, 3, 1), 0, BigDecimal.ZERO, 1, total);
+        verify(balanceRepository).applyDelta(2L, 100L, -1, total.negate());
+        verifyNoMoreInteractions(repository, balanceRepository);
+    }
+
+    @Test
+    void overdueInvoiceChangesNothing() {
+        Invoice invoice = invoice(LocalDate.of(2025, 1, 25));
+        invoice.setStatus(InvoiceStatus.OVERDUE);
+
+        service.invoiceTransitioned(invoice, InvoiceStatus.ISSUED);
+
+        verifyNoInteractions(repository, balanceRepository);
+    }
+
+    @Test
+    void archivedOverdueInvoiceLeavesIssueDateBuckets() {
+        Invoice invoice = invoice(LocalDate.of(2025, 1, 25));
+        invoice.setStatus(InvoiceStatus.ARCHIVED);
+        BigDecimal total = invoice.getTotalAmount();
+
+        service.invoiceTransitioned(invoice, InvoiceStatus.OVERDUE);
+
+        verify(repository).applyDelta(2L, 100L, "DAY", LocalDate.of(2025, 1, 25), -1, total.negate(), 0, BigDecimal.ZERO);
+        verify(repository).applyDelta(2L, 100L, "MONTH", LocalDate.of(2025, 1, 1), -1, total.negate(), 0, BigDecimal.ZERO);
+        verify(balanceRepository).applyDelta(2L, 100L, -1, total.negate());
+        verifyNoMoreInteractions(repository, balanceRepository);
+    }
+
+    @Test
+    void archivedDraftChangesNothing() {
+        Invoice invoice = invoice(LocalDate.of(2025, 1, 25));
+        invoice.setStatus(InvoiceStatus.ARCHIVED);
+
+        service.invoiceTransitioned(invoice, InvoiceStatus.DRAFT);
+
+        verifyNoInteractions(repository, balanceRepository);
+    }
+
+    @Test
+    void verifyRebuildsDriftedCompanies() {
+        when(repository.findDriftedCompanyIds()).thenReturn(List.of(2L));
+        when(balanceRepository.findDriftedCompanyIds()).thenReturn(List.of(2L, 3L));
+
+        assertEquals(2, service.verify());
+
+        verify(repository).deleteByCompanyId(2L);
+        verify(repository).rebuild(2L);
+        verify(balanceRepository).deleteByCompanyId(2L);
+        verify(balanceRepository).rebuild(2L);
+        verify(repository).deleteByCompanyId(3L);
+        verify(repository).rebuild(3L);
+        verify(balanceRepository).deleteByCompanyId(3L);
+        verify(balanceRepository).rebuild(3L);
+    }
+
+    @Test
+    void topCustomersByPaidAmountAddsOtherMetricsInRankOrder() {
+        Company company = new Company();
+        Customer beta = new Customer(company);
+        ReflectionTestUtils.setField(beta, "id", 101L);
+        beta.setDisplayName("Beta Due");
+        Customer alfa = new Customer(company);
+        ReflectionTestUtils.setField(alfa, "id", 100L);
+        alfa.setDisplayName("Alfa Uno");
+        when(repository.findTopCustomersByPaidAmount(
+                eq(2L), eq(LocalDate.of(2025, 1, 1)), eq(LocalDate.of(2025, 12, 1)), any(Pageable.class)))
+                .thenReturn(List.of(
+                        new Revenue(101L, 1L, new BigDecimal("244.00")),
+                        new Revenue(100L, 2L, new BigDecimal("183.00"))
+                ));
+        CustomerBalance open = mock(CustomerBalance.class);
+        when(open.getCustomerId()).thenReturn(100L);
+        when(open.getOpenAmount()).thenReturn(new BigDecimal("122.00"));
+        when(balanceRepository.findByCompanyIdAndCustomerIdIn(2L, List.of(101L, 100L))).thenReturn(List.of(open));
+        when(customerRepository.findAllById(List.of(101L, 100L))).thenReturn(List.of(alfa, beta));
+
+        TopCustomersResponse top = service.getTopCustomers(
+                MANAGER, TopCustomerMetric.PAID, YearMonth.of(2025, 1), YearMonth.of(2025, 12), 10);
+
+        assertEquals(2, top.customers().size());
+        assertEquals("Beta Due", top.customers().get(0).customerName());
+        assertEquals(BigDecimal.ZERO, top.customers().get(0).outstandingAmount());
+        assertEquals(100L, top.customers().get(1).customerId());
+        assertEquals(2L, top.customers().get(1).invoiceCount());
+        assertEquals(new BigDecimal("122.00"), top.customers().get(1).outstandingAmount());
+    }
+
+    @Test
+    void seriesFillsEmptyBucketsFromStartOfFirstMonth() {
+        when(repository.findSeries(2L, RevenueGranularity.MONTH, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 15)))
+                .thenReturn(List.of(new Bucket(LocalDate.of(2025, 2, 1), 1L, new BigDecimal("183.00"), 0L, BigDecimal.ZERO)));
+
+        Optional<RevenueSeriesResponse> series = service.getSeries(
+                MANAGER, LocalDate.of(2025, 1, 20), LocalDate.of(2025, 3, 15), RevenueGranularity.MONTH, null);
+
+        assertTrue(series.isPresent());
+        List<RevenuePointResponse> points = series.get().points();
+        assertEquals(LocalDate.of(2025, 1, 1), series.get().from());
+        assertEquals(3, points.size());
+        assertEquals(0L, points.get(0).issuedCount());
+        assertEquals(1L, points.get(1).issuedCount());
+        assertEquals(new BigDecimal("183.00"), points.get(1).issuedAmount());
+        assertEquals(LocalDate.of(2025, 3, 1), points.get(2).periodStart());
+    }
+
+    @Test
+    void seriesRejectsTooManyBuckets() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> service.getSeries(
+                MANAGER, LocalDate.of(2024, 1, 1), LocalDate.of(2025, 3, 1), RevenueGranularity.DAY, null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void seriesIsEmptyForCustomerOfAnotherCompany() {
+        when(customerRepository.findByIdAndCompanyId(200L, 2L)).thenReturn(Optional.empty());
+
+        Optional<RevenueSeriesResponse> series = service.getSeries(
+                MANAGER, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), RevenueGranularity.DAY, 200L);
+
+        assertTrue(series.isEmpty());
+        verifyNoInteractions(repository);
+    }
+
+    private static Invoice invoice(LocalDate issueDate) {
+        Company company = new Company();
+        ReflectionTestUtils.setField(company, "id", 2L);
+        Customer customer = new Customer(company);
+        ReflectionTestUtils.setField(customer, "id", 100L);
+        Invoice invoice = new Invoice(company, customer);
+        invoice.setIssueDate(issueDate);
+        invoice.getItems().add(new InvoiceItem(
+                invoice, 1, "Consulenza", BigDecimal.ONE, new BigDecimal("150.00"), new BigDecimal("22"), DiscountType.NONE, BigDecimal.ZERO));
+        return invoice;
+    }
+
+    private record Revenue(Long customerId, Long issuedCount, BigDecimal paidAmount) implements CustomerRevenue {
+        public Long getCustomerId() { return customerId; }
+        public Long getIssuedCount() { return issuedCount; }
+        public BigDecimal getPaidAmount() { return paidAmount; }
+    }
+
+    private record Bucket(
+            LocalDate periodStart,
+            Long issuedCount,
+            BigDecimal issuedAmount,
+            Long paidCount,
+            BigDecimal paidAmount
+    ) implements RevenueBucket {
+        public LocalDate getPeriodStart() { return periodStart; }
+        public Long getIssuedCount() { return issuedCount; }
+        public BigDecimal getIssuedAmount() { return issuedAmount; }
+        public Long getPaidCount() { return paidCount; }
+        public BigDecimal getPaidAmount() { return paidAmount; }
+    }
+}
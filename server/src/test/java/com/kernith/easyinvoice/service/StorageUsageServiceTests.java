@@ -0,0 +1,185 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.data.dto.company.CompanyStorageResponse;
+import com.kernith.easyinvoice.data.model.Company;
+import com.kernith.easyinvoice.data.model.Customer;
+import com.kernith.easyinvoice.data.model.Invoice;
+import com.kernith.easyinvoice.data.model.InvoicePdfArchive;
+import com.kernith.easyinvoice.data.repository.CompanyRepository;
+import com.kernith.easyinvoice.data.repository.CompanyStorageRepository;
+import com.kernith.easyinvoice.data.repository.InvoicePdfArchiveRepository;
+import com.kernith.easyinvoice.service.backup.BackupService;
+import com.kernith.easyinvoice.service.backup.BackupService.BackupFile;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StorageUsageServiceTests {
+
+    @TempDir
+    Path tempDir;
+
+    private CompanyStorageRepository storageRepository;
+    private InvoicePdfArchiveRepository archiveRepository;
+    private CompanyRepository companyRepository;
+    private BackupService backupService;
+    private StorageUsageService service;
+
+    @BeforeEach
+    void setUp() {
+        storageRepository = mock(CompanyStorageRepository.class);
+        archiveRepository = mock(InvoicePdfArchiveRepository.class);
+        companyRepository = mock(CompanyRepository.class);
+        backupService = mock(BackupService.class);
+        service = new StorageUsageService(
+                storageRepository,
+                archiveRepository,
+                companyRepository,
+                backupService,
+                tempDir.toString()
+        );
+    }
+
+    @Test
+    void pdfStoredAppliesDelta() {
+        service.pdfStored(2L, 4096L);
+
+        verify(storageRepository).applyPdfDelta(2L, 1, 4096L);
+    }
+
+    @Test
+    void backupsChangedStoresListedBackupSize() {
+        when(backupService.listBackups(2L)).thenReturn(List.of(backup(700L), backup(300L)));
+
+        assertThat(service.backupsChanged(2L)).isEqualTo(1000L);
+        verify(storageRepository).updateBackupBytes(2L, 1000L);
+    }
+
+    @Test
+    void getCompanyUsageDefaultsToZero() {
+        when(storageRepository.findByCompanyId(2L)).thenReturn(Optional.empty());
+
+        CompanyStorageResponse usage = service.getCompanyUsage(2L);
+
+        assertThat(usage.companyId()).isEqualTo(2L);
+        assertThat(usage.totalBytes()).isZero();
+        assertThat(usage.reconciledAt()).isNull();
+    }
+
+    @Test
+    void reconcileResyncsCountersFromDisk() throws Exception {
+        Company company = new Company();
+        ReflectionTestUtils.setField(company, "id", 2L);
+        when(companyRepository.findAllByOrderByNameAsc()).thenReturn(List.of(company));
+
+        Path dir = tempDir.resolve("companies/2/customers/100/invoices/7");
+        Files.createDirectories(dir);
+        Files.write(dir.resolve("INV_7_a.pdf"), new byte[100]);
+        Files.write(dir.resolve("INV_7_b.pdf"), new byte[50]);
+        Files.write(dir.resolve("notes.txt"), new byte[10]);
+
+        InvoicePdfArchive unsized = new InvoicePdfArchive(
+                new Invoice(company, new Customer(company)),
+                "companies/2/customers/100/invoices/7",
+                "INV_7_a.pdf"
+        );
+        ReflectionTestUtils.setField(unsized, "id", 40L);
+        when(archiveRepository.findUnsizedByCompanyId(2L)).thenReturn(List.of(unsized));
+        when(backupService.listBackups(2L)).thenReturn(List.of(backup(20L)));
+        when(storageRepository.findByCompanyId(2L)).thenReturn(Optional.empty());
+        when(storageRepository.reconcile(eq(2L), eq(0L), eq(0L), eq(0L), eq(2L), eq(150L), eq(20L), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        assertThat(service.reconcile()).isEqualTo(1);
+
+        verify(archiveRepository).updateMissingSize(40L, 100L);
+        verify(storageRepository).reconcile(eq(2L), eq(0L), eq(0L), eq(0L), eq(2L), eq(150L), eq(20L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void reconcileLeavesCountersThatMovedDuringTheWalk() {
+        Company company = new Company();
+        ReflectionTestUtils.setField(company, "id", 2L);
+        when(companyRepository.findAllByOrderByNameAsc()).thenReturn(List.of(company));
+        when(storageRepository.findByCompanyId(2L)).thenReturn(Optional.empty());
+        when(backupService.listBackups(2L)).thenReturn(List.of(backup(20L)));
+        // Un PDF archiviato durante la scansione ha già aggiornato i contatori
+        when(storageRepository.reconcile(any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(0);
+
+        assertThat(service.reconcile()).isZero();
+    }
+
+    @Test
+    void reconcileSkipsPdfsWrittenAfterCountersWereRead() throws Exception {
+        Company company = new Company();
+        ReflectionTestUtils.setField(company, "id", 2L);
+        when(companyRepository.findAllByOrderByNameAsc()).thenReturn(List.of(company));
+        Path dir = tempDir.resolve("companies/2/customers/100/invoices/7");
+        Files.createDirectories(dir);
+        Files.write(dir.resolve("INV_7_a.pdf"), new byte[100]);
+        // PDF scritto durante la scansione, il cui archivio non è ancora committato
+        Path pending = Files.write(dir.resolve("INV_7_b.pdf"), new byte[50]);
+        Files.setLastModifiedTime(pending, FileTime.from(Instant.now().plusSeconds(60)));
+        when(storageRepository.findByCompanyId(2L)).thenReturn(Optional.empty());
+        when(storageRepository.reconcile(eq(2L), eq(0L), eq(0L), eq(0L), eq(1L), eq(100L), eq(0L), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        assertThat(service.reconcile()).isEqualTo(1);
+
+        verify(storageRepository).reconcile(eq(2L), eq(0L), eq(0L), eq(0L), eq(1L), eq(100L), eq(0L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void reconcileSkipsCompanyWhenBackupsCannotBeListed() {
+        Company company = new Company();
+        ReflectionTestUtils.setField(company, "id", 3L);
+        when(companyRepository.findAllByOrderByNameAsc()).thenReturn(List.of(company));
+        when(backupService.listBackups(3L)).thenThrow(new IllegalStateException("unreadable"));
+
+        assertThat(service.reconcile()).isZero();
+        verify(storageRepository, never())
+                .reconcile(any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void reconcileContinuesAfterUncheckedIoFailure() {
+        Company broken = new Company();
+        ReflectionTestUtils.setField(broken, "id", 3L);
+        Company healthy = new Company();
+        ReflectionTestUtils.setField(healthy, "id", 2L);
+        when(companyRepository.findAllByOrderByNameAsc()).thenReturn(List.of(broken, healthy));
+        when(storageRepository.findByCompanyId(any())).thenReturn(Optional.empty());
+        when(backupService.listBackups(3L)).thenThrow(new UncheckedIOException(new IOException("walk failed")));
+        when(backupService.listBackups(2L)).thenReturn(List.of(backup(20L)));
+        when(storageRepository.reconcile(eq(2L), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(1);
+
+        assertThat(service.reconcile()).isEqualTo(1);
+        verify(storageRepository, never())
+                .reconcile(eq(3L), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    private static BackupFile backup(long sizeBytes) {
+        return new BackupFile("backup.zip", "ZIP", sizeBytes, LocalDateTime.of(2025, 3, 1, 2, 0), Path.of("backup.zip"));
+    }
+}
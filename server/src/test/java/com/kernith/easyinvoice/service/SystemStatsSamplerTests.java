@@ -0,0 +1,69 @@
+package com.kernith.easyinvoice.service;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SystemStatsSamplerTests {
+
+    private static DataSource dataSource(String url) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getURL()).thenReturn(url);
+        return dataSource;
+    }
+
+    @Test
+    void latestSamplesOnFirstUseAndLocatesDatabaseOnce() throws SQLException {
+        DataSource dataSource = dataSource("jdbc:h2:mem:easyinvoice;DB_CLOSE_DELAY=-1");
+        SystemStatsSampler sampler = new SystemStatsSampler(dataSource, 5);
+
+        SystemStatsSampler.SystemSample first = sampler.latest();
+        sampler.sample();
+
+        assertThat(first.dbPath()).isEqualTo("in-memory");
+        assertThat(first.dbFileBytes()).isNull();
+        assertThat(first.sampledAt()).isNotNull();
+        assertThat(sampler.history()).hasSize(2);
+        verify(dataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void historyKeepsMostRecentSamplesOldestFirst() throws SQLException {
+        SystemStatsSampler sampler = new SystemStatsSampler(dataSource("jdbc:h2:mem:test"), 3);
+
+        SystemStatsSampler.SystemSample s1 = sampler.sample();
+        SystemStatsSampler.SystemSample s2 = sampler.sample();
+        SystemStatsSampler.SystemSample s3 = sampler.sample();
+        SystemStatsSampler.SystemSample s4 = sampler.sample();
+
+        List<SystemStatsSampler.SystemSample> history = sampler.history();
+        assertThat(history).containsExactly(s2, s3, s4);
+        assertThat(history).doesNotContain(s1);
+        assertThat(sampler.latest()).isSameAs(s4);
+    }
+
+    @Test
+    void unavailableDatabaseIsRetried() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenThrow(new SQLException("down"));
+        SystemStatsSampler sampler = new SystemStatsSampler(dataSource, 2);
+
+        assertThat(sampler.sample().dbPath()).isEqualTo("unavailable");
+        sampler.sample();
+
+        verify(dataSource, times(2)).getConnection();
+    }
+}
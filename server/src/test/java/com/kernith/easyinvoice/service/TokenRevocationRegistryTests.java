@@ -0,0 +1,70 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.data.model.UserTokenRevocation;
+import com.kernith.easyinvoice.data.repository.UserTokenRevocationRepository;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationRegistryTests {
+
+    private static UserTokenRevocation revocation(long userId, LocalDateTime at) {
+        UserTokenRevocation revocation = new UserTokenRevocation(userId);
+        revocation.setRevokedBefore(at);
+        revocation.setUpdatedAt(at);
+        return revocation;
+    }
+
+    @Test
+    void revokeUserRejectsTokensIssuedBeforeAndPersists() {
+        UserTokenRevocationRepository repository = mock(UserTokenRevocationRepository.class);
+        when(repository.findById(7L)).thenReturn(Optional.empty());
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(repository, 15);
+        Date issued = new Date(System.currentTimeMillis() - 60_000);
+
+        assertFalse(registry.isRevoked(7L, issued));
+        registry.revokeUser(7L);
+
+        assertTrue(registry.isRevoked(7L, issued));
+        assertFalse(registry.isRevoked(8L, issued));
+        assertFalse(registry.isRevoked(7L, new Date(System.currentTimeMillis() + 2_000)));
+        verify(repository).save(any(UserTokenRevocation.class));
+    }
+
+    @Test
+    void refreshPicksUpRevocationsFromOtherInstances() {
+        UserTokenRevocationRepository repository = mock(UserTokenRevocationRepository.class);
+        when(repository.findAll()).thenReturn(List.of());
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(repository, 15);
+        registry.loadAll();
+        Date issued = new Date(System.currentTimeMillis() - 60_000);
+        when(repository.findByUpdatedAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(revocation(9L, LocalDateTime.now())));
+
+        registry.refresh();
+
+        assertTrue(registry.isRevoked(9L, issued));
+    }
+
+    @Test
+    void refreshDropsEpochsOlderThanAccessTokenLifetime() {
+        UserTokenRevocationRepository repository = mock(UserTokenRevocationRepository.class);
+        when(repository.findAll()).thenReturn(List.of(revocation(9L, LocalDateTime.now().minusHours(1))));
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(repository, 15);
+        registry.loadAll();
+        assertTrue(registry.isRevoked(9L, new Date(0)));
+
+        registry.refresh();
+
+        assertFalse(registry.isRevoked(9L, new Date(0)));
+    }
+}
@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -18,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -26,7 +28,7 @@ class UserServiceTests {
     @Test
     void createBackofficeUserReturnsNullWhenCurrentUserMissing() {
         UserRepository userRepository = mock(UserRepository.class);
-        UserService userService = new UserService(userRepository);
+        UserService userService = new UserService(userRepository, mock(TokenRevocationRegistry.class), mock(PasswordHasher.class));
 
         AuthPrincipal principal = new AuthPrincipal(7L, 10L, "COMPANY_MANAGER", List.of());
         when(userRepository.findById(7L)).thenReturn(Optional.empty());
@@ -40,7 +42,7 @@ class UserServiceTests {
     @Test
     void createBackofficeUserReturnsSavedUserWhenValid() {
         UserRepository userRepository = mock(UserRepository.class);
-        UserService userService = new UserService(userRepository);
+        UserService userService = new UserService(userRepository, mock(TokenRevocationRegistry.class), mock(PasswordHasher.class));
 
         Company company = mock(Company.class);
         when(company.getId()).thenReturn(10L);
@@ -65,7 +67,7 @@ class UserServiceTests {
     @Test
     void listCompanyUsersReturnsEmptyWhenPrincipalNull() {
         UserRepository userRepository = mock(UserRepository.class);
-        UserService userService = new UserService(userRepository);
+        UserService userService = new UserService(userRepository, mock(TokenRevocationRegistry.class), mock(PasswordHasher.class));
 
         List<User> users = userService.listCompanyUsers(null);
 
@@ -75,7 +77,7 @@ class UserServiceTests {
     @Test
     void listCompanyUsersReturnsUsersWhenCurrentUserFound() {
         UserRepository userRepository = mock(UserRepository.class);
-        UserService userService = new UserService(userRepository);
+        UserService userService = new UserService(userRepository, mock(TokenRevocationRegistry.class), mock(PasswordHasher.class));
 
         Company company = mock(Company.class);
         when(company.getId()).thenReturn(10L);
@@ -96,7 +98,7 @@ class UserServiceTests {
     @Test
     void listPlatformUsersReturnsUsersForPlatformAdmin() {
         UserRepository userRepository = mock(UserRepository.class);
-        UserService userService = new UserService(userRepository);
+        UserService userService = new UserService(userRepository, mock(TokenRevocationRegistry.class), mock(PasswordHasher.class));
 
         Company company = mock(Company.class);
         List<User> expected = List.of(new User(company));
@@ -112,7 +114,7 @@ class UserServiceTests {
     @Test
     void listPlatformUsersThrowsWhenRoleIsNotPlatformAdmin() {
         UserRepository userRepository = mock(UserRepository.class);
-        UserService userService = new UserService(userRepository);
+        UserService userService = new UserService(userRepository, mock(TokenRevocationRegistry.class), mock(PasswordHasher.class));
         AuthPrincipal principal = new AuthPrincipal(7L, 10L, "COMPANY_MANAGER", List.of());
 
         assertThrows(ResponseStatusException.class, () -> userService.listPlatformUsers(principal));
@@ -121,7 +123,7 @@ class UserServiceTests {
     @Test
     void disableUserReturnsEmptyWhenTargetMissing() {
         UserRepository userRepository = mock(UserRepository.class);
-        UserService userService = new UserService(userRepository);
+        UserService userService = new UserService(userRepository, mock(TokenRevocationRegistry.class), mock(PasswordHasher.class));
 
         Company company = mock(Company.class);
         when(company.getId()).thenReturn(10L);
@@ -140,7 +142,8 @@ class UserServiceTests {
     @Test
     void disableUserDisablesTargetWhenFound() {
         UserRepository userRepository = mock(UserRepository.class);
-        UserService userService = new UserService(userRepository);
+        TokenRevocationRegistry revocationRegistry = mock(TokenRevocationRegistry.class);
+        UserService userService = new UserService(userRepository, revocationRegistry, mock(PasswordHasher.class));
 
         Company company = mock(Company.class);
         when(company.getId()).thenReturn(10L);
@@ -148,6 +151,7 @@ class UserServiceTests {
         currentUser.setRole(UserRole.COMPANY_MANAGER);
 
         User target = new User(company);
+        ReflectionTestUtils.setField(target, "id", 99L);
         target.setEnabled(true);
 
         AuthPrincipal principal = new AuthPrincipal(7L, 10L, "COMPANY_MANAGER", List.of());
@@ -159,5 +163,6 @@ class UserServiceTests {
 
         assertTrue(result.isPresent());
         assertTrue(!target.isEnabled());
+        verify(revocationRegistry).revokeUser(99L);
     }
 }
@@ -0,0 +1,139 @@
+package com.kernith.easyinvoice.service;
+
+import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.dto.dashboard.VatSummaryResponse;
+import com.kernith.easyinvoice.data.model.Company;
+import com.kernith.easyinvoice.data.model.Customer;
+import com.kernith.easyinvoice.data.model.DiscountType;
+import com.kernith.easyinvoice.data.model.Invoice;
+import com.kernith.easyinvoice.data.model.InvoiceItem;
+import com.kernith.easyinvoice.data.model.InvoiceVatLine;
+import com.kernith.easyinvoice.data.repository.InvoiceVatLineRepository;
+import com.kernith.easyinvoice.data.repository.VatRateTotal;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VatSummaryServiceTests {
+
+    private InvoiceVatLineRepository vatLineRepository;
+    private VatSummaryService service;
+
+    @BeforeEach
+    void setUp() {
+        vatLineRepository = mock(InvoiceVatLineRepository.class);
+        service = new VatSummaryService(vatLineRepository);
+    }
+
+    @Test
+    void breakdownGroupsItemsByRateLowestFirst() {
+        Invoice invoice = invoice();
+        List<InvoiceItem> items = List.of(
+                item(invoice, "100.00", "22"),
+                item(invoice, "50.00", "10"),
+                item(invoice, "200.00", "22.00")
+        );
+
+        List<InvoiceVatLine> lines = VatSummaryService.breakdown(10L, items);
+
+        assertThat(lines).extracting(InvoiceVatLine::getTaxRate)
+                .containsExactly(new BigDecimal("10.00"), new BigDecimal("22.00"));
+        assertThat(lines.get(0).getTaxable()).isEqualByComparingTo("50.00");
+        assertThat(lines.get(0).getTax()).isEqualByComparingTo("5.00");
+        assertThat(lines.get(1).getTaxable()).isEqualByComparingTo("300.00");
+        assertThat(lines.get(1).getTax()).isEqualByComparingTo("66.00");
+        assertThat(lines).allMatch(line -> line.getInvoiceId().equals(10L));
+    }
+
+    @Test
+    void itemsChangedReplacesBreakdown() {
+        Invoice invoice = invoice();
+
+        service.itemsChanged(invoice, List.of(item(invoice, "100.00", "22")));
+
+        InOrder order = inOrder(vatLineRepository);
+        order.verify(vatLineRepository).deleteByInvoiceId(10L);
+        order.verify(vatLineRepository).saveAll(anyList());
+    }
+
+    @Test
+    void getSummaryQueriesWholeMonthsAndSumsRates() {
+        when(vatLineRepository.sumByTaxRate(2L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 28)))
+                .thenReturn(List.of(
+                        total("10.00", 1L, "50.00", "5.00"),
+                        total("22.00", 2L, "350.00", "77.00")
+                ));
+
+        VatSummaryResponse summary = service.getSummary(manager(), YearMonth.of(2025, 1), YearMonth.of(2025, 2));
+
+        assertThat(summary.rates()).hasSize(2);
+        assertThat(summary.taxable()).isEqualByComparingTo("400.00");
+        assertThat(summary.tax()).isEqualByComparingTo("82.00");
+    }
+
+    @Test
+    void getSummaryRejectsInvertedPeriod() {
+        assertThatThrownBy(() -> service.getSummary(manager(), YearMonth.of(2025, 3), YearMonth.of(2025, 1)))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(ex -> assertThat(((ResponseStatusException) ex).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        verify(vatLineRepository, never()).sumByTaxRate(any(), any(), any());
+    }
+
+    @Test
+    void getSummaryRequiresManager() {
+        AuthPrincipal principal = new AuthPrincipal(1L, 2L, "BACK_OFFICE", List.of());
+
+        assertThatThrownBy(() -> service.getSummary(principal, null, null))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private static AuthPrincipal manager() {
+        return new AuthPrincipal(1L, 2L, "COMPANY_MANAGER", List.of());
+    }
+
+    private static Invoice invoice() {
+        Company company = new Company();
+        Invoice invoice = new Invoice(company, new Customer(company));
+        ReflectionTestUtils.setField(invoice, "id", 10L);
+        return invoice;
+    }
+
+    private static InvoiceItem item(Invoice invoice, String amount, String rate) {
+        return new InvoiceItem(
+                invoice,
+                1,
+                "Servizio",
+                BigDecimal.ONE,
+                new BigDecimal(amount),
+                new BigDecimal(rate),
+                DiscountType.NONE,
+                BigDecimal.ZERO
+        );
+    }
+
+    private static VatRateTotal total(String rate, long invoices, String taxable, String tax) {
+        return new VatRateTotal() {
+            @Override public BigDecimal getTaxRate() { return new BigDecimal(rate); }
+            @Override public Long getInvoices() { return invoices; }
+            @Override public BigDecimal getTaxable() { return new BigDecimal(taxable); }
+            @Override public BigDecimal getTax() { return new BigDecimal(tax); }
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.kernith.easyinvoice.service.backup;
+
+import com.kernith.easyinvoice.config.AuthPrincipal;
+import com.kernith.easyinvoice.data.dto.backup.BackupThrottleResponse;
+import com.kernith.easyinvoice.data.dto.backup.UpdateBackupThrottleRequest;
+import com.kernith.easyinvoice.data.repository.CompanyRepository;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BackupAdminServiceTests {
+
+    private final AuthPrincipal admin = new AuthPrincipal(1L, 1L, "PLATFORM_ADMIN", List.of());
+    private final AuthPrincipal manager = new AuthPrincipal(10L, 2L, "COMPANY_MANAGER", List.of());
+
+    private final BackupScheduler scheduler = mock(BackupScheduler.class);
+    private final BackupProgress progress = new BackupProgress();
+    private final CompanyRepository companyRepository = mock(CompanyRepository.class);
+
+    private BackupAdminService newService(BackupThrottle throttle, BackupService backupService) {
+        return new BackupAdminService(throttle, backupService, scheduler, progress, companyRepository);
+    }
+
+    @Test
+    void updateThrottleChangesRateAndLogs() {
+        BackupThrottle throttle = new BackupThrottle(0);
+        BackupService backupService = mock(BackupService.class);
+        BackupAdminService service = newService(throttle, backupService);
+
+        BackupThrottleResponse response = service.updateThrottle(new UpdateBackupThrottleRequest(4096L), admin);
+
+        assertEquals(4096L, response.bytesPerSecond());
+        assertEquals(4096L, throttle.getBytesPerSecond());
+        verify(backupService).logEvent(contains("Backup throttle set to 4096"));
+    }
+
+    @Test
+    void getThrottleRejectsNonAdmin() {
+        BackupAdminService service = newService(new BackupThrottle(0), mock(BackupService.class));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> service.getThrottle(manager));
+        assertEquals(HttpStatus.FORBIDDEN, ex.getStatusCode());
+    }
+
+    @Test
+    void startBackupTriggersSchedulerAndLogs() {
+        BackupService backupService = mock(BackupService.class);
+        BackupAdminService service = newService(new BackupThrottle(0), backupService);
+        when(companyRepository.existsById(2L)).thenReturn(true);
+        when(scheduler.triggerBackup(2L)).thenReturn(true);
+
+        assertTrue(service.startBackup(2L, admin));
+        verify(backupService).logEvent(contains("On-demand backup of company 2 requested by user 1"));
+    }
+
+    @Test
+    void startBackupReturnsFalseForUnknownCompany() {
+        BackupAdminService service = newService(new BackupThrottle(0), mock(BackupService.class));
+        when(companyRepository.existsById(99L)).thenReturn(false);
+
+        assertFalse(service.startBackup(99L, admin));
+        verify(scheduler, never()).triggerBackup(99L);
+    }
+
+    @Test
+    void startBackupConflictsWhenRunInProgress() {
+        BackupAdminService service = newService(new BackupThrottle(0), mock(BackupService.class));
+        when(scheduler.triggerBackup(null)).thenReturn(false);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> service.startBackup(null, admin));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    }
+
+    @Test
+    void getProgressIsEmptyBeforeFirstRun() {
+        BackupAdminService service = newService(new BackupThrottle(0), mock(BackupService.class));
+
+        assertTrue(service.getProgress(admin).isEmpty());
+
+        progress.startRun("manual", 3);
+        assertEquals(3, service.getProgress(admin).orElseThrow().companiesTotal());
+    }
+
+    @Test
+    void downloadBackupReturnsListedFile() {
+        BackupService backupService = mock(BackupService.class);
+        BackupAdminService service = newService(new BackupThrottle(0), backupService);
+        BackupService.BackupFile file = new BackupService.BackupFile(
+                "backup_20260101_020000.zip", "ZIP", 10L, LocalDateTime.of(2026, 1, 1, 2, 0), Path.of("backup.zip"));
+        when(backupService.findBackup(2L, "backup_20260101_020000.zip")).thenReturn(Optional.of(file));
+
+        assertEquals("backup_20260101_020000.zip",
+                service.downloadBackup(2L, "backup_20260101_020000.zip", admin).orElseThrow().fileName());
+        assertTrue(service.downloadBackup(2L, "../other.zip", admin).isEmpty());
+    }
+}
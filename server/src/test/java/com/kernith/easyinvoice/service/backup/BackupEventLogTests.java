@@ -0,0 +1,54 @@
+package com.kernith.easyinvoice.service.backup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackupEventLogTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void appendWritesLinesInOrder() throws Exception {
+        BackupEventLog eventLog = new BackupEventLog(tempDir.toString(), 1024 * 1024, 50);
+        for (int i = 0; i < 100; i++) {
+            eventLog.append("line-" + i);
+        }
+
+        assertTrue(eventLog.flush(5_000));
+        var lines = Files.readAllLines(eventLog.getLogFile());
+        assertEquals(100, lines.size());
+        assertEquals("line-0", lines.get(0));
+        assertEquals("line-99", lines.get(99));
+        eventLog.close();
+    }
+
+    @Test
+    void appendRotatesWhenFileExceedsMaxBytes() throws Exception {
+        BackupEventLog eventLog = new BackupEventLog(tempDir.toString(), 1024, 50);
+        String payload = "x".repeat(300);
+        for (int i = 0; i < 10; i++) {
+            eventLog.append(payload);
+            assertTrue(eventLog.flush(5_000));
+        }
+
+        assertTrue(Files.exists(tempDir.resolve("backup/backup-debug.log.1")));
+        assertTrue(Files.size(eventLog.getLogFile()) <= 1024);
+        eventLog.close();
+    }
+
+    @Test
+    void appendIgnoresLinesAfterClose() throws Exception {
+        BackupEventLog eventLog = new BackupEventLog(tempDir.toString(), 1024 * 1024, 50);
+        eventLog.close();
+        eventLog.append("late");
+
+        assertFalse(Files.exists(eventLog.getLogFile()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.kernith.easyinvoice.service.backup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackupProgressTests {
+
+    @Test
+    void snapshotIsNullBeforeFirstRun() {
+        assertNull(new BackupProgress().snapshot());
+    }
+
+    @Test
+    void updatesOutsideRunAreIgnored() {
+        BackupProgress progress = new BackupProgress();
+        progress.startRun("scheduled", 1);
+        progress.finishRun();
+
+        progress.fileDone(100);
+        progress.companyFinished(false);
+
+        BackupProgress.Snapshot snapshot = progress.snapshot();
+        assertEquals(0, snapshot.filesDone());
+        assertEquals(0, snapshot.companiesFailed());
+        assertFalse(snapshot.running());
+        assertNotNull(snapshot.finishedAt());
+    }
+
+    @Test
+    void etaExtrapolatesUnscannedCompanies() throws Exception {
+        BackupProgress progress = new BackupProgress();
+        progress.startRun("manual", 4);
+
+        BackupProgress.Snapshot initial = progress.snapshot();
+        assertTrue(initial.running());
+        assertNull(initial.etaSeconds());
+
+        progress.companyScanned(2, 1_000_000);
+        Thread.sleep(20);
+        progress.fileDone(500_000);
+
+        BackupProgress.Snapshot snapshot = progress.snapshot();
+        assertEquals(2, snapshot.filesTotal());
+        assertEquals(1, snapshot.filesDone());
+        assertEquals(500_000, snapshot.bytesDone());
+        assertTrue(snapshot.bytesPerSecond() > 0);
+        // 4 companies of ~1 MB each with 0.5 MB done: 3.5 MB left at the observed rate.
+        long expected = 3_500_000 / snapshot.bytesPerSecond();
+        assertTrue(Math.abs(snapshot.etaSeconds() - expected) <= 1);
+    }
+
+    @Test
+    void finishedRunCountsFailuresAndHasZeroEta() {
+        BackupProgress progress = new BackupProgress();
+        progress.startRun("manual", 2);
+        progress.companyFinished(true);
+        progress.companyFinished(false);
+        progress.finishRun();
+
+        BackupProgress.Snapshot snapshot = progress.snapshot();
+        assertEquals(2, snapshot.companiesDone());
+        assertEquals(1, snapshot.companiesFailed());
+        assertEquals(0L, snapshot.etaSeconds());
+    }
+}
@@ -26,6 +26,15 @@ class BackupQueueTests {
         assertNull(queue.dequeue(5));
     }
 
+    @Test
+    void pollReturnsQueuedIdThenNullWithoutWaiting() {
+        BackupQueue queue = new BackupQueue();
+        queue.enqueue(10L);
+
+        assertEquals(10L, queue.poll());
+        assertNull(queue.poll());
+    }
+
     @Test
     void dequeueReturnsNullOnTimeout() {
         BackupQueue queue = new BackupQueue();
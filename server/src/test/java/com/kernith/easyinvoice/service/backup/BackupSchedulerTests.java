@@ -2,10 +2,14 @@ package com.kernith.easyinvoice.service.backup;
 
 import com.kernith.easyinvoice.data.model.Company;
 import com.kernith.easyinvoice.data.repository.CompanyRepository;
+import com.kernith.easyinvoice.service.StorageUsageService;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
@@ -20,7 +24,8 @@ class BackupSchedulerTests {
         CompanyRepository companyRepository = mock(CompanyRepository.class);
         BackupQueue queue = mock(BackupQueue.class);
         BackupService service = mock(BackupService.class);
-        BackupScheduler scheduler = new BackupScheduler(companyRepository, queue, service);
+        DatabaseSnapshotService snapshotService = mock(DatabaseSnapshotService.class);
+        BackupScheduler scheduler = new BackupScheduler(companyRepository, queue, service, snapshotService, new BackupProgress(), mock(StorageUsageService.class), false);
 
         ReflectionTestUtils.setField(scheduler, "running", new java.util.concurrent.atomic.AtomicBoolean(true));
 
@@ -35,19 +40,116 @@ class BackupSchedulerTests {
         CompanyRepository companyRepository = mock(CompanyRepository.class);
         BackupQueue queue = mock(BackupQueue.class);
         BackupService service = mock(BackupService.class);
-        BackupScheduler scheduler = new BackupScheduler(companyRepository, queue, service);
+        DatabaseSnapshotService snapshotService = mock(DatabaseSnapshotService.class);
+        StorageUsageService storageUsageService = mock(StorageUsageService.class);
+        BackupScheduler scheduler = new BackupScheduler(companyRepository, queue, service, snapshotService, new BackupProgress(), storageUsageService, false);
 
         Company c1 = new Company();
         Company c2 = new Company();
         ReflectionTestUtils.setField(c1, "id", 1L);
         ReflectionTestUtils.setField(c2, "id", 2L);
         when(companyRepository.findAllByOrderByNameAsc()).thenReturn(List.of(c1, c2));
-        when(queue.dequeue(60_000)).thenReturn(null);
+        when(queue.poll()).thenReturn(null);
 
         scheduler.scheduleWeeklyBackups();
 
         verify(queue).enqueue(1L);
         verify(queue).enqueue(2L);
         verify(service, atLeastOnce()).logEvent(contains("Backup scheduler started"));
+        verify(service).collectGarbage();
+        verify(storageUsageService).backupsChanged(1L);
+        verify(storageUsageService).backupsChanged(2L);
+    }
+
+    @Test
+    void scheduleWeeklyBackupsTakesDatabaseSnapshotWhenEnabled() {
+        CompanyRepository companyRepository = mock(CompanyRepository.class);
+        BackupQueue queue = mock(BackupQueue.class);
+        BackupService service = mock(BackupService.class);
+        DatabaseSnapshotService snapshotService = mock(DatabaseSnapshotService.class);
+        BackupScheduler scheduler = new BackupScheduler(companyRepository, queue, service, snapshotService, new BackupProgress(), mock(StorageUsageService.class), false);
+        when(companyRepository.findAllByOrderByNameAsc()).thenReturn(List.of());
+        when(snapshotService.isEnabled()).thenReturn(true);
+        when(queue.poll()).thenReturn(null);
+
+        scheduler.scheduleWeeklyBackups();
+
+        verify(snapshotService).snapshot();
+    }
+
+    @Test
+    void triggerBackupRunsSingleCompanyInBackground() throws Exception {
+        CompanyRepository companyRepository = mock(CompanyRepository.class);
+        BackupQueue queue = mock(BackupQueue.class);
+        BackupService service = mock(BackupService.class);
+        DatabaseSnapshotService snapshotService = mock(DatabaseSnapshotService.class);
+        BackupProgress progress = new BackupProgress();
+        BackupScheduler scheduler = new BackupScheduler(companyRepository, queue, service, snapshotService, progress, mock(StorageUsageService.class), false);
+        when(queue.poll()).thenReturn(null);
+
+        assertTrue(scheduler.triggerBackup(7L));
+        for (int i = 0; i < 500 && scheduler.isRunning(); i++) {
+            Thread.sleep(10);
+        }
+
+        assertFalse(scheduler.isRunning());
+        verify(queue).enqueue(7L);
+        verify(companyRepository, never()).findAllByOrderByNameAsc();
+        assertEquals("manual", progress.snapshot().trigger());
+        assertFalse(progress.snapshot().running());
+        scheduler.shutdown();
+    }
+
+    @Test
+    void triggerBackupReleasesGuardOnceQueueIsDrained() throws Exception {
+        BackupService service = mock(BackupService.class);
+        BackupProgress progress = new BackupProgress();
+        BackupScheduler scheduler = new BackupScheduler(mock(CompanyRepository.class), new BackupQueue(), service, mock(DatabaseSnapshotService.class), progress, mock(StorageUsageService.class), false);
+
+        assertTrue(scheduler.triggerBackup(7L));
+        for (int i = 0; i < 200 && scheduler.isRunning(); i++) {
+            Thread.sleep(10);
+        }
+
+        assertFalse(scheduler.isRunning());
+        assertFalse(progress.snapshot().running());
+        verify(service).backupCompany(7L);
+        assertTrue(scheduler.triggerBackup(8L));
+        scheduler.shutdown();
+    }
+
+    @Test
+    void triggerBackupExportsOnlyRequestedCompany() throws Exception {
+        BackupQueue queue = mock(BackupQueue.class);
+        DatabaseSnapshotService snapshotService = mock(DatabaseSnapshotService.class);
+        BackupScheduler scheduler = new BackupScheduler(mock(CompanyRepository.class), queue, mock(BackupService.class), snapshotService, new BackupProgress(), mock(StorageUsageService.class), false);
+        when(snapshotService.isEnabled()).thenReturn(true);
+        when(queue.poll()).thenReturn(null);
+
+        assertTrue(scheduler.triggerBackup(7L));
+        for (int i = 0; i < 500 && scheduler.isRunning(); i++) {
+            Thread.sleep(10);
+        }
+
+        verify(snapshotService).exportCompany(7L);
+        verify(snapshotService, never()).snapshot();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void triggerBackupRejectsWhenAlreadyRunning() {
+        BackupScheduler scheduler = new BackupScheduler(
+                mock(CompanyRepository.class),
+                mock(BackupQueue.class),
+                mock(BackupService.class),
+                mock(DatabaseSnapshotService.class),
+                new BackupProgress(),
+                mock(StorageUsageService.class),
+                false
+        );
+        ReflectionTestUtils.setField(scheduler, "running", new java.util.concurrent.atomic.AtomicBoolean(true));
+
+        assertFalse(scheduler.triggerBackup(null));
+        scheduler.shutdown();
     }
 }
@@ -2,9 +2,12 @@ package com.kernith.easyinvoice.service.backup;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -15,21 +18,37 @@ class BackupServiceTests {
     @TempDir
     Path tempDir;
 
+    private BackupEventLog eventLog;
+
+    private BackupProgress progress;
+
+    private BackupService newService() {
+        return newService(BackupMode.ZIP);
+    }
+
+    private BackupService newService(BackupMode mode) {
+        progress = new BackupProgress();
+        eventLog = new BackupEventLog(tempDir.toString(), 1024 * 1024, 50);
+        BackupThrottle throttle = new BackupThrottle(0);
+        ContentAddressedBackupStore store = new ContentAddressedBackupStore(tempDir.toString(), 2, throttle);
+        return new BackupService(tempDir.toString(), mode, eventLog, throttle, store, progress);
+    }
+
     @Test
     void backupCompanyThrowsWhenCompanyIdMissing() {
-        BackupService service = new BackupService(tempDir.toString());
+        BackupService service = newService();
         assertThrows(IllegalArgumentException.class, () -> service.backupCompany(null));
     }
 
     @Test
     void backupCompanyReturnsNullWhenCompanyFolderMissing() {
-        BackupService service = new BackupService(tempDir.toString());
+        BackupService service = newService();
         assertNull(service.backupCompany(10L));
     }
 
     @Test
     void backupCompanyCreatesZipWithPdfFiles() throws Exception {
-        BackupService service = new BackupService(tempDir.toString());
+        BackupService service = newService();
         Path companyDir = tempDir.resolve("companies/10/invoices");
         Files.createDirectories(companyDir);
         Files.write(companyDir.resolve("a.pdf"), "pdf".getBytes());
@@ -43,12 +62,81 @@ class BackupServiceTests {
 
     @Test
     void logEventWritesLogFile() throws Exception {
-        BackupService service = new BackupService(tempDir.toString());
+        BackupService service = newService();
         service.logEvent("Hello");
+        assertTrue(eventLog.flush(5_000));
 
         Path logFile = tempDir.resolve("backup/backup-debug.log");
         assertTrue(Files.exists(logFile));
         String content = Files.readString(logFile);
         assertTrue(content.contains("Hello"));
     }
+
+    @Test
+    void backupCompanyInDedupModeWritesManifestAndRestores() throws Exception {
+        BackupService service = newService(BackupMode.DEDUP);
+        Path companyDir = tempDir.resolve("companies/10/invoices");
+        Files.createDirectories(companyDir);
+        Files.write(companyDir.resolve("a.pdf"), "pdf".getBytes());
+
+        Path manifest = service.backupCompany(10L);
+        var restored = service.restoreCompany(10L, null);
+
+        assertNotNull(manifest);
+        assertTrue(manifest.getFileName().toString().startsWith("manifest_"));
+        assertTrue(restored.isPresent());
+        assertTrue(Files.exists(restored.get().outputDir().resolve("invoices/a.pdf")));
+    }
+
+    @Test
+    void restoreCompanyReturnsEmptyWithoutManifest() {
+        BackupService service = newService(BackupMode.DEDUP);
+        assertTrue(service.restoreCompany(10L, null).isEmpty());
+    }
+
+    @Test
+    void backupCompanyReportsProgressForRun() throws Exception {
+        BackupService service = newService();
+        Path companyDir = tempDir.resolve("companies/10/invoices");
+        Files.createDirectories(companyDir);
+        Files.write(companyDir.resolve("a.pdf"), new byte[300]);
+        Files.write(companyDir.resolve("b.pdf"), new byte[200]);
+        progress.startRun("manual", 2);
+
+        service.backupCompany(10L);
+
+        BackupProgress.Snapshot running = progress.snapshot();
+        assertEquals(2, running.filesTotal());
+        assertEquals(2, running.filesDone());
+        assertEquals(500, running.bytesDone());
+        assertEquals(1, running.companiesDone());
+
+        service.backupCompany(11L);
+        progress.finishRun();
+
+        BackupProgress.Snapshot done = progress.snapshot();
+        assertEquals(2, done.companiesDone());
+        assertEquals(0L, done.etaSeconds());
+    }
+
+    @Test
+    void listBackupsReturnsZipsAndDatabaseExportsNewestFirst() throws Exception {
+        BackupService service = newService();
+        Path zipDir = tempDir.resolve("backup/10");
+        Path exportDir = tempDir.resolve("backup/db/companies/10");
+        Files.createDirectories(zipDir);
+        Files.createDirectories(exportDir);
+        Files.write(zipDir.resolve("backup_20260101_020000.zip"), new byte[3]);
+        Files.write(exportDir.resolve("db_20260108_020000.zip"), new byte[5]);
+
+        List<BackupService.BackupFile> files = service.listBackups(10L);
+
+        assertEquals(2, files.size());
+        assertEquals("db_20260108_020000.zip", files.get(0).name());
+        assertEquals("DATABASE", files.get(0).kind());
+        assertEquals("ZIP", files.get(1).kind());
+        assertEquals(LocalDateTime.of(2026, 1, 1, 2, 0), files.get(1).createdAt());
+        assertTrue(service.findBackup(10L, "backup_20260101_020000.zip").isPresent());
+        assertTrue(service.findBackup(10L, "../10/backup_20260101_020000.zip").isEmpty());
+    }
 }
@@ -0,0 +1,49 @@
+package com.kernith.easyinvoice.service.backup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackupThrottleTests {
+
+    @Test
+    void acquireDoesNotWaitWhenUnlimited() {
+        BackupThrottle throttle = new BackupThrottle(0);
+        throttle.acquire(10_000_000);
+
+        BackupThrottle.Stats stats = throttle.stats();
+        assertEquals(10_000_000, stats.bytesAcquired());
+        assertEquals(0, stats.throttledAcquires());
+    }
+
+    @Test
+    void acquireWaitsWhenRateExceeded() {
+        BackupThrottle throttle = new BackupThrottle(100_000);
+        long start = System.nanoTime();
+        throttle.acquire(20_000);
+        throttle.acquire(20_000);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        BackupThrottle.Stats stats = throttle.stats();
+        assertTrue(elapsedMs >= 300, "elapsed " + elapsedMs);
+        assertTrue(stats.throttledAcquires() >= 1);
+        assertTrue(stats.throttledMillis() >= 300);
+    }
+
+    @Test
+    void setBytesPerSecondRejectsNegativeRate() {
+        BackupThrottle throttle = new BackupThrottle(0);
+        assertThrows(IllegalArgumentException.class, () -> throttle.setBytesPerSecond(-1));
+    }
+
+    @Test
+    void setBytesPerSecondUpdatesRate() {
+        BackupThrottle throttle = new BackupThrottle(0);
+        throttle.setBytesPerSecond(2048);
+
+        assertEquals(2048, throttle.getBytesPerSecond());
+        assertEquals(2048, throttle.stats().bytesPerSecond());
+    }
+}
@@ -6,6 +6,7 @@ import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -16,9 +17,10 @@ class BackupWorkerTests {
     void workerProcessesCompanyAndStopsWhenQueueEmpty() {
         BackupQueue queue = mock(BackupQueue.class);
         BackupService service = mock(BackupService.class);
-        when(queue.dequeue(60_000)).thenReturn(10L, null);
+        DatabaseSnapshotService snapshotService = mock(DatabaseSnapshotService.class);
+        when(queue.poll()).thenReturn(10L, null);
 
-        new BackupWorker(queue, service).run();
+        new BackupWorker(queue, service, snapshotService).run();
 
         verify(service).backupCompany(10L);
         verify(service, atLeastOnce()).logEvent(contains("Worker processing company 10"));
@@ -29,12 +31,38 @@ class BackupWorkerTests {
     void workerLogsWhenBackupFails() {
         BackupQueue queue = mock(BackupQueue.class);
         BackupService service = mock(BackupService.class);
-        when(queue.dequeue(60_000)).thenReturn(10L, null);
+        DatabaseSnapshotService snapshotService = mock(DatabaseSnapshotService.class);
+        when(queue.poll()).thenReturn(10L, null);
         doThrow(new IllegalStateException("boom")).when(service).backupCompany(10L);
 
-        new BackupWorker(queue, service).run();
+        new BackupWorker(queue, service, snapshotService).run();
 
         verify(service, times(1)).backupCompany(10L);
         verify(service, atLeastOnce()).logEvent(contains("Worker failed company 10"));
     }
+
+    @Test
+    void workerExportsCompanyRowsWhenPerCompanyEnabled() {
+        BackupQueue queue = mock(BackupQueue.class);
+        BackupService service = mock(BackupService.class);
+        DatabaseSnapshotService snapshotService = mock(DatabaseSnapshotService.class);
+        when(queue.poll()).thenReturn(10L, null);
+        when(snapshotService.isPerCompany()).thenReturn(true);
+
+        new BackupWorker(queue, service, snapshotService).run();
+
+        verify(snapshotService).exportCompany(10L);
+    }
+
+    @Test
+    void workerSkipsCompanyExportByDefault() {
+        BackupQueue queue = mock(BackupQueue.class);
+        BackupService service = mock(BackupService.class);
+        DatabaseSnapshotService snapshotService = mock(DatabaseSnapshotService.class);
+        when(queue.poll()).thenReturn(10L, null);
+
+        new BackupWorker(queue, service, snapshotService).run();
+
+        verify(snapshotService, never()).exportCompany(10L);
+    }
 }
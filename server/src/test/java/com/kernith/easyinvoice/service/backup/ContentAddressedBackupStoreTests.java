@@ -0,0 +1,101 @@
+package com.kernith.easyinvoice.service.backup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContentAddressedBackupStoreTests {
+
+    @TempDir
+    Path tempDir;
+
+    private Path companyRoot() throws Exception {
+        Path dir = tempDir.resolve("companies/10/customers/1/invoices/5");
+        Files.createDirectories(dir);
+        return tempDir.resolve("companies/10");
+    }
+
+    private long blobCount() throws Exception {
+        Path blobs = tempDir.resolve("backup/cas/blobs");
+        try (var stream = Files.walk(blobs)) {
+            return stream.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    void backupStoresIdenticalContentOnce() throws Exception {
+        ContentAddressedBackupStore store = new ContentAddressedBackupStore(tempDir.toString(), 8, new BackupThrottle(0));
+        Path root = companyRoot();
+        Files.write(root.resolve("customers/1/invoices/5/a.pdf"), "same".getBytes());
+        Files.write(root.resolve("customers/1/invoices/5/b.pdf"), "same".getBytes());
+
+        var run = store.backup(10L, root, LocalDateTime.of(2026, 1, 1, 2, 0), new BackupProgress());
+
+        assertEquals(2, run.files());
+        assertEquals(1, run.newBlobs());
+        assertEquals(1, blobCount());
+    }
+
+    @Test
+    void secondRunOnlyStoresNewContent() throws Exception {
+        ContentAddressedBackupStore store = new ContentAddressedBackupStore(tempDir.toString(), 8, new BackupThrottle(0));
+        Path root = companyRoot();
+        Files.write(root.resolve("customers/1/invoices/5/a.pdf"), "first".getBytes());
+        store.backup(10L, root, LocalDateTime.of(2026, 1, 1, 2, 0), new BackupProgress());
+
+        Files.write(root.resolve("customers/1/invoices/5/b.pdf"), "second".getBytes());
+        var run = store.backup(10L, root, LocalDateTime.of(2026, 1, 8, 2, 0), new BackupProgress());
+
+        assertEquals(2, run.files());
+        assertEquals(1, run.newBlobs());
+        assertEquals("second".length(), run.newBytes());
+        assertEquals(2, store.listManifests(10L).size());
+    }
+
+    @Test
+    void restoreSelectsManifestByPointInTime() throws Exception {
+        ContentAddressedBackupStore store = new ContentAddressedBackupStore(tempDir.toString(), 8, new BackupThrottle(0));
+        Path root = companyRoot();
+        Files.write(root.resolve("customers/1/invoices/5/a.pdf"), "first".getBytes());
+        store.backup(10L, root, LocalDateTime.of(2026, 1, 1, 2, 0), new BackupProgress());
+        Files.write(root.resolve("customers/1/invoices/5/b.pdf"), "second".getBytes());
+        store.backup(10L, root, LocalDateTime.of(2026, 1, 8, 2, 0), new BackupProgress());
+
+        Path target = tempDir.resolve("restore");
+        var result = store.restore(10L, LocalDateTime.of(2026, 1, 5, 0, 0), target);
+
+        assertTrue(result.isPresent());
+        assertEquals(LocalDateTime.of(2026, 1, 1, 2, 0), result.get().createdAt());
+        assertEquals(1, result.get().files());
+        assertTrue(Files.exists(target.resolve("customers/1/invoices/5/a.pdf")));
+        assertFalse(Files.exists(target.resolve("customers/1/invoices/5/b.pdf")));
+        assertTrue(store.restore(10L, LocalDateTime.of(2025, 12, 1, 0, 0), target).isEmpty());
+    }
+
+    @Test
+    void collectGarbageAppliesRetentionAndRemovesUnreferencedBlobs() throws Exception {
+        ContentAddressedBackupStore store = new ContentAddressedBackupStore(tempDir.toString(), 1, new BackupThrottle(0));
+        Path root = companyRoot();
+        Path pdf = root.resolve("customers/1/invoices/5/a.pdf");
+        Files.write(pdf, "old".getBytes());
+        store.backup(10L, root, LocalDateTime.of(2026, 1, 1, 2, 0), new BackupProgress());
+        Files.delete(pdf);
+        Files.write(root.resolve("customers/1/invoices/5/b.pdf"), "new".getBytes());
+        store.backup(10L, root, LocalDateTime.of(2026, 1, 8, 2, 0), new BackupProgress());
+        Thread.sleep(20);
+
+        var gc = store.collectGarbage();
+
+        assertEquals(1, gc.removedManifests());
+        assertEquals(1, gc.removedBlobs());
+        assertEquals(1, gc.liveBlobs());
+        assertEquals(1, blobCount());
+        assertEquals(1, store.listManifests(10L).size());
+    }
+}
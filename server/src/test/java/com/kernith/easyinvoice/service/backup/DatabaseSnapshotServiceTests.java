@@ -0,0 +1,160 @@
+package com.kernith.easyinvoice.service.backup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.zip.ZipFile;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class DatabaseSnapshotServiceTests {
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcDataSource dataSource;
+    private BackupService backupService;
+    private DatabaseSnapshotService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:snapshot_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        try (Connection connection = dataSource.getConnection(); Statement st = connection.createStatement()) {
+            st.execute("CREATE TABLE companies (id BIGINT PRIMARY KEY, name VARCHAR(120))");
+            st.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, company_id BIGINT, email VARCHAR(190), name VARCHAR(80),"
+                    + " password_hash VARCHAR(255), role VARCHAR(32), enabled BOOLEAN, created_at TIMESTAMP)");
+            st.execute("CREATE TABLE customers (id BIGINT PRIMARY KEY, company_id BIGINT, display_name VARCHAR(160))");
+            st.execute("CREATE TABLE quotes (id BIGINT PRIMARY KEY, company_id BIGINT)");
+            st.execute("CREATE TABLE quote_items (id BIGINT PRIMARY KEY, quote_id BIGINT)");
+            st.execute("CREATE TABLE invoices (id BIGINT PRIMARY KEY, company_id BIGINT)");
+            st.execute("CREATE TABLE invoice_items (id BIGINT PRIMARY KEY, invoice_id BIGINT)");
+            st.execute("CREATE TABLE invoice_pdf_archive (id BIGINT PRIMARY KEY, invoice_id BIGINT)");
+            st.execute("INSERT INTO companies VALUES (2, 'Alpha, SRL'), (3, 'Beta')");
+            st.execute("INSERT INTO users VALUES (1, 2, 'mgr@alpha.test', 'Mario', '$2a$10$secret', 'COMPANY_MANAGER', TRUE, NULL)");
+            st.execute("INSERT INTO customers VALUES (100, 2, 'Alfa Uno'), (200, 3, 'Other')");
+            st.execute("INSERT INTO invoices VALUES (1000, 2), (2000, 3)");
+            st.execute("INSERT INTO invoice_items VALUES (1, 1000), (2, 2000)");
+        }
+        backupService = mock(BackupService.class);
+        service = new DatabaseSnapshotService(dataSource, backupService, tempDir.toString(), true, false);
+    }
+
+    @Test
+    void snapshotWritesGzippedScriptAndLogsTiming() throws Exception {
+        Path snapshot = service.snapshot();
+
+        assertTrue(Files.size(snapshot) > 0);
+        assertTrue(snapshot.getFileName().toString().endsWith(".sql.gz"));
+        verify(backupService).logEvent(contains("Database snapshot completed in"));
+    }
+
+    @Test
+    void restoreReplacesDatabaseWithSnapshot() throws Exception {
+        Path snapshot = service.snapshot();
+        try (Connection connection = dataSource.getConnection(); Statement st = connection.createStatement()) {
+            st.execute("DELETE FROM customers");
+        }
+
+        service.restore(snapshot);
+
+        try (Connection connection = dataSource.getConnection();
+             Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM customers")) {
+            rs.next();
+            assertEquals(2, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void restoreInitializerRestoresFirstDataSourceOnly() throws Exception {
+        Path snapshot = service.snapshot();
+        try (Connection connection = dataSource.getConnection(); Statement st = connection.createStatement()) {
+            st.execute("DELETE FROM customers");
+        }
+        DatabaseRestoreInitializer initializer = new DatabaseRestoreInitializer(snapshot.toString());
+
+        assertEquals("other", initializer.postProcessAfterInitialization("other", "other"));
+        initializer.postProcessAfterInitialization(dataSource, "dataSource");
+        try (Connection connection = dataSource.getConnection(); Statement st = connection.createStatement()) {
+            st.execute("DELETE FROM customers WHERE id = 200");
+        }
+        initializer.postProcessAfterInitialization(dataSource, "dataSource");
+
+        try (Connection connection = dataSource.getConnection();
+             Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM customers")) {
+            rs.next();
+            assertEquals(1, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void restoreInitializerDoesNotRestoreSameSnapshotTwice() throws Exception {
+        Path snapshot = service.snapshot();
+        new DatabaseRestoreInitializer(snapshot.toString()).postProcessAfterInitialization(dataSource, "dataSource");
+        assertTrue(Files.exists(snapshot.resolveSibling(snapshot.getFileName() + DatabaseRestoreInitializer.MARKER_SUFFIX)));
+        try (Connection connection = dataSource.getConnection(); Statement st = connection.createStatement()) {
+            st.execute("DELETE FROM customers WHERE id = 200");
+        }
+
+        // Riavvio con la proprietà ancora impostata
+        new DatabaseRestoreInitializer(snapshot.toString()).postProcessAfterInitialization(dataSource, "dataSource");
+
+        try (Connection connection = dataSource.getConnection();
+             Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM customers")) {
+            rs.next();
+            assertEquals(1, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void restoreInitializerLeavesNoMarkerWhenRestoreFails() {
+        Path missing = tempDir.resolve("missing.sql.gz");
+        DatabaseRestoreInitializer initializer = new DatabaseRestoreInitializer(missing.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> initializer.postProcessAfterInitialization(dataSource, "dataSource"));
+        assertFalse(Files.exists(tempDir.resolve("missing.sql.gz" + DatabaseRestoreInitializer.MARKER_SUFFIX)));
+    }
+
+    @Test
+    void restoreRejectsMissingFile() {
+        assertThrows(IllegalArgumentException.class, () -> service.restore(tempDir.resolve("missing.sql.gz")));
+    }
+
+    @Test
+    void exportCompanyOnlyContainsCompanyRows() throws Exception {
+        Path export = service.exportCompany(2L);
+
+        try (ZipFile zip = new ZipFile(export.toFile())) {
+            assertNotNull(zip.getEntry("invoice_items.csv"));
+            String companies = new String(zip.getInputStream(zip.getEntry("companies.csv")).readAllBytes());
+            String customers = new String(zip.getInputStream(zip.getEntry("customers.csv")).readAllBytes());
+            String items = new String(zip.getInputStream(zip.getEntry("invoice_items.csv")).readAllBytes());
+            String users = new String(zip.getInputStream(zip.getEntry("users.csv")).readAllBytes());
+
+            assertTrue(companies.contains("\"Alpha, SRL\""));
+            assertTrue(customers.contains("Alfa Uno"));
+            assertTrue(!customers.contains("Other"));
+            assertEquals(2, items.strip().split("\\R").length);
+            assertTrue(users.contains("mgr@alpha.test"));
+            assertTrue(!users.contains("password_hash") && !users.contains("$2a$10$secret"));
+        }
+        verify(backupService).logEvent(contains("Database export for company 2 completed"));
+    }
+}
@@ -18,7 +18,8 @@ INSERT INTO invoices (
 ) VALUES
     (2010, 3, 200, NULL, 2025, 5, 'DRAFT', 'Fattura Beta Bozza', 'Note beta', DATE '2025-01-18', NULL, 'EUR', 80.00, 17.60, 97.60),
     (2011, 3, 200, 1012, 2025, 6, 'ISSUED', 'Fattura Beta Emessa', 'Da preventivo beta', DATE '2025-01-22', DATE '2025-02-22', 'EUR', 90.00, 19.80, 109.80),
-    (2012, 3, 200, NULL, 2025, 7, 'PAID', 'Fattura Beta Pagata', 'Saldo beta', DATE '2025-01-26', DATE '2025-02-26', 'EUR', 120.00, 26.40, 146.40);
+    (2012, 3, 200, NULL, 2025, 7, 'PAID', 'Fattura Beta Pagata', 'Saldo beta', DATE '2025-01-26', DATE '2025-02-26', 'EUR', 120.00, 26.40, 146.40),
+    (2013, 3, 200, NULL, 2025, 8, 'ARCHIVED', 'Fattura Beta Bozza Archiviata', 'Mai emessa', DATE '2025-01-20', NULL, 'EUR', 50.00, 11.00, 61.00);
 
 -- Invoice items for 2000
 INSERT INTO invoice_items (